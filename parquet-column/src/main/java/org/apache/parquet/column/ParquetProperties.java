@@ -27,6 +27,7 @@ import static org.apache.parquet.bytes.BytesUtils.getWidthFromMaxInt;
 import org.apache.parquet.column.impl.ColumnWriteStoreV1;
 import org.apache.parquet.column.impl.ColumnWriteStoreV2;
 import org.apache.parquet.column.page.PageWriteStore;
+import org.apache.parquet.column.statistics.HyperLogLog;
 import org.apache.parquet.column.values.ValuesWriter;
 import org.apache.parquet.column.values.bitpacking.DevNullValuesWriter;
 import org.apache.parquet.column.values.factory.DefaultValuesWriterFactory;
@@ -50,6 +51,10 @@ public class ParquetProperties {
   public static final boolean DEFAULT_ESTIMATE_ROW_COUNT_FOR_PAGE_SIZE_CHECK = true;
   public static final int DEFAULT_MINIMUM_RECORD_COUNT_FOR_CHECK = 100;
   public static final int DEFAULT_MAXIMUM_RECORD_COUNT_FOR_CHECK = 10000;
+  public static final int DEFAULT_STATISTICS_TRUNCATE_LENGTH = Integer.MAX_VALUE;
+  public static final int DEFAULT_DISTINCT_COUNT_PRECISION = 0;
+  // the sketches are stored in the footer for each column chunk, up to 2^14 bytes each
+  public static final int MAX_DISTINCT_COUNT_PRECISION = 14;
 
   public static final ValuesWriterFactory DEFAULT_VALUES_WRITER_FACTORY = new DefaultValuesWriterFactory();
 
@@ -86,10 +91,13 @@ public class ParquetProperties {
   private final boolean estimateNextSizeCheck;
   private final ByteBufferAllocator allocator;
   private final ValuesWriterFactory valuesWriterFactory;
+  private final int statisticsTruncateLength;
+  private final int distinctCountPrecision;
 
   private ParquetProperties(WriterVersion writerVersion, int pageSize, int dictPageSize, boolean enableDict, int minRowCountForPageSizeCheck,
                             int maxRowCountForPageSizeCheck, boolean estimateNextSizeCheck, ByteBufferAllocator allocator,
-                            ValuesWriterFactory writerFactory) {
+                            ValuesWriterFactory writerFactory, int statisticsTruncateLength,
+                            int distinctCountPrecision) {
     this.pageSizeThreshold = pageSize;
     this.initialSlabSize = CapacityByteArrayOutputStream
       .initialSlabSizeHeuristic(MIN_SLAB_SIZE, pageSizeThreshold, 10);
@@ -102,6 +110,8 @@ public class ParquetProperties {
     this.allocator = allocator;
 
     this.valuesWriterFactory = writerFactory;
+    this.statisticsTruncateLength = statisticsTruncateLength;
+    this.distinctCountPrecision = distinctCountPrecision;
   }
 
   public ValuesWriter newRepetitionLevelWriter(ColumnDescriptor path) {
@@ -190,6 +200,18 @@ public class ParquetProperties {
     return estimateNextSizeCheck;
   }
 
+  public int getStatisticsTruncateLength() {
+    return statisticsTruncateLength;
+  }
+
+  /**
+   * @return the precision of the distinct count sketches of the column
+   *         chunks, or 0 if the distinct values are not tracked
+   */
+  public int getDistinctCountPrecision() {
+    return distinctCountPrecision;
+  }
+
   public static Builder builder() {
     return new Builder();
   }
@@ -208,11 +230,16 @@ public class ParquetProperties {
     private boolean estimateNextSizeCheck = DEFAULT_ESTIMATE_ROW_COUNT_FOR_PAGE_SIZE_CHECK;
     private ByteBufferAllocator allocator = new HeapByteBufferAllocator();
     private ValuesWriterFactory valuesWriterFactory = DEFAULT_VALUES_WRITER_FACTORY;
+    private int statisticsTruncateLength = DEFAULT_STATISTICS_TRUNCATE_LENGTH;
+    private int distinctCountPrecision = DEFAULT_DISTINCT_COUNT_PRECISION;
+    // false when the factory was initialized by the properties copied
+    private boolean initializeValuesWriterFactory = true;
 
     private Builder() {
     }
 
     private Builder(ParquetProperties toCopy) {
+      this.pageSize = toCopy.pageSizeThreshold;
       this.enableDict = toCopy.enableDictionary;
       this.dictPageSize = toCopy.dictionaryPageSizeThreshold;
       this.writerVersion = toCopy.writerVersion;
@@ -220,6 +247,16 @@ public class ParquetProperties {
       this.maxRowCountForPageSizeCheck = toCopy.maxRowCountForPageSizeCheck;
       this.estimateNextSizeCheck = toCopy.estimateNextSizeCheck;
       this.allocator = toCopy.allocator;
+      if (toCopy.valuesWriterFactory.getClass() == DefaultValuesWriterFactory.class) {
+        // a new default factory is initialized with the new properties
+        this.valuesWriterFactory = DEFAULT_VALUES_WRITER_FACTORY;
+      } else {
+        // a factory set by the user may be shared, it is not initialized again
+        this.valuesWriterFactory = toCopy.valuesWriterFactory;
+        this.initializeValuesWriterFactory = false;
+      }
+      this.statisticsTruncateLength = toCopy.statisticsTruncateLength;
+      this.distinctCountPrecision = toCopy.distinctCountPrecision;
     }
 
     /**
@@ -299,19 +336,61 @@ public class ParquetProperties {
     public Builder withValuesWriterFactory(ValuesWriterFactory factory) {
       Preconditions.checkNotNull(factory, "ValuesWriterFactory");
       this.valuesWriterFactory = factory;
+      this.initializeValuesWriterFactory = true;
+      return this;
+    }
+
+    /**
+     * Set the maximum length of the min and max values of BINARY statistics.
+     * Longer values are truncated and the statistics are marked as inexact.
+     *
+     * @param length a length in bytes
+     * @return this builder for method chaining.
+     */
+    public Builder withStatisticsTruncateLength(int length) {
+      Preconditions.checkArgument(length > 0,
+          "Invalid statistics truncate length (negative): %s", length);
+      this.statisticsTruncateLength = length;
+      return this;
+    }
+
+    /**
+     * Track the distinct values of each column chunk with a HyperLogLog
+     * sketch of the given precision, stored in the footer. A precision of p
+     * uses up to 2^p bytes per column chunk, 12 gives a standard error of 1.6%.
+     *
+     * @param precision a precision between 4 and 14, or 0 to disable
+     * @return this builder for method chaining.
+     */
+    public Builder withDistinctCountPrecision(int precision) {
+      Preconditions.checkArgument(precision == 0
+          || (precision >= HyperLogLog.MIN_PRECISION && precision <= MAX_DISTINCT_COUNT_PRECISION),
+          "Invalid distinct count precision: %s", precision);
+      this.distinctCountPrecision = precision;
       return this;
     }
 
     public ParquetProperties build() {
+      // the default factory is initialized with the properties below, so each
+      // properties gets its own instance to avoid picking up the allocator or
+      // the sizes of another writer
+      ValuesWriterFactory valuesWriterFactory = this.valuesWriterFactory == DEFAULT_VALUES_WRITER_FACTORY
+          ? new DefaultValuesWriterFactory() : this.valuesWriterFactory;
       ParquetProperties properties =
         new ParquetProperties(writerVersion, pageSize, dictPageSize,
           enableDict, minRowCountForPageSizeCheck, maxRowCountForPageSizeCheck,
-          estimateNextSizeCheck, allocator, valuesWriterFactory);
+          estimateNextSizeCheck, allocator, valuesWriterFactory, statisticsTruncateLength,
+          distinctCountPrecision);
       // we pass a constructed but uninitialized factory to ParquetProperties above as currently
       // creation of ValuesWriters is invoked from within ParquetProperties. In the future
       // we'd like to decouple that and won't need to pass an object to properties and then pass the
       // properties to the object.
-      valuesWriterFactory.initialize(properties);
+      // A factory copied from other properties keeps creating the writers of those
+      // properties (and their allocator): initializing it again would change the
+      // writers of every properties sharing it.
+      if (initializeValuesWriterFactory) {
+        valuesWriterFactory.initialize(properties);
+      }
 
       return properties;
     }
@@ -77,6 +77,16 @@ public class ColumnReadStoreImpl implements ColumnReadStore {
     return newMemColumnReader(path, pageReadStore.getPageReader(path));
   }
 
+  /**
+   * @param path the column to read
+   * @param converter the converter to write the values to, in place of the
+   *                  one of the record converter
+   * @return the column reader for that descriptor
+   */
+  public ColumnReader getColumnReader(ColumnDescriptor path, PrimitiveConverter converter) {
+    return new ColumnReaderImpl(path, pageReadStore.getPageReader(path), converter, writerVersion);
+  }
+
   private ColumnReaderImpl newMemColumnReader(ColumnDescriptor path, PageReader pageReader) {
     PrimitiveConverter converter = getPrimitiveConverter(path);
     return new ColumnReaderImpl(path, pageReader, converter, writerVersion);
@@ -28,6 +28,7 @@ import org.apache.parquet.column.ColumnWriter;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.PageWriter;
+import org.apache.parquet.column.statistics.HyperLogLog;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.column.values.ValuesWriter;
 import org.apache.parquet.io.ParquetEncodingException;
@@ -56,6 +57,8 @@ final class ColumnWriterV1 implements ColumnWriter {
   private int valueCountForNextSizeCheck;
 
   private Statistics statistics;
+  // the distinct values of the column chunk, shared by the statistics of its pages
+  private final HyperLogLog distinctCountSketch;
 
   public ColumnWriterV1(ColumnDescriptor path, PageWriter pageWriter,
                         ParquetProperties props) {
@@ -66,6 +69,8 @@ final class ColumnWriterV1 implements ColumnWriter {
     // initial check of memory usage. So that we have enough data to make an initial prediction
     this.valueCountForNextSizeCheck = props.getMinRowCountForPageSizeCheck();
 
+    this.distinctCountSketch = props.getDistinctCountPrecision() > 0
+        ? new HyperLogLog(props.getDistinctCountPrecision()) : null;
     resetStatistics();
 
     this.repetitionLevelColumn = props.newRepetitionLevelWriter(path);
@@ -79,6 +84,10 @@ final class ColumnWriterV1 implements ColumnWriter {
 
   private void resetStatistics() {
     this.statistics = Statistics.getStatsBasedOnType(this.path.getType());
+    // the page writer merges the sketch of each page in the one of the chunk,
+    // so the pages accumulate the values of the chunk in a single sketch
+    // rather than allocating one per page
+    this.statistics.setDistinctCountSketch(distinctCountSketch);
   }
 
   /**
@@ -245,6 +254,10 @@ final class ColumnWriterV1 implements ColumnWriter {
       }
       dataColumn.resetDictionary();
     }
+    if (distinctCountSketch != null) {
+      // the sketch was merged in the one of the chunk written
+      distinctCountSketch.reset();
+    }
   }
 
   @Override
@@ -33,6 +33,7 @@ import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.PageWriter;
+import org.apache.parquet.column.statistics.HyperLogLog;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.column.values.ValuesWriter;
 import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridEncoder;
@@ -56,6 +57,9 @@ final class ColumnWriterV2 implements ColumnWriter {
   private ValuesWriter dataColumn;
   private int valueCount;
 
+  // the distinct values of the column chunk, shared by the statistics of its pages
+  private final HyperLogLog distinctCountSketch;
+
   private Statistics<?> statistics;
   private long rowsWrittenSoFar = 0;
 
@@ -65,6 +69,8 @@ final class ColumnWriterV2 implements ColumnWriter {
       ParquetProperties props) {
     this.path = path;
     this.pageWriter = pageWriter;
+    this.distinctCountSketch = props.getDistinctCountPrecision() > 0
+        ? new HyperLogLog(props.getDistinctCountPrecision()) : null;
     resetStatistics();
 
     this.repetitionLevelColumn = props.newRepetitionLevelEncoder(path);
@@ -78,6 +84,10 @@ final class ColumnWriterV2 implements ColumnWriter {
 
   private void resetStatistics() {
     this.statistics = Statistics.getStatsBasedOnType(this.path.getType());
+    // the page writer merges the sketch of each page in the one of the chunk,
+    // so the pages accumulate the values of the chunk in a single sketch
+    // rather than allocating one per page
+    this.statistics.setDistinctCountSketch(distinctCountSketch);
   }
 
   private void definitionLevel(int definitionLevel) {
@@ -230,6 +240,10 @@ final class ColumnWriterV2 implements ColumnWriter {
       }
       dataColumn.resetDictionary();
     }
+    if (distinctCountSketch != null) {
+      // the sketch was merged in the one of the chunk written
+      distinctCountSketch.reset();
+    }
   }
 
   /**
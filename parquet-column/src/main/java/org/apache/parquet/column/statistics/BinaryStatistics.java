@@ -18,15 +18,22 @@
  */
 package org.apache.parquet.column.statistics;
 
+import java.util.Arrays;
+
 import org.apache.parquet.io.api.Binary;
 
 public class BinaryStatistics extends Statistics<Binary> {
 
   private Binary max;
   private Binary min;
+  private boolean minMaxExact = true;
 
   @Override
   public void updateStats(Binary value) {
+    HyperLogLog sketch = getDistinctCountSketch();
+    if (sketch != null) {
+      sketch.offer(value);
+    }
     if (!this.hasNonNullValue()) {
       initializeStats(value, value);
     } else {
@@ -37,6 +44,9 @@ public class BinaryStatistics extends Statistics<Binary> {
   @Override
   public void mergeStatisticsMinMax(Statistics stats) {
     BinaryStatistics binaryStats = (BinaryStatistics)stats;
+    if (!binaryStats.isMinMaxExact()) {
+      minMaxExact = false;
+    }
     if (!this.hasNonNullValue()) {
       initializeStats(binaryStats.getMin(), binaryStats.getMax());
     } else {
@@ -72,6 +82,76 @@ public class BinaryStatistics extends Statistics<Binary> {
     return !hasNonNullValue() || ((min.length() + max.length()) < size);
   }
 
+  @Override
+  public boolean isMinMaxExact() {
+    return minMaxExact;
+  }
+
+  /**
+   * Marks min and max as a lower and an upper bound of the values, rather
+   * than actual values.
+   */
+  public void markMinMaxAsInexact() {
+    this.minMaxExact = false;
+  }
+
+  /**
+   * Returns statistics where min and max are at most length bytes long. The
+   * min value is truncated to a prefix, which is smaller than the min value.
+   * The max value is truncated to a prefix with its last byte incremented,
+   * which is larger than the max value. If the max value can not be
+   * incremented, it is kept as is.
+   * <p>
+   * If nothing had to be truncated, this object is returned. Otherwise the
+   * returned statistics are marked as inexact.
+   *
+   * @param length the maximum length of min and max, in bytes
+   * @return statistics with min and max of at most length bytes
+   */
+  public BinaryStatistics truncate(int length) {
+    if (!hasNonNullValue() || (min.length() <= length && max.length() <= length)) {
+      return this;
+    }
+
+    BinaryStatistics truncated = new BinaryStatistics();
+    truncated.min = truncateMin(min, length);
+    truncated.max = truncateMax(max, length);
+    truncated.minMaxExact = minMaxExact && truncated.min == min && truncated.max == max;
+    truncated.setNumNulls(getNumNulls());
+    truncated.setDistinctCountSketch(getDistinctCountSketch());
+    truncated.markAsNotEmpty();
+    return truncated;
+  }
+
+  private static Binary truncateMin(Binary value, int length) {
+    if (value.length() <= length) {
+      return value;
+    }
+    // a prefix always sorts before the value
+    return Binary.fromConstantByteArray(Arrays.copyOf(value.getBytesUnsafe(), length));
+  }
+
+  private static Binary truncateMax(Binary value, int length) {
+    if (value.length() <= length) {
+      return value;
+    }
+    byte[] bytes = value.getBytesUnsafe();
+    // increment the last byte of the prefix that can be incremented, the
+    // bytes after it are dropped
+    for (int i = length - 1; i >= 0; i--) {
+      if (bytes[i] != Byte.MAX_VALUE) {
+        byte[] prefix = new byte[i + 1];
+        System.arraycopy(bytes, 0, prefix, 0, i);
+        prefix[i] = (byte) (bytes[i] + 1);
+        Binary candidate = Binary.fromConstantByteArray(prefix);
+        // only use the prefix if it is an upper bound in the order used by
+        // comparisons, otherwise keep the whole value
+        return candidate.compareTo(value) > 0 ? candidate : value;
+      }
+    }
+    return value;
+  }
+
   @Override
   public String toString() {
     if (this.hasNonNullValue())
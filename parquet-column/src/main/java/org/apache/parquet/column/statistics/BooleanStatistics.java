@@ -27,6 +27,10 @@ public class BooleanStatistics extends Statistics<Boolean> {
 
   @Override
   public void updateStats(boolean value) {
+    HyperLogLog sketch = getDistinctCountSketch();
+    if (sketch != null) {
+      sketch.offer(value);
+    }
     if (!this.hasNonNullValue()) {
       initializeStats(value, value);
     } else {
@@ -27,6 +27,10 @@ public class DoubleStatistics extends Statistics<Double> {
 
   @Override
   public void updateStats(double value) {
+    HyperLogLog sketch = getDistinctCountSketch();
+    if (sketch != null) {
+      sketch.offer(value);
+    }
     if (!this.hasNonNullValue()) {
       initializeStats(value, value);
     } else {
@@ -27,6 +27,10 @@ public class FloatStatistics extends Statistics<Float> {
 
   @Override
   public void updateStats(float value) {
+    HyperLogLog sketch = getDistinctCountSketch();
+    if (sketch != null) {
+      sketch.offer(value);
+    }
     if (!this.hasNonNullValue()) {
       initializeStats(value, value);
     } else {
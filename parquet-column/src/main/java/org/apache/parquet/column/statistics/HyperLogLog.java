@@ -0,0 +1,307 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.statistics;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.apache.parquet.Preconditions;
+import org.apache.parquet.io.api.Binary;
+
+/**
+ * A HyperLogLog sketch of the distinct values of a column chunk.
+ * <p>
+ * The sketch uses 2^precision one byte registers and estimates the number
+ * of distinct values with a relative standard error of about
+ * 1.04 / sqrt(2^precision), 1.6% for a precision of 12. Sketches are merged
+ * by keeping the largest value of each register, so the sketch of a column
+ * across row groups or files is the merge of the sketches of its chunks.
+ * Sketches of different precisions are merged at the smallest precision.
+ * <p>
+ * Values are hashed on their bits, which is the equality used by the filter
+ * predicates (-0.0 and 0.0 are distinct doubles, NaNs with different bits
+ * are distinct).
+ */
+public class HyperLogLog {
+
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 16;
+
+  // set in the first byte of the serialized sketch when only the registers
+  // that are not 0 are serialized
+  private static final int SPARSE = 0x80;
+  // bytes of a serialized register in the sparse form: 2 for the index, 1 for the value
+  private static final int SPARSE_REGISTER_SIZE = 3;
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private int precision;
+  private byte[] registers;
+
+  /**
+   * @param precision the number of bits of the hash used to pick a register,
+   *                  between {@link #MIN_PRECISION} and {@link #MAX_PRECISION}
+   */
+  public HyperLogLog(int precision) {
+    Preconditions.checkArgument(precision >= MIN_PRECISION && precision <= MAX_PRECISION,
+        "Invalid precision: " + precision + " must be between " + MIN_PRECISION + " and " + MAX_PRECISION);
+    this.precision = precision;
+    this.registers = new byte[1 << precision];
+  }
+
+  private HyperLogLog(int precision, byte[] registers) {
+    this.precision = precision;
+    this.registers = registers;
+  }
+
+  public int getPrecision() {
+    return precision;
+  }
+
+  public void offer(int value) {
+    offerHash(mix(value));
+  }
+
+  public void offer(long value) {
+    offerHash(mix(value));
+  }
+
+  public void offer(float value) {
+    offerHash(mix(Float.floatToRawIntBits(value)));
+  }
+
+  public void offer(double value) {
+    offerHash(mix(Double.doubleToRawLongBits(value)));
+  }
+
+  public void offer(boolean value) {
+    offerHash(mix(value ? 1 : 0));
+  }
+
+  public void offer(Binary value) {
+    ByteBuffer bytes = value.toByteBuffer();
+    long hash = FNV_OFFSET_BASIS;
+    for (int i = bytes.position(); i < bytes.limit(); i++) {
+      hash ^= bytes.get(i) & 0xFF;
+      hash *= FNV_PRIME;
+    }
+    offerHash(mix(hash));
+  }
+
+  /**
+   * The first precision bits of the hash pick the register, which keeps the
+   * largest position of the first set bit in the rest of the hash.
+   */
+  private void offerHash(long hash) {
+    int index = (int) (hash >>> (64 - precision));
+    // the extra bit bounds the rank when the rest of the hash is 0
+    long rest = (hash << precision) | (1L << (precision - 1));
+    byte rank = (byte) (Long.numberOfLeadingZeros(rest) + 1);
+    if (rank > registers[index]) {
+      registers[index] = rank;
+    }
+  }
+
+  /**
+   * The finalizer of MurmurHash3, spreads the bits of the value over the
+   * whole hash.
+   */
+  private static long mix(long value) {
+    long h = value;
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb9fe1a85ec53L;
+    h ^= h >>> 33;
+    return h;
+  }
+
+  /**
+   * Adds the values of another sketch to this one. If the other sketch has a
+   * smaller precision, this sketch is reduced to that precision first.
+   * @param other a sketch
+   */
+  public void merge(HyperLogLog other) {
+    if (other.precision < precision) {
+      reduce(other.precision);
+    }
+    HyperLogLog source = other.precision > precision ? other.copy() : other;
+    if (source != other) {
+      source.reduce(precision);
+    }
+    for (int i = 0; i < registers.length; i++) {
+      if (source.registers[i] > registers[i]) {
+        registers[i] = source.registers[i];
+      }
+    }
+  }
+
+  /**
+   * Reduces the precision of the sketch. The bits of the index that are not
+   * used anymore become the first bits of the rest of the hash.
+   */
+  private void reduce(int newPrecision) {
+    int shift = precision - newPrecision;
+    byte[] reduced = new byte[1 << newPrecision];
+    for (int i = 0; i < registers.length; i++) {
+      if (registers[i] == 0) {
+        continue;
+      }
+      int low = i & ((1 << shift) - 1);
+      byte rank = low == 0
+          ? (byte) (registers[i] + shift)
+          : (byte) (Integer.numberOfLeadingZeros(low) - (32 - shift) + 1);
+      int index = i >>> shift;
+      if (rank > reduced[index]) {
+        reduced[index] = rank;
+      }
+    }
+    this.precision = newPrecision;
+    this.registers = reduced;
+  }
+
+  /**
+   * @return an estimate of the number of distinct values added to the sketch
+   */
+  public long cardinality() {
+    int m = registers.length;
+    double sum = 0;
+    int zeros = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        zeros += 1;
+      }
+    }
+    double estimate = alpha(m) * m * m / sum;
+    if (estimate <= 2.5 * m && zeros > 0) {
+      // linear counting is more accurate for small cardinalities
+      estimate = m * Math.log((double) m / zeros);
+    }
+    return Math.round(estimate);
+  }
+
+  private static double alpha(int m) {
+    switch (m) {
+      case 16:
+        return 0.673;
+      case 32:
+        return 0.697;
+      case 64:
+        return 0.709;
+      default:
+        return 0.7213 / (1 + 1.079 / m);
+    }
+  }
+
+  /**
+   * Removes all the values from the sketch, without allocating new registers.
+   */
+  public void reset() {
+    Arrays.fill(registers, (byte) 0);
+  }
+
+  public HyperLogLog copy() {
+    return new HyperLogLog(precision, Arrays.copyOf(registers, registers.length));
+  }
+
+  /**
+   * Serializes the sketch in the smallest of two forms: the precision
+   * followed by all the registers, or the precision (with the high bit set)
+   * followed by the index on 2 bytes and the value of each register that is
+   * not 0. A sketch of a column chunk with few distinct values takes a few
+   * bytes instead of 2^precision.
+   *
+   * @return the serialized sketch
+   */
+  public byte[] toBytes() {
+    int used = 0;
+    for (byte register : registers) {
+      if (register != 0) {
+        used += 1;
+      }
+    }
+    if (used * SPARSE_REGISTER_SIZE >= registers.length) {
+      byte[] bytes = new byte[registers.length + 1];
+      bytes[0] = (byte) precision;
+      System.arraycopy(registers, 0, bytes, 1, registers.length);
+      return bytes;
+    }
+    byte[] bytes = new byte[used * SPARSE_REGISTER_SIZE + 1];
+    bytes[0] = (byte) (precision | SPARSE);
+    int offset = 1;
+    for (int i = 0; i < registers.length; i++) {
+      if (registers[i] != 0) {
+        bytes[offset] = (byte) (i >>> 8);
+        bytes[offset + 1] = (byte) i;
+        bytes[offset + 2] = registers[i];
+        offset += SPARSE_REGISTER_SIZE;
+      }
+    }
+    return bytes;
+  }
+
+  /**
+   * @param bytes bytes returned by {@link #toBytes()}
+   * @return the sketch
+   */
+  public static HyperLogLog fromBytes(byte[] bytes) {
+    Preconditions.checkArgument(bytes.length > 0, "Empty sketch");
+    int precision = bytes[0] & 0xFF & ~SPARSE;
+    Preconditions.checkArgument(precision >= MIN_PRECISION && precision <= MAX_PRECISION,
+        "Invalid sketch precision: " + precision);
+    int size = 1 << precision;
+    if ((bytes[0] & SPARSE) == 0) {
+      Preconditions.checkArgument(bytes.length == size + 1, "Invalid sketch of " + bytes.length + " bytes");
+      return new HyperLogLog(precision, Arrays.copyOfRange(bytes, 1, bytes.length));
+    }
+    Preconditions.checkArgument((bytes.length - 1) % SPARSE_REGISTER_SIZE == 0,
+        "Invalid sparse sketch of " + bytes.length + " bytes");
+    byte[] registers = new byte[size];
+    for (int offset = 1; offset < bytes.length; offset += SPARSE_REGISTER_SIZE) {
+      int index = ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+      Preconditions.checkArgument(index < size, "Invalid register index: " + index);
+      registers[index] = bytes[offset + 2];
+    }
+    return new HyperLogLog(precision, registers);
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    if (this == other) {
+      return true;
+    }
+    if (!(other instanceof HyperLogLog)) {
+      return false;
+    }
+    HyperLogLog sketch = (HyperLogLog) other;
+    return precision == sketch.precision && Arrays.equals(registers, sketch.registers);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * precision + Arrays.hashCode(registers);
+  }
+
+  @Override
+  public String toString() {
+    return "HyperLogLog(precision: " + precision + ", cardinality: " + cardinality() + ")";
+  }
+}
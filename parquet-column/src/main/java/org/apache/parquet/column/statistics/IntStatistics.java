@@ -27,6 +27,10 @@ public class IntStatistics extends Statistics<Integer> {
 
   @Override
   public void updateStats(int value) {
+    HyperLogLog sketch = getDistinctCountSketch();
+    if (sketch != null) {
+      sketch.offer(value);
+    }
     if (!this.hasNonNullValue()) {
       initializeStats(value, value);
     } else {
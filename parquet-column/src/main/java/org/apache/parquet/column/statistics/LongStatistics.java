@@ -27,6 +27,10 @@ public class LongStatistics extends Statistics<Long> {
 
   @Override
   public void updateStats(long value) {
+    HyperLogLog sketch = getDistinctCountSketch();
+    if (sketch != null) {
+      sketch.offer(value);
+    }
     if (!this.hasNonNullValue()) {
       initializeStats(value, value);
     } else {
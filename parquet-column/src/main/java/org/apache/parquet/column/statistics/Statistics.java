@@ -33,6 +33,7 @@ public abstract class Statistics<T extends Comparable<T>> {
 
   private boolean hasNonNullValue;
   private long num_nulls;
+  private HyperLogLog distinctCountSketch;
 
   public Statistics() {
     hasNonNullValue = false;
@@ -151,6 +152,7 @@ public abstract class Statistics<T extends Comparable<T>> {
     if (stats.isEmpty()) return;
 
     if (this.getClass() == stats.getClass()) {
+      mergeDistinctCountSketch(stats);
       incrementNumNulls(stats.getNumNulls());
       if (stats.hasNonNullValue()) {
         mergeStatisticsMinMax(stats);
@@ -161,6 +163,21 @@ public abstract class Statistics<T extends Comparable<T>> {
     }
   }
 
+  /**
+   * The merged statistics only have a sketch if all the merged statistics
+   * have one, otherwise the distinct values of some of them would be missing.
+   */
+  private void mergeDistinctCountSketch(Statistics stats) {
+    HyperLogLog sketch = stats.getDistinctCountSketch();
+    if (sketch == null) {
+      distinctCountSketch = null;
+    } else if (distinctCountSketch != null) {
+      distinctCountSketch.merge(sketch);
+    } else if (isEmpty()) {
+      distinctCountSketch = sketch.copy();
+    }
+  }
+
   /**
    * Abstract method to merge this statistics min and max with the values
    * of the parameter object. Does not do any checks, only called internally.
@@ -244,6 +261,42 @@ public abstract class Statistics<T extends Comparable<T>> {
     return !hasNonNullValue && num_nulls == 0;
   }
 
+  /**
+   * Starts tracking the distinct values with a {@link HyperLogLog} sketch.
+   * Values already added to this statistics are not in the sketch, so this
+   * should be called before any update.
+   * @param precision the precision of the sketch
+   */
+  public void enableDistinctCountSketch(int precision) {
+    distinctCountSketch = new HyperLogLog(precision);
+  }
+
+  /**
+   * Returns the sketch of the distinct non-null values of the page/column
+   * @return the sketch, or null if the distinct values were not tracked
+   */
+  public HyperLogLog getDistinctCountSketch() {
+    return distinctCountSketch;
+  }
+
+  /**
+   * Sets the sketch of the distinct values, when read from the metadata
+   * @param sketch a sketch, or null
+   */
+  public void setDistinctCountSketch(HyperLogLog sketch) {
+    distinctCountSketch = sketch;
+  }
+
+  /**
+   * Returns whether min and max are values of the page/column. When they are
+   * not exact, for example because they were truncated, min and max are only
+   * a lower and an upper bound of the values.
+   * @return true if min and max are actual values, false otherwise
+   */
+  public boolean isMinMaxExact() {
+    return true;
+  }
+
   /**
    * Returns whether there have been non-null values added to this statistics
    */
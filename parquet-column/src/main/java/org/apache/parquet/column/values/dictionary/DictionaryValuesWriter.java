@@ -113,9 +113,14 @@ public abstract class DictionaryValuesWriter extends ValuesWriter implements Req
   }
 
   protected DictionaryPage dictPage(ValuesWriter dictPageWriter) {
-    DictionaryPage ret = new DictionaryPage(dictPageWriter.getBytes(), lastUsedDictionarySize, encodingForDictionaryPage);
-    dictPageWriter.close();
-    return ret;
+    try {
+      // the writer gives its buffers back to the allocator when closed
+      DictionaryPage ret = new DictionaryPage(BytesInput.copy(dictPageWriter.getBytes()), lastUsedDictionarySize, encodingForDictionaryPage);
+      dictPageWriter.close();
+      return ret;
+    } catch (IOException e) {
+      throw new ParquetEncodingException("could not encode the dictionary", e);
+    }
   }
 
   @Override
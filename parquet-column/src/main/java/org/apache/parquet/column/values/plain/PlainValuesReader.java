@@ -21,24 +21,33 @@ package org.apache.parquet.column.values.plain;
 import static org.apache.parquet.Log.DEBUG;
 
 import java.io.IOException;
+import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 
-import org.apache.parquet.bytes.ByteBufferInputStream;
 import org.apache.parquet.Log;
-import org.apache.parquet.bytes.LittleEndianDataInputStream;
 import org.apache.parquet.column.values.ValuesReader;
 import org.apache.parquet.io.ParquetDecodingException;
 
 /**
  * Plain encoding for float, double, int, long
  *
+ * Values are decoded directly from a little endian view of the page buffer,
+ * the page bytes are never copied.
+ * <p>
+ * Since 1.8.2 the protected field {@link #in} is that view, a {@link ByteBuffer}
+ * positioned on the next value, instead of a
+ * {@link org.apache.parquet.bytes.LittleEndianDataInputStream}. Subclasses reading
+ * from {@link #in} must be changed to use the {@link ByteBuffer} getters, and compiled
+ * again; {@link #skipBytes(int)} replaces {@code in.skipBytes(int)}.
+ *
  * @author Julien Le Dem
  *
  */
 abstract public class PlainValuesReader extends ValuesReader {
   private static final Log LOG = Log.getLog(PlainValuesReader.class);
 
-  protected LittleEndianDataInputStream in;
+  protected ByteBuffer in;
 
   /**
    * {@inheritDoc}
@@ -47,11 +56,24 @@ abstract public class PlainValuesReader extends ValuesReader {
   @Override
   public void initFromPage(int valueCount, ByteBuffer in, int offset) throws IOException {
     if (DEBUG) LOG.debug("init from page at offset "+ offset + " for length " + (in.limit() - offset));
-    this.in = new LittleEndianDataInputStream(toInputStream(in, offset));
+    this.in = toLittleEndian(in, offset);
+  }
+
+  private ByteBuffer toLittleEndian(ByteBuffer in, int offset) {
+    ByteBuffer buffer = in.duplicate();
+    buffer.position(offset);
+    return buffer.slice().order(ByteOrder.LITTLE_ENDIAN);
   }
 
-  private ByteBufferInputStream toInputStream(ByteBuffer in, int offset) {
-    return new ByteBufferInputStream(in.duplicate(), offset, in.limit() - offset);
+  /**
+   * @param n the number of bytes to skip in {@link #in}
+   * @throws BufferUnderflowException if there are fewer bytes remaining
+   */
+  protected void skipBytes(int n) {
+    if (in.remaining() < n) {
+      throw new BufferUnderflowException();
+    }
+    in.position(in.position() + n);
   }
 
   public static class DoublePlainValuesReader extends PlainValuesReader {
@@ -59,8 +81,8 @@ abstract public class PlainValuesReader extends ValuesReader {
     @Override
     public void skip() {
       try {
-        in.skipBytes(8);
-      } catch (IOException e) {
+        skipBytes(8);
+      } catch (BufferUnderflowException e) {
         throw new ParquetDecodingException("could not skip double", e);
       }
     }
@@ -68,8 +90,8 @@ abstract public class PlainValuesReader extends ValuesReader {
     @Override
     public double readDouble() {
       try {
-        return in.readDouble();
-      } catch (IOException e) {
+        return in.getDouble();
+      } catch (BufferUnderflowException e) {
         throw new ParquetDecodingException("could not read double", e);
       }
     }
@@ -80,8 +102,8 @@ abstract public class PlainValuesReader extends ValuesReader {
     @Override
     public void skip() {
       try {
-        in.skipBytes(4);
-      } catch (IOException e) {
+        skipBytes(4);
+      } catch (BufferUnderflowException e) {
         throw new ParquetDecodingException("could not skip float", e);
       }
     }
@@ -89,8 +111,8 @@ abstract public class PlainValuesReader extends ValuesReader {
     @Override
     public float readFloat() {
       try {
-        return in.readFloat();
-      } catch (IOException e) {
+        return in.getFloat();
+      } catch (BufferUnderflowException e) {
         throw new ParquetDecodingException("could not read float", e);
       }
     }
@@ -101,8 +123,8 @@ abstract public class PlainValuesReader extends ValuesReader {
     @Override
     public void skip() {
       try {
-        in.skipBytes(4);
-      } catch (IOException e) {
+        skipBytes(4);
+      } catch (BufferUnderflowException e) {
         throw new ParquetDecodingException("could not skip int", e);
       }
     }
@@ -110,8 +132,8 @@ abstract public class PlainValuesReader extends ValuesReader {
     @Override
     public int readInteger() {
       try {
-        return in.readInt();
-      } catch (IOException e) {
+        return in.getInt();
+      } catch (BufferUnderflowException e) {
         throw new ParquetDecodingException("could not read int", e);
       }
     }
@@ -122,8 +144,8 @@ abstract public class PlainValuesReader extends ValuesReader {
     @Override
     public void skip() {
       try {
-        in.skipBytes(8);
-      } catch (IOException e) {
+        skipBytes(8);
+      } catch (BufferUnderflowException e) {
         throw new ParquetDecodingException("could not skip long", e);
       }
     }
@@ -131,8 +153,8 @@ abstract public class PlainValuesReader extends ValuesReader {
     @Override
     public long readLong() {
       try {
-        return in.readLong();
-      } catch (IOException e) {
+        return in.getLong();
+      } catch (BufferUnderflowException e) {
         throw new ParquetDecodingException("could not read long", e);
       }
     }
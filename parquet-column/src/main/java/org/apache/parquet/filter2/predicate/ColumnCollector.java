@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.predicate;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.apache.parquet.filter2.predicate.FilterPredicate.Visitor;
+import org.apache.parquet.filter2.predicate.Operators.AllOf;
+import org.apache.parquet.filter2.predicate.Operators.And;
+import org.apache.parquet.filter2.predicate.Operators.AnyOf;
+import org.apache.parquet.filter2.predicate.Operators.Column;
+import org.apache.parquet.filter2.predicate.Operators.Eq;
+import org.apache.parquet.filter2.predicate.Operators.Gt;
+import org.apache.parquet.filter2.predicate.Operators.GtEq;
+import org.apache.parquet.filter2.predicate.Operators.In;
+import org.apache.parquet.filter2.predicate.Operators.LogicalNotUserDefined;
+import org.apache.parquet.filter2.predicate.Operators.Lt;
+import org.apache.parquet.filter2.predicate.Operators.LtEq;
+import org.apache.parquet.filter2.predicate.Operators.Not;
+import org.apache.parquet.filter2.predicate.Operators.NotEq;
+import org.apache.parquet.filter2.predicate.Operators.NotIn;
+import org.apache.parquet.filter2.predicate.Operators.Or;
+import org.apache.parquet.filter2.predicate.Operators.UserDefined;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+
+import static org.apache.parquet.Preconditions.checkNotNull;
+
+/**
+ * Collects the paths of the columns that a {@link FilterPredicate} refers to.
+ */
+public final class ColumnCollector implements Visitor<Void> {
+
+  /**
+   * @param pred a predicate
+   * @return the paths of the columns of pred, in the order they appear
+   */
+  public static Set<ColumnPath> collect(FilterPredicate pred) {
+    checkNotNull(pred, "pred");
+    ColumnCollector collector = new ColumnCollector();
+    pred.accept(collector);
+    return collector.columns;
+  }
+
+  private final Set<ColumnPath> columns = new LinkedHashSet<ColumnPath>();
+
+  private ColumnCollector() {}
+
+  private Void add(Column<?> column) {
+    columns.add(column.getColumnPath());
+    return null;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(Eq<T> eq) {
+    return add(eq.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(NotEq<T> notEq) {
+    return add(notEq.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(Lt<T> lt) {
+    return add(lt.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(LtEq<T> ltEq) {
+    return add(ltEq.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(Gt<T> gt) {
+    return add(gt.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(GtEq<T> gtEq) {
+    return add(gtEq.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(In<T> in) {
+    return add(in.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(NotIn<T> notIn) {
+    return add(notIn.getColumn());
+  }
+
+  @Override
+  public Void visit(And and) {
+    and.getLeft().accept(this);
+    return and.getRight().accept(this);
+  }
+
+  @Override
+  public Void visit(Or or) {
+    or.getLeft().accept(this);
+    return or.getRight().accept(this);
+  }
+
+  @Override
+  public Void visit(Not not) {
+    return not.getPredicate().accept(this);
+  }
+
+  @Override
+  public Void visit(AnyOf anyOf) {
+    return add(anyOf.getColumn());
+  }
+
+  @Override
+  public Void visit(AllOf allOf) {
+    return add(allOf.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(UserDefined<T, U> udp) {
+    return add(udp.getColumn());
+  }
+
+  @Override
+  public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(LogicalNotUserDefined<T, U> udp) {
+    return add(udp.getUserDefined().getColumn());
+  }
+}
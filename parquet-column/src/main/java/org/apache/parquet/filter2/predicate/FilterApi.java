@@ -19,9 +19,12 @@
 package org.apache.parquet.filter2.predicate;
 
 import java.io.Serializable;
+import java.util.Set;
 
 import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.filter2.predicate.Operators.AllOf;
 import org.apache.parquet.filter2.predicate.Operators.And;
+import org.apache.parquet.filter2.predicate.Operators.AnyOf;
 import org.apache.parquet.filter2.predicate.Operators.BinaryColumn;
 import org.apache.parquet.filter2.predicate.Operators.BooleanColumn;
 import org.apache.parquet.filter2.predicate.Operators.Column;
@@ -30,12 +33,14 @@ import org.apache.parquet.filter2.predicate.Operators.Eq;
 import org.apache.parquet.filter2.predicate.Operators.FloatColumn;
 import org.apache.parquet.filter2.predicate.Operators.Gt;
 import org.apache.parquet.filter2.predicate.Operators.GtEq;
+import org.apache.parquet.filter2.predicate.Operators.In;
 import org.apache.parquet.filter2.predicate.Operators.IntColumn;
 import org.apache.parquet.filter2.predicate.Operators.LongColumn;
 import org.apache.parquet.filter2.predicate.Operators.Lt;
 import org.apache.parquet.filter2.predicate.Operators.LtEq;
 import org.apache.parquet.filter2.predicate.Operators.Not;
 import org.apache.parquet.filter2.predicate.Operators.NotEq;
+import org.apache.parquet.filter2.predicate.Operators.NotIn;
 import org.apache.parquet.filter2.predicate.Operators.Or;
 import org.apache.parquet.filter2.predicate.Operators.SupportsEqNotEq;
 import org.apache.parquet.filter2.predicate.Operators.SupportsLtGt;
@@ -120,6 +125,24 @@ public final class FilterApi {
     return new NotEq<T>(column, value);
   }
 
+  /**
+   * Keeps records if their value is null, same as eq(column, null).
+   * Only the definition levels of the column are needed to evaluate it, the values are not decoded
+   * when the record is dropped.
+   */
+  public static <T extends Comparable<T>, C extends Column<T> & SupportsEqNotEq> Eq<T> isNull(C column) {
+    return new Eq<T>(column, null);
+  }
+
+  /**
+   * Keeps records if their value is not null, same as notEq(column, null).
+   * Only the definition levels of the column are needed to evaluate it, the values are not decoded
+   * when the record is dropped.
+   */
+  public static <T extends Comparable<T>, C extends Column<T> & SupportsEqNotEq> NotEq<T> isNotNull(C column) {
+    return new NotEq<T>(column, null);
+  }
+
   /**
    * Keeps records if their value is less than (but not equal to) the provided value.
    * The provided value cannot be null, as less than null has no meaning.
@@ -164,6 +187,31 @@ public final class FilterApi {
     return new GtEq<T>(column, value);
   }
 
+  /**
+   * Keeps records if their value is equal to one of the provided values.
+   * The provided values cannot be null, records with null values will be dropped.
+   * For example:
+   *   in(column, Sets.newHashSet(3, 7)) will keep all records whose value is 3 or 7, and not null.
+   *
+   * This is equivalent to or(eq(column, 3), eq(column, 7)), but the values are
+   * looked up in a set instead of being evaluated one by one, so it should be
+   * used for long lists of values.
+   */
+  public static <T extends Comparable<T>, C extends Column<T> & SupportsEqNotEq> In<T> in(C column, Set<T> values) {
+    return new In<T>(column, values);
+  }
+
+  /**
+   * Keeps records if their value is not equal to any of the provided values.
+   * The provided values cannot be null, records with null values will be kept, as for {@link #notEq}.
+   * For example:
+   *   notIn(column, Sets.newHashSet(3, 7)) will keep all records whose value is neither 3 nor 7, including
+   *   records whose value is null.
+   */
+  public static <T extends Comparable<T>, C extends Column<T> & SupportsEqNotEq> NotIn<T> notIn(C column, Set<T> values) {
+    return new NotIn<T>(column, values);
+  }
+
   /**
    * Keeps records that pass the provided {@link UserDefinedPredicate}
    *
@@ -185,6 +233,33 @@ public final class FilterApi {
     return new UserDefinedByInstance<T, U>(column, udp);
   }
 
+  /**
+   * Keeps records if at least one element of a repeated column satisfies the provided predicate.
+   * The predicate must be on a single column, and must not be eq() or notEq() with a null value:
+   * the elements of a repeated column are its non-null values, so records without elements are dropped.
+   * For example:
+   *   anyOf(eq(tags, "x")) will keep all records with at least one tag equal to "x".
+   *
+   * Predicates on repeated columns must be wrapped in anyOf() or allOf().
+   */
+  public static FilterPredicate anyOf(FilterPredicate predicate) {
+    return new AnyOf(predicate);
+  }
+
+  /**
+   * Keeps records if every element of a repeated column satisfies the provided predicate.
+   * The predicate must be on a single column, and must not be eq() or notEq() with a null value:
+   * the elements of a repeated column are its non-null values, so records without elements are kept.
+   * For example:
+   *   allOf(gt(scores, 10)) will keep all records whose scores are all greater than 10, including
+   *   records without scores.
+   *
+   * not(anyOf(p)) is allOf(not(p)), and not(allOf(p)) is anyOf(not(p)).
+   */
+  public static FilterPredicate allOf(FilterPredicate predicate) {
+    return new AllOf(predicate);
+  }
+
   /**
    * Constructs the logical and of two predicates. Records will be kept if both the left and right predicate agree
    * that the record should be kept.
@@ -19,15 +19,19 @@
 package org.apache.parquet.filter2.predicate;
 
 import org.apache.parquet.filter2.predicate.FilterPredicate.Visitor;
+import org.apache.parquet.filter2.predicate.Operators.AllOf;
 import org.apache.parquet.filter2.predicate.Operators.And;
+import org.apache.parquet.filter2.predicate.Operators.AnyOf;
 import org.apache.parquet.filter2.predicate.Operators.Eq;
 import org.apache.parquet.filter2.predicate.Operators.Gt;
 import org.apache.parquet.filter2.predicate.Operators.GtEq;
+import org.apache.parquet.filter2.predicate.Operators.In;
 import org.apache.parquet.filter2.predicate.Operators.LogicalNotUserDefined;
 import org.apache.parquet.filter2.predicate.Operators.Lt;
 import org.apache.parquet.filter2.predicate.Operators.LtEq;
 import org.apache.parquet.filter2.predicate.Operators.Not;
 import org.apache.parquet.filter2.predicate.Operators.NotEq;
+import org.apache.parquet.filter2.predicate.Operators.NotIn;
 import org.apache.parquet.filter2.predicate.Operators.Or;
 import org.apache.parquet.filter2.predicate.Operators.UserDefined;
 
@@ -81,6 +85,16 @@ public final class LogicalInverter implements Visitor<FilterPredicate> {
     return new Lt<T>(gtEq.getColumn(), gtEq.getValue());
   }
 
+  @Override
+  public <T extends Comparable<T>> FilterPredicate visit(In<T> in) {
+    return new NotIn<T>(in.getColumn(), in.getValues());
+  }
+
+  @Override
+  public <T extends Comparable<T>> FilterPredicate visit(NotIn<T> notIn) {
+    return new In<T>(notIn.getColumn(), notIn.getValues());
+  }
+
   @Override
   public FilterPredicate visit(And and) {
     return new Or(and.getLeft().accept(this), and.getRight().accept(this));
@@ -96,6 +110,16 @@ public final class LogicalInverter implements Visitor<FilterPredicate> {
     return not.getPredicate();
   }
 
+  @Override
+  public FilterPredicate visit(AnyOf anyOf) {
+    return new AllOf(anyOf.getPredicate().accept(this));
+  }
+
+  @Override
+  public FilterPredicate visit(AllOf allOf) {
+    return new AnyOf(allOf.getPredicate().accept(this));
+  }
+
   @Override
   public <T extends Comparable<T>,  U extends UserDefinedPredicate<T>> FilterPredicate visit(UserDefined<T, U> udp) {
     return new LogicalNotUserDefined<T, U>(udp);
@@ -19,11 +19,16 @@
 package org.apache.parquet.filter2.predicate;
 
 import java.io.Serializable;
+import java.util.Collections;
 import java.util.Locale;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
 
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.io.api.Binary;
 
+import static org.apache.parquet.Preconditions.checkArgument;
 import static org.apache.parquet.Preconditions.checkNotNull;
 
 /**
@@ -250,6 +255,92 @@ public final class Operators {
     }
   }
 
+  // base class for In, NotIn
+  static abstract class SetColumnFilterPredicate<T extends Comparable<T>> implements FilterPredicate, Serializable {
+    private final Column<T> column;
+    private final SortedSet<T> values;
+    private final String toString;
+
+    protected SetColumnFilterPredicate(Column<T> column, Set<T> values) {
+      this.column = checkNotNull(column, "column");
+      checkNotNull(values, "values");
+
+      // the values are kept sorted so that filters on min / max statistics
+      // only need the first and the last values, and range lookups
+      SortedSet<T> sorted = new TreeSet<T>();
+      for (T value : values) {
+        sorted.add(checkNotNull(value, "value"));
+      }
+      this.values = Collections.unmodifiableSortedSet(sorted);
+
+      String name = getClass().getSimpleName().toLowerCase(Locale.ENGLISH);
+      this.toString = name + "(" + column.getColumnPath().toDotString() + ", " + this.values + ")";
+    }
+
+    public Column<T> getColumn() {
+      return column;
+    }
+
+    /**
+     * @return the values of the predicate, in the order of {@link Comparable#compareTo(Object)}
+     */
+    public SortedSet<T> getValues() {
+      return values;
+    }
+
+    @Override
+    public String toString() {
+      return toString;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+
+      SetColumnFilterPredicate that = (SetColumnFilterPredicate) o;
+
+      if (!column.equals(that.column)) return false;
+      if (!values.equals(that.values)) return false;
+
+      return true;
+    }
+
+    @Override
+    public int hashCode() {
+      int result = column.hashCode();
+      result = 31 * result + values.hashCode();
+      result = 31 * result + getClass().hashCode();
+      return result;
+    }
+  }
+
+  public static final class In<T extends Comparable<T>> extends SetColumnFilterPredicate<T> {
+
+    // values cannot be null
+    In(Column<T> column, Set<T> values) {
+      super(column, values);
+    }
+
+    @Override
+    public <R> R accept(Visitor<R> visitor) {
+      return visitor.visit(this);
+    }
+  }
+
+  public static final class NotIn<T extends Comparable<T>> extends SetColumnFilterPredicate<T> {
+
+    // values cannot be null
+    NotIn(Column<T> column, Set<T> values) {
+      super(column, values);
+    }
+
+    @Override
+    public <R> R accept(Visitor<R> visitor) {
+      return visitor.visit(this);
+    }
+  }
+
   // base class for And, Or
   private static abstract class BinaryLogicalFilterPredicate implements FilterPredicate, Serializable {
     private final FilterPredicate left;
@@ -359,6 +450,93 @@ public final class Operators {
     }
   }
 
+  // base class for AnyOf, AllOf
+  static abstract class RepeatedColumnFilterPredicate implements FilterPredicate, Serializable {
+    private final Column<?> column;
+    private final FilterPredicate predicate;
+    private final String toString;
+
+    protected RepeatedColumnFilterPredicate(FilterPredicate predicate) {
+      this.predicate = checkNotNull(predicate, "predicate");
+      this.column = getElementColumn(predicate);
+      String name = getClass().getSimpleName().toLowerCase(Locale.ENGLISH);
+      this.toString = name + "(" + predicate + ")";
+    }
+
+    private static Column<?> getElementColumn(FilterPredicate predicate) {
+      if (predicate instanceof ColumnFilterPredicate) {
+        ColumnFilterPredicate<?> columnPredicate = (ColumnFilterPredicate<?>) predicate;
+        // eq(column, null) and notEq(column, null) test the column itself, not its elements
+        checkArgument(columnPredicate.getValue() != null,
+            "Elements of a repeated column are never null: " + predicate);
+        return columnPredicate.getColumn();
+      } else if (predicate instanceof SetColumnFilterPredicate) {
+        return ((SetColumnFilterPredicate<?>) predicate).getColumn();
+      } else if (predicate instanceof UserDefined) {
+        return ((UserDefined<?, ?>) predicate).getColumn();
+      } else if (predicate instanceof LogicalNotUserDefined) {
+        return ((LogicalNotUserDefined<?, ?>) predicate).getUserDefined().getColumn();
+      }
+      throw new IllegalArgumentException("Not a predicate on a single column: " + predicate);
+    }
+
+    /**
+     * @return the repeated column
+     */
+    public Column<?> getColumn() {
+      return column;
+    }
+
+    /**
+     * @return the predicate applied to each element of the column
+     */
+    public FilterPredicate getPredicate() {
+      return predicate;
+    }
+
+    @Override
+    public String toString() {
+      return toString;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) return true;
+      if (o == null || getClass() != o.getClass()) return false;
+      RepeatedColumnFilterPredicate that = (RepeatedColumnFilterPredicate) o;
+      return predicate.equals(that.predicate);
+    }
+
+    @Override
+    public int hashCode() {
+      return predicate.hashCode() * 31 + getClass().hashCode();
+    }
+  }
+
+  public static final class AnyOf extends RepeatedColumnFilterPredicate {
+
+    AnyOf(FilterPredicate predicate) {
+      super(predicate);
+    }
+
+    @Override
+    public <R> R accept(Visitor<R> visitor) {
+      return visitor.visit(this);
+    }
+  }
+
+  public static final class AllOf extends RepeatedColumnFilterPredicate {
+
+    AllOf(FilterPredicate predicate) {
+      super(predicate);
+    }
+
+    @Override
+    public <R> R accept(Visitor<R> visitor) {
+      return visitor.visit(this);
+    }
+  }
+
   public static abstract class UserDefined<T extends Comparable<T>, U extends UserDefinedPredicate<T>> implements FilterPredicate, Serializable {
     protected final Column<T> column;
 
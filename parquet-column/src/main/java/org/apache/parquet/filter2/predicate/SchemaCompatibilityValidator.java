@@ -22,17 +22,21 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.filter2.predicate.Operators.AllOf;
 import org.apache.parquet.filter2.predicate.Operators.And;
+import org.apache.parquet.filter2.predicate.Operators.AnyOf;
 import org.apache.parquet.filter2.predicate.Operators.Column;
 import org.apache.parquet.filter2.predicate.Operators.ColumnFilterPredicate;
 import org.apache.parquet.filter2.predicate.Operators.Eq;
 import org.apache.parquet.filter2.predicate.Operators.Gt;
 import org.apache.parquet.filter2.predicate.Operators.GtEq;
+import org.apache.parquet.filter2.predicate.Operators.In;
 import org.apache.parquet.filter2.predicate.Operators.LogicalNotUserDefined;
 import org.apache.parquet.filter2.predicate.Operators.Lt;
 import org.apache.parquet.filter2.predicate.Operators.LtEq;
 import org.apache.parquet.filter2.predicate.Operators.Not;
 import org.apache.parquet.filter2.predicate.Operators.NotEq;
+import org.apache.parquet.filter2.predicate.Operators.NotIn;
 import org.apache.parquet.filter2.predicate.Operators.Or;
 import org.apache.parquet.filter2.predicate.Operators.UserDefined;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
@@ -72,6 +76,9 @@ public class SchemaCompatibilityValidator implements FilterPredicate.Visitor<Voi
   // we are validating that what the user provided agrees with these.
   private final Map<ColumnPath, ColumnDescriptor> columnsAccordingToSchema = new HashMap<ColumnPath, ColumnDescriptor>();
 
+  // whether the predicate being validated is applied to the elements of a repeated column
+  private boolean inRepeated = false;
+
   private SchemaCompatibilityValidator(MessageType schema) {
 
     for (ColumnDescriptor cd : schema.getColumns()) {
@@ -116,6 +123,18 @@ public class SchemaCompatibilityValidator implements FilterPredicate.Visitor<Voi
     return null;
   }
 
+  @Override
+  public <T extends Comparable<T>> Void visit(In<T> pred) {
+    validateColumn(pred.getColumn());
+    return null;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Void visit(NotIn<T> pred) {
+    validateColumn(pred.getColumn());
+    return null;
+  }
+
   @Override
   public Void visit(And and) {
     and.getLeft().accept(this);
@@ -136,6 +155,18 @@ public class SchemaCompatibilityValidator implements FilterPredicate.Visitor<Voi
     return null;
   }
 
+  @Override
+  public Void visit(AnyOf anyOf) {
+    validateRepeated(anyOf.getPredicate());
+    return null;
+  }
+
+  @Override
+  public Void visit(AllOf allOf) {
+    validateRepeated(allOf.getPredicate());
+    return null;
+  }
+
   @Override
   public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> Void visit(UserDefined<T, U> udp) {
     validateColumn(udp.getColumn());
@@ -147,6 +178,15 @@ public class SchemaCompatibilityValidator implements FilterPredicate.Visitor<Voi
     return udp.getUserDefined().accept(this);
   }
 
+  private void validateRepeated(FilterPredicate elementPredicate) {
+    inRepeated = true;
+    try {
+      elementPredicate.accept(this);
+    } finally {
+      inRepeated = false;
+    }
+  }
+
   private <T extends Comparable<T>> void validateColumnFilterPredicate(ColumnFilterPredicate<T> pred) {
     validateColumn(pred.getColumn());
   }
@@ -173,8 +213,8 @@ public class SchemaCompatibilityValidator implements FilterPredicate.Visitor<Voi
       return;
     }
 
-    if (descriptor.getMaxRepetitionLevel() > 0) {
-      throw new IllegalArgumentException("FilterPredicates do not currently support repeated columns. "
+    if (descriptor.getMaxRepetitionLevel() > 0 && !inRepeated) {
+      throw new IllegalArgumentException("FilterPredicates on repeated columns must be wrapped in anyOf() or allOf(). "
           + "Column " + path.toDotString() + " is repeated.");
     }
 
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.recordlevel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.And;
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.Or;
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.Visitor;
+
+import static org.apache.parquet.Preconditions.checkNotNull;
+
+/**
+ * An {@link IncrementallyUpdatedFilterPredicate} compiled into a branch table over its
+ * {@link ValueInspector}s, evaluated in a loop instead of a {@link Visitor} walk of the tree.
+ * <p>
+ * Each {@link ValueInspector} is an entry of the table with the entry to jump to when it is
+ * satisfied and when it is not, so and() and or() short circuit with a jump and the tree is
+ * never visited again. The result is the same as
+ * {@link IncrementallyUpdatedFilterPredicateEvaluator}: the unknown {@link ValueInspector}s that
+ * are reached represent null values.
+ * <p>
+ * Predicates that contain other kinds of nodes, or {@link ValueInspector}s that override
+ * {@link ValueInspector#accept(Visitor)}, are not compiled and are evaluated with
+ * {@link IncrementallyUpdatedFilterPredicateEvaluator} and reset with
+ * {@link IncrementallyUpdatedFilterPredicateResetter}.
+ * <p>
+ * No class is generated: the leaves are still called through {@link ValueInspector}, only the
+ * walk of and() and or() is replaced. The table is built once per record reader, when its
+ * {@link ValueInspector}s are created, and is not cached since it holds their state.
+ */
+public final class CompiledFilterPredicate {
+  private static final int ACCEPT = -1;
+  private static final int REJECT = -2;
+
+  /**
+   * @param pred a predicate
+   * @return the compiled predicate, which shares the {@link ValueInspector}s of pred
+   */
+  public static CompiledFilterPredicate compile(IncrementallyUpdatedFilterPredicate pred) {
+    checkNotNull(pred, "pred");
+    Compiler compiler = new Compiler();
+    try {
+      int entry = compiler.compile(pred, ACCEPT, REJECT);
+      return new CompiledFilterPredicate(null, compiler.inspectors.toArray(new ValueInspector[0]),
+          toArray(compiler.onTrue), toArray(compiler.onFalse), entry);
+    } catch (NotCompilableException e) {
+      return new CompiledFilterPredicate(pred, null, null, null, REJECT);
+    }
+  }
+
+  // the predicate to interpret when it could not be compiled, null otherwise
+  private final IncrementallyUpdatedFilterPredicate interpreted;
+
+  private final ValueInspector[] inspectors;
+  private final int[] onTrue;
+  private final int[] onFalse;
+  private final int entry;
+
+  private CompiledFilterPredicate(IncrementallyUpdatedFilterPredicate interpreted,
+                                  ValueInspector[] inspectors, int[] onTrue, int[] onFalse, int entry) {
+    this.interpreted = interpreted;
+    this.inspectors = inspectors;
+    this.onTrue = onTrue;
+    this.onFalse = onFalse;
+    this.entry = entry;
+  }
+
+  /**
+   * @return true if the predicate was compiled, false if it is interpreted
+   */
+  public boolean isCompiled() {
+    return interpreted == null;
+  }
+
+  /**
+   * @return whether the current record satisfies the predicate
+   * @see IncrementallyUpdatedFilterPredicateEvaluator#evaluate(IncrementallyUpdatedFilterPredicate)
+   */
+  public boolean evaluate() {
+    if (interpreted != null) {
+      return IncrementallyUpdatedFilterPredicateEvaluator.evaluate(interpreted);
+    }
+    int i = entry;
+    while (i >= 0) {
+      ValueInspector inspector = inspectors[i];
+      if (!inspector.isKnown()) {
+        inspector.updateNull();
+      }
+      i = inspector.getResult() ? onTrue[i] : onFalse[i];
+    }
+    return i == ACCEPT;
+  }
+
+  /**
+   * Resets all the {@link ValueInspector}s of the predicate.
+   * @see IncrementallyUpdatedFilterPredicateResetter#reset(IncrementallyUpdatedFilterPredicate)
+   */
+  public void reset() {
+    if (interpreted != null) {
+      IncrementallyUpdatedFilterPredicateResetter.reset(interpreted);
+      return;
+    }
+    for (ValueInspector inspector : inspectors) {
+      inspector.reset();
+    }
+  }
+
+  private static int[] toArray(List<Integer> list) {
+    int[] array = new int[list.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+
+  private static final class Compiler {
+    private final List<ValueInspector> inspectors = new ArrayList<ValueInspector>();
+    private final List<Integer> onTrue = new ArrayList<Integer>();
+    private final List<Integer> onFalse = new ArrayList<Integer>();
+
+    /**
+     * Compiles the right side of and() and or() first, so that the left side
+     * knows where to jump.
+     * @return the entry of pred in the table
+     */
+    private int compile(IncrementallyUpdatedFilterPredicate pred, int ifTrue, int ifFalse) {
+      if (pred instanceof And) {
+        And and = (And) pred;
+        int right = compile(and.getRight(), ifTrue, ifFalse);
+        return compile(and.getLeft(), right, ifFalse);
+      } else if (pred instanceof Or) {
+        Or or = (Or) pred;
+        int right = compile(or.getRight(), ifTrue, ifFalse);
+        return compile(or.getLeft(), ifTrue, right);
+      } else if (pred instanceof ValueInspector && !overridesAccept(pred.getClass())) {
+        inspectors.add((ValueInspector) pred);
+        onTrue.add(ifTrue);
+        onFalse.add(ifFalse);
+        return inspectors.size() - 1;
+      }
+      throw new NotCompilableException();
+    }
+
+    private static boolean overridesAccept(Class<?> inspectorClass) {
+      try {
+        return inspectorClass.getMethod("accept", Visitor.class).getDeclaringClass() != ValueInspector.class;
+      } catch (NoSuchMethodException e) {
+        return true;
+      } catch (SecurityException e) {
+        return true;
+      }
+    }
+  }
+
+  private static final class NotCompilableException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+  }
+}
@@ -18,10 +18,13 @@
  */
 package org.apache.parquet.filter2.recordlevel;
 
+import java.util.BitSet;
+
 import org.apache.parquet.column.Dictionary;
 import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 
 import static org.apache.parquet.Preconditions.checkNotNull;
 
@@ -34,29 +37,139 @@ import static org.apache.parquet.Preconditions.checkNotNull;
 public class FilteringPrimitiveConverter extends PrimitiveConverter {
   private final PrimitiveConverter delegate;
   private final ValueInspector[] valueInspectors;
+  private final PrimitiveTypeName type;
+
+  private Dictionary dictionary;
+  // for each value inspector, the dictionary ids it was evaluated for and,
+  // among them, the ids of the values it is satisfied by
+  private BitSet[] evaluatedIds;
+  private BitSet[] matchingIds;
 
   public FilteringPrimitiveConverter(PrimitiveConverter delegate, ValueInspector[] valueInspectors) {
+    this(delegate, valueInspectors, null);
+  }
+
+  /**
+   * When the type of the column is known, dictionary encoded values are
+   * filtered on their dictionary ids: each value inspector is evaluated once
+   * per value of the dictionary and the result is reused for all the values
+   * with the same id, which are not decoded unless the delegate needs them.
+   *
+   * @param delegate the converter of the column
+   * @param valueInspectors the value inspectors for the column
+   * @param type the type of the column, or null to filter decoded values only
+   */
+  public FilteringPrimitiveConverter(PrimitiveConverter delegate, ValueInspector[] valueInspectors, PrimitiveTypeName type) {
     this.delegate = checkNotNull(delegate, "delegate");
     this.valueInspectors = checkNotNull(valueInspectors, "valueInspectors");
+    this.type = type;
   }
 
-  // TODO: this works, but
-  // TODO: essentially turns off the benefits of dictionary support
-  // TODO: even if the underlying delegate supports it.
-  // TODO: we should support it here. (https://issues.apache.org/jira/browse/PARQUET-36)
   @Override
   public boolean hasDictionarySupport() {
-    return false;
+    if (valueInspectors.length == 0) {
+      return delegate.hasDictionarySupport();
+    }
+    return type != null && type != PrimitiveTypeName.BOOLEAN;
   }
 
   @Override
   public void setDictionary(Dictionary dictionary) {
-    throw new UnsupportedOperationException("FilteringPrimitiveConverter doesn't have dictionary support");
+    if (!hasDictionarySupport()) {
+      throw new UnsupportedOperationException("FilteringPrimitiveConverter doesn't have dictionary support");
+    }
+    this.dictionary = dictionary;
+    this.evaluatedIds = new BitSet[valueInspectors.length];
+    this.matchingIds = new BitSet[valueInspectors.length];
+    for (int i = 0; i < valueInspectors.length; i++) {
+      evaluatedIds[i] = new BitSet(dictionary.getMaxId() + 1);
+      matchingIds[i] = new BitSet(dictionary.getMaxId() + 1);
+    }
+    if (delegate.hasDictionarySupport()) {
+      delegate.setDictionary(dictionary);
+    }
   }
 
   @Override
   public void addValueFromDictionary(int dictionaryId) {
-    throw new UnsupportedOperationException("FilteringPrimitiveConverter doesn't have dictionary support");
+    for (int i = 0; i < valueInspectors.length; i++) {
+      ValueInspector valueInspector = valueInspectors[i];
+      if (valueInspector instanceof RepeatedValueInspector) {
+        addElementFromDictionary(i, (RepeatedValueInspector) valueInspector, dictionaryId);
+      } else if (evaluatedIds[i].get(dictionaryId)) {
+        valueInspector.setResult(matchingIds[i].get(dictionaryId));
+      } else {
+        updateFromDictionary(valueInspector, dictionaryId);
+        evaluatedIds[i].set(dictionaryId);
+        if (valueInspector.isKnown() && valueInspector.getResult()) {
+          matchingIds[i].set(dictionaryId);
+        }
+      }
+    }
+    if (delegate.hasDictionarySupport()) {
+      delegate.addValueFromDictionary(dictionaryId);
+    } else {
+      addToDelegate(dictionaryId);
+    }
+  }
+
+  /**
+   * The ids of the inspectors of repeated columns are evaluated with the
+   * inspector of the element predicate, only until the result for the record
+   * is known.
+   */
+  private void addElementFromDictionary(int i, RepeatedValueInspector valueInspector, int dictionaryId) {
+    if (valueInspector.isKnown()) {
+      return;
+    }
+    if (!evaluatedIds[i].get(dictionaryId)) {
+      ValueInspector element = valueInspector.getElement();
+      updateFromDictionary(element, dictionaryId);
+      evaluatedIds[i].set(dictionaryId);
+      if (element.isKnown() && element.getResult()) {
+        matchingIds[i].set(dictionaryId);
+      }
+      element.reset();
+    }
+    valueInspector.updateElement(matchingIds[i].get(dictionaryId));
+  }
+
+  private void updateFromDictionary(ValueInspector valueInspector, int dictionaryId) {
+    switch (type) {
+      case INT32:
+        valueInspector.update(dictionary.decodeToInt(dictionaryId));
+        break;
+      case INT64:
+        valueInspector.update(dictionary.decodeToLong(dictionaryId));
+        break;
+      case FLOAT:
+        valueInspector.update(dictionary.decodeToFloat(dictionaryId));
+        break;
+      case DOUBLE:
+        valueInspector.update(dictionary.decodeToDouble(dictionaryId));
+        break;
+      default:
+        valueInspector.update(dictionary.decodeToBinary(dictionaryId));
+    }
+  }
+
+  private void addToDelegate(int dictionaryId) {
+    switch (type) {
+      case INT32:
+        delegate.addInt(dictionary.decodeToInt(dictionaryId));
+        break;
+      case INT64:
+        delegate.addLong(dictionary.decodeToLong(dictionaryId));
+        break;
+      case FLOAT:
+        delegate.addFloat(dictionary.decodeToFloat(dictionaryId));
+        break;
+      case DOUBLE:
+        delegate.addDouble(dictionary.decodeToDouble(dictionaryId));
+        break;
+      default:
+        delegate.addBinary(dictionary.decodeToBinary(dictionaryId));
+    }
   }
 
   @Override
@@ -47,7 +47,7 @@ public class FilteringRecordMaterializer<T> extends RecordMaterializer<T> {
   private final FilteringGroupConverter rootConverter;
 
   // the predicate
-  private final IncrementallyUpdatedFilterPredicate filterPredicate;
+  private final CompiledFilterPredicate filterPredicate;
 
   public FilteringRecordMaterializer(
       RecordMaterializer<T> delegate,
@@ -57,7 +57,7 @@ public class FilteringRecordMaterializer<T> extends RecordMaterializer<T> {
 
     checkNotNull(columnIOs, "columnIOs");
     checkNotNull(valueInspectorsByColumn, "valueInspectorsByColumn");
-    this.filterPredicate = checkNotNull(filterPredicate, "filterPredicate");
+    this.filterPredicate = CompiledFilterPredicate.compile(checkNotNull(filterPredicate, "filterPredicate"));
     this.delegate = checkNotNull(delegate, "delegate");
 
     // keep track of which path of indices leads to which primitive column
@@ -90,10 +90,10 @@ public class FilteringRecordMaterializer<T> extends RecordMaterializer<T> {
   public T getCurrentRecord() {
 
     // find out if the predicate thinks we should keep this record
-    boolean keep = IncrementallyUpdatedFilterPredicateEvaluator.evaluate(filterPredicate);
+    boolean keep = filterPredicate.evaluate();
 
     // reset the stateful predicate no matter what
-    IncrementallyUpdatedFilterPredicateResetter.reset(filterPredicate);
+    filterPredicate.reset();
 
     if (keep) {
       return delegate.getCurrentRecord();
@@ -26,7 +26,9 @@ import java.util.Map;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.predicate.FilterPredicate.Visitor;
+import org.apache.parquet.filter2.predicate.Operators.AllOf;
 import org.apache.parquet.filter2.predicate.Operators.And;
+import org.apache.parquet.filter2.predicate.Operators.AnyOf;
 import org.apache.parquet.filter2.predicate.Operators.Not;
 import org.apache.parquet.filter2.predicate.Operators.Or;
 import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;
@@ -88,6 +90,34 @@ public abstract class IncrementallyUpdatedFilterPredicateBuilderBase implements
     return new IncrementallyUpdatedFilterPredicate.Or(or.getLeft().accept(this), or.getRight().accept(this));
   }
 
+  @Override
+  public final IncrementallyUpdatedFilterPredicate visit(AnyOf anyOf) {
+    ColumnPath columnPath = anyOf.getColumn().getColumnPath();
+    return replaceValueInspector(columnPath, RepeatedValueInspector.anyOf(buildElement(anyOf.getPredicate())));
+  }
+
+  @Override
+  public final IncrementallyUpdatedFilterPredicate visit(AllOf allOf) {
+    ColumnPath columnPath = allOf.getColumn().getColumnPath();
+    return replaceValueInspector(columnPath, RepeatedValueInspector.allOf(buildElement(allOf.getPredicate())));
+  }
+
+  /**
+   * Builds the value inspector of the predicate applied to each element of a repeated column,
+   * which is then replaced by the inspector of the whole column.
+   */
+  private ValueInspector buildElement(FilterPredicate elementPredicate) {
+    IncrementallyUpdatedFilterPredicate element = elementPredicate.accept(this);
+    checkArgument(element instanceof ValueInspector, "Not a predicate on a single column: " + elementPredicate);
+    return (ValueInspector) element;
+  }
+
+  private ValueInspector replaceValueInspector(ColumnPath columnPath, RepeatedValueInspector valueInspector) {
+    List<ValueInspector> valueInspectors = valueInspectorsByColumn.get(columnPath);
+    valueInspectors.set(valueInspectors.lastIndexOf(valueInspector.getElement()), valueInspector);
+    return valueInspector;
+  }
+
   @Override
   public final IncrementallyUpdatedFilterPredicate visit(Not not) {
     throw new IllegalArgumentException(
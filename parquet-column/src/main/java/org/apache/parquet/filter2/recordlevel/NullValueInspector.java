@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.recordlevel;
+
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;
+import org.apache.parquet.io.api.Binary;
+
+/**
+ * The {@link ValueInspector} of isNull() and isNotNull(), which only depends on
+ * whether the column has a value. Record readers can call {@link #updateNotNull()}
+ * from the definition level of the column without decoding its value.
+ */
+public final class NullValueInspector extends ValueInspector {
+  private final boolean matchesNull;
+
+  /**
+   * @param matchesNull true for isNull(), false for isNotNull()
+   */
+  NullValueInspector(boolean matchesNull) {
+    this.matchesNull = matchesNull;
+  }
+
+  @Override
+  public void updateNull() {
+    setResult(matchesNull);
+  }
+
+  /**
+   * Signals that the column has a value, without the value.
+   */
+  public void updateNotNull() {
+    setResult(!matchesNull);
+  }
+
+  @Override
+  public void update(int value) {
+    updateNotNull();
+  }
+
+  @Override
+  public void update(long value) {
+    updateNotNull();
+  }
+
+  @Override
+  public void update(double value) {
+    updateNotNull();
+  }
+
+  @Override
+  public void update(float value) {
+    updateNotNull();
+  }
+
+  @Override
+  public void update(boolean value) {
+    updateNotNull();
+  }
+
+  @Override
+  public void update(Binary value) {
+    updateNotNull();
+  }
+}
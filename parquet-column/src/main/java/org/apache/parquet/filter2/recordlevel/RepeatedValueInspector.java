@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.recordlevel;
+
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;
+import org.apache.parquet.io.api.Binary;
+
+import static org.apache.parquet.Preconditions.checkNotNull;
+
+/**
+ * A {@link ValueInspector} for anyOf() and allOf() that receives all the values
+ * of a repeated column in a record. Each value is given to a {@link ValueInspector}
+ * for the element predicate, which is reset after each value.
+ * <p>
+ * The result is known as soon as one element decides it, and the values that
+ * come after are ignored. When the record has no more values, {@link #updateNull()}
+ * sets the result for a record whose elements did not decide it.
+ */
+abstract class RepeatedValueInspector extends ValueInspector {
+
+  static RepeatedValueInspector anyOf(ValueInspector element) {
+    return new RepeatedValueInspector(element) {
+      @Override
+      void updateElement(boolean elementResult) {
+        if (elementResult) {
+          setResult(true);
+        }
+      }
+
+      @Override
+      public void updateNull() {
+        setResult(false);
+      }
+    };
+  }
+
+  static RepeatedValueInspector allOf(ValueInspector element) {
+    return new RepeatedValueInspector(element) {
+      @Override
+      void updateElement(boolean elementResult) {
+        if (!elementResult) {
+          setResult(false);
+        }
+      }
+
+      @Override
+      public void updateNull() {
+        setResult(true);
+      }
+    };
+  }
+
+  private final ValueInspector element;
+
+  private RepeatedValueInspector(ValueInspector element) {
+    this.element = checkNotNull(element, "element");
+  }
+
+  /**
+   * @return the inspector of the element predicate
+   */
+  ValueInspector getElement() {
+    return element;
+  }
+
+  /**
+   * Called with the result of the element predicate for each value of the
+   * record, until the result of this inspector is known.
+   */
+  abstract void updateElement(boolean elementResult);
+
+  private void updateFromElement() {
+    boolean elementResult = element.getResult();
+    element.reset();
+    updateElement(elementResult);
+  }
+
+  @Override
+  public void update(int value) {
+    if (!isKnown()) {
+      element.update(value);
+      updateFromElement();
+    }
+  }
+
+  @Override
+  public void update(long value) {
+    if (!isKnown()) {
+      element.update(value);
+      updateFromElement();
+    }
+  }
+
+  @Override
+  public void update(double value) {
+    if (!isKnown()) {
+      element.update(value);
+      updateFromElement();
+    }
+  }
+
+  @Override
+  public void update(float value) {
+    if (!isKnown()) {
+      element.update(value);
+      updateFromElement();
+    }
+  }
+
+  @Override
+  public void update(boolean value) {
+    if (!isKnown()) {
+      element.update(value);
+      updateFromElement();
+    }
+  }
+
+  @Override
+  public void update(Binary value) {
+    if (!isKnown()) {
+      element.update(value);
+      updateFromElement();
+    }
+  }
+}
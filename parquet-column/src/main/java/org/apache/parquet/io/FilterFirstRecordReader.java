@@ -0,0 +1,444 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.io;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReadStore;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.filter2.recordlevel.CompiledFilterPredicate;
+import org.apache.parquet.filter2.recordlevel.FilteringPrimitiveConverter;
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate;
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;
+import org.apache.parquet.filter2.recordlevel.NullValueInspector;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.io.api.Converter;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * Applies a filter2 predicate before assembling the records.
+ * <p>
+ * For each record, the values of the columns of the predicate are read
+ * first: they update the {@link ValueInspector}s and are kept aside. If the
+ * predicate rejects the record, the values of the other columns are skipped
+ * with {@link ColumnReader#skip()} and none of the converters are called.
+ * Otherwise the record is assembled as usual, the kept values of the
+ * predicate columns are written to their converters in place of the values
+ * of the underlying column readers.
+ * <p>
+ * Columns that are only tested for null, with isNull() and isNotNull(), are
+ * evaluated from their definition levels before their values are read, and
+ * are not decoded for rejected records.
+ * <p>
+ * Compared to {@link org.apache.parquet.filter2.recordlevel.FilteringRecordMaterializer},
+ * which decides at the end of the assembly, rejected records cost only the
+ * decoding of the predicate columns.
+ *
+ * @param <T> the type of the materialized records
+ */
+class FilterFirstRecordReader<T> extends RecordReaderImplementation<T> {
+
+  private final CompiledFilterPredicate filterPredicate;
+  private final List<PredicateColumnReader> predicateColumns = new ArrayList<PredicateColumnReader>();
+  private final List<ColumnReader> otherColumns = new ArrayList<ColumnReader>();
+  // the columns of otherColumns that are tested for null, and their value inspectors
+  private final List<ColumnReader> nullCheckColumns = new ArrayList<ColumnReader>();
+  private final List<NullValueInspector[]> nullCheckInspectors = new ArrayList<NullValueInspector[]>();
+
+  private boolean skipped = false;
+
+  /**
+   * @param root the root of the schema
+   * @param recordMaterializer responsible of materializing the records
+   * @param validating whether we should validate against the schema
+   * @param columnStore where to read the column data from, with the converters of recordMaterializer
+   * @param valueInspectorsByColumn the value inspectors of filterPredicate
+   * @param filterPredicate the predicate to apply
+   */
+  FilterFirstRecordReader(MessageColumnIO root,
+                          RecordMaterializer<T> recordMaterializer,
+                          boolean validating,
+                          ColumnReadStoreImpl columnStore,
+                          Map<ColumnPath, List<ValueInspector>> valueInspectorsByColumn,
+                          IncrementallyUpdatedFilterPredicate filterPredicate) {
+    super(root, recordMaterializer, validating,
+        new PredicateColumnReadStore(root, recordMaterializer, columnStore, valueInspectorsByColumn));
+    this.filterPredicate = CompiledFilterPredicate.compile(filterPredicate);
+    for (ColumnReader columnReader : getColumnReaders()) {
+      if (columnReader instanceof PredicateColumnReader) {
+        predicateColumns.add((PredicateColumnReader) columnReader);
+      } else {
+        otherColumns.add(columnReader);
+        ColumnDescriptor descriptor = columnReader.getDescriptor();
+        List<ValueInspector> valueInspectors = valueInspectorsByColumn.get(ColumnPath.get(descriptor.getPath()));
+        if (valueInspectors != null) {
+          nullCheckColumns.add(columnReader);
+          nullCheckInspectors.add(valueInspectors.toArray(new NullValueInspector[valueInspectors.size()]));
+        }
+      }
+    }
+  }
+
+  @Override
+  public T read() {
+    for (PredicateColumnReader predicateColumn : predicateColumns) {
+      predicateColumn.readRecord();
+    }
+    for (int i = 0; i < nullCheckColumns.size(); i++) {
+      ColumnReader columnReader = nullCheckColumns.get(i);
+      boolean isNull = columnReader.getCurrentDefinitionLevel() < columnReader.getDescriptor().getMaxDefinitionLevel();
+      for (NullValueInspector valueInspector : nullCheckInspectors.get(i)) {
+        if (isNull) {
+          valueInspector.updateNull();
+        } else {
+          valueInspector.updateNotNull();
+        }
+      }
+    }
+
+    boolean keep = filterPredicate.evaluate();
+    filterPredicate.reset();
+
+    skipped = !keep;
+    if (skipped) {
+      for (ColumnReader columnReader : otherColumns) {
+        skipRecord(columnReader);
+      }
+      return null;
+    }
+    return super.read();
+  }
+
+  private static void skipRecord(ColumnReader columnReader) {
+    int maxDefinitionLevel = columnReader.getDescriptor().getMaxDefinitionLevel();
+    do {
+      if (columnReader.getCurrentDefinitionLevel() == maxDefinitionLevel) {
+        columnReader.skip();
+      }
+      columnReader.consume();
+    } while (columnReader.getCurrentRepetitionLevel() != 0);
+  }
+
+  @Override
+  public boolean shouldSkipCurrentRecord() {
+    return skipped || super.shouldSkipCurrentRecord();
+  }
+
+  /**
+   * Wraps the column readers of the predicate columns, the other columns are
+   * read from the underlying store.
+   */
+  private static class PredicateColumnReadStore implements ColumnReadStore {
+    private final ColumnReadStoreImpl columnStore;
+    private final Map<ColumnPath, List<ValueInspector>> valueInspectorsByColumn;
+    private final Map<ColumnPath, PrimitiveConverter> converters = new HashMap<ColumnPath, PrimitiveConverter>();
+
+    private PredicateColumnReadStore(MessageColumnIO root,
+                                     RecordMaterializer<?> recordMaterializer,
+                                     ColumnReadStoreImpl columnStore,
+                                     Map<ColumnPath, List<ValueInspector>> valueInspectorsByColumn) {
+      this.columnStore = columnStore;
+      this.valueInspectorsByColumn = valueInspectorsByColumn;
+      for (PrimitiveColumnIO leaf : root.getLeaves()) {
+        Converter converter = recordMaterializer.getRootConverter();
+        for (int index : leaf.getIndexFieldPath()) {
+          converter = converter.asGroupConverter().getConverter(index);
+        }
+        converters.put(ColumnPath.get(leaf.getColumnDescriptor().getPath()), converter.asPrimitiveConverter());
+      }
+    }
+
+    @Override
+    public ColumnReader getColumnReader(ColumnDescriptor path) {
+      ColumnPath columnPath = ColumnPath.get(path.getPath());
+      List<ValueInspector> valueInspectors = valueInspectorsByColumn.get(columnPath);
+      if (valueInspectors == null || isNullCheck(path, valueInspectors)) {
+        return columnStore.getColumnReader(path);
+      }
+      ValueRecorder recorder = new ValueRecorder(converters.get(columnPath), path.getType());
+      ColumnReader columnReader = columnStore.getColumnReader(path, new FilteringPrimitiveConverter(
+          recorder, valueInspectors.toArray(new ValueInspector[valueInspectors.size()]), path.getType()));
+      return new PredicateColumnReader(columnReader, recorder);
+    }
+  }
+
+  /**
+   * @return whether the value inspectors of a non-repeated column only test for null
+   */
+  private static boolean isNullCheck(ColumnDescriptor path, List<ValueInspector> valueInspectors) {
+    if (path.getMaxRepetitionLevel() > 0) {
+      return false;
+    }
+    for (ValueInspector valueInspector : valueInspectors) {
+      if (!(valueInspector instanceof NullValueInspector)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Reads the triplets of a predicate column one record at a time and plays
+   * them back during the assembly of the record.
+   */
+  private static class PredicateColumnReader implements ColumnReader {
+    private final ColumnReader columnReader;
+    private final ValueRecorder recorder;
+    private final int maxDefinitionLevel;
+
+    private int[] repetitionLevels = new int[16];
+    private int[] definitionLevels = new int[16];
+    private int size = 0;
+    private int position = 0;
+
+    private PredicateColumnReader(ColumnReader columnReader, ValueRecorder recorder) {
+      this.columnReader = columnReader;
+      this.recorder = recorder;
+      this.maxDefinitionLevel = columnReader.getDescriptor().getMaxDefinitionLevel();
+    }
+
+    /**
+     * Reads the triplets of the next record, the values are written to the
+     * value inspectors and recorded.
+     */
+    void readRecord() {
+      size = 0;
+      position = 0;
+      recorder.clear();
+      do {
+        if (size == repetitionLevels.length) {
+          repetitionLevels = Arrays.copyOf(repetitionLevels, size * 2);
+          definitionLevels = Arrays.copyOf(definitionLevels, size * 2);
+        }
+        int definitionLevel = columnReader.getCurrentDefinitionLevel();
+        repetitionLevels[size] = columnReader.getCurrentRepetitionLevel();
+        definitionLevels[size] = definitionLevel;
+        size += 1;
+        if (definitionLevel == maxDefinitionLevel) {
+          columnReader.writeCurrentValueToConverter();
+        }
+        columnReader.consume();
+      } while (columnReader.getCurrentRepetitionLevel() != 0);
+    }
+
+    @Override
+    public long getTotalValueCount() {
+      return columnReader.getTotalValueCount();
+    }
+
+    @Override
+    public void consume() {
+      position += 1;
+    }
+
+    @Override
+    public int getCurrentRepetitionLevel() {
+      // the next record starts with a repetition level of 0
+      return position < size ? repetitionLevels[position] : 0;
+    }
+
+    @Override
+    public int getCurrentDefinitionLevel() {
+      return definitionLevels[position];
+    }
+
+    @Override
+    public void writeCurrentValueToConverter() {
+      recorder.writeNext();
+    }
+
+    @Override
+    public void skip() {
+      recorder.skipNext();
+    }
+
+    @Override
+    public ColumnDescriptor getDescriptor() {
+      return columnReader.getDescriptor();
+    }
+
+    @Override
+    public int getCurrentValueDictionaryID() {
+      throw new UnsupportedOperationException("values of predicate columns are only written to converters");
+    }
+
+    @Override
+    public int getInteger() {
+      throw new UnsupportedOperationException("values of predicate columns are only written to converters");
+    }
+
+    @Override
+    public boolean getBoolean() {
+      throw new UnsupportedOperationException("values of predicate columns are only written to converters");
+    }
+
+    @Override
+    public long getLong() {
+      throw new UnsupportedOperationException("values of predicate columns are only written to converters");
+    }
+
+    @Override
+    public Binary getBinary() {
+      throw new UnsupportedOperationException("values of predicate columns are only written to converters");
+    }
+
+    @Override
+    public float getFloat() {
+      throw new UnsupportedOperationException("values of predicate columns are only written to converters");
+    }
+
+    @Override
+    public double getDouble() {
+      throw new UnsupportedOperationException("values of predicate columns are only written to converters");
+    }
+  }
+
+  /**
+   * Records the values of a column written by its column reader, dictionary
+   * ids are recorded as such when the converter of the column supports them.
+   */
+  private static class ValueRecorder extends PrimitiveConverter {
+    private final PrimitiveConverter converter;
+    private final PrimitiveTypeName type;
+
+    private long[] values = new long[16];
+    private Binary[] binaries;
+    private boolean[] fromDictionary = new boolean[16];
+    private int size = 0;
+    private int next = 0;
+
+    private ValueRecorder(PrimitiveConverter converter, PrimitiveTypeName type) {
+      this.converter = converter;
+      this.type = type;
+      if (type == PrimitiveTypeName.BINARY
+          || type == PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY
+          || type == PrimitiveTypeName.INT96) {
+        this.binaries = new Binary[16];
+      }
+    }
+
+    void clear() {
+      if (binaries != null) {
+        Arrays.fill(binaries, 0, size, null);
+      }
+      size = 0;
+      next = 0;
+    }
+
+    private void add(long value, boolean isDictionaryId) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+        fromDictionary = Arrays.copyOf(fromDictionary, size * 2);
+        if (binaries != null) {
+          binaries = Arrays.copyOf(binaries, size * 2);
+        }
+      }
+      values[size] = value;
+      fromDictionary[size] = isDictionaryId;
+      size += 1;
+    }
+
+    void skipNext() {
+      next += 1;
+    }
+
+    void writeNext() {
+      int i = next++;
+      if (fromDictionary[i]) {
+        converter.addValueFromDictionary((int) values[i]);
+        return;
+      }
+      switch (type) {
+        case INT32:
+          converter.addInt((int) values[i]);
+          break;
+        case INT64:
+          converter.addLong(values[i]);
+          break;
+        case FLOAT:
+          converter.addFloat(Float.intBitsToFloat((int) values[i]));
+          break;
+        case DOUBLE:
+          converter.addDouble(Double.longBitsToDouble(values[i]));
+          break;
+        case BOOLEAN:
+          converter.addBoolean(values[i] != 0);
+          break;
+        default:
+          converter.addBinary(binaries[i]);
+      }
+    }
+
+    @Override
+    public boolean hasDictionarySupport() {
+      return converter.hasDictionarySupport();
+    }
+
+    @Override
+    public void setDictionary(Dictionary dictionary) {
+      converter.setDictionary(dictionary);
+    }
+
+    @Override
+    public void addValueFromDictionary(int dictionaryId) {
+      add(dictionaryId, true);
+    }
+
+    @Override
+    public void addBinary(Binary value) {
+      add(0, false);
+      binaries[size - 1] = value;
+    }
+
+    @Override
+    public void addBoolean(boolean value) {
+      add(value ? 1 : 0, false);
+    }
+
+    @Override
+    public void addDouble(double value) {
+      add(Double.doubleToRawLongBits(value), false);
+    }
+
+    @Override
+    public void addFloat(float value) {
+      add(Float.floatToRawIntBits(value), false);
+    }
+
+    @Override
+    public void addInt(int value) {
+      add(value, false);
+    }
+
+    @Override
+    public void addLong(long value) {
+      add(value, false);
+    }
+  }
+}
@@ -41,7 +41,9 @@ import org.apache.parquet.filter2.compat.FilterCompat.Visitor;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.recordlevel.FilteringRecordMaterializer;
 import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate;
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;
 import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicateBuilder;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.io.api.RecordConsumer;
 import org.apache.parquet.io.api.RecordMaterializer;
@@ -110,10 +112,22 @@ public class MessageColumnIO extends GroupColumnIO {
         FilterPredicate predicate = filterPredicateCompat.getFilterPredicate();
         IncrementallyUpdatedFilterPredicateBuilder builder = new IncrementallyUpdatedFilterPredicateBuilder();
         IncrementallyUpdatedFilterPredicate streamingPredicate = builder.build(predicate);
+        Map<ColumnPath, List<ValueInspector>> valueInspectorsByColumn = builder.getValueInspectorsByColumn();
+        if (hasColumnsOutsideOf(valueInspectorsByColumn)) {
+          // evaluate the predicate first so that rejected records skip the other columns
+          return new FilterFirstRecordReader<T>(
+              MessageColumnIO.this,
+              recordMaterializer,
+              validating,
+              new ColumnReadStoreImpl(columns, recordMaterializer.getRootConverter(), getType(), createdBy),
+              valueInspectorsByColumn,
+              streamingPredicate);
+        }
+
         RecordMaterializer<T> filteringRecordMaterializer = new FilteringRecordMaterializer<T>(
             recordMaterializer,
             leaves,
-            builder.getValueInspectorsByColumn(),
+            valueInspectorsByColumn,
             streamingPredicate);
 
         return new RecordReaderImplementation<T>(
@@ -146,6 +160,18 @@ public class MessageColumnIO extends GroupColumnIO {
     });
   }
 
+  /**
+   * @return whether some of the columns read are not used by the predicate
+   */
+  private boolean hasColumnsOutsideOf(Map<ColumnPath, List<ValueInspector>> valueInspectorsByColumn) {
+    for (PrimitiveColumnIO leaf : leaves) {
+      if (!valueInspectorsByColumn.containsKey(ColumnPath.get(leaf.getColumnDescriptor().getPath()))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   /**
    * To improve null writing performance, we cache null values on group nodes. We flush nulls when a
    * non-null value hits the group node.
@@ -19,8 +19,18 @@
 package org.apache.parquet.column.mem;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.page.PageWriteStore;
+import org.apache.parquet.column.page.PageWriter;
+import org.apache.parquet.column.statistics.HyperLogLog;
+import org.apache.parquet.column.statistics.Statistics;
 import org.junit.Test;
 
 import org.apache.parquet.Log;
@@ -159,6 +169,70 @@ public class TestMemColumn {
     }
   }
 
+  @Test
+  public void testDistinctCountSketchSeveralPages() throws Exception {
+    MessageType mt = MessageTypeParser.parseMessageType("message msg { required int64 foo; }");
+    ColumnDescriptor path = mt.getColumnDescription(new String[]{"foo"});
+    final MemPageStore memPageStore = new MemPageStore(10);
+    final Statistics<?> chunkStatistics = Statistics.getStatsBasedOnType(path.getType());
+    final int[] pageCount = {0};
+    // merges the statistics of the pages when they are written, as the file writer does
+    PageWriteStore pageWriteStore = new PageWriteStore() {
+      @Override
+      public PageWriter getPageWriter(ColumnDescriptor path) {
+        final PageWriter pageWriter = memPageStore.getPageWriter(path);
+        return new PageWriter() {
+          @Override
+          public void writePage(BytesInput bytesInput, int valueCount, Statistics<?> statistics,
+                                Encoding rlEncoding, Encoding dlEncoding, Encoding valuesEncoding) throws IOException {
+            ++pageCount[0];
+            chunkStatistics.mergeStatistics(statistics);
+            pageWriter.writePage(bytesInput, valueCount, statistics, rlEncoding, dlEncoding, valuesEncoding);
+          }
+          @Override
+          public void writePageV2(int rowCount, int nullCount, int valueCount, BytesInput repetitionLevels,
+                                  BytesInput definitionLevels, Encoding dataEncoding, BytesInput data,
+                                  Statistics<?> statistics) throws IOException {
+            throw new UnsupportedOperationException();
+          }
+          @Override
+          public long getMemSize() {
+            return pageWriter.getMemSize();
+          }
+          @Override
+          public long allocatedSize() {
+            return pageWriter.allocatedSize();
+          }
+          @Override
+          public void writeDictionaryPage(DictionaryPage dictionaryPage) throws IOException {
+            pageWriter.writeDictionaryPage(dictionaryPage);
+          }
+          @Override
+          public String memUsageString(String prefix) {
+            return pageWriter.memUsageString(prefix);
+          }
+        };
+      }
+    };
+    ColumnWriteStoreV1 memColumnsStore = new ColumnWriteStoreV1(pageWriteStore,
+        ParquetProperties.builder()
+            .withPageSize(2048)
+            .withDictionaryEncoding(false)
+            .withDistinctCountPrecision(10)
+            .build());
+    ColumnWriter columnWriter = memColumnsStore.getColumnWriter(path);
+    HyperLogLog expected = new HyperLogLog(10);
+    for (long i = 0; i < 5000; i++) {
+      columnWriter.write(i % 3000, 0, 0);
+      expected.offer(i % 3000);
+    }
+    memColumnsStore.flush();
+
+    assertTrue("several pages are written", pageCount[0] > 1);
+    // the chunk sketch counts the values of all the pages once
+    assertEquals(expected, chunkStatistics.getDistinctCountSketch());
+  }
+
   private ColumnWriteStoreV1 newColumnWriteStoreImpl(MemPageStore memPageStore) {
     return new ColumnWriteStoreV1(memPageStore,
         ParquetProperties.builder()
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.column.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.parquet.io.api.Binary;
+import org.junit.Test;
+
+public class TestHyperLogLog {
+
+  private static void assertCardinality(long expected, HyperLogLog sketch, double error) {
+    long actual = sketch.cardinality();
+    assertTrue("Estimate " + actual + " is too far from " + expected,
+        Math.abs(actual - expected) <= Math.max(1, expected * error));
+  }
+
+  @Test
+  public void testSmallCardinality() {
+    HyperLogLog sketch = new HyperLogLog(12);
+    assertEquals(0, sketch.cardinality());
+    for (int i = 0; i < 10; i++) {
+      sketch.offer(i);
+      sketch.offer(i);
+    }
+    assertEquals(10, sketch.cardinality());
+  }
+
+  @Test
+  public void testLargeCardinality() {
+    HyperLogLog longs = new HyperLogLog(12);
+    HyperLogLog binaries = new HyperLogLog(12);
+    for (long i = 0; i < 1000000; i++) {
+      longs.offer(i * 7);
+      binaries.offer(Binary.fromString("value-" + (i % 200000)));
+    }
+    assertCardinality(1000000, longs, 0.05);
+    assertCardinality(200000, binaries, 0.05);
+  }
+
+  @Test
+  public void testMerge() {
+    HyperLogLog first = new HyperLogLog(10);
+    HyperLogLog second = new HyperLogLog(10);
+    HyperLogLog all = new HyperLogLog(10);
+    for (int i = 0; i < 50000; i++) {
+      first.offer(i);
+      all.offer(i);
+    }
+    for (int i = 25000; i < 100000; i++) {
+      second.offer(i);
+      all.offer(i);
+    }
+    first.merge(second);
+    assertEquals(all, first);
+    assertCardinality(100000, first, 0.1);
+  }
+
+  @Test
+  public void testMergeDifferentPrecisions() {
+    HyperLogLog precise = new HyperLogLog(14);
+    HyperLogLog coarse = new HyperLogLog(8);
+    HyperLogLog expected = new HyperLogLog(8);
+    for (double i = 0; i < 20000; i++) {
+      precise.offer(i);
+      coarse.offer(i + 10000);
+      expected.offer(i);
+      expected.offer(i + 10000);
+    }
+    HyperLogLog merged = precise.copy();
+    merged.merge(coarse);
+    assertEquals(8, merged.getPrecision());
+    assertEquals("Reduced sketch should match a sketch built at that precision", expected, merged);
+
+    coarse.merge(precise);
+    assertEquals(expected, coarse);
+  }
+
+  @Test
+  public void testSerialization() {
+    HyperLogLog sketch = new HyperLogLog(6);
+    for (int i = 0; i < 1000; i++) {
+      sketch.offer(Binary.fromString(String.valueOf(i)));
+    }
+    byte[] bytes = sketch.toBytes();
+    assertEquals(65, bytes.length);
+    assertEquals(sketch, HyperLogLog.fromBytes(bytes));
+  }
+
+  @Test
+  public void testSparseSerialization() {
+    HyperLogLog sketch = new HyperLogLog(16);
+    for (int i = 0; i < 100; i++) {
+      sketch.offer(i);
+    }
+    byte[] bytes = sketch.toBytes();
+    assertTrue("Sketch of " + bytes.length + " bytes should only hold the registers used",
+        bytes.length <= 100 * 3 + 1);
+    HyperLogLog read = HyperLogLog.fromBytes(bytes);
+    assertEquals(sketch, read);
+    assertEquals(100, read.cardinality());
+
+    sketch.reset();
+    assertEquals(0, sketch.cardinality());
+    assertEquals(1, sketch.toBytes().length);
+    assertEquals(sketch, HyperLogLog.fromBytes(sketch.toBytes()));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidSparseBytes() {
+    // index 64 is out of the 2^6 registers
+    HyperLogLog.fromBytes(new byte[] { (byte) (6 | 0x80), 0, 64, 1 });
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidBytes() {
+    HyperLogLog.fromBytes(new byte[] { 6, 1, 2 });
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testInvalidPrecision() {
+    new HyperLogLog(20);
+  }
+}
@@ -401,6 +401,71 @@ public class TestStatistics {
     assertArrayEquals(new byte[] { 10 }, stats.getMinBytes());
   }
 
+  @Test
+  public void testBinaryTruncate() {
+    BinaryStatistics stats = new BinaryStatistics();
+    stats.updateStats(Binary.fromString("http://example.com/a"));
+    stats.updateStats(Binary.fromString("http://example.com/z"));
+    stats.incrementNumNulls(3);
+
+    assertSame("Short values should not be truncated", stats, stats.truncate(20));
+
+    BinaryStatistics truncated = stats.truncate(10);
+    assertFalse(truncated.isMinMaxExact());
+    assertEquals(Binary.fromString("http://exa"), truncated.getMin());
+    assertEquals(Binary.fromString("http://exb"), truncated.getMax());
+    assertEquals(3, truncated.getNumNulls());
+    assertTrue(truncated.getMin().compareTo(stats.getMin()) <= 0);
+    assertTrue(truncated.getMax().compareTo(stats.getMax()) >= 0);
+    assertTrue("Original statistics should stay exact", stats.isMinMaxExact());
+
+    // bytes that can not be incremented are dropped
+    BinaryStatistics carry = new BinaryStatistics();
+    carry.updateStats(Binary.fromConstantByteArray(new byte[] { 1, Byte.MAX_VALUE, Byte.MAX_VALUE, 5 }));
+    assertEquals(Binary.fromConstantByteArray(new byte[] { 2 }), carry.truncate(3).getMax());
+
+    // a max that can not be incremented is kept
+    BinaryStatistics noUpperBound = new BinaryStatistics();
+    Binary max = Binary.fromConstantByteArray(new byte[] { Byte.MAX_VALUE, Byte.MAX_VALUE, 1 });
+    noUpperBound.updateStats(max);
+    assertEquals(max, noUpperBound.truncate(2).getMax());
+
+    // merging inexact statistics is inexact
+    BinaryStatistics merged = new BinaryStatistics();
+    merged.mergeStatistics(truncated);
+    assertFalse(merged.isMinMaxExact());
+  }
+
+  @Test
+  public void testMergingDistinctCountSketches() {
+    IntStatistics total = new IntStatistics();
+    IntStatistics page1 = new IntStatistics();
+    page1.enableDistinctCountSketch(10);
+    IntStatistics page2 = new IntStatistics();
+    page2.enableDistinctCountSketch(10);
+    for (int i = 0; i < 100; i++) {
+      page1.updateStats(i % 20);
+      page2.updateStats(i % 30);
+    }
+    page2.incrementNumNulls();
+
+    total.mergeStatistics(page1);
+    total.mergeStatistics(page2);
+    assertEquals(30, total.getDistinctCountSketch().cardinality());
+    assertEquals(20, page1.getDistinctCountSketch().cardinality());
+
+    // a page without a sketch makes the distinct count unknown
+    IntStatistics page3 = new IntStatistics();
+    page3.updateStats(100);
+    total.mergeStatistics(page3);
+    assertNull(total.getDistinctCountSketch());
+
+    BinaryStatistics binaryStats = new BinaryStatistics();
+    binaryStats.enableDistinctCountSketch(10);
+    binaryStats.updateStats(Binary.fromString("a long value to truncate"));
+    assertSame(binaryStats.getDistinctCountSketch(), binaryStats.truncate(4).getDistinctCountSketch());
+  }
+
   @Test
   public void testMergingStatistics() {
     testMergingIntStats();
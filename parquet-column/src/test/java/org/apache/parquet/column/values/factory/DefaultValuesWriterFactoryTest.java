@@ -18,6 +18,11 @@
  */
 package org.apache.parquet.column.values.factory;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.parquet.bytes.DirectByteBufferAllocator;
 import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.column.ParquetProperties.WriterVersion;
@@ -36,6 +41,9 @@ import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 
 import org.junit.Test;
 
+import static junit.framework.Assert.assertEquals;
+import static junit.framework.Assert.assertNotSame;
+import static junit.framework.Assert.assertSame;
 import static junit.framework.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -303,6 +311,38 @@ public class DefaultValuesWriterFactoryTest {
       PlainValuesWriter.class);
   }
 
+  @Test
+  public void testCopyCreatesANewDefaultFactory() {
+    ParquetProperties props = ParquetProperties.builder().build();
+    ParquetProperties copy = ParquetProperties.copy(props)
+      .withAllocator(new DirectByteBufferAllocator())
+      .build();
+
+    assertNotSame(props.getValuesWriterFactory(), copy.getValuesWriterFactory());
+    assertTrue(copy.getValuesWriterFactory() instanceof DefaultValuesWriterFactory);
+  }
+
+  @Test
+  public void testCopyDoesNotInitializeASharedFactory() {
+    final List<ParquetProperties> initializedWith = new ArrayList<ParquetProperties>();
+    ValuesWriterFactory shared = new DefaultValuesWriterFactory() {
+      @Override
+      public void initialize(ParquetProperties properties) {
+        initializedWith.add(properties);
+        super.initialize(properties);
+      }
+    };
+    ParquetProperties props = ParquetProperties.builder()
+      .withValuesWriterFactory(shared)
+      .build();
+    ParquetProperties copy = ParquetProperties.copy(props)
+      .withAllocator(new DirectByteBufferAllocator())
+      .build();
+
+    assertSame(shared, copy.getValuesWriterFactory());
+    assertEquals(Collections.singletonList(props), initializedWith);
+  }
+
   private void doTestValueWriter(PrimitiveTypeName typeName, WriterVersion version, boolean enableDictionary, Class<? extends ValuesWriter> expectedValueWriterClass) {
     ColumnDescriptor mockPath = getMockColumn(typeName);
     ValuesWriterFactory factory = getDefaultFactory(version, enableDictionary);
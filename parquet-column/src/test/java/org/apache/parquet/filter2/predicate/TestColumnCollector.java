@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.predicate;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import org.junit.Test;
+
+import org.apache.parquet.filter2.predicate.Operators.BinaryColumn;
+import org.apache.parquet.filter2.predicate.Operators.DoubleColumn;
+import org.apache.parquet.filter2.predicate.Operators.IntColumn;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.io.api.Binary;
+
+import static org.junit.Assert.assertEquals;
+import static org.apache.parquet.filter2.predicate.ColumnCollector.collect;
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.anyOf;
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.doubleColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
+import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.not;
+import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
+
+public class TestColumnCollector {
+  private static final IntColumn intColumn = intColumn("a.b.c");
+  private static final DoubleColumn doubleColumn = doubleColumn("x.y");
+  private static final BinaryColumn binaryColumn = binaryColumn("tags");
+
+  @Test
+  public void testCollect() {
+    assertEquals(new HashSet<ColumnPath>(Arrays.asList(ColumnPath.get("a", "b", "c"))),
+        collect(eq(intColumn, 7)));
+
+    FilterPredicate pred = and(
+        or(gt(doubleColumn, 12.0), not(userDefined(intColumn, DummyUdp.class))),
+        or(in(intColumn, new HashSet<Integer>(Arrays.asList(1, 2))), anyOf(eq(binaryColumn, Binary.fromString("x")))));
+    assertEquals(Arrays.asList(
+            ColumnPath.get("x", "y"), ColumnPath.get("a", "b", "c"), ColumnPath.get("tags")),
+        Arrays.asList(collect(pred).toArray()));
+  }
+}
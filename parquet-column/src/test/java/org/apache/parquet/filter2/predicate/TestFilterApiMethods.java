@@ -23,11 +23,14 @@ import java.io.ByteArrayOutputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.HashSet;
 
 import org.junit.Test;
 
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.filter2.predicate.Operators.And;
+import org.apache.parquet.filter2.predicate.Operators.AnyOf;
 import org.apache.parquet.filter2.predicate.Operators.BinaryColumn;
 import org.apache.parquet.filter2.predicate.Operators.DoubleColumn;
 import org.apache.parquet.filter2.predicate.Operators.Eq;
@@ -42,15 +45,19 @@ import org.apache.parquet.io.api.Binary;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.apache.parquet.filter2.predicate.FilterApi.allOf;
 import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.anyOf;
 import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.doubleColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
 import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.not;
 import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.notIn;
 import static org.apache.parquet.filter2.predicate.FilterApi.or;
 import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
 import static org.apache.parquet.filter2.predicate.Operators.NotEq;
@@ -100,6 +107,38 @@ public class TestFilterApiMethods {
         pred.toString());
   }
 
+  @Test
+  public void testIn() {
+    FilterPredicate pred = or(in(intColumn, new HashSet<Integer>(Arrays.asList(17, 3, 7))),
+        notIn(binColumn, new HashSet<Binary>(Arrays.asList(Binary.fromString("foo")))));
+    assertEquals("or(in(a.b.c, [3, 7, 17]), notin(a.string.column, [Binary{\"foo\"}]))", pred.toString());
+    assertEquals(in(intColumn, new HashSet<Integer>(Arrays.asList(7, 3, 17))), ((Or) pred).getLeft());
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void testInRejectsNull() {
+    in(intColumn, new HashSet<Integer>(Arrays.asList(3, null)));
+  }
+
+  @Test
+  public void testAnyOfAllOf() {
+    FilterPredicate pred = and(anyOf(eq(intColumn, 7)), allOf(notIn(binColumn,
+        new HashSet<Binary>(Arrays.asList(Binary.fromString("foo"))))));
+    assertEquals("and(anyof(eq(a.b.c, 7)), allof(notin(a.string.column, [Binary{\"foo\"}])))", pred.toString());
+    assertEquals(intColumn, ((AnyOf) ((And) pred).getLeft()).getColumn());
+    assertEquals(anyOf(eq(intColumn, 7)), ((And) pred).getLeft());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAnyOfRejectsNull() {
+    anyOf(eq(intColumn, null));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testAnyOfRejectsLogicalOperators() {
+    anyOf(or(eq(intColumn, 3), eq(intColumn, 7)));
+  }
+
   @Test
   public void testUdp() {
     FilterPredicate predicate = or(eq(doubleColumn, 12.0), userDefined(intColumn, DummyUdp.class));
@@ -114,6 +153,7 @@ public class TestFilterApiMethods {
   public void testSerializable() throws Exception {    
     BinaryColumn binary = binaryColumn("foo");
     FilterPredicate p = and(or(and(userDefined(intColumn, DummyUdp.class), predicate), eq(binary, Binary.fromString("hi"))), userDefined(longColumn, new IsMultipleOf(7)));
+    p = or(p, in(intColumn, new HashSet<Integer>(Arrays.asList(1, 2))));
     ByteArrayOutputStream baos = new ByteArrayOutputStream();
     ObjectOutputStream oos = new ObjectOutputStream(baos);
     oos.writeObject(p);
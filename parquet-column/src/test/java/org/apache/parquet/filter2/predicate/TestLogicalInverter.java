@@ -18,6 +18,10 @@
  */
 package org.apache.parquet.filter2.predicate;
 
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
 import org.junit.Test;
 
 import org.apache.parquet.filter2.predicate.Operators.DoubleColumn;
@@ -26,16 +30,20 @@ import org.apache.parquet.filter2.predicate.Operators.LogicalNotUserDefined;
 import org.apache.parquet.filter2.predicate.Operators.UserDefined;
 
 import static org.junit.Assert.assertEquals;
+import static org.apache.parquet.filter2.predicate.FilterApi.allOf;
 import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.anyOf;
 import static org.apache.parquet.filter2.predicate.FilterApi.doubleColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.gt;
 import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
 import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.lt;
 import static org.apache.parquet.filter2.predicate.FilterApi.ltEq;
 import static org.apache.parquet.filter2.predicate.FilterApi.not;
 import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.notIn;
 import static org.apache.parquet.filter2.predicate.FilterApi.or;
 import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
 import static org.apache.parquet.filter2.predicate.LogicalInverter.invert;
@@ -71,6 +79,13 @@ public class TestLogicalInverter {
     assertEquals(ltEq(intColumn, 17), invert(gt(intColumn, 17)));
     assertEquals(lt(intColumn, 17), invert(gtEq(intColumn, 17)));
 
+    Set<Integer> values = new HashSet<Integer>(Arrays.asList(17, 7));
+    assertEquals(notIn(intColumn, values), invert(in(intColumn, values)));
+    assertEquals(in(intColumn, values), invert(notIn(intColumn, values)));
+
+    assertEquals(allOf(notEq(intColumn, 17)), invert(anyOf(eq(intColumn, 17))));
+    assertEquals(anyOf(in(intColumn, values)), invert(allOf(notIn(intColumn, values))));
+
     FilterPredicate andPos = and(eq(intColumn, 17), eq(doubleColumn, 12.0));
     FilterPredicate andInv = or(notEq(intColumn, 17), notEq(doubleColumn, 12.0));
     assertEquals(andInv, invert(andPos));
@@ -29,7 +29,9 @@ import org.apache.parquet.schema.MessageTypeParser;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.fail;
+import static org.apache.parquet.filter2.predicate.FilterApi.allOf;
 import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.anyOf;
 import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.gt;
@@ -131,12 +133,24 @@ public class TestSchemaCompatibilityValidator {
   }
 
   @Test
-  public void testRepeatedNotSupported() {
+  public void testRepeatedRequiresAnyOfOrAllOf() {
     try {
       validate(eq(lotsOfLongs, 10l), schema);
       fail("this should throw");
     } catch (IllegalArgumentException e) {
-      assertEquals("FilterPredicates do not currently support repeated columns. Column lotsOfLongs is repeated.", e.getMessage());
+      assertEquals("FilterPredicates on repeated columns must be wrapped in anyOf() or allOf(). "
+          + "Column lotsOfLongs is repeated.", e.getMessage());
+    }
+
+    validate(and(anyOf(eq(lotsOfLongs, 10l)), not(allOf(gt(lotsOfLongs, 3l)))), schema);
+    validate(anyOf(eq(intBar, 17)), schema);
+
+    try {
+      validate(or(anyOf(eq(lotsOfLongs, 10l)), notEq(lotsOfLongs, 10l)), schema);
+      fail("this should throw");
+    } catch (IllegalArgumentException e) {
+      assertEquals("FilterPredicates on repeated columns must be wrapped in anyOf() or allOf(). "
+          + "Column lotsOfLongs is repeated.", e.getMessage());
     }
   }
 }
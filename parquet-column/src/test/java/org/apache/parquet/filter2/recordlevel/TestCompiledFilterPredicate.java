@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.recordlevel;
+
+import org.junit.Test;
+
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.And;
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.Or;
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;
+import org.apache.parquet.filter2.recordlevel.TestIncrementallyUpdatedFilterPredicateEvaluator.ShortCircuitException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicateEvaluator.evaluate;
+import static org.apache.parquet.filter2.recordlevel.TestIncrementallyUpdatedFilterPredicateEvaluator.intIsEven;
+import static org.apache.parquet.filter2.recordlevel.TestIncrementallyUpdatedFilterPredicateEvaluator.intIsNull;
+
+public class TestCompiledFilterPredicate {
+
+  private static ValueInspector neverCalled() {
+    return new ValueInspector() {
+      @Override
+      public void updateNull() {
+        throw new ShortCircuitException();
+      }
+
+      @Override
+      public void update(int value) {
+        throw new ShortCircuitException();
+      }
+    };
+  }
+
+  @Test
+  public void testMatchesInterpreter() {
+    ValueInspector[] v = new ValueInspector[] { intIsEven(), intIsEven(), intIsNull(), intIsEven() };
+    // (v0 || v1) && (v2 || !known v3)
+    IncrementallyUpdatedFilterPredicate pred = new And(new Or(v[0], v[1]), new Or(v[2], v[3]));
+    CompiledFilterPredicate compiled = CompiledFilterPredicate.compile(pred);
+    assertTrue(compiled.isCompiled());
+
+    // every combination of odd, even and null values
+    for (int combination = 0; combination < 81; combination++) {
+      int c = combination;
+      for (int i = 0; i < v.length; i++, c /= 3) {
+        update(v[i], c % 3);
+      }
+      boolean compiledResult = compiled.evaluate();
+      compiled.reset();
+      for (ValueInspector inspector : v) {
+        assertFalse(inspector.isKnown());
+      }
+
+      c = combination;
+      for (int i = 0; i < v.length; i++, c /= 3) {
+        update(v[i], c % 3);
+      }
+      assertEquals("combination " + combination, evaluate(pred), compiledResult);
+      IncrementallyUpdatedFilterPredicateResetter.reset(pred);
+    }
+  }
+
+  private static void update(ValueInspector inspector, int kind) {
+    switch (kind) {
+      case 0:
+        inspector.update(11);
+        break;
+      case 1:
+        inspector.update(12);
+        break;
+      default:
+        // unknown, null
+    }
+  }
+
+  @Test
+  public void testShortCircuit() {
+    ValueInspector v = intIsEven();
+    CompiledFilterPredicate or = CompiledFilterPredicate.compile(new Or(v, neverCalled()));
+    CompiledFilterPredicate and = CompiledFilterPredicate.compile(new And(v, neverCalled()));
+
+    // T || X should evaluate to true without inspecting X
+    v.update(10);
+    assertTrue(or.evaluate());
+    or.reset();
+
+    // F && X should evaluate to false without inspecting X
+    v.update(11);
+    assertFalse(and.evaluate());
+    and.reset();
+
+    v.update(10);
+    try {
+      and.evaluate();
+      fail("this should throw");
+    } catch (ShortCircuitException e) {
+      //
+    }
+  }
+
+  @Test
+  public void testInterpreterFallback() {
+    ValueInspector custom = new ValueInspector() {
+      @Override
+      public boolean accept(Visitor visitor) {
+        return true;
+      }
+    };
+    ValueInspector v = intIsEven();
+    CompiledFilterPredicate pred = CompiledFilterPredicate.compile(new And(v, custom));
+    assertFalse(pred.isCompiled());
+
+    v.update(12);
+    assertTrue(pred.evaluate());
+    pred.reset();
+    assertFalse(v.isKnown());
+  }
+}
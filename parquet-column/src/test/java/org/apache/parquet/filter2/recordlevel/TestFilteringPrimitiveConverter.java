@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.recordlevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TestFilteringPrimitiveConverter {
+
+  private static final int[] VALUES = { 7, 10, 12 };
+
+  private static final Dictionary DICTIONARY = new Dictionary(Encoding.PLAIN_DICTIONARY) {
+    @Override
+    public int getMaxId() {
+      return VALUES.length - 1;
+    }
+
+    @Override
+    public int decodeToInt(int id) {
+      return VALUES[id];
+    }
+  };
+
+  private static class CountingIsEven extends ValueInspector {
+    private int updates = 0;
+
+    @Override
+    public void update(int value) {
+      updates += 1;
+      setResult(value % 2 == 0);
+    }
+  }
+
+  private static class CollectingConverter extends PrimitiveConverter {
+    private final List<Integer> values = new ArrayList<Integer>();
+
+    @Override
+    public void addInt(int value) {
+      values.add(value);
+    }
+  }
+
+  @Test
+  public void testDictionaryIdsAreEvaluatedOnce() {
+    CountingIsEven isEven = new CountingIsEven();
+    CollectingConverter delegate = new CollectingConverter();
+    FilteringPrimitiveConverter converter = new FilteringPrimitiveConverter(
+        delegate, new ValueInspector[] { isEven }, PrimitiveTypeName.INT32);
+
+    assertTrue(converter.hasDictionarySupport());
+    converter.setDictionary(DICTIONARY);
+
+    int[] ids = { 0, 1, 0, 2, 1, 1, 0 };
+    for (int id : ids) {
+      converter.addValueFromDictionary(id);
+      assertTrue(isEven.isKnown());
+      assertEquals(VALUES[id] % 2 == 0, isEven.getResult());
+      isEven.reset();
+    }
+
+    assertEquals("Each dictionary value should be evaluated once", 3, isEven.updates);
+    assertEquals(Arrays.asList(7, 10, 7, 12, 10, 10, 7), delegate.values);
+  }
+
+  @Test
+  public void testNoDictionarySupportWithoutType() {
+    FilteringPrimitiveConverter converter = new FilteringPrimitiveConverter(
+        new CollectingConverter(), new ValueInspector[] { new CountingIsEven() });
+    assertFalse(converter.hasDictionarySupport());
+  }
+}
@@ -29,13 +29,20 @@ import org.apache.parquet.column.impl.ColumnWriteStoreV1;
 import org.apache.parquet.column.page.mem.MemPageStore;
 import org.apache.parquet.example.data.Group;
 import org.apache.parquet.example.data.GroupWriter;
+import org.apache.parquet.example.data.simple.SimpleGroup;
 import org.apache.parquet.example.data.simple.convert.GroupRecordConverter;
 import org.apache.parquet.filter.ColumnPredicates.LongPredicateFunction;
 import org.apache.parquet.filter.ColumnPredicates.PredicateFunction;
 import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.Operators.BinaryColumn;
+import org.apache.parquet.filter2.predicate.Operators.LongColumn;
 import org.apache.parquet.io.api.RecordMaterializer;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.MessageTypeParser;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 import static org.apache.parquet.example.Paper.r1;
 import static org.apache.parquet.example.Paper.r2;
 import static org.apache.parquet.example.Paper.schema;
@@ -47,6 +54,16 @@ import static org.apache.parquet.filter.ColumnRecordFilter.column;
 import static org.apache.parquet.filter.NotRecordFilter.not;
 import static org.apache.parquet.filter.OrRecordFilter.or;
 import static org.apache.parquet.filter.PagedRecordFilter.page;
+import static org.apache.parquet.filter2.predicate.FilterApi.allOf;
+import static org.apache.parquet.filter2.predicate.FilterApi.anyOf;
+import static org.apache.parquet.filter2.predicate.FilterApi.binaryColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.isNotNull;
+import static org.apache.parquet.filter2.predicate.FilterApi.isNull;
+import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.lt;
 
 public class TestFiltered {
 
@@ -256,13 +273,181 @@ public class TestFiltered {
     }
   }
 
+  @Test
+  public void testFilterPredicateOnLong() {
+    MessageColumnIO columnIO =  new ColumnIOFactory(true).getColumnIO(schema);
+    MemPageStore memPageStore = writeTestRecords(columnIO, 1000);
+
+    RecordMaterializer<Group> recordConverter = new GroupRecordConverter(schema);
+    RecordReader<Group> recordReader = columnIO.getRecordReader(memPageStore, recordConverter,
+        FilterCompat.get(eq(longColumn("DocId"), 20l)));
+    assertTrue("columns outside of the predicate should be skipped",
+        recordReader instanceof FilterFirstRecordReader);
+
+    List<Group> all = readAllFiltered(recordReader, 2000);
+    assertEquals(1000, all.size());
+    for (Group group : all) {
+      assertEquals(r2.toString(), group.toString());
+    }
+  }
+
+  private static final MessageType LINKS_SCHEMA = MessageTypeParser.parseMessageType(
+      "message Record { "
+      + "  optional group links { repeated int64 forward; } "
+      + "  optional binary name (UTF8); "
+      + "  required int32 id; "
+      + "}");
+
+  @Test
+  public void testFilterPredicateAfterOtherColumns() {
+    for (boolean dictionary : new boolean[] { false, true }) {
+      MessageColumnIO columnIO =  new ColumnIOFactory(true).getColumnIO(LINKS_SCHEMA);
+      List<Group> written = new ArrayList<Group>();
+      MemPageStore memPageStore = writeLinksRecords(columnIO, dictionary, written);
+      List<Group> expected = new ArrayList<Group>();
+      for (Group group : written) {
+        if (group.getInteger("id", 0) == 3) {
+          expected.add(group);
+        }
+      }
+
+      RecordReader<Group> recordReader = columnIO.getRecordReader(memPageStore, new GroupRecordConverter(LINKS_SCHEMA),
+          FilterCompat.get(eq(intColumn("id"), 3)));
+      assertTrue("columns outside of the predicate should be skipped",
+          recordReader instanceof FilterFirstRecordReader);
+
+      assertRecords(expected, readAllFiltered(recordReader, written.size()));
+    }
+  }
+
+  @Test
+  public void testFilterPredicateOnRepeatedColumn() {
+    LongColumn forward = longColumn("links.forward");
+    for (boolean dictionary : new boolean[] { false, true }) {
+      MessageColumnIO columnIO =  new ColumnIOFactory(true).getColumnIO(LINKS_SCHEMA);
+      List<Group> written = new ArrayList<Group>();
+      MemPageStore memPageStore = writeLinksRecords(columnIO, dictionary, written);
+      List<Group> withForward2 = new ArrayList<Group>();
+      List<Group> allForwardBelow1 = new ArrayList<Group>();
+      List<Group> withForward2AndId3 = new ArrayList<Group>();
+      for (Group group : written) {
+        int count = group.getFieldRepetitionCount("links") == 0
+            ? 0 : group.getGroup("links", 0).getFieldRepetitionCount("forward");
+        if (count > 2) {
+          withForward2.add(group);
+          if (group.getInteger("id", 0) == 3) {
+            withForward2AndId3.add(group);
+          }
+        }
+        if (count <= 1) {
+          allForwardBelow1.add(group);
+        }
+      }
+
+      assertRecords(withForward2, readAllFiltered(columnIO.getRecordReader(memPageStore,
+          new GroupRecordConverter(LINKS_SCHEMA), FilterCompat.get(anyOf(eq(forward, 2l)))), written.size()));
+      assertRecords(allForwardBelow1, readAllFiltered(columnIO.getRecordReader(memPageStore,
+          new GroupRecordConverter(LINKS_SCHEMA), FilterCompat.get(allOf(lt(forward, 1l)))), written.size()));
+      assertRecords(allForwardBelow1, readAllFiltered(columnIO.getRecordReader(memPageStore,
+          new GroupRecordConverter(LINKS_SCHEMA), FilterCompat.get(FilterApi.not(anyOf(gtEq(forward, 1l))))),
+          written.size()));
+      assertRecords(withForward2AndId3, readAllFiltered(columnIO.getRecordReader(memPageStore,
+          new GroupRecordConverter(LINKS_SCHEMA), FilterCompat.get(FilterApi.and(anyOf(eq(forward, 2l)), eq(intColumn("id"), 3)))),
+          written.size()));
+    }
+  }
+
+  @Test
+  public void testNullCheckPredicate() {
+    BinaryColumn name = binaryColumn("name");
+    for (boolean dictionary : new boolean[] { false, true }) {
+      MessageColumnIO columnIO =  new ColumnIOFactory(true).getColumnIO(LINKS_SCHEMA);
+      List<Group> written = new ArrayList<Group>();
+      MemPageStore memPageStore = writeLinksRecords(columnIO, dictionary, written);
+      List<Group> withName = new ArrayList<Group>();
+      List<Group> withoutNameOrId3 = new ArrayList<Group>();
+      for (Group group : written) {
+        boolean hasName = group.getFieldRepetitionCount("name") > 0;
+        if (hasName) {
+          withName.add(group);
+        }
+        if (!hasName || group.getInteger("id", 0) == 3) {
+          withoutNameOrId3.add(group);
+        }
+      }
+
+      RecordReader<Group> recordReader = columnIO.getRecordReader(memPageStore,
+          new GroupRecordConverter(LINKS_SCHEMA), FilterCompat.get(isNotNull(name)));
+      assertTrue("values of null checked columns should not be read first",
+          recordReader instanceof FilterFirstRecordReader);
+      assertRecords(withName, readAllFiltered(recordReader, written.size()));
+
+      assertRecords(withoutNameOrId3, readAllFiltered(columnIO.getRecordReader(memPageStore,
+          new GroupRecordConverter(LINKS_SCHEMA), FilterCompat.get(FilterApi.or(isNull(name), eq(intColumn("id"), 3)))),
+          written.size()));
+    }
+  }
+
+  private static void assertRecords(List<Group> expected, List<Group> actual) {
+    assertEquals(expected.size(), actual.size());
+    for (int i = 0; i < actual.size(); i++) {
+      assertEquals(expected.get(i).toString(), actual.get(i).toString());
+    }
+  }
+
+  // links.forward has i % 4 values, 0 to 3, for the records with links
+  private MemPageStore writeLinksRecords(MessageColumnIO columnIO, boolean dictionary, List<Group> written) {
+    MemPageStore memPageStore = new MemPageStore(1000);
+    ColumnWriteStoreV1 columns = new ColumnWriteStoreV1(
+        memPageStore,
+        ParquetProperties.builder()
+            .withPageSize(800)
+            .withDictionaryEncoding(dictionary)
+            .build());
+    RecordConsumer recordWriter = columnIO.getRecordWriter(columns);
+    GroupWriter groupWriter = new GroupWriter(recordWriter, LINKS_SCHEMA);
+    for (int i = 0; i < 1000; i++) {
+      Group group = new SimpleGroup(LINKS_SCHEMA);
+      if (i % 3 != 0) {
+        Group links = group.addGroup("links");
+        for (int j = 0; j < i % 4; j++) {
+          links.append("forward", (long) j);
+        }
+      }
+      if (i % 5 != 0) {
+        group.append("name", "name-" + (i % 10));
+      }
+      group.append("id", i % 7);
+      groupWriter.write(group);
+      written.add(group);
+    }
+    recordWriter.flush();
+    columns.flush();
+    return memPageStore;
+  }
+
+  private List<Group> readAllFiltered(RecordReader<Group> reader, int recordCount) {
+    List<Group> result = new ArrayList<Group>();
+    for (int i = 0; i < recordCount; i++) {
+      Group g = reader.read();
+      if (!reader.shouldSkipCurrentRecord()) {
+        result.add(g);
+      }
+    }
+    return result;
+  }
+
   private MemPageStore writeTestRecords(MessageColumnIO columnIO, int number) {
+    return writeTestRecords(columnIO, number, false);
+  }
+
+  private MemPageStore writeTestRecords(MessageColumnIO columnIO, int number, boolean enableDictionary) {
     MemPageStore memPageStore = new MemPageStore(number * 2);
     ColumnWriteStoreV1 columns = new ColumnWriteStoreV1(
         memPageStore,
         ParquetProperties.builder()
             .withPageSize(800)
-            .withDictionaryEncoding(false)
+            .withDictionaryEncoding(enableDictionary)
             .build());
 
     RecordConsumer recordWriter = columnIO.getRecordWriter(columns);
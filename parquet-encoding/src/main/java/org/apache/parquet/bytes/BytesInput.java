@@ -285,6 +285,21 @@ abstract public class BytesInput {
       }
     }
 
+    @Override
+    public ByteBuffer toByteBuffer() throws IOException {
+      // a sequence of a single non empty input does not need to be materialized
+      BytesInput single = null;
+      for (BytesInput input : inputs) {
+        if (input.size() > 0) {
+          if (single != null) {
+            return super.toByteBuffer();
+          }
+          single = input;
+        }
+      }
+      return single == null ? ByteBuffer.allocate(0) : single.toByteBuffer();
+    }
+
     @Override
     public long size() {
       return size;
@@ -437,7 +452,8 @@ abstract public class BytesInput {
     }
 
     public ByteBuffer toByteBuffer() throws IOException {
-      return ByteBuffer.wrap(in, offset, length);
+      // slice so that the returned buffer starts at position 0 like the other implementations
+      return ByteBuffer.wrap(in, offset, length).slice();
     }
 
     @Override
@@ -461,17 +477,32 @@ abstract public class BytesInput {
 
     @Override
     public void writeAllTo(OutputStream out) throws IOException {
-      final WritableByteChannel outputChannel = Channels.newChannel(out);
-      byteBuf.position(offset);
-      ByteBuffer tempBuf = byteBuf.slice();
-      tempBuf.limit(length);
-      outputChannel.write(tempBuf);
+      ByteBuffer tempBuf = toByteBuffer();
+      if (tempBuf.hasArray()) {
+        out.write(tempBuf.array(), tempBuf.arrayOffset(), length);
+      } else {
+        final WritableByteChannel outputChannel = Channels.newChannel(out);
+        outputChannel.write(tempBuf);
+      }
     }
-    
+
+    @Override
+    public byte[] toByteArray() throws IOException {
+      byte[] bytes = new byte[length];
+      toByteBuffer().get(bytes);
+      return bytes;
+    }
+
+    /**
+     * Returns a view of the bytes without copying them.
+     * The shared buffer is duplicated so that concurrent readers of the
+     * same chunk do not interfere with each other's positions.
+     */
     @Override
     public ByteBuffer toByteBuffer() throws IOException {
-      byteBuf.position(offset);
-      ByteBuffer buf = byteBuf.slice();
+      ByteBuffer buf = byteBuf.duplicate();
+      buf.position(offset);
+      buf = buf.slice();
       buf.limit(length);
       return buf;
     }
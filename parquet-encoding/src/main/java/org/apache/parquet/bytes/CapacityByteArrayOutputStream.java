@@ -321,11 +321,21 @@ public class CapacityByteArrayOutputStream extends OutputStream {
     return slabs.size();
   }
 
+  /**
+   * Releases the slabs to the allocator. Closing the stream more than once
+   * has no effect: a slab is only released once, since the allocator may
+   * hand it to another stream in the meantime.
+   */
   @Override
   public void close() {
     for (ByteBuffer slab : slabs) {
       allocator.release(slab);
     }
+    this.slabs.clear();
+    this.bytesAllocated = 0;
+    this.bytesUsed = 0;
+    this.currentSlab = EMPTY_SLAB;
+    this.currentSlabIndex = 0;
     try {
       super.close();
     }catch(IOException e){
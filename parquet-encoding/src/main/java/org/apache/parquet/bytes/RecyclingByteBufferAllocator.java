@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import static java.lang.String.format;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.parquet.Log;
+
+/**
+ * A pool of slabs on top of another {@link ByteBufferAllocator}.
+ * <p>
+ * Buffers released to this allocator are kept and handed out again for later
+ * allocations, so that the slabs of the {@link CapacityByteArrayOutputStream}s
+ * of a writer are reused from one page and one row group to the next instead
+ * of being allocated again. A pooled buffer is reused for an allocation of at
+ * least half its capacity, with its limit set to the requested size.
+ * <p>
+ * {@link #trim()} bounds the pool to the largest number of bytes that were in
+ * use since the previous trim (typically, the previous row group), the extra
+ * buffers are released to the underlying allocator.
+ * <p>
+ * This class is not thread-safe, it is meant to be used by a single writer.
+ */
+public class RecyclingByteBufferAllocator implements ByteBufferAllocator {
+  private static final Log LOG = Log.getLog(RecyclingByteBufferAllocator.class);
+
+  private final ByteBufferAllocator allocator;
+  private final TreeMap<Integer, List<ByteBuffer>> pool = new TreeMap<Integer, List<ByteBuffer>>();
+
+  private long pooledBytes = 0;
+  private long usedBytes = 0;
+  private long maxUsedBytes = 0;
+  private long allocationCount = 0;
+  private long reuseCount = 0;
+
+  public RecyclingByteBufferAllocator(ByteBufferAllocator allocator) {
+    this.allocator = allocator;
+  }
+
+  @Override
+  public ByteBuffer allocate(int size) {
+    ByteBuffer buffer = null;
+    Map.Entry<Integer, List<ByteBuffer>> entry = pool.ceilingEntry(size);
+    if (entry != null && entry.getKey() <= 2L * size) {
+      List<ByteBuffer> buffers = entry.getValue();
+      buffer = buffers.remove(buffers.size() - 1);
+      if (buffers.isEmpty()) {
+        pool.remove(entry.getKey());
+      }
+      pooledBytes -= buffer.capacity();
+      buffer.clear();
+      buffer.limit(size);
+      reuseCount += 1;
+    } else {
+      buffer = allocator.allocate(size);
+    }
+    allocationCount += 1;
+    usedBytes += buffer.capacity();
+    maxUsedBytes = Math.max(maxUsedBytes, usedBytes);
+    return buffer;
+  }
+
+  @Override
+  public void release(ByteBuffer b) {
+    int capacity = b.capacity();
+    List<ByteBuffer> buffers = pool.get(capacity);
+    if (buffers == null) {
+      buffers = new ArrayList<ByteBuffer>();
+      pool.put(capacity, buffers);
+    }
+    buffers.add(b);
+    usedBytes -= capacity;
+    pooledBytes += capacity;
+  }
+
+  @Override
+  public boolean isDirect() {
+    return allocator.isDirect();
+  }
+
+  /**
+   * Releases pooled buffers to the underlying allocator, starting with the
+   * largest ones, until the pool and the buffers in use do not exceed the
+   * largest number of bytes used since the last trim.
+   */
+  public void trim() {
+    while (pooledBytes > 0 && pooledBytes + usedBytes > maxUsedBytes) {
+      Map.Entry<Integer, List<ByteBuffer>> entry = pool.lastEntry();
+      List<ByteBuffer> buffers = entry.getValue();
+      allocator.release(buffers.remove(buffers.size() - 1));
+      if (buffers.isEmpty()) {
+        pool.remove(entry.getKey());
+      }
+      pooledBytes -= entry.getKey();
+    }
+    if (Log.DEBUG) LOG.debug(format("keeping %,d bytes of slabs, %,d of %,d allocations reused",
+        pooledBytes, reuseCount, allocationCount));
+    maxUsedBytes = usedBytes;
+  }
+
+  /**
+   * Releases all the pooled buffers to the underlying allocator.
+   */
+  public void close() {
+    for (List<ByteBuffer> buffers : pool.values()) {
+      for (ByteBuffer buffer : buffers) {
+        allocator.release(buffer);
+      }
+    }
+    pool.clear();
+    pooledBytes = 0;
+  }
+
+  /**
+   * @return the number of bytes kept in the pool
+   */
+  public long getPooledSize() {
+    return pooledBytes;
+  }
+
+  /**
+   * @return the number of allocations served from the pool
+   */
+  public long getReuseCount() {
+    return reuseCount;
+  }
+
+  /**
+   * @return the total number of allocations
+   */
+  public long getAllocationCount() {
+    return allocationCount;
+  }
+}
@@ -21,7 +21,9 @@ package org.apache.parquet.bytes;
 import org.junit.Test;
 
 import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 
 public class TestBytesInput {
@@ -39,4 +41,35 @@ public class TestBytesInput {
 			assertEquals((int) testVal, i);
 		}
 	}
+
+	@Test
+	public void testByteBufferIsNotCopied() throws Throwable {
+		ByteBuffer chunk = ByteBuffer.wrap(new byte[] {0, 1, 2, 3, 4, 5, 6, 7});
+		chunk.position(1);
+		BytesInput page = BytesInput.from(chunk, 2, 4);
+
+		ByteBuffer view = page.toByteBuffer();
+		assertEquals(0, view.position());
+		assertEquals(4, view.remaining());
+		assertEquals(2, view.get(0));
+		// the page is a view over the chunk, not a copy
+		chunk.put(2, (byte) 42);
+		assertEquals(42, view.get(0));
+		// the shared buffer position is left untouched
+		assertEquals(1, chunk.position());
+
+		assertArrayEquals(new byte[] {42, 3, 4, 5}, page.toByteArray());
+		assertEquals(4, BytesInput.concat(BytesInput.empty(), page).toByteBuffer().remaining());
+		chunk.put(3, (byte) 43);
+		assertEquals(43, BytesInput.concat(page, BytesInput.empty()).toByteBuffer().get(1));
+	}
+
+	@Test
+	public void testByteArrayWithOffset() throws Throwable {
+		BytesInput page = BytesInput.from(new byte[] {0, 1, 2, 3, 4, 5}, 2, 3);
+		ByteBuffer view = page.toByteBuffer();
+		assertEquals(0, view.position());
+		assertEquals(3, view.remaining());
+		assertEquals(2, view.get(0));
+	}
 }
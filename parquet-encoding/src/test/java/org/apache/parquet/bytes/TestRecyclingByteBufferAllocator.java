@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.bytes;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+public class TestRecyclingByteBufferAllocator {
+
+  @Test
+  public void testReleasedBuffersAreReused() {
+    RecyclingByteBufferAllocator allocator = new RecyclingByteBufferAllocator(new HeapByteBufferAllocator());
+    ByteBuffer buffer = allocator.allocate(100);
+    buffer.put((byte) 1);
+    allocator.release(buffer);
+    assertEquals(100, allocator.getPooledSize());
+
+    ByteBuffer reused = allocator.allocate(60);
+    assertSame(buffer, reused);
+    assertEquals(0, reused.position());
+    assertEquals(60, reused.limit());
+    assertEquals(0, allocator.getPooledSize());
+    allocator.release(reused);
+
+    assertNotSame("Buffers more than twice the size should not be reused",
+        buffer, allocator.allocate(40));
+    assertNotSame("Buffers that are too small should not be reused",
+        buffer, allocator.allocate(101));
+    assertEquals(1, allocator.getReuseCount());
+    assertEquals(4, allocator.getAllocationCount());
+  }
+
+  @Test
+  public void testTrimToHighWaterMark() {
+    RecyclingByteBufferAllocator allocator = new RecyclingByteBufferAllocator(new HeapByteBufferAllocator());
+    ByteBuffer b1 = allocator.allocate(100);
+    ByteBuffer b2 = allocator.allocate(200);
+    allocator.release(b1);
+    ByteBuffer b3 = allocator.allocate(50);
+    allocator.release(b2);
+    allocator.release(b3);
+    allocator.trim();
+    assertEquals("Pool should keep the bytes used at once", 300, allocator.getPooledSize());
+
+    // next cycle only uses one buffer at a time
+    allocator.release(allocator.allocate(200));
+    allocator.release(allocator.allocate(100));
+    allocator.trim();
+    assertEquals("Largest buffers should be released first", 100, allocator.getPooledSize());
+
+    allocator.close();
+    assertEquals(0, allocator.getPooledSize());
+  }
+
+  @Test
+  public void testSlabsAreReusedAcrossStreams() throws Exception {
+    RecyclingByteBufferAllocator allocator = new RecyclingByteBufferAllocator(new DirectByteBufferAllocator());
+    for (int i = 0; i < 3; i++) {
+      CapacityByteArrayOutputStream out = new CapacityByteArrayOutputStream(10, 1000, allocator);
+      byte[] expected = new byte[300];
+      for (int j = 0; j < expected.length; j++) {
+        expected[j] = (byte) (i + j);
+        out.write(expected[j]);
+      }
+      ByteArrayOutputStream written = new ByteArrayOutputStream();
+      out.writeTo(written);
+      assertArrayEquals(expected, written.toByteArray());
+      out.close();
+      allocator.trim();
+    }
+    assertEquals("Slabs of the first stream should be reused by the others",
+        allocator.getAllocationCount() * 2 / 3, allocator.getReuseCount());
+  }
+
+  @Test
+  public void testCloseReleasesSlabsOnce() throws Exception {
+    RecyclingByteBufferAllocator allocator = new RecyclingByteBufferAllocator(new HeapByteBufferAllocator());
+    CapacityByteArrayOutputStream out = new CapacityByteArrayOutputStream(10, 1000, allocator);
+    out.write(new byte[100]);
+    out.close();
+    long pooled = allocator.getPooledSize();
+    assertEquals(0, out.getSlabCount());
+    assertEquals(0, out.size());
+
+    out.close();
+    assertEquals("Slabs should not be released twice", pooled, allocator.getPooledSize());
+  }
+}
@@ -47,35 +47,46 @@ public class IncrementallyUpdatedFilterPredicateGenerator {
     public final String primitiveName;
     public final boolean useComparable;
     public final boolean supportsInequality;
+    public final String setClassName;
 
-    private TypeInfo(String className, String primitiveName, boolean useComparable, boolean supportsInequality) {
+    private TypeInfo(String className, String primitiveName, boolean useComparable, boolean supportsInequality, String setClassName) {
       this.className = className;
       this.primitiveName = primitiveName;
       this.useComparable = useComparable;
       this.supportsInequality = supportsInequality;
+      this.setClassName = setClassName;
     }
   }
 
   private static final TypeInfo[] TYPES = new TypeInfo[]{
-    new TypeInfo("Integer", "int", false, true),
-    new TypeInfo("Long", "long", false, true),
-    new TypeInfo("Boolean", "boolean", false, false),
-    new TypeInfo("Float", "float", false, true),
-    new TypeInfo("Double", "double", false, true),
-    new TypeInfo("Binary", "Binary", true, true),
+    new TypeInfo("Integer", "int", false, true, "IntOpenHashSet"),
+    new TypeInfo("Long", "long", false, true, "LongOpenHashSet"),
+    new TypeInfo("Boolean", "boolean", false, false, null),
+    new TypeInfo("Float", "float", false, true, "FloatOpenHashSet"),
+    new TypeInfo("Double", "double", false, true, "DoubleOpenHashSet"),
+    new TypeInfo("Binary", "Binary", true, true, "HashSet<Binary>"),
   };
 
   public void run() throws IOException {
     add("package org.apache.parquet.filter2.recordlevel;\n" +
+        "\n" +
+        "import java.util.HashSet;\n" +
+        "\n" +
+        "import it.unimi.dsi.fastutil.doubles.DoubleOpenHashSet;\n" +
+        "import it.unimi.dsi.fastutil.floats.FloatOpenHashSet;\n" +
+        "import it.unimi.dsi.fastutil.ints.IntOpenHashSet;\n" +
+        "import it.unimi.dsi.fastutil.longs.LongOpenHashSet;\n" +
         "\n" +
         "import org.apache.parquet.hadoop.metadata.ColumnPath;\n" +
         "import org.apache.parquet.filter2.predicate.Operators.Eq;\n" +
         "import org.apache.parquet.filter2.predicate.Operators.Gt;\n" +
         "import org.apache.parquet.filter2.predicate.Operators.GtEq;\n" +
+        "import org.apache.parquet.filter2.predicate.Operators.In;\n" +
         "import org.apache.parquet.filter2.predicate.Operators.LogicalNotUserDefined;\n" +
         "import org.apache.parquet.filter2.predicate.Operators.Lt;\n" +
         "import org.apache.parquet.filter2.predicate.Operators.LtEq;\n" +
         "import org.apache.parquet.filter2.predicate.Operators.NotEq;\n" +
+        "import org.apache.parquet.filter2.predicate.Operators.NotIn;\n" +
         "import org.apache.parquet.filter2.predicate.Operators.UserDefined;\n" +
         "import org.apache.parquet.filter2.predicate.UserDefinedPredicate;\n" +
         "import org.apache.parquet.filter2.recordlevel.IncrementallyUpdatedFilterPredicate.ValueInspector;\n" +
@@ -124,6 +135,18 @@ public class IncrementallyUpdatedFilterPredicateGenerator {
     }
     addVisitEnd();
 
+    addVisitBegin("In");
+    for (TypeInfo info : TYPES) {
+      addInNotInCase(info, true);
+    }
+    addVisitEnd();
+
+    addVisitBegin("NotIn");
+    for (TypeInfo info : TYPES) {
+      addInNotInCase(info, false);
+    }
+    addVisitEnd();
+
     add("  @Override\n" +
         "  public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> IncrementallyUpdatedFilterPredicate visit(UserDefined<T, U> pred) {\n");
     addUdpBegin();
@@ -167,17 +190,7 @@ public class IncrementallyUpdatedFilterPredicateGenerator {
   private void addEqNotEqCase(TypeInfo info, boolean isEq) throws IOException {
     add("    if (clazz.equals(" + info.className + ".class)) {\n" +
         "      if (pred.getValue() == null) {\n" +
-        "        valueInspector = new ValueInspector() {\n" +
-        "          @Override\n" +
-        "          public void updateNull() {\n" +
-        "            setResult(" + isEq + ");\n" +
-        "          }\n" +
-        "\n" +
-        "          @Override\n" +
-        "          public void update(" + info.primitiveName + " value) {\n" +
-        "            setResult(" + !isEq + ");\n" +
-        "          }\n" +
-        "        };\n" +
+        "        valueInspector = new NullValueInspector(" + isEq + ");\n" +
         "      } else {\n" +
         "        final " + info.primitiveName + " target = (" + info.className + ") (Object) pred.getValue();\n" +
         "\n" +
@@ -232,6 +245,41 @@ public class IncrementallyUpdatedFilterPredicateGenerator {
         "    }\n\n");
   }
 
+  private void addInNotInCase(TypeInfo info, boolean isIn) throws IOException {
+    add("    if (clazz.equals(" + info.className + ".class)) {\n");
+
+    if (info.setClassName == null) {
+      // booleans only have two values, so there is no need for a set
+      add("      final boolean matchesTrue = pred.getValues().contains(Boolean.TRUE);\n" +
+          "      final boolean matchesFalse = pred.getValues().contains(Boolean.FALSE);\n");
+    } else {
+      add("      final " + info.setClassName + " values = new " + info.setClassName +
+          "(pred.getValues().size());\n" +
+          "      for (T value : pred.getValues()) {\n" +
+          "        values.add((" + info.className + ") (Object) value);\n" +
+          "      }\n");
+    }
+
+    add("\n" +
+        "      valueInspector = new ValueInspector() {\n" +
+        "        @Override\n" +
+        "        public void updateNull() {\n" +
+        "          setResult(" + !isIn + ");\n" +
+        "        }\n" +
+        "\n" +
+        "        @Override\n" +
+        "        public void update(" + info.primitiveName + " value) {\n");
+
+    String contains = info.setClassName == null ? "value ? matchesTrue : matchesFalse" : "values.contains(value)";
+    if (!isIn) {
+      contains = info.setClassName == null ? "!(" + contains + ")" : "!" + contains;
+    }
+    add("          setResult(" + contains + ");\n" +
+        "        }\n" +
+        "      };\n" +
+        "    }\n\n");
+  }
+
   private void addUdpBegin() throws IOException {
     add("    ColumnPath columnPath = pred.getColumn().getColumnPath();\n" +
         "    Class<T> clazz = pred.getColumn().getColumnType();\n" +
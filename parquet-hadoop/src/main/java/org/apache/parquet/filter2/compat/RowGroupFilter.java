@@ -43,10 +43,13 @@ import org.apache.parquet.filter2.dictionarylevel.DictionaryFilter;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.filter2.predicate.Operators;
 import org.apache.parquet.filter2.predicate.SchemaCompatibilityValidator;
+import org.apache.parquet.filter2.statisticslevel.SortedRowGroupSearch;
 import org.apache.parquet.filter2.statisticslevel.StatisticsFilter;
 import org.apache.parquet.hadoop.ParquetFileReader;
 import org.apache.parquet.hadoop.ParquetFileWriter;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.MessageType;
 import org.apache.spark.SparkContext;
@@ -67,6 +70,8 @@ public class RowGroupFilter implements Visitor<List<BlockMetaData>> {
   private final MessageType schema;
   private final List<FilterLevel> levels;
   private final ParquetFileReader reader;
+  // the columns the file is sorted on, the first column first
+  private final List<ColumnPath> sortingColumns;
   public static String getIndex(){ return FullBitmapIndex.ON ? "cbfm":(MDBF.ON ? "mdbf": CMDBF.ON ? "cmdbf" : "off"); }
   public static String filePath = "hdfs://tina:9000/record/"+getIndex()+"/";
   public static String query;
@@ -260,7 +265,21 @@ public class RowGroupFilter implements Visitor<List<BlockMetaData>> {
 
   public static List<BlockMetaData> filterRowGroups(Filter filter, List<BlockMetaData> blocks, MessageType schema) {
     checkNotNull(filter, "filter");
-    return filter.accept(new RowGroupFilter(blocks, schema));
+    return filter.accept(new RowGroupFilter(blocks, schema, Collections.<ColumnPath>emptyList()));
+  }
+
+  /**
+   * Filters the row groups with their statistics, searching the row groups of
+   * sorted files with a binary search.
+   * @param filter a filter
+   * @param blocks the row groups of a file, in the order of the file
+   * @param fileMetaData the metadata of the file
+   * @return the row groups that may match the filter
+   */
+  public static List<BlockMetaData> filterRowGroups(Filter filter, List<BlockMetaData> blocks, FileMetaData fileMetaData) {
+    checkNotNull(filter, "filter");
+    checkNotNull(fileMetaData, "fileMetaData");
+    return filter.accept(new RowGroupFilter(blocks, fileMetaData.getSchema(), fileMetaData.getSortingColumns()));
   }
 
   public static List<BlockMetaData> filterRowGroups(List<FilterLevel> levels, Filter filter, List<BlockMetaData> blocks, ParquetFileReader reader) {
@@ -268,12 +287,12 @@ public class RowGroupFilter implements Visitor<List<BlockMetaData>> {
     return filter.accept(new RowGroupFilter(levels, blocks, reader));
   }
 
-  @Deprecated
-  private RowGroupFilter(List<BlockMetaData> blocks, MessageType schema) {
+  private RowGroupFilter(List<BlockMetaData> blocks, MessageType schema, List<ColumnPath> sortingColumns) {
     this.blocks = checkNotNull(blocks, "blocks");
     this.schema = checkNotNull(schema, "schema");
     this.levels = Collections.singletonList(FilterLevel.STATISTICS);
     this.reader = null;
+    this.sortingColumns = sortingColumns;
   }
 
   private RowGroupFilter(List<FilterLevel> levels, List<BlockMetaData> blocks, ParquetFileReader reader) {
@@ -281,6 +300,7 @@ public class RowGroupFilter implements Visitor<List<BlockMetaData>> {
     this.reader = checkNotNull(reader, "reader");
     this.schema = reader.getFileMetaData().getSchema();
     this.levels = levels;
+    this.sortingColumns = reader.getFileMetaData().getSortingColumns();
   }
 
   @Override
@@ -292,7 +312,13 @@ public class RowGroupFilter implements Visitor<List<BlockMetaData>> {
 
     List<BlockMetaData> filteredBlocks = new ArrayList<BlockMetaData>();
 
-    for (BlockMetaData block : blocks) {
+    List<BlockMetaData> candidateBlocks = blocks;
+    if (!sortingColumns.isEmpty() && levels.contains(FilterLevel.STATISTICS)) {
+      // the row groups of a sorted file are in order of the first sorting column
+      candidateBlocks = SortedRowGroupSearch.candidates(filterPredicate, blocks, sortingColumns.get(0));
+    }
+
+    for (BlockMetaData block : candidateBlocks) {
       boolean drop = false;
 
       if(levels.contains(FilterLevel.STATISTICS)) {
@@ -300,7 +326,8 @@ public class RowGroupFilter implements Visitor<List<BlockMetaData>> {
       }
 
       if(!drop && levels.contains(FilterLevel.DICTIONARY)) {
-        drop = DictionaryFilter.canDrop(filterPredicate, block.getColumns(), reader.getDictionaryReader(block));
+        drop = DictionaryFilter.canDrop(filterPredicate, schema, block.getColumns(),
+            reader.getDictionaryReader(block));
       }
 
       if(!drop) {
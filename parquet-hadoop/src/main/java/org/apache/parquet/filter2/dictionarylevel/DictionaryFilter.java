@@ -30,6 +30,8 @@ import org.apache.parquet.filter2.predicate.Operators.*;
 import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -37,6 +39,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.SortedSet;
 
 import static org.apache.parquet.Preconditions.checkArgument;
 import static org.apache.parquet.Preconditions.checkNotNull;
@@ -51,16 +54,38 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
   private static final boolean BLOCK_MIGHT_MATCH = false;
   private static final boolean BLOCK_CANNOT_MATCH = true;
 
+  /**
+   * FIXED_LEN_BYTE_ARRAY dictionaries can not be decoded without the schema,
+   * so predicates on those columns never drop a row group.
+   *
+   * @see #canDrop(FilterPredicate, MessageType, List, DictionaryPageReadStore)
+   */
   public static boolean canDrop(FilterPredicate pred, List<ColumnChunkMetaData> columns, DictionaryPageReadStore dictionaries) {
+    return canDrop(pred, null, columns, dictionaries);
+  }
+
+  /**
+   * @param pred a filter predicate
+   * @param schema the schema of the file, to decode FIXED_LEN_BYTE_ARRAY dictionaries
+   * @param columns the column chunks of a row group
+   * @param dictionaries the dictionaries of the row group
+   * @return whether no record of the row group can match the predicate
+   */
+  public static boolean canDrop(FilterPredicate pred, MessageType schema, List<ColumnChunkMetaData> columns, DictionaryPageReadStore dictionaries) {
     checkNotNull(pred, "pred");
     checkNotNull(columns, "columns");
-    return pred.accept(new DictionaryFilter(columns, dictionaries));
+    return pred.accept(new DictionaryFilter(schema, columns, dictionaries));
   }
 
+  private final MessageType schema;
   private final Map<ColumnPath, ColumnChunkMetaData> columns = new HashMap<ColumnPath, ColumnChunkMetaData>();
   private final DictionaryPageReadStore dictionaries;
+  // a filter is created for each row group, so this caches the dictionary of
+  // each column chunk for all the predicates on that column
+  private final Map<ColumnPath, SortedDictionarySet<?>> dictionarySets = new HashMap<ColumnPath, SortedDictionarySet<?>>();
 
-  private DictionaryFilter(List<ColumnChunkMetaData> columnsList, DictionaryPageReadStore dictionaries) {
+  private DictionaryFilter(MessageType schema, List<ColumnChunkMetaData> columnsList, DictionaryPageReadStore dictionaries) {
+    this.schema = schema;
     for (ColumnChunkMetaData chunk : columnsList) {
       columns.put(chunk.getPath(), chunk);
     }
@@ -73,37 +98,35 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
   }
 
   @SuppressWarnings("unchecked")
-  private <T extends Comparable<T>> Set<T> expandDictionary(ColumnChunkMetaData meta) throws IOException {
-    ColumnDescriptor col = new ColumnDescriptor(meta.getPath().toArray(), meta.getType(), -1, -1);
-    DictionaryPage page = dictionaries.readDictionaryPage(col);
+  private <T extends Comparable<T>> SortedDictionarySet<T> expandDictionary(ColumnChunkMetaData meta) throws IOException {
+    if (dictionarySets.containsKey(meta.getPath())) {
+      return (SortedDictionarySet<T>) dictionarySets.get(meta.getPath());
+    }
 
-    // the chunk may not be dictionary-encoded
-    if (page == null) {
+    ColumnDescriptor col;
+    if (schema != null && schema.containsPath(meta.getPath().toArray())) {
+      col = schema.getColumnDescription(meta.getPath().toArray());
+    } else if (meta.getType() == PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY) {
+      // the length of the values is not known
+      dictionarySets.put(meta.getPath(), null);
       return null;
+    } else {
+      col = new ColumnDescriptor(meta.getPath().toArray(), meta.getType(), -1, -1);
     }
+    DictionaryPage page = dictionaries.readDictionaryPage(col);
 
-    Dictionary dict = page.getEncoding().initDictionary(col, page);
-
-    Set dictSet = new HashSet<T>();
-
-    for (int i=0; i<=dict.getMaxId(); i++) {
-      switch(meta.getType()) {
-        case BINARY: dictSet.add(dict.decodeToBinary(i));
-          break;
-        case INT32: dictSet.add(dict.decodeToInt(i));
-          break;
-        case INT64: dictSet.add(dict.decodeToLong(i));
-          break;
-        case FLOAT: dictSet.add(dict.decodeToFloat(i));
-          break;
-        case DOUBLE: dictSet.add(dict.decodeToDouble(i));
-          break;
-        default:
-          LOG.warn("Unknown dictionary type" + meta.getType());
+    // the chunk may not be dictionary-encoded
+    SortedDictionarySet<?> dictSet = null;
+    if (page != null) {
+      Dictionary dict = page.getEncoding().initDictionary(col, page);
+      dictSet = SortedDictionarySet.of(dict, meta.getType());
+      if (dictSet == null) {
+        LOG.warn("Unknown dictionary type" + meta.getType());
       }
     }
 
-    return (Set<T>) dictSet;
+    dictionarySets.put(meta.getPath(), dictSet);
+    return (SortedDictionarySet<T>) dictSet;
   }
 
   @Override
@@ -132,7 +155,7 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     }
 
     try {
-      Set<T> dictSet = expandDictionary(meta);
+      SortedDictionarySet<T> dictSet = expandDictionary(meta);
       if (dictSet != null && !dictSet.contains(value)) {
         return BLOCK_CANNOT_MATCH;
       }
@@ -175,7 +198,7 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     }
 
     try {
-      Set<T> dictSet = expandDictionary(meta);
+      SortedDictionarySet<T> dictSet = expandDictionary(meta);
       if (dictSet != null && dictSet.size() == 1 && dictSet.contains(value)) {
         return BLOCK_CANNOT_MATCH;
       }
@@ -206,15 +229,14 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     T value = lt.getValue();
 
     try {
-      Set<T> dictSet = expandDictionary(meta);
+      SortedDictionarySet<T> dictSet = expandDictionary(meta);
       if (dictSet == null) {
         return BLOCK_MIGHT_MATCH;
       }
 
-      for(T entry : dictSet) {
-        if(value.compareTo(entry) > 0) {
-          return BLOCK_MIGHT_MATCH;
-        }
+      // the smallest value is the only one that could be less than value
+      if (dictSet.size() > 0 && value.compareTo(dictSet.min()) > 0) {
+        return BLOCK_MIGHT_MATCH;
       }
 
       return BLOCK_CANNOT_MATCH;
@@ -247,15 +269,13 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     filterColumn.getColumnPath();
 
     try {
-      Set<T> dictSet = expandDictionary(meta);
+      SortedDictionarySet<T> dictSet = expandDictionary(meta);
       if (dictSet == null) {
         return BLOCK_MIGHT_MATCH;
       }
 
-      for(T entry : dictSet) {
-        if(value.compareTo(entry) >= 0) {
-          return BLOCK_MIGHT_MATCH;
-        }
+      if (dictSet.size() > 0 && value.compareTo(dictSet.min()) >= 0) {
+        return BLOCK_MIGHT_MATCH;
       }
 
       return BLOCK_CANNOT_MATCH;
@@ -286,15 +306,14 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     T value = gt.getValue();
 
     try {
-      Set<T> dictSet = expandDictionary(meta);
+      SortedDictionarySet<T> dictSet = expandDictionary(meta);
       if (dictSet == null) {
         return BLOCK_MIGHT_MATCH;
       }
 
-      for(T entry : dictSet) {
-        if(value.compareTo(entry) < 0) {
-          return BLOCK_MIGHT_MATCH;
-        }
+      // the largest value is the only one that could be greater than value
+      if (dictSet.size() > 0 && value.compareTo(dictSet.max()) < 0) {
+        return BLOCK_MIGHT_MATCH;
       }
 
       return BLOCK_CANNOT_MATCH;
@@ -327,15 +346,13 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     filterColumn.getColumnPath();
 
     try {
-      Set<T> dictSet = expandDictionary(meta);
+      SortedDictionarySet<T> dictSet = expandDictionary(meta);
       if (dictSet == null) {
         return BLOCK_MIGHT_MATCH;
       }
 
-      for(T entry : dictSet) {
-        if(value.compareTo(entry) <= 0) {
-          return BLOCK_MIGHT_MATCH;
-        }
+      if (dictSet.size() > 0 && value.compareTo(dictSet.max()) <= 0) {
+        return BLOCK_MIGHT_MATCH;
       }
 
       return BLOCK_CANNOT_MATCH;
@@ -346,6 +363,96 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     return BLOCK_MIGHT_MATCH;
   }
 
+  @Override
+  public <T extends Comparable<T>> Boolean visit(In<T> in) {
+    Column<T> filterColumn = in.getColumn();
+    ColumnChunkMetaData meta = getColumnChunk(filterColumn.getColumnPath());
+
+    if (meta == null) {
+      // the column isn't in this file so all values are null, but the values
+      // of the set are never null.
+      return BLOCK_CANNOT_MATCH;
+    }
+
+    // if the chunk has non-dictionary pages, don't bother decoding the
+    // dictionary because the row group can't be eliminated.
+    if (hasNonDictionaryPages(meta)) {
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    try {
+      SortedDictionarySet<T> dictSet = expandDictionary(meta);
+      if (dictSet != null && !containsAny(dictSet, in.getValues())) {
+        return BLOCK_CANNOT_MATCH;
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to process dictionary for filter evaluation.", e);
+    }
+
+    return BLOCK_MIGHT_MATCH;
+  }
+
+  @Override
+  public <T extends Comparable<T>> Boolean visit(NotIn<T> notIn) {
+    Column<T> filterColumn = notIn.getColumn();
+    ColumnChunkMetaData meta = getColumnChunk(filterColumn.getColumnPath());
+
+    if (meta == null) {
+      // column is missing from this file and is always null, which is not in
+      // the set, so the predicate is true for all rows
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    // the dictionary contains only non-null values, null values would match
+    if (meta.getStatistics().isEmpty() || meta.getStatistics().getNumNulls() > 0) {
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    // if the chunk has non-dictionary pages, don't bother decoding the
+    // dictionary because the row group can't be eliminated.
+    if (hasNonDictionaryPages(meta)) {
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    SortedSet<T> values = notIn.getValues();
+
+    try {
+      SortedDictionarySet<T> dictSet = expandDictionary(meta);
+      // drop if all the dictionary values are in the set
+      if (dictSet != null && dictSet.size() <= values.size()) {
+        for (int i = 0; i < dictSet.size(); i++) {
+          if (!values.contains(dictSet.get(i))) {
+            return BLOCK_MIGHT_MATCH;
+          }
+        }
+        return BLOCK_CANNOT_MATCH;
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to process dictionary for filter evaluation.", e);
+    }
+
+    return BLOCK_MIGHT_MATCH;
+  }
+
+  // looks up the values between the smallest and the largest dictionary
+  // values in the dictionary
+  private static <T extends Comparable<T>> boolean containsAny(SortedDictionarySet<T> dictSet, SortedSet<T> values) {
+    if (dictSet.size() == 0) {
+      return false;
+    }
+
+    T max = dictSet.max();
+    for (T value : values.tailSet(dictSet.min())) {
+      if (value.compareTo(max) > 0) {
+        return false;
+      }
+      if (dictSet.contains(value)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   @Override
   public Boolean visit(And and) {
     return and.getLeft().accept(this) || and.getRight().accept(this);
@@ -356,6 +463,35 @@ public class DictionaryFilter implements FilterPredicate.Visitor<Boolean> {
     return or.getLeft().accept(this) && or.getRight().accept(this);
   }
 
+  @Override
+  public Boolean visit(AnyOf anyOf) {
+    ColumnChunkMetaData meta = getColumnChunk(anyOf.getColumn().getColumnPath());
+
+    if (meta == null) {
+      // the column isn't in this file so no record has an element
+      return BLOCK_CANNOT_MATCH;
+    }
+
+    // the elements are the non-null values, so the chunk can be dropped if
+    // none of its values satisfies the predicate
+    return anyOf.getPredicate().accept(this);
+  }
+
+  @Override
+  public Boolean visit(AllOf allOf) {
+    ColumnChunkMetaData meta = getColumnChunk(allOf.getColumn().getColumnPath());
+
+    if (meta == null || meta.getStatistics().isEmpty() || meta.getStatistics().getNumNulls() > 0) {
+      // records without elements satisfy allOf(), and they are stored as
+      // nulls, so without nulls every record has at least one element
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    // every record has an element, and if no value satisfies the predicate
+    // every record has an element that does not satisfy it
+    return allOf.getPredicate().accept(this);
+  }
+
   @Override
   public Boolean visit(Not not) {
     throw new IllegalArgumentException(
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.dictionarylevel;
+
+import java.util.Arrays;
+
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+
+/**
+ * The values of a column chunk dictionary, decoded once into a sorted array
+ * of primitives (or of {@link Binary}).
+ * <p>
+ * Membership is checked with a binary search and range checks only look at
+ * the smallest or the largest value, so none of the dictionary values are
+ * boxed. The order is the one of {@link Comparable#compareTo(Object)} on the
+ * boxed values, which is the order used by the filter predicates.
+ *
+ * @param <T> the type of the values of the column
+ */
+abstract class SortedDictionarySet<T extends Comparable<T>> {
+
+  /**
+   * @param dict a dictionary
+   * @param type the type of the column
+   * @return the sorted values of the dictionary, or null if the type can not
+   *         be dictionary encoded
+   */
+  static SortedDictionarySet<?> of(Dictionary dict, PrimitiveTypeName type) {
+    int size = dict.getMaxId() + 1;
+    switch (type) {
+      case BINARY:
+      case FIXED_LEN_BYTE_ARRAY:
+      case INT96:
+        Binary[] binaries = new Binary[size];
+        for (int i = 0; i < size; i++) {
+          binaries[i] = dict.decodeToBinary(i);
+        }
+        return new BinarySet(binaries);
+      case INT32:
+        int[] ints = new int[size];
+        for (int i = 0; i < size; i++) {
+          ints[i] = dict.decodeToInt(i);
+        }
+        return new IntSet(ints);
+      case INT64:
+        long[] longs = new long[size];
+        for (int i = 0; i < size; i++) {
+          longs[i] = dict.decodeToLong(i);
+        }
+        return new LongSet(longs);
+      case FLOAT:
+        float[] floats = new float[size];
+        for (int i = 0; i < size; i++) {
+          floats[i] = dict.decodeToFloat(i);
+        }
+        return new FloatSet(floats);
+      case DOUBLE:
+        double[] doubles = new double[size];
+        for (int i = 0; i < size; i++) {
+          doubles[i] = dict.decodeToDouble(i);
+        }
+        return new DoubleSet(doubles);
+      default:
+        return null;
+    }
+  }
+
+  /**
+   * @return the number of values in the dictionary
+   */
+  abstract int size();
+
+  /**
+   * @param value a non-null value
+   * @return whether the dictionary contains the value
+   */
+  abstract boolean contains(T value);
+
+  /**
+   * @param index an index between 0 and size() - 1
+   * @return the value at the index, in sorted order
+   */
+  abstract T get(int index);
+
+  /**
+   * @return the smallest value of the dictionary, the dictionary must not be empty
+   */
+  abstract T min();
+
+  /**
+   * @return the largest value of the dictionary, the dictionary must not be empty
+   */
+  abstract T max();
+
+  private static class IntSet extends SortedDictionarySet<Integer> {
+    private final int[] values;
+
+    private IntSet(int[] values) {
+      Arrays.sort(values);
+      this.values = values;
+    }
+
+    @Override
+    int size() {
+      return values.length;
+    }
+
+    @Override
+    boolean contains(Integer value) {
+      return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    @Override
+    Integer get(int index) {
+      return values[index];
+    }
+
+    @Override
+    Integer min() {
+      return values[0];
+    }
+
+    @Override
+    Integer max() {
+      return values[values.length - 1];
+    }
+  }
+
+  private static class LongSet extends SortedDictionarySet<Long> {
+    private final long[] values;
+
+    private LongSet(long[] values) {
+      Arrays.sort(values);
+      this.values = values;
+    }
+
+    @Override
+    int size() {
+      return values.length;
+    }
+
+    @Override
+    boolean contains(Long value) {
+      return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    @Override
+    Long get(int index) {
+      return values[index];
+    }
+
+    @Override
+    Long min() {
+      return values[0];
+    }
+
+    @Override
+    Long max() {
+      return values[values.length - 1];
+    }
+  }
+
+  private static class FloatSet extends SortedDictionarySet<Float> {
+    private final float[] values;
+
+    private FloatSet(float[] values) {
+      Arrays.sort(values);
+      this.values = values;
+    }
+
+    @Override
+    int size() {
+      return values.length;
+    }
+
+    @Override
+    boolean contains(Float value) {
+      return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    @Override
+    Float get(int index) {
+      return values[index];
+    }
+
+    @Override
+    Float min() {
+      return values[0];
+    }
+
+    @Override
+    Float max() {
+      return values[values.length - 1];
+    }
+  }
+
+  private static class DoubleSet extends SortedDictionarySet<Double> {
+    private final double[] values;
+
+    private DoubleSet(double[] values) {
+      Arrays.sort(values);
+      this.values = values;
+    }
+
+    @Override
+    int size() {
+      return values.length;
+    }
+
+    @Override
+    boolean contains(Double value) {
+      return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    @Override
+    Double get(int index) {
+      return values[index];
+    }
+
+    @Override
+    Double min() {
+      return values[0];
+    }
+
+    @Override
+    Double max() {
+      return values[values.length - 1];
+    }
+  }
+
+  private static class BinarySet extends SortedDictionarySet<Binary> {
+    private final Binary[] values;
+
+    private BinarySet(Binary[] values) {
+      Arrays.sort(values);
+      this.values = values;
+    }
+
+    @Override
+    int size() {
+      return values.length;
+    }
+
+    @Override
+    boolean contains(Binary value) {
+      return Arrays.binarySearch(values, value) >= 0;
+    }
+
+    @Override
+    Binary get(int index) {
+      return values[index];
+    }
+
+    @Override
+    Binary min() {
+      return values[0];
+    }
+
+    @Override
+    Binary max() {
+      return values[values.length - 1];
+    }
+  }
+}
@@ -0,0 +1,266 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.statisticslevel;
+
+import java.util.List;
+import java.util.SortedSet;
+
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators.And;
+import org.apache.parquet.filter2.predicate.Operators.Column;
+import org.apache.parquet.filter2.predicate.Operators.Eq;
+import org.apache.parquet.filter2.predicate.Operators.Gt;
+import org.apache.parquet.filter2.predicate.Operators.GtEq;
+import org.apache.parquet.filter2.predicate.Operators.In;
+import org.apache.parquet.filter2.predicate.Operators.Lt;
+import org.apache.parquet.filter2.predicate.Operators.LtEq;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+
+import static org.apache.parquet.Preconditions.checkNotNull;
+
+/**
+ * Finds the row groups of a file sorted on a column that may contain the
+ * values of a predicate on that column, with a binary search on the min and
+ * max statistics of the row groups.
+ * <p>
+ * The row groups must be in ascending order of the column: the max of a row
+ * group is at most the min of the next one, in the order of
+ * {@link Comparable#compareTo(Object)} used by the statistics. The order is
+ * not checked by the search: the writer checks it once with
+ * {@link #isSorted(List, ColumnPath)} and only records the sorting columns of
+ * files whose row groups are in order. Only the
+ * eq(), lt(), ltEq(), gt(), gtEq() and in() predicates on the column that
+ * are required by the whole predicate (through and()) bound the search, the
+ * other row groups still have to be checked with the {@link StatisticsFilter}.
+ */
+public class SortedRowGroupSearch {
+
+  /**
+   * @param pred a predicate, without not()
+   * @param blocks the row groups of a file, in the order of the file
+   * @param sortingColumn the column the file is sorted on
+   * @return the row groups that may match the predicate, which are all the
+   *         row groups if the predicate does not bound the column or if some
+   *         of the row groups searched have no exact min and max for the column
+   */
+  public static List<BlockMetaData> candidates(FilterPredicate pred, List<BlockMetaData> blocks, ColumnPath sortingColumn) {
+    checkNotNull(pred, "pred");
+    checkNotNull(blocks, "blocks");
+    checkNotNull(sortingColumn, "sortingColumn");
+    Range range = new Range();
+    range.restrict(pred, sortingColumn);
+    if (blocks.isEmpty() || (range.lower == null && range.upper == null)) {
+      return blocks;
+    }
+    try {
+      // the row groups of a file have their columns in the same order
+      SortingColumn column = new SortingColumn(sortingColumn, blocks.get(0));
+      int from = range.lower == null ? 0 : firstEndingAfter(blocks, column, range);
+      int to = range.upper == null ? blocks.size() : firstStartingAfter(blocks, column, range);
+      return blocks.subList(from, Math.max(from, to));
+    } catch (UnsortedException e) {
+      return blocks;
+    }
+  }
+
+  /**
+   * @param blocks row groups
+   * @param sortingColumn a column
+   * @return true if every row group has an exact min and max for the column and the
+   *         max of each row group is at most the min of the next one
+   */
+  @SuppressWarnings("unchecked")
+  public static boolean isSorted(List<BlockMetaData> blocks, ColumnPath sortingColumn) {
+    checkNotNull(blocks, "blocks");
+    checkNotNull(sortingColumn, "sortingColumn");
+    if (blocks.isEmpty()) {
+      return true;
+    }
+    try {
+      SortingColumn column = new SortingColumn(sortingColumn, blocks.get(0));
+      Statistics previous = column.getStatistics(blocks.get(0));
+      for (int i = 1; i < blocks.size(); i++) {
+        Statistics current = column.getStatistics(blocks.get(i));
+        if (previous.genericGetMax().compareTo(current.genericGetMin()) > 0) {
+          return false;
+        }
+        previous = current;
+      }
+      return true;
+    } catch (UnsortedException e) {
+      return false;
+    }
+  }
+
+  /**
+   * @return the index of the first row group whose max is above the lower bound
+   */
+  @SuppressWarnings("unchecked")
+  private static int firstEndingAfter(List<BlockMetaData> blocks, SortingColumn column, Range range) {
+    int low = 0;
+    int high = blocks.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      int cmp = column.getStatistics(blocks.get(mid)).genericGetMax().compareTo(range.lower);
+      if (cmp > 0 || (cmp == 0 && range.lowerInclusive)) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * @return the index of the first row group whose min is above the upper bound
+   */
+  @SuppressWarnings("unchecked")
+  private static int firstStartingAfter(List<BlockMetaData> blocks, SortingColumn column, Range range) {
+    int low = 0;
+    int high = blocks.size();
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      int cmp = column.getStatistics(blocks.get(mid)).genericGetMin().compareTo(range.upper);
+      if (cmp > 0 || (cmp == 0 && !range.upperInclusive)) {
+        high = mid;
+      } else {
+        low = mid + 1;
+      }
+    }
+    return low;
+  }
+
+  /**
+   * The sorting column, found at the same index in every row group.
+   */
+  private static class SortingColumn {
+    private final ColumnPath path;
+    private final int index;
+
+    private SortingColumn(ColumnPath path, BlockMetaData first) {
+      this.path = path;
+      this.index = indexOf(first, path);
+    }
+
+    private Statistics getStatistics(BlockMetaData block) {
+      List<ColumnChunkMetaData> chunks = block.getColumns();
+      ColumnChunkMetaData chunk = index < chunks.size() ? chunks.get(index) : null;
+      if (chunk == null || !chunk.getPath().equals(path)) {
+        chunk = chunks.get(indexOf(block, path));
+      }
+      Statistics stats = chunk.getStatistics();
+      if (stats == null || !stats.hasNonNullValue() || !stats.isMinMaxExact()) {
+        throw new UnsortedException();
+      }
+      return stats;
+    }
+
+    private static int indexOf(BlockMetaData block, ColumnPath path) {
+      List<ColumnChunkMetaData> chunks = block.getColumns();
+      for (int i = 0; i < chunks.size(); i++) {
+        if (chunks.get(i).getPath().equals(path)) {
+          return i;
+        }
+      }
+      throw new UnsortedException();
+    }
+  }
+
+  /**
+   * A row group has no exact min and max for the column.
+   */
+  private static class UnsortedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+  }
+
+  /**
+   * The values of the sorting column required by a predicate.
+   */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static class Range {
+    private Comparable lower = null;
+    private boolean lowerInclusive = true;
+    private Comparable upper = null;
+    private boolean upperInclusive = true;
+
+    private void restrict(FilterPredicate pred, ColumnPath column) {
+      if (pred instanceof And) {
+        restrict(((And) pred).getLeft(), column);
+        restrict(((And) pred).getRight(), column);
+      } else if (pred instanceof Eq) {
+        Eq eq = (Eq) pred;
+        // eq(column, null) matches the nulls, which are not in min and max
+        if (isOn(eq.getColumn(), column) && eq.getValue() != null) {
+          restrictLower(eq.getValue(), true);
+          restrictUpper(eq.getValue(), true);
+        }
+      } else if (pred instanceof Lt) {
+        Lt lt = (Lt) pred;
+        if (isOn(lt.getColumn(), column)) {
+          restrictUpper(lt.getValue(), false);
+        }
+      } else if (pred instanceof LtEq) {
+        LtEq ltEq = (LtEq) pred;
+        if (isOn(ltEq.getColumn(), column)) {
+          restrictUpper(ltEq.getValue(), true);
+        }
+      } else if (pred instanceof Gt) {
+        Gt gt = (Gt) pred;
+        if (isOn(gt.getColumn(), column)) {
+          restrictLower(gt.getValue(), false);
+        }
+      } else if (pred instanceof GtEq) {
+        GtEq gtEq = (GtEq) pred;
+        if (isOn(gtEq.getColumn(), column)) {
+          restrictLower(gtEq.getValue(), true);
+        }
+      } else if (pred instanceof In) {
+        In in = (In) pred;
+        SortedSet values = in.getValues();
+        if (isOn(in.getColumn(), column) && !values.isEmpty()) {
+          restrictLower((Comparable) values.first(), true);
+          restrictUpper((Comparable) values.last(), true);
+        }
+      }
+    }
+
+    private static boolean isOn(Column<?> filterColumn, ColumnPath column) {
+      return filterColumn.getColumnPath().equals(column);
+    }
+
+    private void restrictLower(Comparable value, boolean inclusive) {
+      int cmp = lower == null ? 1 : value.compareTo(lower);
+      if (cmp > 0 || (cmp == 0 && !inclusive)) {
+        lower = value;
+        lowerInclusive = inclusive;
+      }
+    }
+
+    private void restrictUpper(Comparable value, boolean inclusive) {
+      int cmp = upper == null ? -1 : value.compareTo(upper);
+      if (cmp < 0 || (cmp == 0 && !inclusive)) {
+        upper = value;
+        upperInclusive = inclusive;
+      }
+    }
+  }
+}
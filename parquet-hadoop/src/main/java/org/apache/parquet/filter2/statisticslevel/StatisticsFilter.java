@@ -21,20 +21,25 @@ package org.apache.parquet.filter2.statisticslevel;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedSet;
 
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators.AllOf;
 import org.apache.parquet.filter2.predicate.Operators.And;
+import org.apache.parquet.filter2.predicate.Operators.AnyOf;
 import org.apache.parquet.filter2.predicate.Operators.Column;
 import org.apache.parquet.filter2.predicate.Operators.Eq;
 import org.apache.parquet.filter2.predicate.Operators.Gt;
 import org.apache.parquet.filter2.predicate.Operators.GtEq;
+import org.apache.parquet.filter2.predicate.Operators.In;
 import org.apache.parquet.filter2.predicate.Operators.LogicalNotUserDefined;
 import org.apache.parquet.filter2.predicate.Operators.Lt;
 import org.apache.parquet.filter2.predicate.Operators.LtEq;
 import org.apache.parquet.filter2.predicate.Operators.Not;
 import org.apache.parquet.filter2.predicate.Operators.NotEq;
+import org.apache.parquet.filter2.predicate.Operators.NotIn;
 import org.apache.parquet.filter2.predicate.Operators.Or;
 import org.apache.parquet.filter2.predicate.Operators.UserDefined;
 import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
@@ -47,6 +52,9 @@ import static org.apache.parquet.Preconditions.checkNotNull;
  * Applies a {@link org.apache.parquet.filter2.predicate.FilterPredicate} to statistics about a group of
  * records.
  *
+ * Min and max may be bounds rather than actual values, see {@link Statistics#isMinMaxExact()}. The
+ * other checks only rely on min being a lower bound and max being an upper bound.
+ *
  * Note: the supplied predicate must not contain any instances of the not() operator as this is not
  * supported by this filter.
  *
@@ -172,6 +180,12 @@ public class StatisticsFilter implements FilterPredicate.Visitor<Boolean> {
       return BLOCK_MIGHT_MATCH;
     }
 
+    if (!stats.isMinMaxExact()) {
+      // min and max are only bounds, so min = max does not mean that all the
+      // values are equal
+      return BLOCK_MIGHT_MATCH;
+    }
+
     // drop if this is a column where min = max = value
     return value.compareTo(stats.genericGetMin()) == 0 && value.compareTo(stats.genericGetMax()) == 0;
   }
@@ -300,6 +314,74 @@ public class StatisticsFilter implements FilterPredicate.Visitor<Boolean> {
     return value.compareTo(stats.genericGetMax()) > 0;
   }
 
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends Comparable<T>> Boolean visit(In<T> in) {
+    Column<T> filterColumn = in.getColumn();
+    ColumnChunkMetaData meta = getColumnChunk(filterColumn.getColumnPath());
+
+    if (meta == null) {
+      // the column isn't in this file so all values are null, and the
+      // values of the set are never null
+      return BLOCK_CANNOT_MATCH;
+    }
+
+    Statistics<T> stats = meta.getStatistics();
+
+    if (stats.isEmpty()) {
+      // we have no statistics available, we cannot drop any chunks
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    if (isAllNulls(meta)) {
+      // we are looking for records where v in(someNonNulls)
+      // and this is a column of all nulls, so drop it
+      return BLOCK_CANNOT_MATCH;
+    }
+
+    // the values are sorted, so the smallest value >= min is the only one
+    // that needs to be checked against max.
+    // drop if no value is in [min, max]
+    SortedSet<T> atLeastMin = in.getValues().tailSet(stats.genericGetMin());
+    return atLeastMin.isEmpty() || atLeastMin.first().compareTo(stats.genericGetMax()) > 0;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends Comparable<T>> Boolean visit(NotIn<T> notIn) {
+    Column<T> filterColumn = notIn.getColumn();
+    ColumnChunkMetaData meta = getColumnChunk(filterColumn.getColumnPath());
+
+    if (meta == null) {
+      // the column isn't in this file so all values are null, and null is
+      // not in the set
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    Statistics<T> stats = meta.getStatistics();
+
+    if (stats.isEmpty()) {
+      // we have no statistics available, we cannot drop any chunks
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    if (hasNulls(meta)) {
+      // we are looking for records where v notIn(someNonNulls)
+      // but this chunk contains nulls, we cannot drop it
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    if (!stats.isMinMaxExact()) {
+      // min and max are only bounds, so min = max does not mean that all the
+      // values are equal
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    // drop if this is a column where min = max and the value is in the set
+    T min = stats.genericGetMin();
+    return min.compareTo(stats.genericGetMax()) == 0 && notIn.getValues().contains(min);
+  }
+
   @Override
   public Boolean visit(And and) {
     // seems unintuitive to put an || not an && here but we can
@@ -318,6 +400,35 @@ public class StatisticsFilter implements FilterPredicate.Visitor<Boolean> {
     return or.getLeft().accept(this) && or.getRight().accept(this);
   }
 
+  @Override
+  public Boolean visit(AnyOf anyOf) {
+    ColumnChunkMetaData meta = getColumnChunk(anyOf.getColumn().getColumnPath());
+
+    if (meta == null) {
+      // the column isn't in this file so no record has an element
+      return BLOCK_CANNOT_MATCH;
+    }
+
+    // the elements are the non-null values, so the chunk can be dropped if
+    // none of its values satisfies the predicate
+    return anyOf.getPredicate().accept(this);
+  }
+
+  @Override
+  public Boolean visit(AllOf allOf) {
+    ColumnChunkMetaData meta = getColumnChunk(allOf.getColumn().getColumnPath());
+
+    if (meta == null || meta.getStatistics().isEmpty() || meta.getStatistics().getNumNulls() > 0) {
+      // records without elements satisfy allOf(), and they are stored as
+      // nulls, so without nulls every record has at least one element
+      return BLOCK_MIGHT_MATCH;
+    }
+
+    // every record has an element, and if no value satisfies the predicate
+    // every record has an element that does not satisfy it
+    return allOf.getPredicate().accept(this);
+  }
+
   @Override
   public Boolean visit(Not not) {
     throw new IllegalArgumentException(
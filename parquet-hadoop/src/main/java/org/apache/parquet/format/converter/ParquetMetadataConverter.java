@@ -31,6 +31,7 @@ import me.yongshang.cbfm.CMDBF;
 import me.yongshang.cbfm.FullBitmapIndex;
 import me.yongshang.cbfm.MDBF;
 import me.yongshang.dataskipping.DSConfig;
+import org.apache.commons.codec.binary.Base64;
 import org.apache.hadoop.fs.*;
 import org.apache.parquet.CorruptStatistics;
 import org.apache.parquet.Log;
@@ -59,6 +60,8 @@ import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.parquet.column.EncodingStats;
+import org.apache.parquet.column.statistics.BinaryStatistics;
+import org.apache.parquet.column.statistics.HyperLogLog;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.io.ParquetDecodingException;
 import org.apache.parquet.schema.GroupType;
@@ -78,6 +81,12 @@ public class ParquetMetadataConverter {
   public static final MetadataFilter NO_FILTER = new NoFilter();
   public static final MetadataFilter SKIP_ROW_GROUPS = new SkipMetadataFilter();
   public static final long MAX_STATS_SIZE = 4096; // limit stats to 4k
+  // column chunk key set when the min and max of the statistics are only a
+  // lower and an upper bound, for example because they were truncated
+  public static final String STATISTICS_INEXACT_KEY = "parquet.statistics.inexact";
+  // column chunk key of the base64 encoded distinct count sketch, see
+  // org.apache.parquet.column.statistics.HyperLogLog
+  public static final String DISTINCT_COUNT_SKETCH_KEY = "parquet.statistics.distinct.sketch";
 
   private static final Log LOG = Log.getLog(ParquetMetadataConverter.class);
 
@@ -185,12 +194,22 @@ public class ParquetMetadataConverter {
       columnChunk.meta_data.dictionary_page_offset = columnMetaData.getDictionaryPageOffset();
       if (!columnMetaData.getStatistics().isEmpty()) {
         columnChunk.meta_data.setStatistics(toParquetStatistics(columnMetaData.getStatistics()));
+        if (!columnMetaData.getStatistics().isMinMaxExact()) {
+          KeyValue keyValue = new KeyValue(STATISTICS_INEXACT_KEY);
+          keyValue.value = Boolean.TRUE.toString();
+          columnChunk.meta_data.addToKey_value_metadata(keyValue);
+        }
       }
       if (columnMetaData.getEncodingStats() != null) {
         columnChunk.meta_data.setEncoding_stats(convertEncodingStats(columnMetaData.getEncodingStats()));
       }
+      HyperLogLog sketch = columnMetaData.getDistinctCountSketch();
+      if (sketch != null) {
+        KeyValue keyValue = new KeyValue(DISTINCT_COUNT_SKETCH_KEY);
+        keyValue.value = Base64.encodeBase64String(sketch.toBytes());
+        columnChunk.meta_data.addToKey_value_metadata(keyValue);
+      }
 //      columnChunk.meta_data.index_page_offset = ;
-//      columnChunk.meta_data.key_value_metadata = ; // nothing yet
 
       parquetColumns.add(columnChunk);
     }
@@ -287,8 +306,10 @@ public class ParquetMetadataConverter {
     Statistics stats = new Statistics();
     // Don't write stats larger than the max size rather than truncating. The
     // rationale is that some engines may use the minimum value in the page as
-    // the true minimum for aggregations and there is no way to mark that a
-    // value has been truncated and is a lower bound and not in the page.
+    // the true minimum for aggregations and the format has no way to mark that
+    // a value has been truncated and is a lower bound and not in the page.
+    // Writers that truncate BINARY statistics, see BinaryStatistics#truncate,
+    // mark the column chunk with STATISTICS_INEXACT_KEY.
     if (!statistics.isEmpty() && statistics.isSmallerThan(MAX_STATS_SIZE)) {
       stats.setNull_count(statistics.getNumNulls());
       if (statistics.hasNonNullValue()) {
@@ -481,7 +502,7 @@ public class ParquetMetadataConverter {
     fileMetaData.addToKey_value_metadata(keyValue);
   }
 
-  private static interface MetadataFilterVisitor<T, E extends Throwable> {
+  static interface MetadataFilterVisitor<T, E extends Throwable> {
     T visit(NoFilter filter) throws E;
     T visit(SkipMetadataFilter filter) throws E;
     T visit(RangeMetadataFilter filter) throws E;
@@ -491,6 +512,58 @@ public class ParquetMetadataConverter {
   public abstract static class MetadataFilter {
     private MetadataFilter() {}
     abstract <T, E extends Throwable> T accept(MetadataFilterVisitor<T, E> visitor) throws E;
+
+    /**
+     * @return the components of the metadata that are converted
+     */
+    public Set<MetadataComponent> getComponents() {
+      return ALL_COMPONENTS;
+    }
+  }
+
+  /**
+   * The parts of the footer that a reader may not need, see
+   * {@link #components(MetadataFilter, MetadataComponent...)}
+   */
+  public enum MetadataComponent {
+    /** the row groups, with their row counts and sizes */
+    ROW_GROUPS,
+    /** the column chunks of the row groups: their offsets, sizes, codecs and encodings */
+    COLUMNS,
+    /** the statistics of the column chunks */
+    STATISTICS,
+    /** the page encoding stats of the column chunks */
+    ENCODING_STATS,
+    /** the key-value metadata of the file */
+    KEY_VALUE_METADATA
+  }
+
+  private static final Set<MetadataComponent> ALL_COMPONENTS =
+      Collections.unmodifiableSet(EnumSet.allOf(MetadataComponent.class));
+
+  /**
+   * Only the given components of the metadata are converted, the others are left
+   * empty: the row groups have no column chunks, the column chunks have empty
+   * statistics and no encoding stats, and the key-value metadata is empty.
+   * The components needed by the given ones are converted too: column chunks need
+   * row groups, and statistics and encoding stats need column chunks.
+   * @param filter the filter to apply to row groups
+   * @param components the components of the metadata to convert
+   * @return a filter keeping the same row groups as filter
+   */
+  public static MetadataFilter components(MetadataFilter filter, MetadataComponent... components) {
+    Set<MetadataComponent> set = EnumSet.noneOf(MetadataComponent.class);
+    set.addAll(Arrays.asList(components));
+    if (set.contains(MetadataComponent.STATISTICS) || set.contains(MetadataComponent.ENCODING_STATS)) {
+      set.add(MetadataComponent.COLUMNS);
+    }
+    if (set.contains(MetadataComponent.COLUMNS)) {
+      set.add(MetadataComponent.ROW_GROUPS);
+    }
+    if (!set.contains(MetadataComponent.ROW_GROUPS)) {
+      filter = SKIP_ROW_GROUPS;
+    }
+    return new ComponentsMetadataFilter(filter, Collections.unmodifiableSet(set));
   }
 
   /**
@@ -511,7 +584,7 @@ public class ParquetMetadataConverter {
     return new OffsetMetadataFilter(set);
   }
 
-  private static final class NoFilter extends MetadataFilter {
+  static final class NoFilter extends MetadataFilter {
     private NoFilter() {}
     @Override
     <T, E extends Throwable> T accept(MetadataFilterVisitor<T, E> visitor) throws E {
@@ -522,7 +595,7 @@ public class ParquetMetadataConverter {
       return "NO_FILTER";
     }
   }
-  private static final class SkipMetadataFilter extends MetadataFilter {
+  static final class SkipMetadataFilter extends MetadataFilter {
     private SkipMetadataFilter() {}
     @Override
     <T, E extends Throwable> T accept(MetadataFilterVisitor<T, E> visitor) throws E {
@@ -534,6 +607,31 @@ public class ParquetMetadataConverter {
     }
   }
 
+  private static final class ComponentsMetadataFilter extends MetadataFilter {
+    private final MetadataFilter filter;
+    private final Set<MetadataComponent> components;
+
+    private ComponentsMetadataFilter(MetadataFilter filter, Set<MetadataComponent> components) {
+      this.filter = filter;
+      this.components = components;
+    }
+
+    @Override
+    <T, E extends Throwable> T accept(MetadataFilterVisitor<T, E> visitor) throws E {
+      return filter.accept(visitor);
+    }
+
+    @Override
+    public Set<MetadataComponent> getComponents() {
+      return components;
+    }
+
+    @Override
+    public String toString() {
+      return filter + " " + components;
+    }
+  }
+
   /**
    * [ startOffset, endOffset )
    * @author Julien Le Dem
@@ -633,6 +731,19 @@ public class ParquetMetadataConverter {
   }
 
   public ParquetMetadata readParquetMetadata(final InputStream from, MetadataFilter filter) throws IOException {
+    return readParquetMetadata(from, filter, null);
+  }
+
+  /**
+   * Reads the footer keeping only the metadata of the given columns in its row groups.
+   * @param from the serialized footer
+   * @param filter the filter to apply to row groups
+   * @param projectedColumns the columns whose metadata is converted, or null for all the columns
+   * @return the metadata of the file
+   * @throws IOException if the footer cannot be read
+   * @see #fromParquetMetadata(FileMetaData, Set)
+   */
+  public ParquetMetadata readParquetMetadata(final InputStream from, MetadataFilter filter, Set<ColumnPath> projectedColumns) throws IOException {
     FileMetaData fileMetaData = filter.accept(new MetadataFilterVisitor<FileMetaData, IOException>() {
       @Override
       public FileMetaData visit(NoFilter filter) throws IOException {
@@ -655,17 +766,25 @@ public class ParquetMetadataConverter {
       }
     });
 
-    if (Log.DEBUG) LOG.debug(fileMetaData);
-    ParquetMetadata parquetMetadata = fromParquetMetadata(fileMetaData);
-    if (Log.DEBUG) LOG.debug(ParquetMetadata.toPrettyJSON(parquetMetadata));
-    if(CBFM.ON){
-      Map<String, String> metadata = parquetMetadata.getFileMetaData().getKeyValueMetaData();
-      for (BlockMetaData blockMetaData : parquetMetadata.getBlocks()) {
-        blockMetaData.setIndexTableStr(metadata.get(String.valueOf(blockMetaData.getStartingPos())));
-      }
-    }
+    ParquetMetadata parquetMetadata = fromParquetMetadataWithIndexTables(fileMetaData, projectedColumns, filter.getComponents());
+    readFooterSections(from, parquetMetadata);
+    return parquetMetadata;
+  }
+
+  /**
+   * Reads the sections that follow the thrift metadata in the footer, and sets them
+   * in the row groups they belong to.
+   * @see #readsFooterSections()
+   */
+  private void readFooterSections(InputStream from, ParquetMetadata parquetMetadata) throws IOException {
     List<ColumnDescriptor> columnList = parquetMetadata.getFileMetaData().getSchema().getColumns();
     boolean checked =RowGroupFilter.checkIndexed(columnList);
+    // the sections are matched by the position of the row groups, which does not
+    // depend on the columns read (see fromParquetMetadata)
+    Map<Long, BlockMetaData> blocks = new HashMap<Long, BlockMetaData>();
+    for (BlockMetaData blockMetaData : parquetMetadata.getBlocks()) {
+      blocks.put(blockMetaData.getStartingPos(), blockMetaData);
+    }
     long start = System.currentTimeMillis();
     if(FullBitmapIndex.ON && checked){
       DataInput in = new DataInputStream(from);
@@ -675,10 +794,9 @@ public class ParquetMetadataConverter {
         start = System.currentTimeMillis();
         FullBitmapIndex index = new FullBitmapIndex(in);
         writeTime(System.currentTimeMillis() - start);
-        for (BlockMetaData blockMetaData : parquetMetadata.getBlocks()) {
-          if(startPos == blockMetaData.getStartingPos()){
-            blockMetaData.index = index;
-          }
+        BlockMetaData blockMetaData = blocks.get(startPos);
+        if (blockMetaData != null) {
+          blockMetaData.index = index;
         }
       }
     }
@@ -690,10 +808,9 @@ public class ParquetMetadataConverter {
         start = System.currentTimeMillis();
         MDBF index = new MDBF(in);
         writeTime(System.currentTimeMillis() - start);
-        for (BlockMetaData blockMetaData : parquetMetadata.getBlocks()) {
-          if(startPos == blockMetaData.getStartingPos()){
-            blockMetaData.mdbfIndex = index;
-          }
+        BlockMetaData blockMetaData = blocks.get(startPos);
+        if (blockMetaData != null) {
+          blockMetaData.mdbfIndex = index;
         }
       }
     }
@@ -705,10 +822,9 @@ public class ParquetMetadataConverter {
         start = System.currentTimeMillis();
         CMDBF index = new CMDBF(in);
         writeTime(System.currentTimeMillis() - start);
-        for (BlockMetaData blockMetaData : parquetMetadata.getBlocks()) {
-          if(startPos == blockMetaData.getStartingPos()){
-            blockMetaData.cmdbfIndex = index;
-          }
+        BlockMetaData blockMetaData = blocks.get(startPos);
+        if (blockMetaData != null) {
+          blockMetaData.cmdbfIndex = index;
         }
       }
     }
@@ -722,17 +838,62 @@ public class ParquetMetadataConverter {
         long vectorLong = in.readLong();
         BitSet vector = new BitSet();
         for (int j = 0; j < DSConfig.m; j++) {
-          if((1L << i & vectorLong) != 0){
-            vector.set(i);
+          if((1L << j & vectorLong) != 0){
+            vector.set(j);
           }
         }
-        for (BlockMetaData blockMetaData : parquetMetadata.getBlocks()) {
-          if(startPos == blockMetaData.getStartingPos()){
-            blockMetaData.vector = vector;
-          }
+        BlockMetaData blockMetaData = blocks.get(startPos);
+        if (blockMetaData != null) {
+          blockMetaData.vector = vector;
         }
       }
     }
+  }
+
+  private ParquetMetadata fromParquetMetadataWithIndexTables(FileMetaData fileMetaData, Set<ColumnPath> projectedColumns,
+                                                             Set<MetadataComponent> components) throws IOException {
+    if (Log.DEBUG) LOG.debug(fileMetaData);
+    ParquetMetadata parquetMetadata = fromParquetMetadata(fileMetaData, projectedColumns, components);
+    if (Log.DEBUG) LOG.debug(ParquetMetadata.toPrettyJSON(parquetMetadata));
+    if(CBFM.ON && components.contains(MetadataComponent.COLUMNS)){
+      Map<String, String> metadata = parquetMetadata.getFileMetaData().getKeyValueMetaData();
+      for (BlockMetaData blockMetaData : parquetMetadata.getBlocks()) {
+        blockMetaData.setIndexTables(metadata);
+      }
+    }
+    return parquetMetadata;
+  }
+
+  /**
+   * @return true if the footers have sections after the thrift metadata, which are read
+   *         right after it, or from their offset in the row group index
+   * @see #readParquetMetadata(InputStream, MetadataFilter, Set)
+   * @see RowGroupIndex#getSectionsLength()
+   */
+  public static boolean readsFooterSections() {
+    return FullBitmapIndex.ON || MDBF.ON || CMDBF.ON || DSConfig.ON;
+  }
+
+  /**
+   * Reads the footer from its row group index.
+   * @param index the row group index of the footer
+   * @param metadata the file metadata at the beginning of the index
+   * @param rowGroups the indexes of the row groups to read, see {@link RowGroupIndex#select(MetadataFilter)}
+   * @param fragments the metadata of the row groups, from the start of the first one to the end of the last one
+   * @param sections the footer sections, see {@link RowGroupIndex#getSectionsLength()}, or null if they are not read
+   * @param projectedColumns the columns whose metadata is converted, or null for all the columns
+   * @param components the components of the metadata to convert, see {@link MetadataFilter#getComponents()}
+   * @return the metadata of the file with the given row groups
+   * @throws IOException if the footer cannot be read
+   */
+  public ParquetMetadata readParquetMetadata(RowGroupIndex index, byte[] metadata, int[] rowGroups, byte[] fragments,
+                                             byte[] sections, Set<ColumnPath> projectedColumns,
+                                             Set<MetadataComponent> components) throws IOException {
+    ParquetMetadata parquetMetadata = fromParquetMetadataWithIndexTables(
+        index.readFileMetaDataWithRowGroups(metadata, rowGroups, fragments), projectedColumns, components);
+    if (sections != null) {
+      readFooterSections(new ByteArrayInputStream(sections), parquetMetadata);
+    }
     return parquetMetadata;
   }
 
@@ -754,16 +915,66 @@ public class ParquetMetadataConverter {
   }
 
   public ParquetMetadata fromParquetMetadata(FileMetaData parquetMetadata) throws IOException {
+    return fromParquetMetadata(parquetMetadata, null);
+  }
+
+  /**
+   * Converts the footer keeping only the metadata of the given columns in its row groups.
+   * The statistics and encodings of the other column chunks are not converted, which
+   * saves time and memory for readers that project a few columns of a wide schema.
+   * The schema and the row counts and sizes of the row groups are kept.
+   * @param parquetMetadata the footer
+   * @param projectedColumns the columns whose metadata is converted, or null for all the columns
+   * @return the metadata of the file
+   * @throws IOException if the footer cannot be converted
+   */
+  public ParquetMetadata fromParquetMetadata(FileMetaData parquetMetadata, Set<ColumnPath> projectedColumns) throws IOException {
+    return fromParquetMetadata(parquetMetadata, projectedColumns, ALL_COMPONENTS);
+  }
+
+  /**
+   * Converts the given components of the footer, keeping only the metadata of the given
+   * columns in its row groups.
+   * @param parquetMetadata the footer
+   * @param projectedColumns the columns whose metadata is converted, or null for all the columns
+   * @param components the components of the metadata to convert, see {@link #components(MetadataFilter, MetadataComponent...)}
+   * @return the metadata of the file
+   * @throws IOException if the footer cannot be converted
+   */
+  public ParquetMetadata fromParquetMetadata(FileMetaData parquetMetadata, Set<ColumnPath> projectedColumns,
+                                             Set<MetadataComponent> components) throws IOException {
     MessageType messageType = fromParquetSchema(parquetMetadata.getSchema());
+    Map<String, String> keyValueMetaData = new HashMap<String, String>();
+    List<KeyValue> key_value_metadata = parquetMetadata.getKey_value_metadata();
+    if (key_value_metadata != null && components.contains(MetadataComponent.KEY_VALUE_METADATA)) {
+      for (KeyValue keyValue : key_value_metadata) {
+        keyValueMetaData.put(keyValue.key, keyValue.value);
+      }
+    }
+    boolean convertColumns = components.contains(MetadataComponent.COLUMNS);
+    boolean convertStatistics = components.contains(MetadataComponent.STATISTICS);
+    boolean convertEncodingStats = components.contains(MetadataComponent.ENCODING_STATS);
     List<BlockMetaData> blocks = new ArrayList<BlockMetaData>();
     List<RowGroup> row_groups = parquetMetadata.getRow_groups();
-    if (row_groups != null) {
+    if (row_groups != null && components.contains(MetadataComponent.ROW_GROUPS)) {
       for (RowGroup rowGroup : row_groups) {
         BlockMetaData blockMetaData = new BlockMetaData();
         blockMetaData.setRowCount(rowGroup.getNum_rows());
         blockMetaData.setTotalByteSize(rowGroup.getTotal_byte_size());
         List<ColumnChunk> columns = rowGroup.getColumns();
         String filePath = columns.get(0).getFile_path();
+        blockMetaData.setPath(filePath);
+        // the position and size of the row group are kept when its columns are projected
+        blockMetaData.setStartingPos(getStartingPos(columns.get(0).getMeta_data()));
+        long compressedSize = 0;
+        for (ColumnChunk columnChunk : columns) {
+          compressedSize += columnChunk.getMeta_data().getTotal_compressed_size();
+        }
+        blockMetaData.setCompressedSize(compressedSize);
+        blocks.add(blockMetaData);
+        if (!convertColumns) {
+          continue;
+        }
         for (ColumnChunk columnChunk : columns) {
           if ((filePath == null && columnChunk.getFile_path() != null)
               || (filePath != null && !filePath.equals(columnChunk.getFile_path()))) {
@@ -771,16 +982,28 @@ public class ParquetMetadataConverter {
           }
           ColumnMetaData metaData = columnChunk.meta_data;
           ColumnPath path = getPath(metaData);
+          if (projectedColumns != null && !projectedColumns.contains(path)) {
+            continue;
+          }
+          PrimitiveTypeName type = messageType.getType(path.toArray()).asPrimitiveType().getPrimitiveTypeName();
+          org.apache.parquet.column.statistics.Statistics statistics;
+          if (convertStatistics) {
+            statistics = fromParquetStatistics(parquetMetadata.getCreated_by(), metaData.statistics, type);
+            if (statistics instanceof BinaryStatistics
+                && Boolean.parseBoolean(getKeyValue(metaData, STATISTICS_INEXACT_KEY))) {
+              ((BinaryStatistics) statistics).markMinMaxAsInexact();
+            }
+            statistics.setDistinctCountSketch(getDistinctCountSketch(metaData));
+          } else {
+            statistics = org.apache.parquet.column.statistics.Statistics.getStatsBasedOnType(type);
+          }
           ColumnChunkMetaData column = ColumnChunkMetaData.get(
               path,
-              messageType.getType(path.toArray()).asPrimitiveType().getPrimitiveTypeName(),
+              type,
               CompressionCodecName.fromParquet(metaData.codec),
-              convertEncodingStats(metaData.getEncoding_stats()),
+              convertEncodingStats ? convertEncodingStats(metaData.getEncoding_stats()) : null,
               fromFormatEncodings(metaData.encodings),
-              fromParquetStatistics(
-                  parquetMetadata.getCreated_by(),
-                  metaData.statistics,
-                  messageType.getType(path.toArray()).asPrimitiveType().getPrimitiveTypeName()),
+              statistics,
               metaData.data_page_offset,
               metaData.dictionary_page_offset,
               metaData.num_values,
@@ -788,18 +1011,8 @@ public class ParquetMetadataConverter {
               metaData.total_uncompressed_size);
           // TODO
           // index_page_offset
-          // key_value_metadata
           blockMetaData.addColumn(column);
         }
-        blockMetaData.setPath(filePath);
-        blocks.add(blockMetaData);
-      }
-    }
-    Map<String, String> keyValueMetaData = new HashMap<String, String>();
-    List<KeyValue> key_value_metadata = parquetMetadata.getKey_value_metadata();
-    if (key_value_metadata != null) {
-      for (KeyValue keyValue : key_value_metadata) {
-        keyValueMetaData.put(keyValue.key, keyValue.value);
       }
     }
     return new ParquetMetadata(
@@ -807,6 +1020,40 @@ public class ParquetMetadataConverter {
         blocks);
   }
 
+  // the same position as ColumnChunkMetaData.getStartingPos()
+  private static long getStartingPos(ColumnMetaData metaData) {
+    long dictionaryPageOffset = metaData.getDictionary_page_offset();
+    if (dictionaryPageOffset > 0 && dictionaryPageOffset < metaData.getData_page_offset()) {
+      return dictionaryPageOffset;
+    }
+    return metaData.getData_page_offset();
+  }
+
+  private static HyperLogLog getDistinctCountSketch(ColumnMetaData metaData) {
+    String sketch = getKeyValue(metaData, DISTINCT_COUNT_SKETCH_KEY);
+    if (sketch == null) {
+      return null;
+    }
+    try {
+      return HyperLogLog.fromBytes(Base64.decodeBase64(sketch));
+    } catch (IllegalArgumentException e) {
+      LOG.warn("Ignoring invalid distinct count sketch", e);
+      return null;
+    }
+  }
+
+  private static String getKeyValue(ColumnMetaData metaData, String key) {
+    if (metaData.getKey_value_metadata() == null) {
+      return null;
+    }
+    for (KeyValue keyValue : metaData.getKey_value_metadata()) {
+      if (key.equals(keyValue.key)) {
+        return keyValue.value;
+      }
+    }
+    return null;
+  }
+
   private static ColumnPath getPath(ColumnMetaData metaData) {
     String[] path = metaData.path_in_schema.toArray(new String[metaData.path_in_schema.size()]);
     return ColumnPath.get(path);
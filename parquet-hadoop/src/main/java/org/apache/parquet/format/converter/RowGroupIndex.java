@@ -0,0 +1,304 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.format.converter;
+
+import static org.apache.parquet.format.Util.readFileMetaData;
+import static org.apache.parquet.format.Util.writeFileMetaData;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.parquet.format.ColumnChunk;
+import org.apache.parquet.format.FileMetaData;
+import org.apache.parquet.format.RowGroup;
+import org.apache.parquet.format.SchemaElement;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.MetadataFilter;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.MetadataFilterVisitor;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.NoFilter;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.OffsetMetadataFilter;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.RangeMetadataFilter;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.SkipMetadataFilter;
+import org.apache.parquet.io.ParquetDecodingException;
+
+/**
+ * An optional index of the row groups written at the end of the footer, after the
+ * thrift metadata, so that a reader interested in a few row groups does not read
+ * and decode the metadata of all of them.
+ * <p>
+ * It contains the file metadata without its row groups, then the metadata of each
+ * row group serialized separately, then the start offset, compressed size and end of
+ * the serialized metadata of each row group, and ends with a fixed size trailer:
+ * <pre>
+ * [metadata][row group 0]...[row group n-1][entries][count][metadata length][index length][sections length][magic]
+ * </pre>
+ * The sections length is the length of the footer sections written between the thrift
+ * metadata and the index (see {@link ParquetMetadataConverter#readsFooterSections()}),
+ * so that they can be read without the thrift metadata.
+ * Readers that do not know about the index ignore it, as it follows the footer.
+ */
+public final class RowGroupIndex {
+
+  private static final byte[] MAGIC = "PRGI".getBytes(Charset.forName("ASCII"));
+
+  /**
+   * the size of the trailer that ends the index
+   */
+  public static final int TRAILER_LENGTH = 4 * 4 + MAGIC.length;
+
+  // start offset, compressed size and end of the metadata of a row group
+  private static final int ENTRY_LENGTH = 8 + 8 + 4;
+
+  /**
+   * Writes the index of the row groups of a footer.
+   * @param fileMetaData the footer
+   * @param sectionsLength the length of the sections written after the footer
+   * @param out the stream to write to, after the footer and its sections
+   * @throws IOException if the index cannot be written
+   */
+  public static void write(FileMetaData fileMetaData, int sectionsLength, OutputStream out) throws IOException {
+    ByteArrayOutputStream index = new ByteArrayOutputStream();
+    FileMetaData metadata = new FileMetaData(
+        fileMetaData.getVersion(),
+        fileMetaData.getSchema(),
+        fileMetaData.getNum_rows(),
+        new ArrayList<RowGroup>());
+    metadata.setKey_value_metadata(fileMetaData.getKey_value_metadata());
+    metadata.setCreated_by(fileMetaData.getCreated_by());
+    writeFileMetaData(metadata, index);
+    int metadataLength = index.size();
+
+    List<RowGroup> rowGroups = fileMetaData.getRow_groups();
+    ByteArrayOutputStream entries = new ByteArrayOutputStream(rowGroups.size() * ENTRY_LENGTH);
+    DataOutputStream entriesOut = new DataOutputStream(entries);
+    for (RowGroup rowGroup : rowGroups) {
+      // the metadata of a row group is written as a file metadata with only that row group
+      writeFileMetaData(new FileMetaData(
+          fileMetaData.getVersion(),
+          Collections.<SchemaElement>emptyList(),
+          rowGroup.getNum_rows(),
+          Collections.singletonList(rowGroup)), index);
+      entriesOut.writeLong(ParquetMetadataConverter.getOffset(rowGroup));
+      entriesOut.writeLong(getCompressedSize(rowGroup));
+      entriesOut.writeInt(index.size());
+    }
+    entriesOut.flush();
+    entries.writeTo(index);
+
+    DataOutputStream indexOut = new DataOutputStream(index);
+    indexOut.writeInt(rowGroups.size());
+    indexOut.writeInt(metadataLength);
+    indexOut.writeInt(index.size() - 2 * 4);
+    indexOut.writeInt(sectionsLength);
+    indexOut.write(MAGIC);
+    indexOut.flush();
+    index.writeTo(out);
+  }
+
+  private static long getCompressedSize(RowGroup rowGroup) {
+    long totalSize = 0;
+    for (ColumnChunk col : rowGroup.getColumns()) {
+      totalSize += col.getMeta_data().getTotal_compressed_size();
+    }
+    return totalSize;
+  }
+
+  /**
+   * Reads the trailer of an index.
+   * @param trailer the last {@link #TRAILER_LENGTH} bytes of a footer
+   * @param footerLength the length of the footer
+   * @return the index, without its entries, or null if the footer does not end with an index
+   * @throws IOException if the trailer cannot be read
+   */
+  public static RowGroupIndex readTrailer(byte[] trailer, int footerLength) throws IOException {
+    if (!Arrays.equals(MAGIC, Arrays.copyOfRange(trailer, TRAILER_LENGTH - MAGIC.length, TRAILER_LENGTH))) {
+      return null;
+    }
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(trailer));
+    int count = in.readInt();
+    int metadataLength = in.readInt();
+    int length = in.readInt();
+    int sectionsLength = in.readInt();
+    if (count < 0 || metadataLength < 0 || sectionsLength < 0
+        || (long) length + sectionsLength > footerLength - TRAILER_LENGTH
+        || (long) metadataLength + (long) count * ENTRY_LENGTH > length) {
+      // the footer happens to end with the magic
+      return null;
+    }
+    return new RowGroupIndex(count, metadataLength, length, sectionsLength);
+  }
+
+  private final int metadataLength;
+  private final int length;
+  private final int sectionsLength;
+  private final long[] offsets;
+  private final long[] sizes;
+  private final int[] ends;
+
+  private RowGroupIndex(int count, int metadataLength, int length, int sectionsLength) {
+    this.metadataLength = metadataLength;
+    this.length = length;
+    this.sectionsLength = sectionsLength;
+    this.offsets = new long[count];
+    this.sizes = new long[count];
+    this.ends = new int[count];
+  }
+
+  /**
+   * @return the length of the index, trailer excluded
+   */
+  public int getLength() {
+    return length;
+  }
+
+  /**
+   * @return the length of the footer sections, right before the index
+   */
+  public int getSectionsLength() {
+    return sectionsLength;
+  }
+
+  /**
+   * @return the length of the entries, at the end of the index
+   */
+  public int getEntriesLength() {
+    return offsets.length * ENTRY_LENGTH;
+  }
+
+  /**
+   * @return the length of the file metadata, at the beginning of the index
+   */
+  public int getMetadataLength() {
+    return metadataLength;
+  }
+
+  /**
+   * @param entries the entries of the index
+   * @throws IOException if the entries cannot be read
+   */
+  public void readEntries(byte[] entries) throws IOException {
+    DataInputStream in = new DataInputStream(new ByteArrayInputStream(entries));
+    int previousEnd = metadataLength;
+    for (int i = 0; i < offsets.length; i++) {
+      offsets[i] = in.readLong();
+      sizes[i] = in.readLong();
+      ends[i] = in.readInt();
+      if (ends[i] < previousEnd || ends[i] > length - getEntriesLength()) {
+        throw new ParquetDecodingException("corrupted row group index: row group " + i + " ends at " + ends[i]);
+      }
+      previousEnd = ends[i];
+    }
+  }
+
+  /**
+   * @param rowGroup the index of a row group
+   * @return the start of its metadata in the index
+   */
+  public int getStart(int rowGroup) {
+    return rowGroup == 0 ? metadataLength : ends[rowGroup - 1];
+  }
+
+  /**
+   * @param rowGroup the index of a row group
+   * @return the end of its metadata in the index
+   */
+  public int getEnd(int rowGroup) {
+    return ends[rowGroup];
+  }
+
+  /**
+   * @param filter a filter of the row groups
+   * @return the indexes of the row groups kept by the filter, in order, or null
+   *         if the filter keeps all the row groups
+   */
+  public int[] select(MetadataFilter filter) {
+    return filter.accept(new MetadataFilterVisitor<int[], RuntimeException>() {
+      @Override
+      public int[] visit(NoFilter filter) {
+        return null;
+      }
+
+      @Override
+      public int[] visit(SkipMetadataFilter filter) {
+        return new int[0];
+      }
+
+      @Override
+      public int[] visit(RangeMetadataFilter filter) {
+        List<Integer> selected = new ArrayList<Integer>();
+        for (int i = 0; i < offsets.length; i++) {
+          if (filter.contains(offsets[i] + sizes[i] / 2)) {
+            selected.add(i);
+          }
+        }
+        return toArray(selected);
+      }
+
+      @Override
+      public int[] visit(OffsetMetadataFilter filter) {
+        List<Integer> selected = new ArrayList<Integer>();
+        for (int i = 0; i < offsets.length; i++) {
+          if (filter.contains(offsets[i])) {
+            selected.add(i);
+          }
+        }
+        return toArray(selected);
+      }
+    });
+  }
+
+  private static int[] toArray(List<Integer> list) {
+    int[] array = new int[list.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = list.get(i);
+    }
+    return array;
+  }
+
+  /**
+   * Reads the file metadata with the given row groups.
+   * @param metadata the file metadata at the beginning of the index
+   * @param rowGroups the indexes of the row groups to read
+   * @param fragments the metadata of the row groups, from the start of the first one to the end of the last one
+   * @return the file metadata
+   * @throws IOException if the metadata cannot be read
+   */
+  FileMetaData readFileMetaDataWithRowGroups(byte[] metadata, int[] rowGroups, byte[] fragments) throws IOException {
+    FileMetaData fileMetaData = readFileMetaData(new ByteArrayInputStream(metadata));
+    List<RowGroup> selected = new ArrayList<RowGroup>(rowGroups.length);
+    if (rowGroups.length > 0) {
+      int fragmentsStart = getStart(rowGroups[0]);
+      for (int rowGroup : rowGroups) {
+        int start = getStart(rowGroup);
+        selected.addAll(readFileMetaData(new ByteArrayInputStream(
+            fragments, start - fragmentsStart, getEnd(rowGroup) - start)).getRow_groups());
+      }
+    }
+    fileMetaData.setRow_groups(selected);
+    return fileMetaData;
+  }
+}
@@ -37,6 +37,8 @@ import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.PageWriteStore;
 import org.apache.parquet.column.page.PageWriter;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.statistics.BinaryStatistics;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.column.values.plain.BinaryPlainValuesReader;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
@@ -78,13 +80,16 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
 
     private Statistics totalStatistics;
     private final ByteBufferAllocator allocator;
+    private final int statisticsTruncateLength;
 
     private ColumnChunkPageWriter(ColumnDescriptor path,
                                   BytesCompressor compressor,
-                                  ByteBufferAllocator allocator) {
+                                  ByteBufferAllocator allocator,
+                                  int statisticsTruncateLength) {
       this.path = path;
       this.compressor = compressor;
       this.allocator = allocator;
+      this.statisticsTruncateLength = statisticsTruncateLength;
       this.buf = new ConcatenatingByteArrayCollector();
       dataRange = new HashMap<>();
       this.totalStatistics = getStatsBasedOnType(this.path.getType());
@@ -115,7 +120,7 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
           (int)uncompressedSize,
           (int)compressedSize,
           valueCount,
-          statistics,
+          truncate(statistics),
           rlEncoding,
           dlEncoding,
           valuesEncoding,
@@ -162,7 +167,7 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
       parquetMetadataConverter.writeDataPageV2Header(
           uncompressedSize, compressedSize,
           valueCount, nullCount, rowCount,
-          statistics,
+          truncate(statistics),
           dataEncoding,
           rlByteLength,
           dlByteLength,
@@ -185,6 +190,16 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
       dataEncodings.add(dataEncoding);
     }
 
+    // the min and max of long BINARY values are truncated in page headers and
+    // in the footer, the statistics of the chunk are merged from the exact
+    // page statistics and truncated once
+    private Statistics<?> truncate(Statistics<?> statistics) {
+      if (path.getType() == PrimitiveType.PrimitiveTypeName.BINARY) {
+        return ((BinaryStatistics) statistics).truncate(statisticsTruncateLength);
+      }
+      return statistics;
+    }
+
     private int toIntWithCheck(long size) {
       if (size > Integer.MAX_VALUE) {
         throw new ParquetEncodingException(
@@ -205,7 +220,7 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
         writer.writeDictionaryPage(dictionaryPage);
         // tracking the dictionary encoding is handled in writeDictionaryPage
       }
-      writer.writeDataPages(buf, uncompressedLength, compressedLength, totalStatistics,
+      writer.writeDataPages(buf, uncompressedLength, compressedLength, truncate(totalStatistics),
           rlEncodings, dlEncodings, dataEncodings, dataRange);
       writer.endColumn();
       if (INFO) {
@@ -251,9 +266,14 @@ class ColumnChunkPageWriteStore implements PageWriteStore {
   private final MessageType schema;
 
   public ColumnChunkPageWriteStore(BytesCompressor compressor, MessageType schema, ByteBufferAllocator allocator) {
+    this(compressor, schema, allocator, ParquetProperties.DEFAULT_STATISTICS_TRUNCATE_LENGTH);
+  }
+
+  public ColumnChunkPageWriteStore(BytesCompressor compressor, MessageType schema, ByteBufferAllocator allocator,
+                                   int statisticsTruncateLength) {
     this.schema = schema;
     for (ColumnDescriptor path : schema.getColumns()) {
-      writers.put(path,  new ColumnChunkPageWriter(path, compressor, allocator));
+      writers.put(path,  new ColumnChunkPageWriter(path, compressor, allocator, statisticsTruncateLength));
     }
   }
 
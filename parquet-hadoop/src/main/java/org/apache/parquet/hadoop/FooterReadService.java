@@ -0,0 +1,253 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.hadoop.ParquetFileReader.PARQUET_READ_PARALLELISM;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.Log;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.MetadataFilter;
+
+/**
+ * Reads footers in the background with threads shared by all the callers of a process,
+ * instead of starting a thread pool for each batch of footers.
+ * <p>
+ * The number of concurrent reads is limited for each file system scheme by
+ * {@link ParquetFileReader#PARQUET_READ_PARALLELISM}, which can be set for a scheme with
+ * the key suffixed by the scheme, "parquet.metadata.read.parallelism.s3a" for instance.
+ * Reads beyond the limit wait in a queue without holding a thread, and the reads
+ * failing with an IOException are tried again {@link #PARQUET_READ_RETRIES} times.
+ */
+public final class FooterReadService {
+
+  private static final Log LOG = Log.getLog(FooterReadService.class);
+
+  /**
+   * key to configure the number of times a failed footer read is tried again (default 2)
+   */
+  public static final String PARQUET_READ_RETRIES = "parquet.metadata.read.retries";
+  static final int PARQUET_READ_RETRIES_DEFAULT = 2;
+  static final int PARQUET_READ_PARALLELISM_DEFAULT = 5;
+
+  private static final long RETRY_BACKOFF_MS = 100;
+
+  private static final FooterReadService INSTANCE = new FooterReadService();
+
+  /**
+   * @return the service shared by the process
+   */
+  public static FooterReadService get() {
+    return INSTANCE;
+  }
+
+  private final ExecutorService executor;
+  private final Map<String, SchemeQueue> queues = new HashMap<String, SchemeQueue>();
+
+  FooterReadService() {
+    final AtomicInteger threadCount = new AtomicInteger();
+    // the threads are bounded by the limits of the schemes
+    this.executor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+        new SynchronousQueue<Runnable>(), new ThreadFactory() {
+          @Override
+          public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "parquet-footer-reader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          }
+        });
+  }
+
+  /**
+   * Reads a footer in the background.
+   * @param configuration the configuration to access the file system
+   * @param file the file to read
+   * @param filter the filter to apply to row groups
+   * @return the future footer
+   */
+  public Future<Footer> readFooter(Configuration configuration, FileStatus file, MetadataFilter filter) {
+    return readFooter(configuration, file, filter, null);
+  }
+
+  /**
+   * Reads footers in the background.
+   * @param configuration the configuration to access the file system
+   * @param files the files to read
+   * @param filter the filter to apply to row groups
+   * @param completed a queue to which each future is added once done, so that the footers
+   *                  can be used as they are read, or null
+   * @return the future footers, in the order of the files
+   */
+  public List<Future<Footer>> readFooters(Configuration configuration, List<FileStatus> files,
+                                          MetadataFilter filter, BlockingQueue<Future<Footer>> completed) {
+    List<Future<Footer>> footers = new ArrayList<Future<Footer>>(files.size());
+    for (FileStatus file : files) {
+      footers.add(readFooter(configuration, file, filter, completed));
+    }
+    return footers;
+  }
+
+  private Future<Footer> readFooter(final Configuration configuration, final FileStatus file,
+                                    final MetadataFilter filter, BlockingQueue<Future<Footer>> completed) {
+    return submit(configuration, file.getPath(), new Callable<Footer>() {
+      @Override
+      public Footer call() throws Exception {
+        try {
+          return new Footer(file.getPath(), ParquetFileReader.readFooter(configuration, file, filter));
+        } catch (IOException e) {
+          throw new IOException("Could not read footer for file " + file, e);
+        }
+      }
+    }, completed);
+  }
+
+  /**
+   * Runs a read of metadata in the background, within the limit of the scheme of the path.
+   * @param configuration the configuration of the limits and retries
+   * @param path the path that is read
+   * @param read the read
+   * @param completed a queue to which the future is added once done, or null
+   * @return the future result of the read
+   */
+  <T> Future<T> submit(Configuration configuration, Path path, Callable<T> read,
+                       BlockingQueue<Future<T>> completed) {
+    String scheme = path.toUri().getScheme();
+    if (scheme == null) {
+      scheme = FileSystem.getDefaultUri(configuration).getScheme();
+    }
+    int parallelism = configuration.getInt(PARQUET_READ_PARALLELISM + "." + scheme,
+        configuration.getInt(PARQUET_READ_PARALLELISM, PARQUET_READ_PARALLELISM_DEFAULT));
+    int retries = configuration.getInt(PARQUET_READ_RETRIES, PARQUET_READ_RETRIES_DEFAULT);
+    SchemeQueue queue;
+    synchronized (queues) {
+      queue = queues.get(scheme);
+      if (queue == null) {
+        queue = new SchemeQueue();
+        queues.put(scheme, queue);
+      }
+    }
+    ReadTask<T> task = new ReadTask<T>(new RetryingCallable<T>(read, retries, path), queue, completed);
+    queue.submit(task, parallelism);
+    return task;
+  }
+
+  private static final class RetryingCallable<T> implements Callable<T> {
+    private final Callable<T> read;
+    private final int retries;
+    private final Path path;
+
+    private RetryingCallable(Callable<T> read, int retries, Path path) {
+      this.read = read;
+      this.retries = retries;
+      this.path = path;
+    }
+
+    @Override
+    public T call() throws Exception {
+      for (int attempt = 0; ; attempt++) {
+        try {
+          return read.call();
+        } catch (IOException e) {
+          if (attempt >= retries) {
+            throw e;
+          }
+          LOG.warn("Retrying the read of " + path + " after failure " + (attempt + 1) + " of " + (retries + 1), e);
+          Thread.sleep(RETRY_BACKOFF_MS * (attempt + 1));
+        }
+      }
+    }
+  }
+
+  // a read that starts the next read of its scheme once done
+  private static final class ReadTask<T> extends FutureTask<T> {
+    private final SchemeQueue queue;
+    private final BlockingQueue<Future<T>> completed;
+
+    private ReadTask(Callable<T> read, SchemeQueue queue, BlockingQueue<Future<T>> completed) {
+      super(read);
+      this.queue = queue;
+      this.completed = completed;
+    }
+
+    @Override
+    public void run() {
+      try {
+        super.run();
+      } finally {
+        queue.done();
+      }
+    }
+
+    @Override
+    protected void done() {
+      if (completed != null) {
+        completed.add(this);
+      }
+    }
+  }
+
+  // the reads of a scheme waiting for one of the reads running to finish
+  private final class SchemeQueue {
+    private final Queue<ReadTask<?>> pending = new ArrayDeque<ReadTask<?>>();
+    private int running = 0;
+    private int parallelism = PARQUET_READ_PARALLELISM_DEFAULT;
+
+    synchronized void submit(ReadTask<?> task, int parallelism) {
+      // the limit of the last reader wins
+      this.parallelism = Math.max(1, parallelism);
+      pending.add(task);
+      startReads();
+    }
+
+    synchronized void done() {
+      running--;
+      startReads();
+    }
+
+    private void startReads() {
+      while (running < parallelism && !pending.isEmpty()) {
+        ReadTask<?> task = pending.poll();
+        if (!task.isDone()) {
+          running++;
+          executor.execute(task);
+        }
+      }
+    }
+  }
+}
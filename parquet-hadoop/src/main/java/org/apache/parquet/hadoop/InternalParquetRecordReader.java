@@ -19,9 +19,12 @@
 package org.apache.parquet.hadoop;
 
 import java.io.IOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
@@ -225,14 +228,67 @@ class InternalParquetRecordReader<T> {
     return true;
   }
 
-  private static <K, V> Map<K, Set<V>> toSetMultiMap(Map<K, V> map) {
-    Map<K, Set<V>> setMultiMap = new HashMap<K, Set<V>>();
-    for (Map.Entry<K, V> entry : map.entrySet()) {
-      Set<V> set = new HashSet<V>();
-      set.add(entry.getValue());
-      setMultiMap.put(entry.getKey(), Collections.unmodifiableSet(set));
-    }
-    return Collections.unmodifiableMap(setMultiMap);
+  /**
+   * @return a view of the map, whose values are only read if the read support uses them,
+   *         so that the values stored before the footer (see {@link SideMetadata}) are not
+   *         read for nothing
+   */
+  private static <K, V> Map<K, Set<V>> toSetMultiMap(final Map<K, V> map) {
+    return new AbstractMap<K, Set<V>>() {
+      @Override
+      public int size() {
+        return map.size();
+      }
+
+      @Override
+      public boolean containsKey(Object key) {
+        return map.containsKey(key);
+      }
+
+      @Override
+      public Set<V> get(Object key) {
+        return map.containsKey(key) ? lazySingleton(map, key) : null;
+      }
+
+      @Override
+      public Set<K> keySet() {
+        return Collections.unmodifiableSet(map.keySet());
+      }
+
+      @Override
+      public Set<Entry<K, Set<V>>> entrySet() {
+        final List<Entry<K, Set<V>>> entries = new ArrayList<Entry<K, Set<V>>>(map.size());
+        for (K key : map.keySet()) {
+          entries.add(new SimpleImmutableEntry<K, Set<V>>(key, lazySingleton(map, key)));
+        }
+        return new AbstractSet<Entry<K, Set<V>>>() {
+          @Override
+          public Iterator<Entry<K, Set<V>>> iterator() {
+            return Collections.unmodifiableList(entries).iterator();
+          }
+
+          @Override
+          public int size() {
+            return entries.size();
+          }
+        };
+      }
+    };
+  }
+
+  // the value of the key, read when the set is
+  private static <V> Set<V> lazySingleton(final Map<?, V> map, final Object key) {
+    return new AbstractSet<V>() {
+      @Override
+      public Iterator<V> iterator() {
+        return Collections.singleton(map.get(key)).iterator();
+      }
+
+      @Override
+      public int size() {
+        return 1;
+      }
+    };
   }
 
 }
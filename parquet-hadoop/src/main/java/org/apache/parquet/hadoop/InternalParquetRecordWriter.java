@@ -25,15 +25,22 @@ import static org.apache.parquet.Log.DEBUG;
 import static org.apache.parquet.Preconditions.checkNotNull;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.parquet.Log;
+import org.apache.parquet.bytes.RecyclingByteBufferAllocator;
+import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ColumnWriter;
 import org.apache.parquet.column.ParquetProperties;
 import org.apache.parquet.hadoop.CodecFactory.BytesCompressor;
 import org.apache.parquet.hadoop.api.WriteSupport;
 import org.apache.parquet.hadoop.api.WriteSupport.FinalizedWriteContext;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.io.ColumnIOFactory;
 import org.apache.parquet.io.MessageColumnIO;
 import org.apache.parquet.io.api.RecordConsumer;
@@ -55,14 +62,23 @@ class InternalParquetRecordWriter<T> {
   private final BytesCompressor compressor;
   private final boolean validating;
   private final ParquetProperties props;
+  private final RecyclingByteBufferAllocator slabPool;
+  private final RowGroupSizeController sizeController;
+  private final ColumnDescriptor[] columns;
+  // the buffered size of each column, by position, updated at each size check
+  private final long[] bufferedSizes;
 
   private boolean closed;
+  private MemoryManager memoryManager;
+  private volatile boolean flushRequested = false;
 
   private long recordCount = 0;
   private long recordCountForNextMemCheck = MINIMUM_RECORD_COUNT_FOR_CHECK;
   private long lastRowGroupEndPos = 0;
 
   private ColumnWriteStore columnStore;
+  // the writers of the columns, by position, for the current row group
+  private final ColumnWriter[] columnWriters;
   private ColumnChunkPageWriteStore pageStore;
   private RecordConsumer recordConsumer;
 
@@ -92,13 +108,27 @@ class InternalParquetRecordWriter<T> {
     this.nextRowGroupSize = rowGroupSizeThreshold;
     this.compressor = compressor;
     this.validating = validating;
-    this.props = props;
+    // the slabs of the column writers are recycled across pages and row groups
+    this.slabPool = new RecyclingByteBufferAllocator(props.getAllocator());
+    this.props = ParquetProperties.copy(props).withAllocator(slabPool).build();
+    this.columns = schema.getColumns().toArray(new ColumnDescriptor[0]);
+    this.bufferedSizes = new long[columns.length];
+    List<ColumnPath> paths = new ArrayList<ColumnPath>(columns.length);
+    for (ColumnDescriptor column : columns) {
+      paths.add(ColumnPath.get(column.getPath()));
+    }
+    this.sizeController = new RowGroupSizeController(paths);
+    this.columnWriters = new ColumnWriter[columns.length];
     initStore();
   }
 
   private void initStore() {
-    pageStore = new ColumnChunkPageWriteStore(compressor, schema, props.getAllocator());
+    pageStore = new ColumnChunkPageWriteStore(compressor, schema, props.getAllocator(),
+        props.getStatisticsTruncateLength());
     columnStore = props.newColumnWriteStore(schema, pageStore);
+    for (int i = 0; i < columns.length; i++) {
+      columnWriters[i] = columnStore.getColumnWriter(columns[i]);
+    }
     MessageColumnIO columnIO = new ColumnIOFactory(validating).getColumnIO(schema);
     this.recordConsumer = columnIO.getRecordWriter(columnStore);
     writeSupport.prepareForWrite(recordConsumer);
@@ -115,6 +145,7 @@ class InternalParquetRecordWriter<T> {
       }
       finalMetadata.putAll(finalWriteContext.getExtraMetaData());
       parquetFileWriter.end(finalMetadata);
+      slabPool.close();
       closed = true;
     }
   }
@@ -126,20 +157,32 @@ class InternalParquetRecordWriter<T> {
   }
 
   /**
-   * @return the total size of data written to the file and buffered in memory
+   * @return the total size of data written to the file and the predicted size
+   *         of the data buffered in memory
    */
   public long getDataSize() {
-    return lastRowGroupEndPos + columnStore.getBufferedSize();
+    return lastRowGroupEndPos + sizeController.predictSize(columnStore.getBufferedSize());
   }
 
   private void checkBlockSizeReached() throws IOException {
-    if (recordCount >= recordCountForNextMemCheck) { // checking the memory size is relatively expensive, so let's not do it for every record.
-      long memSize = columnStore.getBufferedSize();
-      long recordSize = memSize / recordCount;
+    // a flush requested by the memory manager is done at the next record
+    if (flushRequested || recordCount >= recordCountForNextMemCheck) { // checking the memory size is relatively expensive, so let's not do it for every record.
+      // compare the predicted size on disk rather than the buffered size so
+      // that row groups line up with the (block aligned) target size
+      long memSize = updateBufferedSizes();
+      long predictedSize = sizeController.predictSize(bufferedSizes);
+      long recordSize = predictedSize / recordCount;
+      boolean poolFull = flushRequested
+          || (memoryManager != null && memoryManager.updateUsage(this, memSize));
       // flush the row group if it is within ~2 records of the limit
       // it is much better to be slightly under size than to be over at all
-      if (memSize > (nextRowGroupSize - 2 * recordSize)) {
-        LOG.info(format("mem size %,d > %,d: flushing %,d records to disk.", memSize, nextRowGroupSize, recordCount));
+      if (poolFull || predictedSize > (nextRowGroupSize - 2 * recordSize)) {
+        if (poolFull) {
+          LOG.info(format("memory pool is full: flushing %,d records (mem size %,d) to disk.", recordCount, memSize));
+        } else {
+          LOG.info(format("mem size %,d (predicted size %,d) > %,d: flushing %,d records to disk.",
+              memSize, predictedSize, nextRowGroupSize, recordCount));
+        }
         flushRowGroupToStore();
         initStore();
         recordCountForNextMemCheck = min(max(MINIMUM_RECORD_COUNT_FOR_CHECK, recordCount / 2), MAXIMUM_RECORD_COUNT_FOR_CHECK);
@@ -165,18 +208,41 @@ class InternalParquetRecordWriter<T> {
     }
 
     if (recordCount > 0) {
+      updateBufferedSizes();
       parquetFileWriter.startBlock(recordCount);
       columnStore.flush();
       pageStore.flushToFileWriter(parquetFileWriter);
       recordCount = 0;
       parquetFileWriter.endBlock();
+      if (memoryManager != null) {
+        memoryManager.updateUsage(this, 0);
+      }
+      sizeController.rowGroupWritten(bufferedSizes, parquetFileWriter.getLastBlock());
       this.nextRowGroupSize = Math.min(
           parquetFileWriter.getNextRowGroupSize(),
           rowGroupSizeThreshold);
     }
 
+    this.flushRequested = false;
+
+    // give the slabs back to the pool, sized after this row group, for the next one
+    columnStore.close();
+    slabPool.trim();
     columnStore = null;
     pageStore = null;
+    Arrays.fill(columnWriters, null);
+  }
+
+  /**
+   * @return the total size buffered by the column writers
+   */
+  private long updateBufferedSizes() {
+    long total = 0;
+    for (int i = 0; i < columnWriters.length; i++) {
+      bufferedSizes[i] = columnWriters[i].getBufferedSizeInMemory();
+      total += bufferedSizes[i];
+    }
+    return total;
   }
 
   long getRowGroupSizeThreshold() {
@@ -187,6 +253,25 @@ class InternalParquetRecordWriter<T> {
     this.rowGroupSizeThreshold = rowGroupSizeThreshold;
   }
 
+  void setMemoryManager(MemoryManager memoryManager) {
+    this.memoryManager = memoryManager;
+  }
+
+  boolean usesDirectMemory() {
+    return props.getAllocator().isDirect();
+  }
+
+  /**
+   * Asks the writer to flush its row group at its next record.
+   */
+  void requestFlush() {
+    this.flushRequested = true;
+  }
+
+  boolean isFlushRequested() {
+    return flushRequested;
+  }
+
   MessageType getSchema() {
     return this.schema;
   }
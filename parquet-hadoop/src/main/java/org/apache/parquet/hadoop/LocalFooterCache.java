@@ -0,0 +1,280 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_CACHE_DIR;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_CACHE_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_CACHE_SIZE_DEFAULT;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.parquet.Log;
+
+/**
+ * A cache of serialized footers in a local directory, shared by all the
+ * processes of a node that use the same directory.
+ * <p>
+ * Each footer is stored in its own file, named after the path, length and
+ * modification time of the Parquet file, so a file that changed is a miss and
+ * its stale entry is eventually evicted. Entries are written to a temporary
+ * file and renamed, so readers never take a lock and never see a partial entry.
+ * <p>
+ * The modification time of an entry is updated when it is read, and the least
+ * recently used entries are deleted when the directory grows past its size.
+ * The size of the directory is counted when it is first used and then updated
+ * with the entries written by this process, so entries written by other
+ * processes are only counted by the next eviction.
+ */
+final class LocalFooterCache {
+  private static final Log LOG = Log.getLog(LocalFooterCache.class);
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+  private static final int ENTRY_MAGIC = 0x50415231; // "PAR1"
+  private static final String ENTRY_SUFFIX = ".footer";
+
+  // evicts down to 90% of the size so that eviction does not run on every put
+  private static final double EVICTION_RATIO = 0.9;
+
+  private static final ConcurrentMap<String, LocalFooterCache> CACHES =
+      new ConcurrentHashMap<String, LocalFooterCache>();
+
+  /**
+   * @param conf a configuration
+   * @return the footer cache of the configured directory, or null if there is none
+   */
+  static LocalFooterCache get(Configuration conf) {
+    String dir = conf.get(FOOTER_CACHE_DIR);
+    if (dir == null || dir.isEmpty()) {
+      return null;
+    }
+    LocalFooterCache cache = CACHES.get(dir);
+    if (cache == null) {
+      LocalFooterCache newCache = new LocalFooterCache(
+          new File(dir), conf.getLong(FOOTER_CACHE_SIZE, FOOTER_CACHE_SIZE_DEFAULT));
+      cache = CACHES.putIfAbsent(dir, newCache);
+      if (cache == null) {
+        cache = newCache;
+      }
+    }
+    return cache;
+  }
+
+  private final File dir;
+  private final long maxSize;
+  private final AtomicLong size = new AtomicLong(-1);
+
+  LocalFooterCache(File dir, long maxSize) {
+    this.dir = dir;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * @param file a Parquet file
+   * @return the serialized footer of the file, or null if it is not cached
+   */
+  byte[] get(FileStatus file) {
+    String key = key(file);
+    File entry = entry(key);
+    try {
+      DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(entry)));
+      byte[] footer;
+      try {
+        if (in.readInt() != ENTRY_MAGIC || !key.equals(in.readUTF())) {
+          return null;
+        }
+        footer = new byte[in.readInt()];
+        in.readFully(footer);
+      } finally {
+        in.close();
+      }
+      entry.setLastModified(System.currentTimeMillis());
+      if (Log.DEBUG) {
+        LOG.debug("footer of " + file.getPath() + " found in " + entry);
+      }
+      return footer;
+    } catch (FileNotFoundException e) {
+      return null;
+    } catch (IOException e) {
+      LOG.warn("could not read the cached footer " + entry, e);
+      return null;
+    }
+  }
+
+  /**
+   * Adds the serialized footer of a file to the cache. Errors are logged and
+   * leave the cache unchanged.
+   * @param file a Parquet file
+   * @param footer its serialized footer
+   */
+  void put(FileStatus file, byte[] footer) {
+    String key = key(file);
+    File entry = entry(key);
+    if (entry.exists()) {
+      // the key contains the length and modification time, so the footer is the same
+      return;
+    }
+    File tmp = null;
+    try {
+      if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+        throw new IOException("could not create the footer cache directory " + dir);
+      }
+      tmp = File.createTempFile(entry.getName(), ".tmp", dir);
+      DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)));
+      try {
+        out.writeInt(ENTRY_MAGIC);
+        out.writeUTF(key);
+        out.writeInt(footer.length);
+        out.write(footer);
+      } finally {
+        out.close();
+      }
+      long entrySize = tmp.length();
+      // the rename replaces an entry written by another process since the check above
+      long replacedSize = entry.length();
+      if (!tmp.renameTo(entry)) {
+        throw new IOException("could not rename " + tmp + " to " + entry);
+      }
+      tmp = null;
+      if (addSize(entrySize - replacedSize) > maxSize) {
+        evict();
+      }
+    } catch (IOException e) {
+      LOG.warn("could not cache the footer of " + file.getPath(), e);
+    } finally {
+      if (tmp != null) {
+        tmp.delete();
+      }
+    }
+  }
+
+  private long addSize(long entrySize) {
+    if (size.get() < 0 && size.compareAndSet(-1, directorySize(entries()))) {
+      // the directory already contains the new entry
+      return size.get();
+    }
+    return size.addAndGet(entrySize);
+  }
+
+  /**
+   * @return the size of the directory as counted by this cache, or -1 before
+   *         the first entry is written
+   */
+  long size() {
+    return size.get();
+  }
+
+  /**
+   * Deletes the least recently used entries until the directory is under
+   * its size.
+   */
+  synchronized void evict() {
+    File[] entries = entries();
+    long total = directorySize(entries);
+    if (total > maxSize) {
+      final long[] lastUsed = new long[entries.length];
+      Integer[] order = new Integer[entries.length];
+      for (int i = 0; i < entries.length; i++) {
+        lastUsed[i] = entries[i].lastModified();
+        order[i] = i;
+      }
+      Arrays.sort(order, new Comparator<Integer>() {
+        @Override
+        public int compare(Integer a, Integer b) {
+          return Long.compare(lastUsed[a], lastUsed[b]);
+        }
+      });
+      long target = (long) (maxSize * EVICTION_RATIO);
+      int evicted = 0;
+      for (int i = 0; i < order.length && total > target; i++) {
+        File entry = entries[order[i]];
+        long entrySize = entry.length();
+        if (entry.delete()) {
+          total -= entrySize;
+          evicted++;
+        }
+      }
+      if (Log.INFO) {
+        LOG.info("evicted " + evicted + " footers from " + dir);
+      }
+    }
+    size.set(total);
+  }
+
+  private File[] entries() {
+    // temporary files of entries being written are not entries
+    File[] entries = dir.listFiles(new FilenameFilter() {
+      @Override
+      public boolean accept(File dir, String name) {
+        return name.endsWith(ENTRY_SUFFIX);
+      }
+    });
+    if (entries == null) {
+      return new File[0];
+    }
+    return entries;
+  }
+
+  private static long directorySize(File[] entries) {
+    long total = 0;
+    for (File entry : entries) {
+      total += entry.length();
+    }
+    return total;
+  }
+
+  private File entry(String key) {
+    return new File(dir, hash(key) + ENTRY_SUFFIX);
+  }
+
+  private static String key(FileStatus file) {
+    return file.getPath() + "\n" + file.getLen() + "\n" + file.getModificationTime();
+  }
+
+  private static String hash(String key) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(UTF8));
+      StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return sb.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException("SHA-1 is not available", e);
+    }
+  }
+}
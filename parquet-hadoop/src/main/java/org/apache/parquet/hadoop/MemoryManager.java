@@ -19,12 +19,14 @@
 package org.apache.parquet.hadoop;
 
 import org.apache.parquet.Log;
-import org.apache.parquet.ParquetRuntimeException;
 import org.apache.parquet.Preconditions;
 
 import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -34,10 +36,25 @@ import java.util.Map;
  * By managing the size of each allocation, we try to cut down the size of each
  * allocation and keep the task from running out of memory.
  *
- * This class balances the allocation size of each writer by resize them averagely.
- * When the sum of each writer's allocation size  is less than total memory pool,
+ * Writers using heap buffers and writers using direct buffers are given
+ * separate pools, sized from the maximum heap size and the maximum direct
+ * memory size of the JVM.
+ *
+ * This class balances the allocation size of each writer by giving them a fair share
+ * of their pool. When the sum of each writer's allocation size is less than the pool,
  * keep them original value.
- * When the sum exceeds, decrease each writer's allocation size by a ratio.
+ * When the sum exceeds, writers asking for less than an even share of the pool keep
+ * their allocation and the rest of the pool is split evenly between the others. An
+ * allocation is never decreased below the minimum allocation size, to avoid writing
+ * tiny row groups.
+ *
+ * Writers also report the size they currently buffer. When the buffered size of a
+ * pool exceeds the pool, the writer buffering the most among the writers that are
+ * actively writing flushes its row group instead of shrinking the row groups of every
+ * writer. The writer whose report exceeds the pool flushes right away when it is that
+ * writer; another writer flushes at its next record, so the pool stays over budget
+ * until it writes again. Writers that did not report their size since every other
+ * writer of their pool did are idle and are not chosen, since they would not flush.
  */
 public class MemoryManager {
   private static final Log LOG = Log.getLog(MemoryManager.class);
@@ -46,20 +63,83 @@ public class MemoryManager {
   private final float memoryPoolRatio;
 
   private final long totalMemoryPool;
+  private final long directMemoryPool;
   private final long minMemoryAllocation;
   private final Map<InternalParquetRecordWriter, Long> writerList = new
       HashMap<InternalParquetRecordWriter, Long>();
+  private final Map<InternalParquetRecordWriter, Long> usages = new
+      HashMap<InternalParquetRecordWriter, Long>();
+  // the number of the last report of each writer, counted in its pool
+  private final Map<InternalParquetRecordWriter, Long> lastUpdates = new
+      HashMap<InternalParquetRecordWriter, Long>();
+  private long heapUpdateCount = 0;
+  private long directUpdateCount = 0;
   private final Map<String, Runnable> callBacks = new HashMap<String, Runnable>();
   private double scale = 1.0;
 
+  // metrics
+  private long heapMemoryUsage = 0;
+  private long directMemoryUsage = 0;
+  private long scaleCount = 0;
+  private long forcedFlushCount = 0;
+
   public MemoryManager(float ratio, long minAllocation) {
+    this(ratio, minAllocation,
+        ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax(),
+        getMaxDirectMemory());
+  }
+
+  MemoryManager(float ratio, long minAllocation, long maxHeapMemory, long maxDirectMemory) {
     checkRatio(ratio);
 
     memoryPoolRatio = ratio;
     minMemoryAllocation = minAllocation;
-    totalMemoryPool = Math.round((double) ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getMax
-        () * ratio);
-    LOG.debug(String.format("Allocated total memory pool is: %,d", totalMemoryPool));
+    totalMemoryPool = Math.round((double) maxHeapMemory * ratio);
+    directMemoryPool = Math.round((double) maxDirectMemory * ratio);
+    LOG.debug(String.format("Allocated total memory pool is: %,d, direct memory pool is: %,d",
+        totalMemoryPool, directMemoryPool));
+  }
+
+  /**
+   * @return the value of -XX:MaxDirectMemorySize, or the maximum heap size
+   *         which is the default used by the JVM
+   */
+  private static long getMaxDirectMemory() {
+    return getMaxDirectMemory(ManagementFactory.getRuntimeMXBean().getInputArguments(),
+        Runtime.getRuntime().maxMemory());
+  }
+
+  /**
+   * @param jvmArgs the arguments of the JVM
+   * @param maxHeapMemory the maximum heap size
+   * @return the value of -XX:MaxDirectMemorySize, or maxHeapMemory if it is not set or
+   *         cannot be parsed
+   */
+  static long getMaxDirectMemory(List<String> jvmArgs, long maxHeapMemory) {
+    String prefix = "-XX:MaxDirectMemorySize=";
+    for (String arg : jvmArgs) {
+      if (arg.startsWith(prefix)) {
+        String size = arg.substring(prefix.length()).trim().toLowerCase();
+        long multiplier = 1;
+        switch (size.isEmpty() ? ' ' : size.charAt(size.length() - 1)) {
+          case 'g':
+            multiplier *= 1024;
+          case 'm':
+            multiplier *= 1024;
+          case 'k':
+            multiplier *= 1024;
+            size = size.substring(0, size.length() - 1);
+            break;
+          default:
+        }
+        try {
+          return Long.parseLong(size) * multiplier;
+        } catch (NumberFormatException e) {
+          LOG.warn("Could not parse " + arg + ", using the maximum heap size for direct memory");
+        }
+      }
+    }
+    return maxHeapMemory;
   }
 
   private void checkRatio(float ratio) {
@@ -78,6 +158,7 @@ public class MemoryManager {
     Long oldValue = writerList.get(writer);
     if (oldValue == null) {
       writerList.put(writer, allocation);
+      writer.setMemoryManager(this);
     } else {
       throw new IllegalArgumentException("[BUG] The Parquet Memory Manager should not add an " +
           "instance of InternalParquetRecordWriter more than once. The Manager already contains " +
@@ -94,6 +175,9 @@ public class MemoryManager {
     if (writerList.containsKey(writer)) {
       writerList.remove(writer);
     }
+    usages.remove(writer);
+    lastUpdates.remove(writer);
+    updateUsageMetrics();
     if (!writerList.isEmpty()) {
       updateAllocation();
     }
@@ -107,31 +191,32 @@ public class MemoryManager {
     for (Long allocation : writerList.values()) {
       totalAllocations += allocation;
     }
-    if (totalAllocations <= totalMemoryPool) {
+
+    Map<InternalParquetRecordWriter, Long> newSizes = new HashMap<InternalParquetRecordWriter, Long>();
+    long totalNewSizes = share(false, totalMemoryPool, newSizes) + share(true, directMemoryPool, newSizes);
+    if (totalNewSizes >= totalAllocations) {
       scale = 1.0;
     } else {
-      scale = (double) totalMemoryPool / totalAllocations;
+      scale = (double) totalNewSizes / totalAllocations;
+      scaleCount += 1;
       LOG.warn(String.format(
-          "Total allocation exceeds %.2f%% (%,d bytes) of heap memory\n" +
+          "Total allocation exceeds %.2f%% (%,d bytes) of heap memory or (%,d bytes) of direct memory\n" +
           "Scaling row group sizes to %.2f%% for %d writers",
-          100*memoryPoolRatio, totalMemoryPool, 100*scale, writerList.size()));
+          100*memoryPoolRatio, totalMemoryPool, directMemoryPool, 100*scale, writerList.size()));
       for (Runnable callBack : callBacks.values()) {
         // we do not really want to start a new thread here.
         callBack.run();
       }
     }
 
-    int maxColCount = 0;
-    for (InternalParquetRecordWriter w : writerList.keySet()) {
-      maxColCount = Math.max(w.getSchema().getColumns().size(), maxColCount);
-    }
-
     for (Map.Entry<InternalParquetRecordWriter, Long> entry : writerList.entrySet()) {
-      long newSize = (long) Math.floor(entry.getValue() * scale);
-      if(scale < 1.0 && minMemoryAllocation > 0 && newSize < minMemoryAllocation) {
-          throw new ParquetRuntimeException(String.format("New Memory allocation %d bytes" +
-          " is smaller than the minimum allocation size of %d bytes.",
-              newSize, minMemoryAllocation)){};
+      long newSize = newSizes.get(entry.getKey());
+      if (newSize < entry.getValue() && minMemoryAllocation > 0 && newSize < minMemoryAllocation) {
+        // buffered sizes beyond the pool are handled by flushing the largest writer
+        LOG.warn(String.format("New Memory allocation %d bytes is smaller than the minimum " +
+            "allocation size of %d bytes, using the minimum allocation size.",
+            newSize, minMemoryAllocation));
+        newSize = Math.min(entry.getValue(), minMemoryAllocation);
       }
       entry.getKey().setRowGroupSizeThreshold(newSize);
       LOG.debug(String.format("Adjust block size from %,d to %,d for writer: %s",
@@ -139,6 +224,115 @@ public class MemoryManager {
     }
   }
 
+  /**
+   * Shares a pool between the writers of that pool. Writers are served from
+   * the smallest allocation to the largest, each getting at most an even share
+   * of what is left of the pool.
+   *
+   * @param direct whether to share the pool of writers using direct memory
+   * @param pool the size of the pool
+   * @param newSizes the map to add the new allocation of every writer to
+   * @return the sum of the new allocations
+   */
+  private long share(boolean direct, long pool, Map<InternalParquetRecordWriter, Long> newSizes) {
+    List<Map.Entry<InternalParquetRecordWriter, Long>> requests =
+        new ArrayList<Map.Entry<InternalParquetRecordWriter, Long>>();
+    for (Map.Entry<InternalParquetRecordWriter, Long> entry : writerList.entrySet()) {
+      if (entry.getKey().usesDirectMemory() == direct) {
+        requests.add(entry);
+      }
+    }
+    Collections.sort(requests, new Comparator<Map.Entry<InternalParquetRecordWriter, Long>>() {
+      @Override
+      public int compare(Map.Entry<InternalParquetRecordWriter, Long> e1,
+                         Map.Entry<InternalParquetRecordWriter, Long> e2) {
+        return e1.getValue().compareTo(e2.getValue());
+      }
+    });
+
+    long remaining = pool;
+    long total = 0;
+    for (int i = 0; i < requests.size(); i += 1) {
+      Map.Entry<InternalParquetRecordWriter, Long> request = requests.get(i);
+      long newSize = Math.min(request.getValue(), Math.max(0, remaining) / (requests.size() - i));
+      newSizes.put(request.getKey(), newSize);
+      remaining -= newSize;
+      total += newSize;
+    }
+    return total;
+  }
+
+  /**
+   * Update the size currently buffered by a writer. When the writers of its
+   * pool buffer more than the pool, the active writer with the largest buffered
+   * size flushes its row group.
+   * @param writer a writer added to this memory manager
+   * @param usage the number of bytes buffered by the writer
+   * @return true if the writer must flush its row group now, false if it does not
+   *         or if another writer was asked to flush
+   */
+  synchronized boolean updateUsage(InternalParquetRecordWriter writer, long usage) {
+    if (!writerList.containsKey(writer)) {
+      return false;
+    }
+    boolean direct = writer.usesDirectMemory();
+    long updateCount = direct ? ++directUpdateCount : ++heapUpdateCount;
+    usages.put(writer, usage);
+    lastUpdates.put(writer, updateCount);
+    updateUsageMetrics();
+
+    long pool = direct ? directMemoryPool : totalMemoryPool;
+    long poolUsage = direct ? directMemoryUsage : heapMemoryUsage;
+    if (poolUsage <= pool) {
+      return false;
+    }
+
+    int poolWriters = 0;
+    for (InternalParquetRecordWriter w : writerList.keySet()) {
+      if (w.usesDirectMemory() == direct) {
+        poolWriters += 1;
+      }
+    }
+    InternalParquetRecordWriter largest = null;
+    long largestUsage = 0;
+    for (Map.Entry<InternalParquetRecordWriter, Long> entry : usages.entrySet()) {
+      InternalParquetRecordWriter w = entry.getKey();
+      // a writer is active if it reported its size in the last reports of its pool, one per writer
+      boolean active = lastUpdates.get(w) > updateCount - poolWriters;
+      if (w.usesDirectMemory() == direct && active && !w.isFlushRequested()
+          && entry.getValue() > largestUsage) {
+        largest = w;
+        largestUsage = entry.getValue();
+      }
+    }
+    if (largest == null) {
+      return false;
+    }
+    forcedFlushCount += 1;
+    LOG.info(String.format("Buffered size %,d exceeds the %s memory pool of %,d bytes: " +
+        "flushing the largest writer (%,d bytes buffered)",
+        poolUsage, direct ? "direct" : "heap", pool, largestUsage));
+    if (largest == writer) {
+      return true;
+    }
+    largest.requestFlush();
+    return false;
+  }
+
+  private void updateUsageMetrics() {
+    long heap = 0;
+    long direct = 0;
+    for (Map.Entry<InternalParquetRecordWriter, Long> entry : usages.entrySet()) {
+      if (entry.getKey().usesDirectMemory()) {
+        direct += entry.getValue();
+      } else {
+        heap += entry.getValue();
+      }
+    }
+    this.heapMemoryUsage = heap;
+    this.directMemoryUsage = direct;
+  }
+
   /**
    * Get the total memory pool size that is available for writers.
    * @return the number of bytes in the memory pool
@@ -147,6 +341,44 @@ public class MemoryManager {
     return totalMemoryPool;
   }
 
+  /**
+   * Get the direct memory pool size that is available for writers using
+   * direct buffers.
+   * @return the number of bytes in the direct memory pool
+   */
+  public long getDirectMemoryPool() {
+    return directMemoryPool;
+  }
+
+  /**
+   * @return the number of bytes buffered by the writers using heap buffers
+   */
+  public synchronized long getHeapMemoryUsage() {
+    return heapMemoryUsage;
+  }
+
+  /**
+   * @return the number of bytes buffered by the writers using direct buffers
+   */
+  public synchronized long getDirectMemoryUsage() {
+    return directMemoryUsage;
+  }
+
+  /**
+   * @return the number of times the row group sizes were scaled down
+   */
+  public synchronized long getScaleCount() {
+    return scaleCount;
+  }
+
+  /**
+   * @return the number of times a writer was asked to flush its row group
+   *         because its pool was full
+   */
+  public synchronized long getForcedFlushCount() {
+    return forcedFlushCount;
+  }
+
   /**
    * Get the writers list
    * @return the writers in this memory manager
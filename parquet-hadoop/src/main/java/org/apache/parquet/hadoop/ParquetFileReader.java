@@ -30,6 +30,10 @@ import static org.apache.parquet.hadoop.ParquetFileWriter.PARQUET_COMMON_METADAT
 import static org.apache.parquet.hadoop.ParquetFileWriter.PARQUET_METADATA_FILE;
 import static org.apache.parquet.hadoop.ParquetInputFormat.DICTIONARY_FILTERING_ENABLED;
 import static org.apache.parquet.hadoop.ParquetInputFormat.DICTIONARY_FILTERING_ENABLED_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_READ_SIZE;
+import static org.apache.parquet.hadoop.ParquetInputFormat.FOOTER_READ_SIZE_DEFAULT;
+import static org.apache.parquet.hadoop.ParquetInputFormat.MEMORY_MAPPING_ENABLED;
+import static org.apache.parquet.hadoop.ParquetInputFormat.MEMORY_MAPPING_ENABLED_DEFAULT;
 import static org.apache.parquet.hadoop.ParquetInputFormat.STATS_FILTERING_ENABLED;
 import static org.apache.parquet.hadoop.ParquetInputFormat.STATS_FILTERING_ENABLED_DEFAULT;
 
@@ -47,9 +51,8 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileStatus;
@@ -80,6 +83,7 @@ import org.apache.parquet.format.PageHeader;
 import org.apache.parquet.format.Util;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
 import org.apache.parquet.format.converter.ParquetMetadataConverter.MetadataFilter;
+import org.apache.parquet.format.converter.RowGroupIndex;
 import org.apache.parquet.hadoop.CodecFactory.BytesDecompressor;
 import org.apache.parquet.hadoop.ColumnChunkPageReadStore.ColumnChunkPageReader;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
@@ -88,6 +92,7 @@ import org.apache.parquet.hadoop.metadata.FileMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.hadoop.util.HiddenFileFilter;
 import org.apache.parquet.hadoop.util.HadoopStreams;
+import org.apache.parquet.hadoop.util.MappedSeekableInputStream;
 import org.apache.parquet.io.SeekableInputStream;
 import org.apache.parquet.hadoop.util.counters.BenchmarkCounter;
 import org.apache.parquet.io.ParquetDecodingException;
@@ -144,9 +149,9 @@ public class ParquetFileReader implements Closeable {
     }
 
     // read corresponding summary files if they exist
-    List<Callable<Map<Path, Footer>>> summaries = new ArrayList<Callable<Map<Path, Footer>>>();
+    List<Future<Map<Path, Footer>>> summaries = new ArrayList<Future<Map<Path, Footer>>>();
     for (final Path path : parents) {
-      summaries.add(new Callable<Map<Path, Footer>>() {
+      summaries.add(FooterReadService.get().submit(configuration, path, new Callable<Map<Path, Footer>>() {
         @Override
         public Map<Path, Footer> call() throws Exception {
           ParquetMetadata mergedMetadata = readSummaryMetadata(configuration, path, skipRowGroups);
@@ -171,12 +176,12 @@ public class ParquetFileReader implements Closeable {
             return Collections.emptyMap();
           }
         }
-      });
+      }, null));
     }
 
     Map<Path, Footer> cache = new HashMap<Path, Footer>();
     try {
-      List<Map<Path, Footer>> footersFromSummaries = runAllInParallel(configuration.getInt(PARQUET_READ_PARALLELISM, 5), summaries);
+      List<Map<Path, Footer>> footersFromSummaries = getAll(summaries);
       for (Map<Path, Footer> footers : footersFromSummaries) {
         cache.putAll(footers);
       }
@@ -207,26 +212,23 @@ public class ParquetFileReader implements Closeable {
     return result;
   }
 
-  private static <T> List<T> runAllInParallel(int parallelism, List<Callable<T>> toRun) throws ExecutionException {
-    LOG.info("Initiating action with parallelism: " + parallelism);
-    ExecutorService threadPool = Executors.newFixedThreadPool(parallelism);
+  /**
+   * @return the results of the futures, the futures not done are cancelled if one fails
+   */
+  private static <T> List<T> getAll(List<Future<T>> futures) throws ExecutionException {
+    List<T> result = new ArrayList<T>(futures.size());
     try {
-      List<Future<T>> futures = new ArrayList<Future<T>>();
-      for (Callable<T> callable : toRun) {
-        futures.add(threadPool.submit(callable));
-      }
-      List<T> result = new ArrayList<T>(toRun.size());
       for (Future<T> future : futures) {
-        try {
-          result.add(future.get());
-        } catch (InterruptedException e) {
-          throw new RuntimeException("The thread was interrupted", e);
-        }
+        result.add(future.get());
       }
-      return result;
+    } catch (InterruptedException e) {
+      throw new RuntimeException("The thread was interrupted", e);
     } finally {
-      threadPool.shutdownNow();
+      for (int i = result.size(); i < futures.size(); i++) {
+        futures.get(i).cancel(true);
+      }
     }
+    return result;
   }
 
   @Deprecated
@@ -244,21 +246,23 @@ public class ParquetFileReader implements Closeable {
    * @throws IOException
    */
   public static List<Footer> readAllFootersInParallel(final Configuration configuration, List<FileStatus> partFiles, final boolean skipRowGroups) throws IOException {
-    List<Callable<Footer>> footers = new ArrayList<Callable<Footer>>();
-    for (final FileStatus currentFile : partFiles) {
-      footers.add(new Callable<Footer>() {
-        @Override
-        public Footer call() throws Exception {
-          try {
-            return new Footer(currentFile.getPath(), readFooter(configuration, currentFile, filter(skipRowGroups)));
-          } catch (IOException e) {
-            throw new IOException("Could not read footer for file " + currentFile, e);
-          }
-        }
-      });
-    }
+    return readAllFootersInParallel(configuration, partFiles, filter(skipRowGroups));
+  }
+
+  /**
+   * read all the footers of the files provided
+   * (not using summary files)
+   * @param configuration the conf to access the File System
+   * @param partFiles the files to read
+   * @param filter the filter to apply to row groups, which also selects the components
+   *               of the metadata that are converted, see
+   *               {@link ParquetMetadataConverter#components(MetadataFilter, ParquetMetadataConverter.MetadataComponent...)}
+   * @return the footers
+   * @throws IOException
+   */
+  public static List<Footer> readAllFootersInParallel(final Configuration configuration, List<FileStatus> partFiles, final MetadataFilter filter) throws IOException {
     try {
-      return runAllInParallel(configuration.getInt(PARQUET_READ_PARALLELISM, 5), footers);
+      return getAll(FooterReadService.get().readFooters(configuration, partFiles, filter, null));
     } catch (ExecutionException e) {
       throw new IOException("Could not read footer: " + e.getMessage(), e.getCause());
     }
@@ -321,7 +325,7 @@ public class ParquetFileReader implements Closeable {
     return readAllFootersInParallelUsingSummaryFiles(configuration, files, skipRowGroups);
   }
 
-  private static List<FileStatus> listFiles(Configuration conf, FileStatus fileStatus) throws IOException {
+  static List<FileStatus> listFiles(Configuration conf, FileStatus fileStatus) throws IOException {
     if (fileStatus.isDir()) {
       FileSystem fs = fileStatus.getPath().getFileSystem(conf);
       FileStatus[] list = fs.listStatus(fileStatus.getPath(), HiddenFileFilter.INSTANCE);
@@ -345,7 +349,7 @@ public class ParquetFileReader implements Closeable {
   public static List<Footer> readSummaryFile(Configuration configuration, FileStatus summaryStatus) throws IOException {
     final Path parent = summaryStatus.getPath().getParent();
     ParquetMetadata mergedFooters = readFooter(configuration, summaryStatus, filter(false));
-    return footersFromSummaryFile(parent, mergedFooters);
+    return footersFromSummaryFile(parent, SummaryMetadataBuilder.withoutFileList(mergedFooters));
   }
 
   static ParquetMetadata readSummaryMetadata(Configuration configuration, Path basePath, boolean skipRowGroups) throws IOException {
@@ -355,7 +359,9 @@ public class ParquetFileReader implements Closeable {
     if (skipRowGroups && fileSystem.exists(commonMetaDataFile)) {
       // reading the summary file that does not contain the row groups
       if (Log.INFO) LOG.info("reading summary file: " + commonMetaDataFile);
-      return readFooter(configuration, commonMetaDataFile, filter(skipRowGroups));
+      // the list of the files of the summary is not part of their metadata
+      return SummaryMetadataBuilder.withoutFileList(
+          readFooter(configuration, commonMetaDataFile, filter(skipRowGroups)));
     } else if (fileSystem.exists(metadataFile)) {
       if (Log.INFO) {
         LOG.info("reading summary file: " + metadataFile);
@@ -421,23 +427,62 @@ public class ParquetFileReader implements Closeable {
   }
 
   /**
-   * Reads the meta data block in the footer of the file
+   * Reads the meta data block in the footer of the file.
+   * The key/value metadata values written before the footer are read when first used.
    * @param configuration
    * @param file the parquet File
    * @param filter the filter to apply to row groups
    * @return the metadata blocks in the footer
    * @throws IOException if an error occurs while reading the file
+   * @see ParquetOutputFormat#SIDE_METADATA_THRESHOLD
    */
   public static final ParquetMetadata readFooter(Configuration configuration, FileStatus file, MetadataFilter filter) throws IOException {
+    LocalFooterCache cache = LocalFooterCache.get(configuration);
+    byte[] cached = cache == null ? null : cache.get(file);
+    if (cached != null) {
+      // the file is not opened
+      return SideMetadata.readLazily(configuration, file.getPath(),
+          converter.readParquetMetadata(new ByteArrayInputStream(cached), filter));
+    }
     FileSystem fileSystem = file.getPath().getFileSystem(configuration);
     SeekableInputStream in = HadoopStreams.wrap(fileSystem.open(file.getPath()));
     try {
-      return readFooter(file.getLen(), file.getPath().toString(), in, filter);
+      return SideMetadata.readLazily(configuration, file.getPath(),
+          readAndCacheFooter(configuration, file, in, filter, null, cache));
     } finally {
       in.close();
     }
   }
 
+  /**
+   * Reads the footer of an open file from the footer cache, if there is one,
+   * or from the file.
+   * @param projectedColumns the columns whose metadata is read, or null for all the columns
+   */
+  private static ParquetMetadata readFooter(Configuration configuration, FileStatus file, SeekableInputStream f,
+                                            MetadataFilter filter, Set<ColumnPath> projectedColumns) throws IOException {
+    LocalFooterCache cache = LocalFooterCache.get(configuration);
+    byte[] cached = cache == null ? null : cache.get(file);
+    ParquetMetadata footer = cached != null
+        ? converter.readParquetMetadata(new ByteArrayInputStream(cached), filter, projectedColumns)
+        : readAndCacheFooter(configuration, file, f, filter, projectedColumns, cache);
+    return SideMetadata.readLazily(configuration, file.getPath(), footer);
+  }
+
+  private static ParquetMetadata readAndCacheFooter(Configuration configuration, FileStatus file, SeekableInputStream f,
+                                                    MetadataFilter filter, Set<ColumnPath> projectedColumns,
+                                                    LocalFooterCache cache) throws IOException {
+    int readSize = configuration.getInt(FOOTER_READ_SIZE, FOOTER_READ_SIZE_DEFAULT);
+    if (cache == null) {
+      return readFooter(file.getLen(), file.getPath().toString(), f, filter, projectedColumns, readSize);
+    }
+    // the cache keeps whole footers
+    byte[] footer = readFooterBytes(file.getLen(), file.getPath().toString(), f,
+        readTail(file.getLen(), file.getPath().toString(), f, readSize), readSize);
+    cache.put(file, footer);
+    return converter.readParquetMetadata(new ByteArrayInputStream(footer), filter, projectedColumns);
+  }
+
   /**
    * Reads the meta data block in the footer of the file using provided input stream
    * @param fileLen length of the file
@@ -448,22 +493,128 @@ public class ParquetFileReader implements Closeable {
    * @throws IOException if an error occurs while reading the file
    */
   public static final ParquetMetadata readFooter(long fileLen, String filePath, SeekableInputStream f, MetadataFilter filter) throws IOException {
+    return readFooter(fileLen, filePath, f, filter, FOOTER_READ_SIZE_DEFAULT);
+  }
+
+  /**
+   * Reads the meta data block in the footer of the file using provided input stream.
+   * <p>
+   * The end of the file is read with a single read of at least readSize bytes,
+   * which contains the whole footer when it is small enough, and the footer is
+   * parsed from memory. Otherwise the beginning of the footer is read with a
+   * second read. The footers seen by this process grow the size of the first
+   * read, up to 16 times readSize, so that the files of a dataset with large
+   * footers are read with a single read too.
+   *
+   * @param fileLen length of the file
+   * @param filePath file location
+   * @param f input stream for the file
+   * @param filter the filter to apply to row groups
+   * @param readSize the number of bytes to read at the end of the file
+   * @return the metadata blocks in the footer
+   * @throws IOException if an error occurs while reading the file
+   */
+  public static final ParquetMetadata readFooter(long fileLen, String filePath, SeekableInputStream f, MetadataFilter filter, int readSize) throws IOException {
+    return readFooter(fileLen, filePath, f, filter, null, readSize);
+  }
+
+  /**
+   * When the footer ends with a {@link RowGroupIndex} and the filter does not keep all
+   * the row groups, only the metadata of the row groups kept by the filter is read.
+   * @see #readFooter(long, String, SeekableInputStream, MetadataFilter, int)
+   */
+  private static ParquetMetadata readFooter(long fileLen, String filePath, SeekableInputStream f, MetadataFilter filter,
+                                            Set<ColumnPath> projectedColumns, int readSize) throws IOException {
+    byte[] tail = readTail(fileLen, filePath, f, readSize);
+    ParquetMetadata footer = readFooterFromIndex(fileLen, f, tail, filter, projectedColumns);
+    if (footer != null) {
+      return footer;
+    }
+    return converter.readParquetMetadata(
+        new ByteArrayInputStream(readFooterBytes(fileLen, filePath, f, tail, readSize)), filter, projectedColumns);
+  }
+
+  /**
+   * @return the footer with the row groups kept by the filter, or null if the footer has
+   *         no row group index or the filter keeps all the row groups
+   */
+  private static ParquetMetadata readFooterFromIndex(long fileLen, SeekableInputStream f, byte[] tail,
+                                                     MetadataFilter filter, Set<ColumnPath> projectedColumns) throws IOException {
+    int tailFooterLength = tail.length - FOOTER_LENGTH_SIZE - MAGIC.length;
+    int footerLength = readIntLittleEndian(tail, tailFooterLength);
+    if (footerLength < RowGroupIndex.TRAILER_LENGTH) {
+      return null;
+    }
+    long indexEnd = fileLen - FOOTER_LENGTH_SIZE - MAGIC.length - RowGroupIndex.TRAILER_LENGTH;
+    RowGroupIndex index = RowGroupIndex.readTrailer(
+        readRange(fileLen, f, tail, indexEnd, indexEnd + RowGroupIndex.TRAILER_LENGTH), footerLength);
+    if (index == null) {
+      return null;
+    }
+    long indexStart = indexEnd - index.getLength();
+    index.readEntries(readRange(fileLen, f, tail, indexEnd - index.getEntriesLength(), indexEnd));
+    int[] rowGroups = index.select(filter);
+    if (rowGroups == null) {
+      return null;
+    }
+    if (Log.DEBUG) {
+      LOG.debug("reading the metadata of " + rowGroups.length + " row groups from the row group index");
+    }
+    byte[] metadata = readRange(fileLen, f, tail, indexStart, indexStart + index.getMetadataLength());
+    byte[] fragments = rowGroups.length == 0 ? new byte[0] : readRange(fileLen, f, tail,
+        indexStart + index.getStart(rowGroups[0]), indexStart + index.getEnd(rowGroups[rowGroups.length - 1]));
+    // the sections of all the row groups are read, they are not indexed
+    byte[] sections = ParquetMetadataConverter.readsFooterSections() && index.getSectionsLength() > 0
+        ? readRange(fileLen, f, tail, indexStart - index.getSectionsLength(), indexStart) : null;
+    return converter.readParquetMetadata(index, metadata, rowGroups, fragments, sections,
+        projectedColumns, filter.getComponents());
+  }
+
+  /**
+   * @return the bytes of the file in [start, end), read from the tail when it contains them
+   */
+  private static byte[] readRange(long fileLen, SeekableInputStream f, byte[] tail, long start, long end) throws IOException {
+    byte[] bytes = new byte[(int) (end - start)];
+    long tailStart = fileLen - tail.length;
+    int fromFile = (int) Math.max(0, Math.min(end, tailStart) - start);
+    if (fromFile > 0) {
+      f.seek(start);
+      f.readFully(bytes, 0, fromFile);
+    }
+    if (fromFile < bytes.length) {
+      System.arraycopy(tail, (int) (start + fromFile - tailStart), bytes, fromFile, bytes.length - fromFile);
+    }
+    return bytes;
+  }
+
+  private static final int FOOTER_LENGTH_SIZE = 4;
+
+  /**
+   * Reads the end of the file with a single read and checks that it ends with a footer.
+   * @return the end of the file, footer length and magic included
+   * @see #readFooter(long, String, SeekableInputStream, MetadataFilter, int)
+   */
+  private static byte[] readTail(long fileLen, String filePath, SeekableInputStream f, int readSize) throws IOException {
     if (Log.DEBUG) {
       LOG.debug("File length " + fileLen);
     }
-    int FOOTER_LENGTH_SIZE = 4;
     if (fileLen < MAGIC.length + FOOTER_LENGTH_SIZE + MAGIC.length) { // MAGIC + data + footer + footerIndex + MAGIC
       throw new RuntimeException(filePath + " is not a Parquet file (too small)");
     }
     long footerLengthIndex = fileLen - FOOTER_LENGTH_SIZE - MAGIC.length;
+
+    int minTailLength = Math.max(readSize, FOOTER_LENGTH_SIZE + MAGIC.length);
+    int observed = (int) Math.min(observedTailLength.get(), readSize * 16L);
+    int tailLength = (int) Math.min(fileLen, Math.max(minTailLength, observed));
     if (Log.DEBUG) {
-      LOG.debug("reading footer index at " + footerLengthIndex);
+      LOG.debug("reading the last " + tailLength + " bytes for the footer");
     }
+    byte[] tail = new byte[tailLength];
+    f.seek(fileLen - tailLength);
+    f.readFully(tail);
 
-    f.seek(footerLengthIndex);
-    int footerLength = readIntLittleEndian(f);
-    byte[] magic = new byte[MAGIC.length];
-    f.readFully(magic);
+    int footerLength = readIntLittleEndian(tail, tailLength - FOOTER_LENGTH_SIZE - MAGIC.length);
+    byte[] magic = Arrays.copyOfRange(tail, tailLength - MAGIC.length, tailLength);
     if (!Arrays.equals(MAGIC, magic)) {
       throw new RuntimeException(filePath + " is not a Parquet file. expected magic number at tail " + Arrays.toString(MAGIC) + " but found " + Arrays.toString(magic));
     }
@@ -474,8 +625,49 @@ public class ParquetFileReader implements Closeable {
     if (footerIndex < MAGIC.length || footerIndex >= footerLengthIndex) {
       throw new RuntimeException("corrupted file: the footer index is not within the file");
     }
+    return tail;
+  }
+
+  /**
+   * @param tail the end of the file, see {@link #readTail(long, String, SeekableInputStream, int)}
+   * @param readSize the number of bytes to read at the end of the file
+   * @return the serialized footer of the file
+   */
+  private static byte[] readFooterBytes(long fileLen, String filePath, SeekableInputStream f, byte[] tail, int readSize) throws IOException {
+    int tailLength = tail.length;
+    int tailFooterLength = tailLength - FOOTER_LENGTH_SIZE - MAGIC.length;
+    int footerLength = readIntLittleEndian(tail, tailFooterLength);
+    long footerIndex = fileLen - FOOTER_LENGTH_SIZE - MAGIC.length - footerLength;
+    // only the footers read whole grow the next reads
+    observeTailLength(footerLength + FOOTER_LENGTH_SIZE + MAGIC.length, readSize);
+    if (footerLength <= tailFooterLength) {
+      return Arrays.copyOfRange(tail, tailFooterLength - footerLength, tailFooterLength);
+    }
+
+    // the footer is larger than the read, read its beginning
+    if (Log.INFO) {
+      LOG.info("footer of " + filePath + " is " + footerLength + " bytes, larger than the " + tailLength + " bytes read");
+    }
+    byte[] footer = new byte[footerLength];
+    int missing = footerLength - tailFooterLength;
     f.seek(footerIndex);
-    return converter.readParquetMetadata(f, filter);
+    f.readFully(footer, 0, missing);
+    System.arraycopy(tail, 0, footer, missing, tailFooterLength);
+    return footer;
+  }
+
+  // the largest end of file, footer included, seen by readFooter
+  private static final AtomicInteger observedTailLength = new AtomicInteger();
+
+  private static void observeTailLength(int tailLength, int readSize) {
+    // the read size never grows past 16 times the configured size, so that
+    // an unusually large footer, a summary file for instance, does not make
+    // every footer read large
+    int length = (int) Math.min(tailLength, readSize * 16L);
+    int observed = observedTailLength.get();
+    while (length > observed && !observedTailLength.compareAndSet(observed, length)) {
+      observed = observedTailLength.get();
+    }
   }
 
   public static ParquetFileReader open(Configuration conf, Path file) throws IOException {
@@ -486,6 +678,10 @@ public class ParquetFileReader implements Closeable {
     return new ParquetFileReader(conf, file, filter);
   }
 
+  public static ParquetFileReader open(Configuration conf, Path file, MetadataFilter filter, Set<ColumnPath> projectedColumns) throws IOException {
+    return new ParquetFileReader(conf, file, filter, projectedColumns);
+  }
+
   public static ParquetFileReader open(Configuration conf, Path file, ParquetMetadata footer) throws IOException {
     return new ParquetFileReader(conf, file, footer);
   }
@@ -529,7 +725,7 @@ public class ParquetFileReader implements Closeable {
     this.conf = configuration;
     this.fileMetaData = fileMetaData;
     FileSystem fs = filePath.getFileSystem(configuration);
-    this.f = HadoopStreams.wrap(fs.open(filePath));
+    this.f = open(configuration, fs, filePath);
     this.fileStatus = fs.getFileStatus(filePath);
     this.blocks = blocks;
     for (ColumnDescriptor col : columns) {
@@ -557,11 +753,23 @@ public class ParquetFileReader implements Closeable {
    * @throws IOException if the file can not be opened
    */
   public ParquetFileReader(Configuration conf, Path file, MetadataFilter filter) throws IOException {
+    this(conf, file, filter, null);
+  }
+
+  /**
+   * @param conf the Hadoop Configuration
+   * @param file Path to a parquet file
+   * @param filter a {@link MetadataFilter} for selecting row groups
+   * @param projectedColumns the only columns that can be read, and whose metadata is read from
+   *                         the footer, or null for all the columns
+   * @throws IOException if the file can not be opened
+   */
+  public ParquetFileReader(Configuration conf, Path file, MetadataFilter filter, Set<ColumnPath> projectedColumns) throws IOException {
     this.conf = conf;
     FileSystem fs = file.getFileSystem(conf);
     this.fileStatus = fs.getFileStatus(file);
-    this.f = HadoopStreams.wrap(fs.open(file));
-    this.footer = readFooter(fileStatus.getLen(), fileStatus.getPath().toString(), f, filter);
+    this.f = open(conf, fs, file);
+    this.footer = readFooter(conf, fileStatus, f, filter, projectedColumns);
     this.fileMetaData = footer.getFileMetaData();
     this.blocks = footer.getBlocks();
     for (ColumnDescriptor col : footer.getFileMetaData().getSchema().getColumns()) {
@@ -583,7 +791,7 @@ public class ParquetFileReader implements Closeable {
     this.conf = conf;
     FileSystem fs = file.getFileSystem(conf);
     this.fileStatus = fs.getFileStatus(file);
-    this.f = HadoopStreams.wrap(fs.open(file));
+    this.f = open(conf, fs, file);
     this.footer = footer;
     this.fileMetaData = footer.getFileMetaData();
     this.blocks = footer.getBlocks();
@@ -596,11 +804,16 @@ public class ParquetFileReader implements Closeable {
     this.allocator = new HeapByteBufferAllocator();
   }
 
+  private static SeekableInputStream open(Configuration conf, FileSystem fs, Path file) throws IOException {
+    return HadoopStreams.open(fs, file,
+        conf.getBoolean(MEMORY_MAPPING_ENABLED, MEMORY_MAPPING_ENABLED_DEFAULT));
+  }
+
   public ParquetMetadata getFooter() {
     if (footer == null) {
       try {
         // don't read the row groups because this.blocks is always set
-        this.footer = readFooter(fileStatus.getLen(), fileStatus.getPath().toString(), f, SKIP_ROW_GROUPS);
+        this.footer = readFooter(conf, fileStatus, f, SKIP_ROW_GROUPS, null);
       } catch (IOException e) {
         throw new ParquetDecodingException("Unable to read file footer", e);
       }
@@ -776,10 +989,21 @@ public class ParquetFileReader implements Closeable {
     int uncompressedPageSize = pageHeader.getUncompressed_page_size();
     int compressedPageSize = pageHeader.getCompressed_page_size();
 
-    byte [] dictPageBytes = new byte[compressedPageSize];
-    fin.readFully(dictPageBytes);
-
-    BytesInput bin = BytesInput.from(dictPageBytes);
+    BytesInput bin = null;
+    if (fin instanceof MappedSeekableInputStream) {
+      // use the mapped file directly, no need to copy the page
+      long pos = fin.getPos();
+      ByteBuffer mapped = ((MappedSeekableInputStream) fin).slice(pos, compressedPageSize);
+      if (mapped != null) {
+        fin.seek(pos + compressedPageSize);
+        bin = BytesInput.from(mapped, 0, compressedPageSize);
+      }
+    }
+    if (bin == null) {
+      byte [] dictPageBytes = new byte[compressedPageSize];
+      fin.readFully(dictPageBytes);
+      bin = BytesInput.from(dictPageBytes);
+    }
 
     return new DictionaryPage(
         bin, uncompressedPageSize, dictHeader.getNum_values(),
@@ -1052,9 +1276,19 @@ public class ParquetFileReader implements Closeable {
       List<Chunk> result = new ArrayList<Chunk>(chunks.size());
       f.seek(offset);
 
-      // Allocate the bytebuffer based on whether the FS can support it.
-      ByteBuffer chunksByteBuffer = allocator.allocate(length);
-      f.readFully(chunksByteBuffer);
+      ByteBuffer chunksByteBuffer = null;
+      if (f instanceof MappedSeekableInputStream) {
+        // hand out slices of the mapped file instead of copying the chunks
+        chunksByteBuffer = ((MappedSeekableInputStream) f).slice(offset, length);
+        if (chunksByteBuffer != null) {
+          f.seek(offset + length);
+        }
+      }
+      if (chunksByteBuffer == null) {
+        // Allocate the bytebuffer based on whether the FS can support it.
+        chunksByteBuffer = allocator.allocate(length);
+        f.readFully(chunksByteBuffer);
+      }
 
       // report in a counter the data we just scanned
       BenchmarkCounter.incrementBytesRead(length);
@@ -54,9 +54,11 @@ import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.column.values.dictionary.DictionaryValuesReader;
 import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.statisticslevel.SortedRowGroupSearch;
 import org.apache.parquet.hadoop.ParquetOutputFormat.JobSummaryLevel;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.format.converter.RowGroupIndex;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
 import org.apache.parquet.hadoop.metadata.CompressionCodecName;
@@ -65,7 +67,6 @@ import org.apache.parquet.hadoop.metadata.GlobalMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.hadoop.util.HadoopStreams;
 import org.apache.parquet.io.SeekableInputStream;
-import org.apache.parquet.io.ParquetEncodingException;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 import org.apache.parquet.schema.TypeUtil;
@@ -851,6 +852,26 @@ public class ParquetFileWriter {
     ParquetFileReader.open(conf, file).appendTo(this);
   }
 
+  /**
+   * The records of sorted files appended one after the other are not sorted, so the
+   * {@link FileMetaData#SORTING_COLUMNS_KEY} of the files is only kept when a single file
+   * is appended.
+   * @param keyValueMetaData the merged metadata of the files appended
+   * @param fileCount the number of files appended
+   * @return the metadata to end the file they are appended to with
+   * @see #appendFile(Configuration, Path)
+   * @see RowGroupMerger#merge(List, ParquetFileWriter)
+   */
+  public static Map<String, String> getAppendedKeyValueMetaData(Map<String, String> keyValueMetaData,
+                                                                int fileCount) {
+    if (fileCount <= 1 || !keyValueMetaData.containsKey(FileMetaData.SORTING_COLUMNS_KEY)) {
+      return keyValueMetaData;
+    }
+    Map<String, String> appendedKeyValueMetaData = new LinkedHashMap<String, String>(keyValueMetaData);
+    appendedKeyValueMetaData.remove(FileMetaData.SORTING_COLUMNS_KEY);
+    return appendedKeyValueMetaData;
+  }
+
   public void appendRowGroups(FSDataInputStream file,
                               List<BlockMetaData> rowGroups,
                               boolean dropColumns) throws IOException {
@@ -993,11 +1014,17 @@ public class ParquetFileWriter {
    * @throws IOException
    */
   public void end(Map<String, String> extraMetaData) throws IOException {
+    SideMetadata.checkKeys(extraMetaData);
     state = state.end();
     if (DEBUG) LOG.debug(out.getPos() + ": end");
     System.out.println(blocks.size());
+    extraMetaData = checkSortingColumns(extraMetaData);
+    int sideMetadataThreshold = configuration.getInt(ParquetOutputFormat.SIDE_METADATA_THRESHOLD, 0);
+    if (sideMetadataThreshold > 0) {
+      extraMetaData = SideMetadata.write(extraMetaData, sideMetadataThreshold, out);
+    }
     ParquetMetadata footer = new ParquetMetadata(new FileMetaData(schema, extraMetaData, Version.FULL_VERSION), blocks);
-    serializeFooter(footer, out);
+    serializeFooter(footer, out, configuration.getBoolean(ParquetOutputFormat.FOOTER_ROW_GROUP_INDEX, false));
     out.close();
 /*
     Path myPath = new Path(parent, ".test"+this.fileName);
@@ -1009,7 +1036,28 @@ public class ParquetFileWriter {
     */
   }
 
-  private static void serializeFooter(ParquetMetadata footer, FSDataOutputStream out) throws IOException {
+  /**
+   * The readers search the row groups of sorted files without checking their order,
+   * so the order is checked once here.
+   * @return the metadata, without the sorting columns if the row groups are not in
+   *         order of the first one
+   */
+  private Map<String, String> checkSortingColumns(Map<String, String> extraMetaData) {
+    String sortingColumns = extraMetaData.get(FileMetaData.SORTING_COLUMNS_KEY);
+    if (sortingColumns == null || sortingColumns.isEmpty()) {
+      return extraMetaData;
+    }
+    ColumnPath column = FileMetaData.decodeSortingColumns(sortingColumns).get(0);
+    if (SortedRowGroupSearch.isSorted(blocks, column)) {
+      return extraMetaData;
+    }
+    LOG.warn("The row groups are not in order of " + column + ", the file is not recorded as sorted");
+    Map<String, String> unsortedMetaData = new LinkedHashMap<String, String>(extraMetaData);
+    unsortedMetaData.remove(FileMetaData.SORTING_COLUMNS_KEY);
+    return unsortedMetaData;
+  }
+
+  private static void serializeFooter(ParquetMetadata footer, FSDataOutputStream out, boolean rowGroupIndex) throws IOException {
     long footerIndex = out.getPos();
     org.apache.parquet.format.FileMetaData parquetMetadata = metadataConverter.toParquetMetadata(CURRENT_VERSION, footer);
     writeFileMetaData(parquetMetadata, out);
@@ -1056,10 +1104,16 @@ public class ParquetFileWriter {
       out.writeInt(blocks.size());
       for (BlockMetaData blockMetaData : blocks) {
         out.writeLong(blockMetaData.getStartingPos());
-        out.writeLong(blockMetaData.vector.toLongArray()[0]);
+        long[] vector = blockMetaData.vector.toLongArray();
+        // an empty vector has no words
+        out.writeLong(vector.length == 0 ? 0 : vector[0]);
       }
     }
     System.out.println("whole: "+(out.getPos()-allStart));
+    if (rowGroupIndex) {
+      // after the sections above, which are read right after the thrift metadata
+      RowGroupIndex.write(parquetMetadata, (int) (out.getPos() - allStart), out);
+    }
     if (DEBUG) LOG.debug(out.getPos() + ": footer length = " + (out.getPos() - footerIndex));
     BytesUtils.writeIntLittleEndian(out, (int) (out.getPos() - footerIndex));
     out.write(MAGIC);
@@ -1136,7 +1190,17 @@ public class ParquetFileWriter {
     FileSystem fs = outputPath.getFileSystem(configuration);
     outputPath = outputPath.makeQualified(fs);
     ParquetMetadata metadataFooter = mergeFooters(outputPath, footers);
+    writeSummaryFiles(outputPath, metadataFooter, fs, level);
+  }
 
+  /**
+   * writes _common_metadata file, and a _metadata file if the level is ALL
+   * @param outputPath the qualified directory to write the files to
+   * @param metadataFooter the merged footers of the files of the directory
+   * @param fs the file system of the directory
+   * @param level ALL or COMMON_ONLY
+   */
+  static void writeSummaryFiles(Path outputPath, ParquetMetadata metadataFooter, FileSystem fs, JobSummaryLevel level) throws IOException {
     if (level == JobSummaryLevel.ALL) {
       writeMetadataFile(outputPath, metadataFooter, fs, PARQUET_METADATA_FILE);
     }
@@ -1155,30 +1219,16 @@ public class ParquetFileWriter {
           throws IOException {
     FSDataOutputStream metadata = fs.create(outputPath);
     metadata.write(MAGIC);
-    serializeFooter(metadataFooter, metadata);
+    serializeFooter(metadataFooter, metadata, false);
     metadata.close();
   }
 
   static ParquetMetadata mergeFooters(Path root, List<Footer> footers) {
-    String rootPath = root.toUri().getPath();
-    GlobalMetaData fileMetaData = null;
-    List<BlockMetaData> blocks = new ArrayList<BlockMetaData>();
+    SummaryMetadataBuilder builder = new SummaryMetadataBuilder(root, true, false);
     for (Footer footer : footers) {
-      String footerPath = footer.getFile().toUri().getPath();
-      if (!footerPath.startsWith(rootPath)) {
-        throw new ParquetEncodingException(footerPath + " invalid: all the files must be contained in the root " + root);
-      }
-      footerPath = footerPath.substring(rootPath.length());
-      while (footerPath.startsWith("/")) {
-        footerPath = footerPath.substring(1);
-      }
-      fileMetaData = mergeInto(footer.getParquetMetadata().getFileMetaData(), fileMetaData);
-      for (BlockMetaData block : footer.getParquetMetadata().getBlocks()) {
-        block.setPath(footerPath);
-        blocks.add(block);
-      }
+      builder.add(footer);
     }
-    return new ParquetMetadata(fileMetaData.merge(), blocks);
+    return builder.build();
   }
 
   /**
@@ -1193,6 +1243,13 @@ public class ParquetFileWriter {
     return alignment.nextRowGroupSize(out);
   }
 
+  /**
+   * @return the metadata of the last row group ended, or null
+   */
+  BlockMetaData getLastBlock() {
+    return blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+  }
+
   /**
    * Will merge the metadata of all the footers together
    * @param footers the list files footers to merge
@@ -1239,13 +1296,27 @@ public class ParquetFileWriter {
             || (schema != null && !schema.equals(toMerge.getSchema()))) {
       schema = mergeInto(toMerge.getSchema(), schema, strict);
     }
-    for (Entry<String, String> entry : toMerge.getKeyValueMetaData().entrySet()) {
-      Set<String> values = newKeyValues.get(entry.getKey());
+    Map<String, String> keyValueMetaData = toMerge.getKeyValueMetaData();
+    // the keys are iterated so that the values stored before the footer are only read when needed
+    for (String key : keyValueMetaData.keySet()) {
+      Set<String> values = newKeyValues.get(key);
+      Set<String> lazyValue = keyValueMetaData instanceof SideMetadata
+          ? ((SideMetadata) keyValueMetaData).lazyValue(key) : null;
+      if (lazyValue != null && values == null) {
+        newKeyValues.put(key, lazyValue);
+        continue;
+      }
+      if (lazyValue != null && lazyValue.equals(values)) {
+        continue;
+      }
       if (values == null) {
         values = new LinkedHashSet<String>();
-        newKeyValues.put(entry.getKey(), values);
+        newKeyValues.put(key, values);
+      } else if (!(values instanceof LinkedHashSet)) {
+        values = new LinkedHashSet<String>(values);
+        newKeyValues.put(key, values);
       }
-      values.add(entry.getValue());
+      values.add(keyValueMetaData.get(key));
     }
     createdBy.add(toMerge.getCreatedBy());
     return new GlobalMetaData(
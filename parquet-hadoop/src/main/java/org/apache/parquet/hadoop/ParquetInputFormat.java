@@ -53,16 +53,19 @@ import org.apache.hadoop.mapreduce.lib.input.FileInputFormat;
 import org.apache.hadoop.mapreduce.lib.input.FileSplit;
 import org.apache.parquet.Log;
 import org.apache.parquet.Preconditions;
+import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.filter.UnboundRecordFilter;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.compat.FilterCompat.Filter;
 import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.predicate.ColumnCollector;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
 import org.apache.parquet.hadoop.api.InitContext;
 import org.apache.parquet.hadoop.api.ReadSupport;
 import org.apache.parquet.hadoop.api.ReadSupport.ReadContext;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.hadoop.metadata.GlobalMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.hadoop.util.ConfigurationUtil;
@@ -133,6 +136,44 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
   public static final String DICTIONARY_FILTERING_ENABLED = "parquet.filter.dictionary.enabled";
   static final boolean DICTIONARY_FILTERING_ENABLED_DEFAULT = false;
 
+  /**
+   * key to configure whether local files are memory mapped when read.
+   * Column chunks are then read without copying them out of the page cache.
+   */
+  public static final String MEMORY_MAPPING_ENABLED = "parquet.read.mmap.enabled";
+  static final boolean MEMORY_MAPPING_ENABLED_DEFAULT = false;
+
+  /**
+   * key to configure the number of bytes read at the end of a file to get its
+   * footer with a single read. Larger footers need a second read, and the
+   * size of the next reads grows to fit them, up to 16 times this size.
+   */
+  public static final String FOOTER_READ_SIZE = "parquet.read.footer.size";
+  static final int FOOTER_READ_SIZE_DEFAULT = 64 * 1024;
+
+  /**
+   * key to configure a local directory in which footers are cached across jobs
+   * and processes, keyed by the path, length and modification time of the files.
+   * Footers are not cached on disk if it is not set.
+   */
+  public static final String FOOTER_CACHE_DIR = "parquet.read.footer.cache.dir";
+
+  /**
+   * key to configure the size in bytes of the footer cache directory, past
+   * which the least recently used footers are deleted
+   */
+  public static final String FOOTER_CACHE_SIZE = "parquet.read.footer.cache.size";
+  static final long FOOTER_CACHE_SIZE_DEFAULT = 256L * 1024 * 1024;
+
+  /**
+   * key to turn on or off the projection of footers (default false)
+   * if true then the record readers only convert the metadata of the columns of the
+   * {@link ReadSupport#PARQUET_READ_SCHEMA} projection and of the filter predicate.
+   * It must only be used with read supports that read the columns of that projection.
+   */
+  public static final String FOOTER_PROJECTION_ENABLED = "parquet.read.footer.projection.enabled";
+  static final boolean FOOTER_PROJECTION_ENABLED_DEFAULT = false;
+
   /**
    * key to turn on or off task side metadata loading (default true)
    * if true then metadata is read on the task side and some tasks may finish immediately.
@@ -145,6 +186,16 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
    */
   public static final String SPLIT_FILES = "parquet.split.files";
 
+  /**
+   * key to configure the number of compressed bytes of the requested columns that
+   * each split should read when the metadata is read on the client.
+   * If set, the row groups that pass the filter are packed into splits of about
+   * that size, preferring the hosts holding most of their bytes, instead of being
+   * grouped by HDFS block and the min and max split sizes. (default 0: disabled)
+   */
+  public static final String SPLIT_TARGET_BYTES = "parquet.split.target.bytes";
+  static final long SPLIT_TARGET_BYTES_DEFAULT = 0;
+
   private static final int MIN_FOOTER_CACHE_SIZE = 100;
 
   public static void setTaskSideMetaData(Job job,  boolean taskSideMetadata) {
@@ -230,6 +281,31 @@ public class ParquetInputFormat<T> extends FileInputFormat<Void, T> {
     return FilterCompat.get(getFilterPredicate(conf), getUnboundRecordFilterInstance(conf));
   }
 
+  /**
+   * @param conf a configuration
+   * @return the columns whose metadata the record readers need, or null if footer
+   *         projection is off or the columns are not known
+   * @see #FOOTER_PROJECTION_ENABLED
+   */
+  static Set<ColumnPath> getFooterProjection(Configuration conf) {
+    String readSchema = conf.get(ReadSupport.PARQUET_READ_SCHEMA);
+    if (!conf.getBoolean(FOOTER_PROJECTION_ENABLED, FOOTER_PROJECTION_ENABLED_DEFAULT)
+        || readSchema == null
+        || getUnboundRecordFilter(conf) != null) {
+      return null;
+    }
+    Set<ColumnPath> columns = new HashSet<ColumnPath>();
+    for (ColumnDescriptor column : MessageTypeParser.parseMessageType(readSchema).getColumns()) {
+      columns.add(ColumnPath.get(column.getPath()));
+    }
+    FilterPredicate filterPredicate = getFilterPredicate(conf);
+    if (filterPredicate != null) {
+      // the row group filters need the statistics of these columns
+      columns.addAll(ColumnCollector.collect(filterPredicate));
+    }
+    return columns;
+  }
+
   private LruCache<FileStatusWrapper, FootersCacheValue> footersCache;
 
   private final Class<? extends ReadSupport<T>> readSupportClass;
@@ -634,12 +710,21 @@ class ClientSideMetadataSplitStrategy {
   static class SplitInfo {
     List<BlockMetaData> rowGroups = new ArrayList<BlockMetaData>();
     BlockLocation hdfsBlock;
+    String[] hosts;
     long compressedByteSize = 0L;
 
     public SplitInfo(BlockLocation currentBlock) {
       this.hdfsBlock = currentBlock;
     }
 
+    /**
+     * a split that is not aligned with an HDFS block: it starts at its first row group
+     * @param hosts the hosts of the split
+     */
+    SplitInfo(String[] hosts) {
+      this.hosts = hosts;
+    }
+
     private void addRowGroup(BlockMetaData rowGroup) {
       this.rowGroups.add(rowGroup);
       this.compressedByteSize += rowGroup.getCompressedSize();
@@ -662,12 +747,7 @@ class ClientSideMetadataSplitStrategy {
       long length = 0;
 
       for (BlockMetaData block : this.getRowGroups()) {
-        List<ColumnChunkMetaData> columns = block.getColumns();
-        for (ColumnChunkMetaData column : columns) {
-          if (requested.containsPath(column.getPath().toArray())) {
-            length += column.getTotalSize();
-          }
-        }
+        length += getRequestedSize(block, requested);
       }
 
       BlockMetaData lastRowGroup = this.getRowGroups().get(this.getRowGroupCount() - 1);
@@ -680,15 +760,30 @@ class ClientSideMetadataSplitStrategy {
 
       return new ParquetInputSplit(
               fileStatus.getPath(),
-              hdfsBlock.getOffset(),
+              hdfsBlock == null ? rowGroupOffsets[0] : hdfsBlock.getOffset(),
               end,
               length,
-              hdfsBlock.getHosts(),
+              hosts == null ? hdfsBlock.getHosts() : hosts,
               rowGroupOffsets
       );
     }
   }
 
+  /**
+   * @param rowGroup a row group
+   * @param requested the requested schema
+   * @return the compressed size of the columns of the row group that are requested
+   */
+  static long getRequestedSize(BlockMetaData rowGroup, MessageType requested) {
+    long size = 0;
+    for (ColumnChunkMetaData column : rowGroup.getColumns()) {
+      if (requested.containsPath(column.getPath().toArray())) {
+        size += column.getTotalSize();
+      }
+    }
+    return size;
+  }
+
   private static final Log LOG = Log.getLog(ClientSideMetadataSplitStrategy.class);
 
   List<ParquetInputSplit> getSplits(Configuration configuration, List<Footer> footers,
@@ -696,6 +791,8 @@ class ClientSideMetadataSplitStrategy {
       throws IOException {
     List<ParquetInputSplit> splits = new ArrayList<ParquetInputSplit>();
     Filter filter = ParquetInputFormat.getFilter(configuration);
+    long targetSize = configuration.getLong(
+        ParquetInputFormat.SPLIT_TARGET_BYTES, ParquetInputFormat.SPLIT_TARGET_BYTES_DEFAULT);
 
     long rowGroupsDropped = 0;
     long totalRowGroups = 0;
@@ -711,7 +808,7 @@ class ClientSideMetadataSplitStrategy {
       List<BlockMetaData> filteredBlocks;
 
       totalRowGroups += blocks.size();
-      filteredBlocks = RowGroupFilter.filterRowGroups(filter, blocks, parquetMetaData.getFileMetaData().getSchema());
+      filteredBlocks = RowGroupFilter.filterRowGroups(filter, blocks, parquetMetaData.getFileMetaData());
       rowGroupsDropped += blocks.size() - filteredBlocks.size();
 
       if (filteredBlocks.isEmpty()) {
@@ -719,6 +816,18 @@ class ClientSideMetadataSplitStrategy {
       }
 
       BlockLocation[] fileBlockLocations = fs.getFileBlockLocations(fileStatus, 0, fileStatus.getLen());
+      if (targetSize > 0) {
+        splits.addAll(
+            generateBalancedSplits(
+                filteredBlocks,
+                fileBlockLocations,
+                fileStatus,
+                readContext.getRequestedSchema(),
+                readContext.getReadSupportMetadata(),
+                targetSize)
+            );
+        continue;
+      }
       splits.addAll(
           generateSplits(
               filteredBlocks,
@@ -807,6 +916,189 @@ class ClientSideMetadataSplitStrategy {
     return splitRowGroups;
   }
 
+  /**
+   * packs the row groups of a file into splits reading about targetSize compressed bytes
+   * of the requested columns each
+   *
+   * @param rowGroupBlocks      data blocks (row groups) that passed the filter
+   * @param hdfsBlocksArray     hdfs blocks
+   * @param fileStatus          the containing file
+   * @param requestedSchema     the schema requested by the user
+   * @param readSupportMetadata the metadata provided by the readSupport implementation in init
+   * @param targetSize          the number of bytes each split should read
+   * @return the splits, ordered by their first row group
+   * @throws IOException If hosts can't be retrieved for the HDFS blocks
+   */
+  static List<ParquetInputSplit> generateBalancedSplits(
+      List<BlockMetaData> rowGroupBlocks,
+      BlockLocation[] hdfsBlocksArray,
+      FileStatus fileStatus,
+      MessageType requestedSchema,
+      Map<String, String> readSupportMetadata, long targetSize) throws IOException {
+    List<ParquetInputSplit> resultSplits = new ArrayList<ParquetInputSplit>();
+    String requested = requestedSchema.toString();
+    for (SplitInfo splitInfo : generateBalancedSplitInfo(rowGroupBlocks, hdfsBlocksArray, requestedSchema, targetSize)) {
+      resultSplits.add(splitInfo.getParquetInputSplit(fileStatus, requested, readSupportMetadata));
+    }
+    return resultSplits;
+  }
+
+  /**
+   * First fit decreasing bin packing of the row groups by the compressed size of their
+   * requested columns. A row group goes preferably to a split whose main host is the
+   * host holding most of the bytes of the row group, then to any split it fits in.
+   * A row group larger than targetSize gets its own split.
+   * The hosts of a split are the hosts holding most of its bytes.
+   */
+  static List<SplitInfo> generateBalancedSplitInfo(
+      List<BlockMetaData> rowGroupBlocks,
+      BlockLocation[] hdfsBlocksArray,
+      MessageType requestedSchema,
+      long targetSize) throws IOException {
+    if (targetSize <= 0) {
+      throw new ParquetDecodingException("the target split size should be positive: " + targetSize);
+    }
+    checkSorted(rowGroupBlocks);
+    List<BalancedSplit> balancedSplits = new ArrayList<BalancedSplit>();
+    List<BalancedRowGroup> rowGroups = new ArrayList<BalancedRowGroup>();
+    for (BlockMetaData rowGroup : rowGroupBlocks) {
+      rowGroups.add(new BalancedRowGroup(rowGroup, getRequestedSize(rowGroup, requestedSchema), hdfsBlocksArray));
+    }
+    Collections.sort(rowGroups);
+
+    for (BalancedRowGroup rowGroup : rowGroups) {
+      BalancedSplit fit = null;
+      for (BalancedSplit split : balancedSplits) {
+        if (split.size + rowGroup.size <= targetSize) {
+          if (rowGroup.mainHost != null && rowGroup.mainHost.equals(split.getMainHost())) {
+            fit = split;
+            break;
+          } else if (fit == null) {
+            fit = split;
+          }
+        }
+      }
+      if (fit == null) {
+        fit = new BalancedSplit();
+        balancedSplits.add(fit);
+      }
+      fit.add(rowGroup);
+    }
+
+    List<SplitInfo> splitRowGroups = new ArrayList<SplitInfo>();
+    for (BalancedSplit split : balancedSplits) {
+      splitRowGroups.add(split.toSplitInfo());
+    }
+    Collections.sort(splitRowGroups, new Comparator<SplitInfo>() {
+      @Override
+      public int compare(SplitInfo s1, SplitInfo s2) {
+        return Long.signum(s1.getRowGroups().get(0).getStartingPos() - s2.getRowGroups().get(0).getStartingPos());
+      }
+    });
+    return splitRowGroups;
+  }
+
+  // a row group with the number of its bytes on each host, largest first
+  private static class BalancedRowGroup implements Comparable<BalancedRowGroup> {
+    final BlockMetaData rowGroup;
+    final long size;
+    final Map<String, Long> hostBytes = new LinkedHashMap<String, Long>();
+    int replication = 0;
+    String mainHost = null;
+
+    BalancedRowGroup(BlockMetaData rowGroup, long size, BlockLocation[] hdfsBlocks) throws IOException {
+      this.rowGroup = rowGroup;
+      this.size = size;
+      long start = rowGroup.getStartingPos();
+      long end = start + rowGroup.getCompressedSize();
+      for (BlockLocation hdfsBlock : hdfsBlocks) {
+        long overlap = Math.min(end, hdfsBlock.getOffset() + hdfsBlock.getLength())
+            - Math.max(start, hdfsBlock.getOffset());
+        if (overlap > 0) {
+          String[] hosts = hdfsBlock.getHosts();
+          replication = Math.max(replication, hosts.length);
+          addHostBytes(hostBytes, hosts, overlap);
+        }
+      }
+      long mainHostBytes = 0;
+      for (Entry<String, Long> entry : hostBytes.entrySet()) {
+        if (entry.getValue() > mainHostBytes) {
+          mainHost = entry.getKey();
+          mainHostBytes = entry.getValue();
+        }
+      }
+    }
+
+    @Override
+    public int compareTo(BalancedRowGroup other) {
+      if (size != other.size) {
+        return size > other.size ? -1 : 1;
+      }
+      return Long.signum(rowGroup.getStartingPos() - other.rowGroup.getStartingPos());
+    }
+  }
+
+  private static class BalancedSplit {
+    final List<BlockMetaData> rowGroups = new ArrayList<BlockMetaData>();
+    final Map<String, Long> hostBytes = new LinkedHashMap<String, Long>();
+    int replication = 0;
+    long size = 0;
+    String mainHost = null;
+
+    void add(BalancedRowGroup rowGroup) {
+      rowGroups.add(rowGroup.rowGroup);
+      size += rowGroup.size;
+      replication = Math.max(replication, rowGroup.replication);
+      if (rowGroups.size() == 1) {
+        mainHost = rowGroup.mainHost;
+      }
+      for (Entry<String, Long> entry : rowGroup.hostBytes.entrySet()) {
+        addHostBytes(hostBytes, entry.getKey(), entry.getValue());
+      }
+    }
+
+    String getMainHost() {
+      return mainHost;
+    }
+
+    SplitInfo toSplitInfo() {
+      List<Entry<String, Long>> hosts = new ArrayList<Entry<String, Long>>(hostBytes.entrySet());
+      Collections.sort(hosts, new Comparator<Entry<String, Long>>() {
+        @Override
+        public int compare(Entry<String, Long> e1, Entry<String, Long> e2) {
+          return Long.signum(e2.getValue() - e1.getValue());
+        }
+      });
+      // as many hosts as a block has replicas
+      String[] splitHosts = new String[Math.min(replication, hosts.size())];
+      for (int i = 0; i < splitHosts.length; i++) {
+        splitHosts[i] = hosts.get(i).getKey();
+      }
+      Collections.sort(rowGroups, new Comparator<BlockMetaData>() {
+        @Override
+        public int compare(BlockMetaData b1, BlockMetaData b2) {
+          return Long.signum(b1.getStartingPos() - b2.getStartingPos());
+        }
+      });
+      SplitInfo splitInfo = new SplitInfo(splitHosts);
+      for (BlockMetaData rowGroup : rowGroups) {
+        splitInfo.addRowGroup(rowGroup);
+      }
+      return splitInfo;
+    }
+  }
+
+  private static void addHostBytes(Map<String, Long> hostBytes, String[] hosts, long bytes) {
+    for (String host : hosts) {
+      addHostBytes(hostBytes, host, bytes);
+    }
+  }
+
+  private static void addHostBytes(Map<String, Long> hostBytes, String host, long bytes) {
+    Long previous = hostBytes.get(host);
+    hostBytes.put(host, previous == null ? bytes : previous + bytes);
+  }
+
   private static void checkSorted(List<BlockMetaData> rowGroupBlocks) {
     long previousOffset = 0L;
     for(BlockMetaData rowGroup: rowGroupBlocks) {
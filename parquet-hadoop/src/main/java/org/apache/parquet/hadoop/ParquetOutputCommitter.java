@@ -18,8 +18,16 @@
  */
 package org.apache.parquet.hadoop;
 
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.SKIP_ROW_GROUPS;
+import static org.apache.parquet.hadoop.ParquetFileReader.PARQUET_READ_PARALLELISM;
+import static org.apache.parquet.hadoop.ParquetOutputFormat.JOB_SUMMARY_INCREMENTAL;
+
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileStatus;
@@ -31,11 +39,15 @@ import org.apache.hadoop.mapreduce.lib.output.FileOutputCommitter;
 
 import org.apache.parquet.Log;
 import org.apache.parquet.hadoop.ParquetOutputFormat.JobSummaryLevel;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.hadoop.util.ContextUtil;
 
 public class ParquetOutputCommitter extends FileOutputCommitter {
   private static final Log LOG = Log.getLog(ParquetOutputCommitter.class);
 
+  // the number of footers read by each thread before they are merged
+  private static final int FOOTERS_PER_THREAD = 20;
+
   private final Path outputPath;
 
   public ParquetOutputCommitter(Path outputPath, TaskAttemptContext context) throws IOException {
@@ -60,27 +72,33 @@ public class ParquetOutputCommitter extends FileOutputCommitter {
     try {
       final FileSystem fileSystem = outputPath.getFileSystem(configuration);
       FileStatus outputStatus = fileSystem.getFileStatus(outputPath);
-      List<Footer> footers;
+      boolean keepRowGroups;
 
       switch (level) {
         case ALL:
-          footers = ParquetFileReader.readAllFootersInParallel(configuration, outputStatus, false); // don't skip row groups
+          keepRowGroups = true;
           break;
         case COMMON_ONLY:
-          footers = ParquetFileReader.readAllFootersInParallel(configuration, outputStatus, true); // skip row groups
+          keepRowGroups = false;
           break;
         default:
           throw new IllegalArgumentException("Unrecognized job summary level: " + level);
       }
 
+      Path root = outputPath.makeQualified(fileSystem);
+      // the files are only listed for the next incremental update of the summary
+      SummaryMetadataBuilder summary = new SummaryMetadataBuilder(root, keepRowGroups,
+          configuration.getBoolean(JOB_SUMMARY_INCREMENTAL, false));
+      mergeFooters(configuration, fileSystem, outputStatus, summary, keepRowGroups);
+
       // If there are no footers, _metadata file cannot be written since there is no way to determine schema!
       // Onus of writing any summary files lies with the caller in this case.
-      if (footers.isEmpty()) {
+      if (summary.isEmpty()) {
         return;
       }
 
       try {
-        ParquetFileWriter.writeMetadataFile(configuration, outputPath, footers, level);
+        ParquetFileWriter.writeSummaryFiles(root, summary.build(), fileSystem, level);
       } catch (Exception e) {
         LOG.warn("could not write summary file(s) for " + outputPath, e);
 
@@ -108,4 +126,82 @@ public class ParquetOutputCommitter extends FileOutputCommitter {
       LOG.warn("could not write summary file for " + outputPath, e);
     }
   }
+
+  /**
+   * Reads the footers of the files of the output in parallel, a batch at a time,
+   * and merges each batch before reading the next one, so that the footers are
+   * not all held in memory.
+   */
+  private static void mergeFooters(Configuration configuration, FileSystem fileSystem, FileStatus outputStatus,
+                                   SummaryMetadataBuilder summary, boolean keepRowGroups) throws IOException {
+    List<FileStatus> toRead = ParquetFileReader.listFiles(configuration, outputStatus);
+    if (configuration.getBoolean(JOB_SUMMARY_INCREMENTAL, false)) {
+      toRead = mergePreviousSummary(configuration, fileSystem, outputStatus.getPath(), toRead, summary, keepRowGroups);
+    }
+    int batchSize = configuration.getInt(PARQUET_READ_PARALLELISM, 5) * FOOTERS_PER_THREAD;
+    for (int i = 0; i < toRead.size(); i += batchSize) {
+      List<FileStatus> batch = toRead.subList(i, Math.min(i + batchSize, toRead.size()));
+      for (Footer footer : ParquetFileReader.readAllFootersInParallel(configuration, batch, !keepRowGroups)) {
+        summary.add(footer);
+      }
+    }
+  }
+
+  /**
+   * Merges the previous summary of the output, if there is one, for the files that
+   * did not change since it was written.
+   * @return the files whose footers must be read
+   */
+  private static List<FileStatus> mergePreviousSummary(Configuration configuration, FileSystem fileSystem, Path outputPath,
+                                                       List<FileStatus> files, SummaryMetadataBuilder summary,
+                                                       boolean keepRowGroups) throws IOException {
+    Path summaryPath = new Path(outputPath,
+        keepRowGroups ? ParquetFileWriter.PARQUET_METADATA_FILE : ParquetFileWriter.PARQUET_COMMON_METADATA_FILE);
+    if (!fileSystem.exists(summaryPath)) {
+      return files;
+    }
+    FileStatus summaryStatus = fileSystem.getFileStatus(summaryPath);
+    ParquetMetadata previous;
+    try {
+      previous = ParquetFileReader.readFooter(configuration, summaryStatus, keepRowGroups ? NO_FILTER : SKIP_ROW_GROUPS);
+    } catch (Exception e) {
+      LOG.warn("could not read the previous summary file " + summaryPath + ", reading all the footers", e);
+      return files;
+    }
+
+    Set<String> summarized = SummaryMetadataBuilder.summarizedFiles(previous, keepRowGroups);
+    if (summarized == null) {
+      LOG.info("the previous summary file " + summaryPath + " does not list its files, reading all the footers");
+      return files;
+    }
+    Set<String> listed = new HashSet<String>();
+    for (FileStatus file : files) {
+      listed.add(summary.relativePath(file.getPath()));
+    }
+    // the metadata of a removed file can not be taken out of the summary
+    if (!listed.containsAll(summarized)) {
+      LOG.info("files of the previous summary file " + summaryPath + " were removed, reading all the footers");
+      return files;
+    }
+    Set<String> unchanged = new HashSet<String>();
+    List<FileStatus> toRead = new ArrayList<FileStatus>();
+    for (FileStatus file : files) {
+      String path = summary.relativePath(file.getPath());
+      if (!summarized.contains(path)) {
+        toRead.add(file);
+      } else if (file.getModificationTime() < summaryStatus.getModificationTime()) {
+        unchanged.add(path);
+      } else {
+        // the schema and metadata of the previous version of a rewritten file can not
+        // be taken out of the summary either
+        LOG.info("files of the previous summary file " + summaryPath + " were rewritten, reading all the footers");
+        return files;
+      }
+    }
+    summary.addSummary(previous, unchanged);
+    if (Log.INFO) {
+      LOG.info("updating " + summaryPath + " with " + toRead.size() + " new footers");
+    }
+    return toRead;
+  }
 }
@@ -130,6 +130,12 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
    * Must be one of the values in {@link JobSummaryLevel} (case insensitive)
    */
   public static final String JOB_SUMMARY_LEVEL = "parquet.summary.metadata.level";
+  /**
+   * If true, the summary files are updated with the footers of the files added or changed
+   * since they were written instead of reading all the footers again (default false).
+   * The _common_metadata file only lists its files when this is enabled.
+   */
+  public static final String JOB_SUMMARY_INCREMENTAL = "parquet.summary.metadata.incremental";
   public static final String BLOCK_SIZE           = "parquet.block.size";
   public static final String PAGE_SIZE            = "parquet.page.size";
   public static final String COMPRESSION          = "parquet.compression";
@@ -144,6 +150,18 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
   public static final String MIN_ROW_COUNT_FOR_PAGE_SIZE_CHECK = "parquet.page.size.row.check.min";
   public static final String MAX_ROW_COUNT_FOR_PAGE_SIZE_CHECK = "parquet.page.size.row.check.max";
   public static final String ESTIMATE_PAGE_SIZE_CHECK = "parquet.page.size.check.estimate";
+  public static final String STATISTICS_TRUNCATE_LENGTH = "parquet.statistics.truncate.length";
+  public static final String DISTINCT_COUNT_PRECISION = "parquet.statistics.distinct.precision";
+  /**
+   * If true, an index of the row groups is written at the end of the footers, so that
+   * the tasks reading a range of a file only read the metadata of its row groups (default false)
+   */
+  public static final String FOOTER_ROW_GROUP_INDEX = "parquet.footer.row-group-index";
+  /**
+   * The key/value metadata values longer than this are written before the footer and only
+   * read when used, instead of with every footer (default 0, all the values are in the footer)
+   */
+  public static final String SIDE_METADATA_THRESHOLD = "parquet.footer.side-metadata.threshold";
 
   // default to no padding for now
   private static final int DEFAULT_MAX_PADDING_SIZE = 0;
@@ -260,6 +278,16 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
         ParquetProperties.DEFAULT_ESTIMATE_ROW_COUNT_FOR_PAGE_SIZE_CHECK);
   }
 
+  public static int getStatisticsTruncateLength(Configuration configuration) {
+    return configuration.getInt(STATISTICS_TRUNCATE_LENGTH,
+        ParquetProperties.DEFAULT_STATISTICS_TRUNCATE_LENGTH);
+  }
+
+  public static int getDistinctCountPrecision(Configuration configuration) {
+    return configuration.getInt(DISTINCT_COUNT_PRECISION,
+        ParquetProperties.DEFAULT_DISTINCT_COUNT_PRECISION);
+  }
+
   @Deprecated
   public static int getBlockSize(Configuration configuration) {
     return configuration.getInt(BLOCK_SIZE, DEFAULT_BLOCK_SIZE);
@@ -367,6 +395,8 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
         .estimateRowCountForPageSizeCheck(getEstimatePageSizeCheck(conf))
         .withMinRowCountForPageSizeCheck(getMinRowCountForPageSizeCheck(conf))
         .withMaxRowCountForPageSizeCheck(getMaxRowCountForPageSizeCheck(conf))
+        .withStatisticsTruncateLength(getStatisticsTruncateLength(conf))
+        .withDistinctCountPrecision(getDistinctCountPrecision(conf))
         .build();
 
     long blockSize = getLongBlockSize(conf);
@@ -384,6 +414,8 @@ public class ParquetOutputFormat<T> extends FileOutputFormat<Void, T> {
       LOG.info("Page size checking is: " + (props.estimateNextSizeCheck() ? "estimated" : "constant"));
       LOG.info("Min row count for page size check is: " + props.getMinRowCountForPageSizeCheck());
       LOG.info("Max row count for page size check is: " + props.getMaxRowCountForPageSizeCheck());
+      LOG.info("Statistics truncate length is: " + props.getStatisticsTruncateLength());
+      LOG.info("Distinct count precision is: " + props.getDistinctCountPrecision());
     }
 
     WriteContext init = writeSupport.init(conf);
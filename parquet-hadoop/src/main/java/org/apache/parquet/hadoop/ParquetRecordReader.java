@@ -161,7 +161,7 @@ public class ParquetRecordReader<T> extends RecordReader<Void, T> {
 
     // open a reader with the metadata filter
     ParquetFileReader reader = ParquetFileReader.open(
-        configuration, path, metadataFilter);
+        configuration, path, metadataFilter, ParquetInputFormat.getFooterProjection(configuration));
 
     if (rowGroupOffsets != null) {
       // verify a row group was found for each offset
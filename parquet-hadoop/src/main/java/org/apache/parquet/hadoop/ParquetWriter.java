@@ -484,6 +484,30 @@ public class ParquetWriter<T> implements Closeable {
       return self();
     }
 
+    /**
+     * Set the maximum length of the min and max values of BINARY statistics
+     * written in page headers and in the footer. Longer values are truncated.
+     *
+     * @param length a length in bytes
+     * @return this builder for method chaining.
+     */
+    public SELF withStatisticsTruncateLength(int length) {
+      encodingPropsBuilder.withStatisticsTruncateLength(length);
+      return self();
+    }
+
+    /**
+     * Track the distinct values of each column chunk with a HyperLogLog
+     * sketch, see {@link org.apache.parquet.hadoop.metadata.ColumnChunkMetaData#getDistinctCountSketch()}.
+     *
+     * @param precision a precision between 4 and 14, or 0 to disable
+     * @return this builder for method chaining.
+     */
+    public SELF withDistinctCountPrecision(int precision) {
+      encodingPropsBuilder.withDistinctCountPrecision(precision);
+      return self();
+    }
+
     /**
      * Build a {@link ParquetWriter} with the accumulated configuration.
      *
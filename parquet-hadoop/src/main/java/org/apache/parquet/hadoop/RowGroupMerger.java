@@ -0,0 +1,233 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static java.lang.String.format;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.Log;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.column.ColumnWriteStore;
+import org.apache.parquet.column.ColumnWriter;
+import org.apache.parquet.column.ParquetProperties;
+import org.apache.parquet.column.ParquetProperties.WriterVersion;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.api.PrimitiveConverter;
+import org.apache.parquet.schema.MessageType;
+
+/**
+ * Appends the row groups of files to a {@link ParquetFileWriter}, merging the consecutive
+ * row groups smaller than a target size into row groups of about that size, where
+ * {@link ParquetFileWriter#appendFile(Configuration, Path)} copies them as they are.
+ * <p>
+ * The row groups that are not merged with others are copied without being decoded.
+ * The merged row groups are decoded and encoded again one column after the other, so that
+ * only the row groups being merged and the pages of the row group written are in memory.
+ * <p>
+ * The file is ended by the caller, with the metadata given by
+ * {@link ParquetFileWriter#getAppendedKeyValueMetaData(java.util.Map, int)}, since the
+ * records of several sorted files are not sorted once merged.
+ */
+public class RowGroupMerger {
+  private static final Log LOG = Log.getLog(RowGroupMerger.class);
+
+  // the values are copied without converting them
+  private static final PrimitiveConverter NO_CONVERTER = new PrimitiveConverter() {
+  };
+
+  private final Configuration conf;
+  private final MessageType schema;
+  private final long rowGroupSize;
+  private final CompressionCodecName codec;
+  private final ParquetProperties props;
+
+  // the row groups to merge in the next row group written
+  private final List<RowGroup> pending = new ArrayList<RowGroup>();
+  private long pendingSize = 0;
+
+  /**
+   * @param conf the configuration of the files and of the encodings of the merged row groups
+   * @param schema the schema of the file written
+   * @param rowGroupSize the target compressed size of the row groups
+   * @param codec the codec of the merged row groups, or null to keep the codec of the first
+   *              row group merged
+   */
+  public RowGroupMerger(Configuration conf, MessageType schema, long rowGroupSize, CompressionCodecName codec) {
+    this.conf = conf;
+    this.schema = schema;
+    this.rowGroupSize = rowGroupSize;
+    this.codec = codec;
+    this.props = ParquetProperties.builder()
+        .withPageSize(ParquetOutputFormat.getPageSize(conf))
+        .withDictionaryPageSize(ParquetOutputFormat.getDictionaryPageSize(conf))
+        .withDictionaryEncoding(ParquetOutputFormat.getEnableDictionary(conf))
+        // v2 pages end at record boundaries, which are not known when writing a column at a time
+        .withWriterVersion(WriterVersion.PARQUET_1_0)
+        .withStatisticsTruncateLength(ParquetOutputFormat.getStatisticsTruncateLength(conf))
+        .withDistinctCountPrecision(ParquetOutputFormat.getDistinctCountPrecision(conf))
+        .build();
+  }
+
+  /**
+   * Appends the row groups of the files, in order.
+   * @param files the files to append
+   * @param writer the writer to append to, between its start and its end
+   * @throws IOException if the files cannot be read or written
+   */
+  public void merge(List<Path> files, ParquetFileWriter writer) throws IOException {
+    CodecFactory codecFactory = new CodecFactory(conf, props.getPageSizeThreshold());
+    try {
+      for (Path file : files) {
+        ParquetMetadata footer = ParquetFileReader.readFooter(conf, file, NO_FILTER);
+        for (BlockMetaData block : footer.getBlocks()) {
+          if (block.getRowCount() == 0) {
+            continue;
+          }
+          long size = block.getCompressedSize();
+          if (!pending.isEmpty() && pendingSize + size > rowGroupSize) {
+            flush(writer, codecFactory);
+          }
+          pending.add(new RowGroup(file, footer.getFileMetaData(), block));
+          pendingSize += size;
+        }
+      }
+      flush(writer, codecFactory);
+    } finally {
+      codecFactory.release();
+    }
+  }
+
+  private void flush(ParquetFileWriter writer, CodecFactory codecFactory) throws IOException {
+    if (pending.size() == 1) {
+      ParquetFileReader reader = pending.get(0).open(conf);
+      try {
+        reader.appendTo(writer);
+      } finally {
+        reader.close();
+      }
+    } else if (!pending.isEmpty()) {
+      CompressionCodecName rowGroupCodec = codec != null ? codec
+          : pending.get(0).block.getColumns().get(0).getCodec();
+      rewrite(writer, codecFactory.getCompressor(rowGroupCodec));
+    }
+    pending.clear();
+    pendingSize = 0;
+  }
+
+  private void rewrite(ParquetFileWriter writer, CodecFactory.BytesCompressor compressor) throws IOException {
+    List<ColumnReadStoreImpl> columns = new ArrayList<ColumnReadStoreImpl>(pending.size());
+    long rowCount = 0;
+    for (RowGroup rowGroup : pending) {
+      ParquetFileReader reader = rowGroup.open(conf);
+      try {
+        // the pages are read in memory
+        PageReadStore pages = reader.readNextRowGroup();
+        columns.add(new ColumnReadStoreImpl(pages, null, schema, rowGroup.fileMetaData.getCreatedBy()));
+        rowCount += pages.getRowCount();
+      } finally {
+        reader.close();
+      }
+    }
+    LOG.info(format("merging %d row groups of %,d records and %,dB", pending.size(), rowCount, pendingSize));
+
+    ColumnChunkPageWriteStore pageStore = new ColumnChunkPageWriteStore(compressor, schema, props.getAllocator(),
+        props.getStatisticsTruncateLength());
+    ColumnWriteStore columnStore = props.newColumnWriteStore(schema, pageStore);
+    for (ColumnDescriptor column : schema.getColumns()) {
+      ColumnWriter columnWriter = columnStore.getColumnWriter(column);
+      for (ColumnReadStoreImpl rowGroupColumns : columns) {
+        copy(rowGroupColumns.getColumnReader(column, NO_CONVERTER), columnWriter);
+      }
+    }
+    writer.startBlock(rowCount);
+    columnStore.flush();
+    pageStore.flushToFileWriter(writer);
+    writer.endBlock();
+    columnStore.close();
+  }
+
+  private static void copy(ColumnReader reader, ColumnWriter writer) {
+    ColumnDescriptor column = reader.getDescriptor();
+    int maxDefinitionLevel = column.getMaxDefinitionLevel();
+    for (long i = 0, count = reader.getTotalValueCount(); i < count; i++) {
+      int repetitionLevel = reader.getCurrentRepetitionLevel();
+      int definitionLevel = reader.getCurrentDefinitionLevel();
+      if (definitionLevel < maxDefinitionLevel) {
+        writer.writeNull(repetitionLevel, definitionLevel);
+      } else {
+        switch (column.getType()) {
+        case BOOLEAN:
+          writer.write(reader.getBoolean(), repetitionLevel, definitionLevel);
+          break;
+        case INT32:
+          writer.write(reader.getInteger(), repetitionLevel, definitionLevel);
+          break;
+        case INT64:
+          writer.write(reader.getLong(), repetitionLevel, definitionLevel);
+          break;
+        case FLOAT:
+          writer.write(reader.getFloat(), repetitionLevel, definitionLevel);
+          break;
+        case DOUBLE:
+          writer.write(reader.getDouble(), repetitionLevel, definitionLevel);
+          break;
+        case INT96:
+        case BINARY:
+        case FIXED_LEN_BYTE_ARRAY:
+          writer.write(reader.getBinary(), repetitionLevel, definitionLevel);
+          break;
+        default:
+          throw new IllegalArgumentException("unknown type " + column.getType());
+        }
+      }
+      reader.consume();
+    }
+  }
+
+  private static final class RowGroup {
+    private final Path file;
+    private final FileMetaData fileMetaData;
+    private final BlockMetaData block;
+
+    private RowGroup(Path file, FileMetaData fileMetaData, BlockMetaData block) {
+      this.file = file;
+      this.fileMetaData = fileMetaData;
+      this.block = block;
+    }
+
+    // a reader of this row group only
+    ParquetFileReader open(Configuration conf) throws IOException {
+      return new ParquetFileReader(conf, file,
+          new ParquetMetadata(fileMetaData, Collections.singletonList(block)));
+    }
+  }
+}
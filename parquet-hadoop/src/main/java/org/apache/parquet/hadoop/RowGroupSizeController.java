@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static java.lang.String.format;
+import static org.apache.parquet.Log.DEBUG;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.parquet.Log;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+
+/**
+ * Predicts the size a row group will take on disk from the size buffered in
+ * memory by the column writers.
+ * <p>
+ * The buffered size is only a rough estimate of the final size: pages still
+ * being written are not compressed yet and dictionary encoded values are
+ * accounted for as 4 byte ids while the dictionary itself is not counted.
+ * After each row group is written, the ratio between the size of every
+ * column chunk in the file and its buffered size is learned, and the size of
+ * the next row group is predicted column by column from those ratios. Columns
+ * not seen yet use the ratio of the whole row group.
+ * <p>
+ * A row group is never predicted smaller than its buffered size divided by
+ * {@link #MAX_BUFFERED_SIZE_FACTOR}, so that the memory buffered stays within
+ * that multiple of the target size even when the learned ratios are very
+ * small (highly compressible columns, or a skewed first row group).
+ */
+class RowGroupSizeController {
+  private static final Log LOG = Log.getLog(RowGroupSizeController.class);
+
+  /**
+   * the maximum ratio of the buffered size to the predicted size
+   */
+  static final int MAX_BUFFERED_SIZE_FACTOR = 4;
+
+  private final Map<ColumnPath, Integer> columnIndexes = new HashMap<ColumnPath, Integer>();
+  // the ratio of each column, by position, NaN for the columns not seen yet
+  private final double[] columnRatios;
+  private double ratio = 1.0;
+
+  /**
+   * @param columns the columns of the row groups, in the order of the buffered sizes
+   */
+  public RowGroupSizeController(List<ColumnPath> columns) {
+    this.columnRatios = new double[columns.size()];
+    for (int i = 0; i < columnRatios.length; i++) {
+      columnIndexes.put(columns.get(i), i);
+      columnRatios[i] = Double.NaN;
+    }
+  }
+
+  /**
+   * @param bufferedSize the size currently buffered by the column writers
+   * @return the predicted size of the row group once written to the file,
+   *         using the ratio of the whole row group
+   */
+  public long predictSize(long bufferedSize) {
+    return capped(bufferedSize, bufferedSize * ratio);
+  }
+
+  /**
+   * @param bufferedSizes the size currently buffered by each column writer,
+   *                      by position of the column
+   * @return the predicted size of the row group once written to the file,
+   *         using the ratio of each column
+   */
+  public long predictSize(long[] bufferedSizes) {
+    double predicted = 0;
+    long buffered = 0;
+    for (int i = 0; i < bufferedSizes.length; i++) {
+      double columnRatio = columnRatios[i];
+      predicted += bufferedSizes[i] * (Double.isNaN(columnRatio) ? ratio : columnRatio);
+      buffered += bufferedSizes[i];
+    }
+    return capped(buffered, predicted);
+  }
+
+  private static long capped(long bufferedSize, double predicted) {
+    return Math.max((long) predicted, bufferedSize / MAX_BUFFERED_SIZE_FACTOR);
+  }
+
+  /**
+   * @return the ratio of the size on disk to the buffered size
+   */
+  public double getRatio() {
+    return ratio;
+  }
+
+  /**
+   * Learns the compression ratio of every column from a row group that was
+   * just written.
+   *
+   * @param bufferedSizes the buffered size of each column before the flush,
+   *                      by position of the column
+   * @param rowGroup the metadata of the row group written to the file
+   */
+  public void rowGroupWritten(long[] bufferedSizes, BlockMetaData rowGroup) {
+    double predicted = 0;
+    long buffered = 0;
+    for (ColumnChunkMetaData column : rowGroup.getColumns()) {
+      Integer index = columnIndexes.get(column.getPath());
+      if (index == null || bufferedSizes[index] <= 0) {
+        continue;
+      }
+      long columnBufferedSize = bufferedSizes[index];
+      double observed = (double) column.getTotalSize() / columnBufferedSize;
+      double previous = columnRatios[index];
+      // smooth the ratio across row groups so that one skewed row group does
+      // not throw the next one off
+      double columnRatio = Double.isNaN(previous) ? observed : (previous + observed) / 2;
+      columnRatios[index] = columnRatio;
+      predicted += columnRatio * columnBufferedSize;
+      buffered += columnBufferedSize;
+    }
+    if (buffered > 0) {
+      this.ratio = predicted / buffered;
+      if (DEBUG) LOG.debug(format("size on disk to buffered size ratio: %.3f", ratio));
+    }
+  }
+}
@@ -0,0 +1,306 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import me.yongshang.cbfm.CBFM;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.ParquetDecodingException;
+
+/**
+ * The key/value metadata of a file whose large values are stored before the footer
+ * instead of in it, so that reading the footer does not read and decode them.
+ * <p>
+ * The footer keeps the small values, and a reference to each large value under the key
+ * prefixed with {@link #KEY_PREFIX}, with the offset, the length and a digest of the value
+ * in the file. The large values are read from the file when they are first asked for.
+ * The prefix is reserved: the metadata of a file can not have keys that start with it.
+ *
+ * @see ParquetOutputFormat#SIDE_METADATA_THRESHOLD
+ */
+final class SideMetadata extends AbstractMap<String, String> implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * prefix of the keys of the references to the values stored before the footer
+   */
+  static final String KEY_PREFIX = "parquet.side.";
+
+  private static final Charset UTF8 = Charset.forName("UTF-8");
+
+  /**
+   * @param keyValueMetaData the metadata of a file
+   * @throws IllegalArgumentException if a key starts with the reserved {@link #KEY_PREFIX}
+   */
+  static void checkKeys(Map<String, String> keyValueMetaData) {
+    for (String key : keyValueMetaData.keySet()) {
+      if (key.startsWith(KEY_PREFIX)) {
+        throw new IllegalArgumentException("the key " + key + " starts with the reserved prefix " + KEY_PREFIX);
+      }
+    }
+  }
+
+  /**
+   * Writes the large values of the metadata at the current position of the file.
+   * @param keyValueMetaData the metadata of the file
+   * @param threshold the length above which the values are written before the footer
+   * @param out the file, before its footer
+   * @return the metadata to write in the footer
+   * @throws IOException if the values cannot be written
+   */
+  static Map<String, String> write(Map<String, String> keyValueMetaData, int threshold, FSDataOutputStream out)
+      throws IOException {
+    Map<String, String> footerMetaData = new LinkedHashMap<String, String>();
+    for (Entry<String, String> entry : keyValueMetaData.entrySet()) {
+      // the length in bytes is at least the length in chars
+      if (entry.getValue() == null || entry.getValue().length() <= threshold) {
+        footerMetaData.put(entry.getKey(), entry.getValue());
+        continue;
+      }
+      byte[] value = entry.getValue().getBytes(UTF8);
+      footerMetaData.put(KEY_PREFIX + entry.getKey(), out.getPos() + "," + value.length + "," + digest(value));
+      out.write(value);
+    }
+    return footerMetaData;
+  }
+
+  /**
+   * @param configuration the configuration to access the file system
+   * @param file the file the footer was read from
+   * @param footer a footer
+   * @return the footer, whose large metadata values are read from the file when first used
+   */
+  static ParquetMetadata readLazily(Configuration configuration, Path file, ParquetMetadata footer) {
+    FileMetaData fileMetaData = footer.getFileMetaData();
+    Map<String, String> keyValueMetaData = fileMetaData.getKeyValueMetaData();
+    Map<String, String> values = new HashMap<String, String>();
+    Map<String, long[]> references = new HashMap<String, long[]>();
+    Map<String, String> digests = new HashMap<String, String>();
+    for (Entry<String, String> entry : keyValueMetaData.entrySet()) {
+      long[] reference = entry.getKey().startsWith(KEY_PREFIX) ? parseReference(entry.getValue()) : null;
+      if (reference != null) {
+        String key = entry.getKey().substring(KEY_PREFIX.length());
+        references.put(key, reference);
+        String[] parts = entry.getValue().split(",");
+        if (parts.length == 3) {
+          digests.put(key, parts[2]);
+        }
+      } else {
+        // keys with the prefix written before it was reserved are kept as they are
+        values.put(entry.getKey(), entry.getValue());
+      }
+    }
+    if (references.isEmpty()) {
+      return footer;
+    }
+    SideMetadata sideMetadata = new SideMetadata(configuration, file, values, references, digests);
+    if (CBFM.ON) {
+      for (BlockMetaData block : footer.getBlocks()) {
+        block.setIndexTables(sideMetadata);
+      }
+    }
+    return new ParquetMetadata(
+        new FileMetaData(fileMetaData.getSchema(), sideMetadata, fileMetaData.getCreatedBy()),
+        footer.getBlocks());
+  }
+
+  // the offset and length of a value, or null if the value is not a reference
+  private static long[] parseReference(String value) {
+    String[] parts = value.split(",");
+    if (parts.length < 2 || parts.length > 3) {
+      return null;
+    }
+    try {
+      return new long[] { Long.parseLong(parts[0]), Long.parseLong(parts[1]) };
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  private static String digest(byte[] value) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1").digest(value);
+      StringBuilder sb = new StringBuilder(digest.length * 2);
+      for (byte b : digest) {
+        sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+      }
+      return sb.toString();
+    } catch (NoSuchAlgorithmException e) {
+      throw new RuntimeException("SHA-1 is not available", e);
+    }
+  }
+
+  private final transient Configuration configuration;
+  private final Path file;
+  private final Map<String, String> values;
+  // the values not read yet
+  private final Map<String, long[]> references;
+  // the digests of the values not read yet, when the footer has them
+  private final Map<String, String> digests;
+
+  private SideMetadata(Configuration configuration, Path file, Map<String, String> values,
+                       Map<String, long[]> references, Map<String, String> digests) {
+    this.configuration = configuration;
+    this.file = file;
+    this.values = values;
+    this.references = references;
+    this.digests = digests;
+  }
+
+  /**
+   * @param key a key of this metadata
+   * @return the value of the key as a set that reads it when first used, or null if the
+   *         value was read already
+   * @see ParquetFileWriter#mergeInto(FileMetaData, org.apache.parquet.hadoop.metadata.GlobalMetaData)
+   */
+  synchronized Set<String> lazyValue(String key) {
+    if (!references.containsKey(key)) {
+      return null;
+    }
+    return new LazyValue(this, key, digests.get(key));
+  }
+
+  @Override
+  public synchronized int size() {
+    return values.size() + references.size();
+  }
+
+  @Override
+  public synchronized boolean containsKey(Object key) {
+    return values.containsKey(key) || references.containsKey(key);
+  }
+
+  @Override
+  public synchronized String get(Object key) {
+    if (references.containsKey(key)) {
+      read(Collections.singleton((String) key));
+    }
+    return values.get(key);
+  }
+
+  @Override
+  public synchronized Set<String> keySet() {
+    Set<String> keys = new HashSet<String>(values.keySet());
+    keys.addAll(references.keySet());
+    return Collections.unmodifiableSet(keys);
+  }
+
+  @Override
+  public synchronized Set<Entry<String, String>> entrySet() {
+    read(new HashSet<String>(references.keySet()));
+    return Collections.unmodifiableMap(values).entrySet();
+  }
+
+  // reads values not read yet, with a single open of the file
+  private void read(Set<String> keys) {
+    if (keys.isEmpty()) {
+      return;
+    }
+    try {
+      FSDataInputStream in = file.getFileSystem(configuration).open(file);
+      try {
+        for (String key : keys) {
+          long[] reference = references.get(key);
+          byte[] value = new byte[(int) reference[1]];
+          in.readFully(reference[0], value);
+          values.put(key, new String(value, UTF8));
+          references.remove(key);
+        }
+      } finally {
+        in.close();
+      }
+    } catch (IOException e) {
+      throw new ParquetDecodingException("could not read the metadata " + keys + " of " + file, e);
+    }
+  }
+
+  // the values are read before the configuration is lost
+  private Object writeReplace() {
+    return new HashMap<String, String>(this);
+  }
+
+  /**
+   * The value of a key, read when it is first used. Two values with the same digest are
+   * equal without being read.
+   */
+  private static final class LazyValue extends AbstractSet<String> implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final SideMetadata metadata;
+    private final String key;
+    private final String digest;
+
+    private LazyValue(SideMetadata metadata, String key, String digest) {
+      this.metadata = metadata;
+      this.key = key;
+      this.digest = digest;
+    }
+
+    @Override
+    public int size() {
+      return 1;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+      return Collections.singleton(metadata.get(key)).iterator();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (digest != null && other instanceof LazyValue && digest.equals(((LazyValue) other).digest)) {
+        return true;
+      }
+      return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+      return super.hashCode();
+    }
+
+    // the value is read before the configuration is lost
+    private Object writeReplace() {
+      return new LinkedHashSet<String>(this);
+    }
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.GlobalMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.ParquetEncodingException;
+
+/**
+ * Merges the footers of the files of a directory into the metadata of its summary
+ * files, one footer at a time, so that the footers do not need to be held until
+ * they are all read.
+ * <p>
+ * The row groups are only kept for the _metadata file, with their path relative
+ * to the directory. The row groups of a previous summary can be kept for the
+ * files that did not change since it was written.
+ * <p>
+ * Without the row groups, the relative paths of the files can be listed in the metadata
+ * under {@link #FILES_KEY}, so that the files of a previous summary are known when it is
+ * updated incrementally. The list is not part of the metadata of the files and is
+ * removed by {@link #withoutFileList(ParquetMetadata)} when a summary is read as footers.
+ */
+final class SummaryMetadataBuilder {
+  /**
+   * key of the files of a summary without row groups, one relative path per line
+   */
+  static final String FILES_KEY = "parquet.summary.files";
+
+  /**
+   * @param summary the metadata of a summary file
+   * @param keepRowGroups whether the summary has the row groups of the files
+   * @return the relative paths of the files of the summary, or null if they are not known
+   */
+  static Set<String> summarizedFiles(ParquetMetadata summary, boolean keepRowGroups) {
+    Set<String> files = new HashSet<String>();
+    if (keepRowGroups) {
+      for (BlockMetaData block : summary.getBlocks()) {
+        files.add(block.getPath());
+      }
+      return files;
+    }
+    String list = summary.getFileMetaData().getKeyValueMetaData().get(FILES_KEY);
+    if (list == null) {
+      return null;
+    }
+    if (!list.isEmpty()) {
+      files.addAll(Arrays.asList(list.split("\n")));
+    }
+    return files;
+  }
+
+  /**
+   * @param summary the metadata of a summary file
+   * @return the metadata without the list of the files of the summary
+   */
+  static ParquetMetadata withoutFileList(ParquetMetadata summary) {
+    FileMetaData summaryMetaData = summary.getFileMetaData();
+    if (!summaryMetaData.getKeyValueMetaData().containsKey(FILES_KEY)) {
+      return summary;
+    }
+    Map<String, String> keyValueMetaData = new HashMap<String, String>(summaryMetaData.getKeyValueMetaData());
+    keyValueMetaData.remove(FILES_KEY);
+    return new ParquetMetadata(
+        new FileMetaData(summaryMetaData.getSchema(), keyValueMetaData, summaryMetaData.getCreatedBy()),
+        summary.getBlocks());
+  }
+
+  private final Path root;
+  private final String rootPath;
+  private final boolean keepRowGroups;
+  private final boolean listFiles;
+  private final List<BlockMetaData> blocks = new ArrayList<BlockMetaData>();
+  private final Set<String> files = new TreeSet<String>();
+  private GlobalMetaData fileMetaData = null;
+
+  /**
+   * @param root the directory of the summary files
+   * @param keepRowGroups whether to keep the row groups of the footers
+   * @param listFiles whether to list the files under {@link #FILES_KEY} when the row
+   *                  groups are not kept
+   */
+  SummaryMetadataBuilder(Path root, boolean keepRowGroups, boolean listFiles) {
+    this.root = root;
+    this.rootPath = root.toUri().getPath();
+    this.keepRowGroups = keepRowGroups;
+    this.listFiles = listFiles;
+  }
+
+  /**
+   * @param file a file in the directory
+   * @return the path of the file relative to the directory
+   */
+  String relativePath(Path file) {
+    String path = file.toUri().getPath();
+    if (!path.startsWith(rootPath)) {
+      throw new ParquetEncodingException(path + " invalid: all the files must be contained in the root " + root);
+    }
+    path = path.substring(rootPath.length());
+    while (path.startsWith("/")) {
+      path = path.substring(1);
+    }
+    return path;
+  }
+
+  /**
+   * @param footer the footer of a file in the directory
+   * @return this for chaining
+   */
+  SummaryMetadataBuilder add(Footer footer) {
+    String path = relativePath(footer.getFile());
+    if (listFiles) {
+      files.add(path);
+    }
+    fileMetaData = ParquetFileWriter.mergeInto(footer.getParquetMetadata().getFileMetaData(), fileMetaData);
+    if (keepRowGroups) {
+      for (BlockMetaData block : footer.getParquetMetadata().getBlocks()) {
+        block.setPath(path);
+        blocks.add(block);
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Adds the metadata of a previous summary of the directory.
+   * @param summary the metadata of the summary file
+   * @param files the relative paths of the files whose row groups are kept, which must
+   *              all be files of the summary
+   * @return this for chaining
+   */
+  SummaryMetadataBuilder addSummary(ParquetMetadata summary, Set<String> files) {
+    if (listFiles) {
+      this.files.addAll(files);
+    }
+    fileMetaData = ParquetFileWriter.mergeInto(withoutFileList(summary).getFileMetaData(), fileMetaData);
+    if (keepRowGroups) {
+      for (BlockMetaData block : summary.getBlocks()) {
+        if (files.contains(block.getPath())) {
+          blocks.add(block);
+        }
+      }
+    }
+    return this;
+  }
+
+  /**
+   * @return true if no footer or summary was added
+   */
+  boolean isEmpty() {
+    return fileMetaData == null;
+  }
+
+  /**
+   * @return the merged metadata
+   * @throws RuntimeException if the metadata of the files cannot be merged
+   */
+  ParquetMetadata build() {
+    FileMetaData merged = fileMetaData.merge();
+    if (keepRowGroups || !listFiles) {
+      return new ParquetMetadata(merged, blocks);
+    }
+    Map<String, String> keyValueMetaData = new HashMap<String, String>(merged.getKeyValueMetaData());
+    StringBuilder list = new StringBuilder();
+    for (String file : files) {
+      if (list.length() > 0) {
+        list.append('\n');
+      }
+      list.append(file);
+    }
+    keyValueMetaData.put(FILES_KEY, list.toString());
+    return new ParquetMetadata(new FileMetaData(merged.getSchema(), keyValueMetaData, merged.getCreatedBy()), blocks);
+  }
+}
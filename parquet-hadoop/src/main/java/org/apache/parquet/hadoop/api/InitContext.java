@@ -18,6 +18,8 @@
  */
 package org.apache.parquet.hadoop.api;
 
+import java.util.AbstractMap;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -64,14 +66,45 @@ public class InitContext {
   @Deprecated
   public Map<String, String> getMergedKeyValueMetaData() {
     if (mergedKeyValueMetadata == null) {
-      Map<String, String> mergedKeyValues = new HashMap<String, String>();
-      for (Entry<String, Set<String>> entry : keyValueMetadata.entrySet()) {
-        if (entry.getValue().size() > 1) {
-          throw new RuntimeException("could not merge metadata: key " + entry.getKey() + " has conflicting values: " + entry.getValue());
+      // the conflicts are found from the number of values, without reading them
+      for (String key : keyValueMetadata.keySet()) {
+        Set<String> values = keyValueMetadata.get(key);
+        if (values.size() > 1) {
+          throw new RuntimeException("could not merge metadata: key " + key + " has conflicting values: " + values);
         }
-        mergedKeyValues.put(entry.getKey(), entry.getValue().iterator().next());
       }
-      mergedKeyValueMetadata = mergedKeyValues;
+      // the values are read when they are used
+      mergedKeyValueMetadata = new AbstractMap<String, String>() {
+        @Override
+        public int size() {
+          return keyValueMetadata.size();
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+          return keyValueMetadata.containsKey(key);
+        }
+
+        @Override
+        public String get(Object key) {
+          Set<String> values = keyValueMetadata.get(key);
+          return values == null ? null : values.iterator().next();
+        }
+
+        @Override
+        public Set<String> keySet() {
+          return Collections.unmodifiableSet(keyValueMetadata.keySet());
+        }
+
+        @Override
+        public Set<Entry<String, String>> entrySet() {
+          Map<String, String> mergedKeyValues = new HashMap<String, String>();
+          for (Entry<String, Set<String>> entry : keyValueMetadata.entrySet()) {
+            mergedKeyValues.put(entry.getKey(), entry.getValue().iterator().next());
+          }
+          return Collections.unmodifiableMap(mergedKeyValues).entrySet();
+        }
+      };
     }
     return mergedKeyValueMetadata;
   }
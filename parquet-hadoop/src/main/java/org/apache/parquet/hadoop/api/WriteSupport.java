@@ -18,14 +18,18 @@
  */
 package org.apache.parquet.hadoop.api;
 
+import static org.apache.parquet.Preconditions.checkArgument;
 import static org.apache.parquet.Preconditions.checkNotNull;
 
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.hadoop.conf.Configuration;
 
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
 import org.apache.parquet.io.api.RecordConsumer;
 import org.apache.parquet.schema.MessageType;
 
@@ -58,6 +62,35 @@ abstract public class WriteSupport<T> {
       this.schema = checkNotNull(schema, "schema");
       this.extraMetaData = Collections.unmodifiableMap(checkNotNull(extraMetaData, "extraMetaData"));
     }
+
+    /**
+     * Declares that the records are written in ascending order of the given
+     * columns, in the order of the statistics of the columns. Readers use the
+     * first column to find the row groups matching a predicate with a binary
+     * search instead of checking the statistics of every row group. The columns
+     * are not recorded if the row groups written are not in order of the first one.
+     *
+     * @param schema the schema of the data
+     * @param extraMetaData application specific metadata to add in the file
+     * @param sortingColumns the primitive columns the records are sorted on, the first column first
+     */
+    public WriteContext(MessageType schema, Map<String, String> extraMetaData, List<ColumnPath> sortingColumns) {
+      this(schema, withSortingColumns(schema, extraMetaData, sortingColumns));
+    }
+
+    private static Map<String, String> withSortingColumns(
+        MessageType schema, Map<String, String> extraMetaData, List<ColumnPath> sortingColumns) {
+      checkNotNull(schema, "schema");
+      checkNotNull(sortingColumns, "sortingColumns");
+      for (ColumnPath column : sortingColumns) {
+        checkArgument(schema.containsPath(column.toArray()) && schema.getType(column.toArray()).isPrimitive(),
+            "Sorting column %s is not a primitive column of %s", column, schema);
+      }
+      Map<String, String> metaData = new HashMap<String, String>(checkNotNull(extraMetaData, "extraMetaData"));
+      metaData.put(FileMetaData.SORTING_COLUMNS_KEY, FileMetaData.encodeSortingColumns(sortingColumns));
+      return metaData;
+    }
+
     /**
      * @return the schema of the file
      */
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -39,9 +40,13 @@ public class BlockMetaData {
   private List<ColumnChunkMetaData> columns = new ArrayList<ColumnChunkMetaData>();
   private long rowCount;
   private long totalByteSize;
+  // the position and size of all the column chunks, -1 when they are computed from the columns
+  private long startingPos = -1;
+  private long compressedSize = -1;
   private String path;
   // CBFM index
   private String indexTableStr;
+  private Map<String, String> indexTables;
   public FullBitmapIndex index;
   public MDBF mdbfIndex;
   public CMDBF cmdbfIndex;
@@ -115,8 +120,20 @@ public class BlockMetaData {
    * @return the starting pos of first column
    */
   public long getStartingPos() {
+    if (startingPos >= 0) {
+      return startingPos;
+    }
     return getColumns().get(0).getStartingPos();
   }
+
+  /**
+   * Sets the starting position of the row group, so that it does not depend on the
+   * columns added to this block when only some of them are read from the footer.
+   * @param startingPos the starting pos of the first column of the row group
+   */
+  public void setStartingPos(long startingPos) {
+    this.startingPos = startingPos;
+  }
   @Override
   public String toString() {
     return "BlockMetaData{" + rowCount + ", " + totalByteSize + " " + columns + "}";
@@ -126,6 +143,9 @@ public class BlockMetaData {
    * @return the compressed size of all columns
    */
   public long getCompressedSize() {
+    if (compressedSize >= 0) {
+      return compressedSize;
+    }
     long totalSize = 0;
     for (ColumnChunkMetaData col : getColumns()) {
       totalSize += col.getTotalSize();
@@ -133,10 +153,30 @@ public class BlockMetaData {
     return totalSize;
   }
 
+  /**
+   * Sets the compressed size of the row group, so that it does not depend on the
+   * columns added to this block when only some of them are read from the footer.
+   * @param compressedSize the compressed size of all the columns of the row group
+   */
+  public void setCompressedSize(long compressedSize) {
+    this.compressedSize = compressedSize;
+  }
+
   public String getIndexTableStr() {
+    if (indexTableStr == null && indexTables != null) {
+      indexTableStr = indexTables.get(String.valueOf(getStartingPos()));
+    }
     return indexTableStr;
   }
 
+  /**
+   * @param keyValueMetaData the metadata of the file, in which the index table of this
+   *                         block is looked up by starting position when it is first used
+   */
+  public void setIndexTables(Map<String, String> keyValueMetaData) {
+    this.indexTables = keyValueMetaData;
+  }
+
   public void setIndexTableStr(String indexTable) {
     this.indexTableStr = indexTable;
   }
@@ -23,6 +23,7 @@ import java.util.Set;
 import org.apache.parquet.column.Encoding;
 import org.apache.parquet.column.EncodingStats;
 import org.apache.parquet.column.statistics.BooleanStatistics;
+import org.apache.parquet.column.statistics.HyperLogLog;
 import org.apache.parquet.column.statistics.Statistics;
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 
@@ -191,6 +192,14 @@ abstract public class ColumnChunkMetaData {
    */
   abstract public Statistics getStatistics();
 
+  /**
+   * @return the sketch of the distinct values of this column, or null if the
+   *         writer did not track them
+   */
+  public HyperLogLog getDistinctCountSketch() {
+    return getStatistics().getDistinctCountSketch();
+  }
+
   /**
    * @return all the encodings used in this column
    */
@@ -22,6 +22,9 @@ import static java.util.Collections.unmodifiableMap;
 import static org.apache.parquet.Preconditions.checkNotNull;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.parquet.schema.MessageType;
@@ -36,6 +39,13 @@ import org.apache.parquet.schema.MessageType;
 public final class FileMetaData implements Serializable {
   private static final long serialVersionUID = 1L;
 
+  /**
+   * key of the comma separated list of the columns the records of the file
+   * are sorted on, in ascending order, as written by {@link #encodeSortingColumns(List)}.
+   * The writer only records it when the row groups are in order of the first column.
+   */
+  public static final String SORTING_COLUMNS_KEY = "parquet.sorting.columns";
+
   private final MessageType schema;
 
   private final Map<String, String> keyValueMetaData;
@@ -73,6 +83,74 @@ public final class FileMetaData implements Serializable {
     return keyValueMetaData;
   }
 
+  /**
+   * @return the columns the records of the file are sorted on, the first
+   *         column first, or an empty list if the file is not sorted
+   */
+  public List<ColumnPath> getSortingColumns() {
+    String columns = keyValueMetaData.get(SORTING_COLUMNS_KEY);
+    if (columns == null || columns.isEmpty()) {
+      return Collections.emptyList();
+    }
+    return decodeSortingColumns(columns);
+  }
+
+  /**
+   * @param sortingColumns columns
+   * @return the columns separated by ',', with the names of a column separated by '.'
+   *         and the backslashes, '.' and ',' in the names escaped with a backslash
+   */
+  public static String encodeSortingColumns(List<ColumnPath> sortingColumns) {
+    StringBuilder sb = new StringBuilder();
+    for (ColumnPath column : sortingColumns) {
+      if (sb.length() > 0) {
+        sb.append(',');
+      }
+      String[] names = column.toArray();
+      for (int i = 0; i < names.length; i++) {
+        if (i > 0) {
+          sb.append('.');
+        }
+        for (char c : names[i].toCharArray()) {
+          if (c == '\\' || c == '.' || c == ',') {
+            sb.append('\\');
+          }
+          sb.append(c);
+        }
+      }
+    }
+    return sb.toString();
+  }
+
+  /**
+   * @param sortingColumns columns written by {@link #encodeSortingColumns(List)}
+   * @return the columns
+   */
+  public static List<ColumnPath> decodeSortingColumns(String sortingColumns) {
+    List<ColumnPath> columns = new ArrayList<ColumnPath>();
+    List<String> names = new ArrayList<String>();
+    StringBuilder name = new StringBuilder();
+    for (int i = 0; i < sortingColumns.length(); i++) {
+      char c = sortingColumns.charAt(i);
+      if (c == '\\' && i + 1 < sortingColumns.length()) {
+        name.append(sortingColumns.charAt(++i));
+      } else if (c == '.') {
+        names.add(name.toString());
+        name.setLength(0);
+      } else if (c == ',') {
+        names.add(name.toString());
+        name.setLength(0);
+        columns.add(ColumnPath.get(names.toArray(new String[names.size()])));
+        names.clear();
+      } else {
+        name.append(c);
+      }
+    }
+    names.add(name.toString());
+    columns.add(ColumnPath.get(names.toArray(new String[names.size()])));
+    return columns;
+  }
+
   /**
    * @return the description of the library that created the file
    */
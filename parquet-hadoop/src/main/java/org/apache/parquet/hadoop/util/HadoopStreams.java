@@ -20,9 +20,15 @@
 package org.apache.parquet.hadoop.util;
 
 import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
 import org.apache.parquet.Log;
 import org.apache.parquet.io.ParquetDecodingException;
 import org.apache.parquet.io.SeekableInputStream;
+import java.io.File;
+import java.io.IOException;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
 
@@ -63,6 +69,36 @@ public class HadoopStreams {
     }
   }
 
+  /**
+   * Opens a file as a {@link SeekableInputStream}.
+   * <p>
+   * If {@code useMemoryMapping} is true and the file is on the local file
+   * system, the file is memory mapped and a {@link MappedSeekableInputStream}
+   * is returned. Note that checksums of a {@link LocalFileSystem} are not
+   * verified in that case. Otherwise this falls back to wrapping the stream
+   * returned by {@link FileSystem#open(Path)}.
+   *
+   * @param fs the file system of the file
+   * @param file the file to open
+   * @param useMemoryMapping whether local files should be memory mapped
+   * @return a SeekableInputStream
+   * @throws IOException if the file can not be opened
+   */
+  public static SeekableInputStream open(FileSystem fs, Path file, boolean useMemoryMapping) throws IOException {
+    if (useMemoryMapping) {
+      File localFile = null;
+      if (fs instanceof LocalFileSystem) {
+        localFile = ((LocalFileSystem) fs).pathToFile(file);
+      } else if (fs instanceof RawLocalFileSystem) {
+        localFile = ((RawLocalFileSystem) fs).pathToFile(file);
+      }
+      if (localFile != null) {
+        return new MappedSeekableInputStream(localFile);
+      }
+    }
+    return wrap(fs.open(file));
+  }
+
   private static Class<?> getReadableClass() {
     try {
       return Class.forName("org.apache.hadoop.fs.ByteBufferReadable");
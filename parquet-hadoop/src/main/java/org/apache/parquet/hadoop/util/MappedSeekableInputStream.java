@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.parquet.hadoop.util;
+
+import org.apache.parquet.io.SeekableInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * SeekableInputStream implementation for local files based on a memory
+ * mapping of the file.
+ * <p>
+ * Besides the usual stream operations, {@link #slice(long, int)} returns a
+ * read-only view of a range of the file without copying it, which lets
+ * {@link org.apache.parquet.hadoop.ParquetFileReader} hand out column chunks
+ * straight from the page cache.
+ * <p>
+ * Files larger than 2GB are mapped in several segments. Slices are only
+ * available for ranges that do not cross a segment boundary.
+ */
+public class MappedSeekableInputStream extends SeekableInputStream {
+
+  private static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;
+
+  private final RandomAccessFile file;
+  private final long length;
+  private final long segmentSize;
+  private final ByteBuffer[] segments;
+  private long pos = 0;
+
+  public MappedSeekableInputStream(File file) throws IOException {
+    this(file, MAX_SEGMENT_SIZE);
+  }
+
+  // Visible for testing
+  MappedSeekableInputStream(File file, long segmentSize) throws IOException {
+    this.file = new RandomAccessFile(file, "r");
+    try {
+      FileChannel channel = this.file.getChannel();
+      this.length = channel.size();
+      this.segmentSize = segmentSize;
+      int segmentCount = (int) ((length + segmentSize - 1) / segmentSize);
+      this.segments = new ByteBuffer[segmentCount];
+      for (int i = 0; i < segmentCount; i++) {
+        long start = i * segmentSize;
+        long size = Math.min(segmentSize, length - start);
+        segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, size).asReadOnlyBuffer();
+      }
+    } catch (IOException e) {
+      this.file.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @return the length of the mapped file
+   */
+  public long getLength() {
+    return length;
+  }
+
+  /**
+   * Returns a read-only view of {@code length} bytes of the file starting at
+   * {@code position}. The returned buffer is positioned at 0 and shares its
+   * content with the mapping, no bytes are copied. The stream position is
+   * not changed.
+   *
+   * @param position the position in the file of the first byte
+   * @param length the number of bytes
+   * @return a view of the range or null if the range spans more than one
+   *         mapped segment
+   * @throws EOFException if the range is not within the file
+   */
+  public ByteBuffer slice(long position, int length) throws EOFException {
+    if (position < 0 || length < 0 || position + length > this.length) {
+      throw new EOFException("Range [" + position + ", " + (position + length)
+          + ") is not within the file of length " + this.length);
+    }
+    int segment = (int) (position / segmentSize);
+    int offset = (int) (position - segment * segmentSize);
+    if (length == 0) {
+      return ByteBuffer.allocate(0);
+    }
+    ByteBuffer buffer = segments[segment].duplicate();
+    if ((long) offset + length > buffer.limit()) {
+      return null;
+    }
+    buffer.position(offset);
+    buffer.limit(offset + length);
+    return buffer.slice();
+  }
+
+  @Override
+  public long getPos() throws IOException {
+    return pos;
+  }
+
+  @Override
+  public void seek(long newPos) throws IOException {
+    if (newPos < 0 || newPos > length) {
+      throw new EOFException("Cannot seek to " + newPos + ", the file length is " + length);
+    }
+    this.pos = newPos;
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (pos >= length) {
+      return -1;
+    }
+    ByteBuffer segment = segments[(int) (pos / segmentSize)];
+    int b = segment.get((int) (pos % segmentSize)) & 0xFF;
+    pos += 1;
+    return b;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    ByteBuffer current = current(len);
+    if (current == null) {
+      return -1;
+    }
+    int count = current.remaining();
+    current.get(b, off, count);
+    pos += count;
+    return count;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    long skipped = Math.max(0, Math.min(n, length - pos));
+    pos += skipped;
+    return skipped;
+  }
+
+  @Override
+  public int available() throws IOException {
+    return (int) Math.min(Integer.MAX_VALUE, length - pos);
+  }
+
+  @Override
+  public void readFully(byte[] bytes) throws IOException {
+    readFully(bytes, 0, bytes.length);
+  }
+
+  @Override
+  public void readFully(byte[] bytes, int start, int len) throws IOException {
+    int offset = start;
+    int remaining = len;
+    while (remaining > 0) {
+      int bytesRead = read(bytes, offset, remaining);
+      if (bytesRead < 0) {
+        throw new EOFException("Reached the end of stream. Still have: " + remaining + " bytes left");
+      }
+      offset += bytesRead;
+      remaining -= bytesRead;
+    }
+  }
+
+  @Override
+  public int read(ByteBuffer buf) throws IOException {
+    if (!buf.hasRemaining()) {
+      return 0;
+    }
+    ByteBuffer current = current(buf.remaining());
+    if (current == null) {
+      return -1;
+    }
+    int count = current.remaining();
+    buf.put(current);
+    pos += count;
+    return count;
+  }
+
+  @Override
+  public void readFully(ByteBuffer buf) throws IOException {
+    while (buf.hasRemaining()) {
+      if (read(buf) < 0) {
+        throw new EOFException("Reached the end of stream. Still have: " + buf.remaining() + " bytes left");
+      }
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    // the mapping stays valid until the buffers are garbage collected
+    file.close();
+  }
+
+  /**
+   * @param maxLength the maximum number of bytes needed
+   * @return a view of at most maxLength bytes from the current position
+   *         within the current segment, or null at the end of the file
+   */
+  private ByteBuffer current(int maxLength) {
+    if (pos >= length) {
+      return null;
+    }
+    int segment = (int) (pos / segmentSize);
+    int offset = (int) (pos - segment * segmentSize);
+    ByteBuffer buffer = segments[segment].duplicate();
+    buffer.position(offset);
+    buffer.limit((int) Math.min(buffer.limit(), (long) offset + maxLength));
+    return buffer;
+  }
+}
@@ -21,6 +21,7 @@ package org.apache.parquet.filter2.compat;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import me.yongshang.cbfm.CBFM;
@@ -32,6 +33,7 @@ import org.junit.Test;
 import org.apache.parquet.column.statistics.IntStatistics;
 import org.apache.parquet.filter2.predicate.Operators.IntColumn;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.MessageTypeParser;
 
@@ -104,6 +106,30 @@ public class TestRowGroupFilter {
     assertEquals(Arrays.asList(b6), filtered);
   }
 
+  @Test
+  public void testSortedRowGroups() {
+    List<BlockMetaData> blocks = new ArrayList<BlockMetaData>();
+    for (int i = 0; i < 10; i++) {
+      IntStatistics stats = new IntStatistics();
+      stats.setMinMax(i * 10, i * 10 + 9);
+      stats.setNumNulls(0);
+      blocks.add(makeBlockFromStats(stats, 300 + i));
+    }
+    MessageType schema = MessageTypeParser.parseMessageType("message Document { optional int32 foo; }");
+    IntColumn foo = intColumn("foo");
+    FileMetaData sorted = new FileMetaData(schema,
+        Collections.singletonMap(FileMetaData.SORTING_COLUMNS_KEY, "foo"), null);
+
+    // the search is used without a file reader
+    List<BlockMetaData> filtered = RowGroupFilter.filterRowGroups(
+        FilterCompat.get(and(gtEq(foo, 25), lt(foo, 40))), blocks, sorted);
+    assertEquals(blocks.subList(2, 4), filtered);
+    filtered = RowGroupFilter.filterRowGroups(FilterCompat.get(eq(foo, 55)), blocks, sorted);
+    assertEquals(blocks.subList(5, 6), filtered);
+    filtered = RowGroupFilter.filterRowGroups(FilterCompat.get(notEq(foo, 55)), blocks, sorted);
+    assertEquals(blocks, filtered);
+  }
+
   @Test
   public void testCBFMRowGroupFilterForString(){
     MessageType schema = MessageTypeParser.parseMessageType("message tbl { required binary a (UTF8); }");
@@ -22,8 +22,12 @@ package org.apache.parquet.filter2.dictionarylevel;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.column.ColumnDescriptor;
 import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DictionaryPage;
 import org.apache.parquet.column.page.DictionaryPageReadStore;
+import org.apache.parquet.column.statistics.BinaryStatistics;
 import org.apache.parquet.example.data.Group;
 import org.apache.parquet.example.data.simple.SimpleGroupFactory;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
@@ -37,9 +41,11 @@ import org.apache.parquet.hadoop.ParquetWriter;
 import org.apache.parquet.hadoop.example.ExampleParquetWriter;
 import org.apache.parquet.hadoop.example.GroupWriteSupport;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 import org.junit.After;
 import org.junit.AfterClass;
 import org.junit.Before;
@@ -219,6 +225,39 @@ public class DictionaryFilterTest {
         canDrop(notEq(b, null), ccmd, dictionaries));
   }
 
+  @Test
+  public void testInBinary() throws Exception {
+    BinaryColumn b = binaryColumn("binary_field");
+
+    assertTrue("Should drop block for upper case letters",
+        canDrop(in(b, new HashSet<Binary>(Arrays.asList(
+            Binary.fromString("A"), Binary.fromString("B")))), ccmd, dictionaries));
+
+    assertFalse("Should not drop block with a known value",
+        canDrop(in(b, new HashSet<Binary>(Arrays.asList(
+            Binary.fromString("A"), Binary.fromString("c")))), ccmd, dictionaries));
+  }
+
+  @Test
+  public void testInNotInInt() throws Exception {
+    IntColumn i32 = intColumn("int32_field");
+    Set<Integer> allValues = new HashSet<Integer>();
+    for (int value : intValues) {
+      allValues.add(value);
+    }
+
+    assertTrue("Should drop: no value in the dictionary",
+        canDrop(in(i32, new HashSet<Integer>(Arrays.asList(1, 2, 3))), ccmd, dictionaries));
+    assertFalse("Should not drop: contains matching values",
+        canDrop(in(i32, new HashSet<Integer>(Arrays.asList(3, 75))), ccmd, dictionaries));
+
+    assertTrue("Should drop: all values are excluded",
+        canDrop(notIn(i32, allValues), ccmd, dictionaries));
+    allValues.remove(75);
+    assertFalse("Should not drop: contains values that are not excluded",
+        canDrop(notIn(i32, allValues), ccmd, dictionaries));
+  }
+
   @Test
   public void testLtInt() throws Exception {
     IntColumn i32 = intColumn("int32_field");
@@ -331,6 +370,36 @@ public class DictionaryFilterTest {
         canDrop(or(x, y), ccmd, dictionaries));
   }
 
+  @Test
+  public void testFixedLenByteArrayDictionary() throws Exception {
+    MessageType flbaSchema = parseMessageType(
+        "message test { required fixed_len_byte_array(4) flba_field; }");
+    ColumnPath path = ColumnPath.get("flba_field");
+    List<ColumnChunkMetaData> columns = Arrays.asList(ColumnChunkMetaData.get(path,
+        PrimitiveTypeName.FIXED_LEN_BYTE_ARRAY, UNCOMPRESSED, null,
+        new HashSet<Encoding>(Arrays.asList(Encoding.PLAIN_DICTIONARY, Encoding.BIT_PACKED)),
+        new BinaryStatistics(), 0, 4, 100, 100, 100));
+    final DictionaryPage page = new DictionaryPage(
+        BytesInput.from("aaaabbbbcccc".getBytes("UTF-8")), 3, Encoding.PLAIN_DICTIONARY);
+    DictionaryPageReadStore dictionaryStore = new DictionaryPageReadStore() {
+      @Override
+      public DictionaryPage readDictionaryPage(ColumnDescriptor descriptor) {
+        return page;
+      }
+    };
+    BinaryColumn flba = binaryColumn("flba_field");
+
+    assertFalse("Should not drop block for a value in the dictionary",
+        canDrop(eq(flba, Binary.fromString("bbbb")), flbaSchema, columns, dictionaryStore));
+    assertTrue("Should drop block for a value not in the dictionary",
+        canDrop(eq(flba, Binary.fromString("dddd")), flbaSchema, columns, dictionaryStore));
+    assertTrue("Should drop block for a value above the dictionary",
+        canDrop(gt(flba, Binary.fromString("cccc")), flbaSchema, columns, dictionaryStore));
+
+    assertFalse("Should not drop block without the length of the values",
+        canDrop(eq(flba, Binary.fromString("dddd")), columns, dictionaryStore));
+  }
+
   @Test
   public void testColumnWithoutDictionary() throws Exception {
     IntColumn plain = intColumn("plain_int32_field");
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.dictionarylevel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.parquet.column.Dictionary;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.junit.Test;
+
+public class TestSortedDictionarySet {
+
+  private static final int[] INTS = { 17, -3, 42, 0, 8 };
+  private static final String[] STRINGS = { "pear", "apple", "fig" };
+
+  private static final Dictionary DICTIONARY = new Dictionary(Encoding.PLAIN_DICTIONARY) {
+    @Override
+    public int getMaxId() {
+      return INTS.length - 1;
+    }
+
+    @Override
+    public int decodeToInt(int id) {
+      return INTS[id];
+    }
+
+    @Override
+    public long decodeToLong(int id) {
+      return INTS[id];
+    }
+
+    @Override
+    public double decodeToDouble(int id) {
+      return INTS[id];
+    }
+  };
+
+  private static final Dictionary BINARY_DICTIONARY = new Dictionary(Encoding.PLAIN_DICTIONARY) {
+    @Override
+    public int getMaxId() {
+      return STRINGS.length - 1;
+    }
+
+    @Override
+    public Binary decodeToBinary(int id) {
+      return Binary.fromString(STRINGS[id]);
+    }
+  };
+
+  @SuppressWarnings("unchecked")
+  private static <T extends Comparable<T>> SortedDictionarySet<T> set(Dictionary dict, PrimitiveTypeName type) {
+    return (SortedDictionarySet<T>) SortedDictionarySet.of(dict, type);
+  }
+
+  @Test
+  public void testIntSet() {
+    SortedDictionarySet<Integer> set = set(DICTIONARY, PrimitiveTypeName.INT32);
+    assertEquals(5, set.size());
+    assertEquals(Integer.valueOf(-3), set.min());
+    assertEquals(Integer.valueOf(42), set.max());
+    for (int value : INTS) {
+      assertTrue(set.contains(value));
+    }
+    assertFalse(set.contains(1));
+    assertFalse(set.contains(43));
+  }
+
+  @Test
+  public void testLongAndDoubleSets() {
+    SortedDictionarySet<Long> longs = set(DICTIONARY, PrimitiveTypeName.INT64);
+    assertEquals(Long.valueOf(-3), longs.min());
+    assertTrue(longs.contains(17L));
+    assertFalse(longs.contains(18L));
+
+    SortedDictionarySet<Double> doubles = set(DICTIONARY, PrimitiveTypeName.DOUBLE);
+    assertEquals(Double.valueOf(42), doubles.max());
+    assertTrue(doubles.contains(0.0));
+    assertFalse(doubles.contains(0.5));
+  }
+
+  @Test
+  public void testBinarySet() {
+    SortedDictionarySet<Binary> set = set(BINARY_DICTIONARY, PrimitiveTypeName.BINARY);
+    assertEquals(3, set.size());
+    assertEquals(Binary.fromString("apple"), set.min());
+    assertEquals(Binary.fromString("pear"), set.max());
+    assertTrue(set.contains(Binary.fromString("fig")));
+    assertFalse(set.contains(Binary.fromString("kiwi")));
+  }
+
+  @Test
+  public void testBooleanIsNotSupported() {
+    assertNull(SortedDictionarySet.of(DICTIONARY, PrimitiveTypeName.BOOLEAN));
+  }
+}
@@ -50,8 +50,10 @@ import static org.apache.parquet.filter2.predicate.FilterApi.doubleColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.longColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
 import static org.apache.parquet.filter2.predicate.FilterApi.not;
 import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.notIn;
 import static org.apache.parquet.filter2.predicate.FilterApi.or;
 import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
 
@@ -248,6 +250,41 @@ public class TestRecordLevelFilters {
     });
   }
 
+  @Test
+  public void testIn() throws Exception {
+    LongColumn id = longColumn("id");
+
+    final HashSet<Long> ids = new HashSet<Long>(Arrays.asList(17L, 28L, 150L, 1000L));
+    FilterPredicate pred = in(id, ids);
+
+    List<Group> found = PhoneBookWriter.readFile(phonebookFile, FilterCompat.get(pred));
+
+    assertFilter(found, new UserFilter() {
+      @Override
+      public boolean keep(User u) {
+        return ids.contains(u.getId());
+      }
+    });
+  }
+
+  @Test
+  public void testNotIn() throws Exception {
+    BinaryColumn name = binaryColumn("name");
+
+    FilterPredicate pred = notIn(name, new HashSet<Binary>(Arrays.asList(
+        Binary.fromString("alice"), Binary.fromString("bob"), Binary.fromString("p150"))));
+
+    List<Group> found = PhoneBookWriter.readFile(phonebookFile, FilterCompat.get(pred));
+
+    assertFilter(found, new UserFilter() {
+      @Override
+      public boolean keep(User u) {
+        String name = u.getName();
+        return !("alice".equals(name) || "bob".equals(name) || "p150".equals(name));
+      }
+    });
+  }
+
   @Test
   public void testComplex() throws Exception {
     BinaryColumn name = binaryColumn("name");
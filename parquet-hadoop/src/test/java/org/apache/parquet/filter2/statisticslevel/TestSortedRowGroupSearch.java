@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.filter2.statisticslevel;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.gt;
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
+import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
+import static org.apache.parquet.filter2.predicate.FilterApi.lt;
+import static org.apache.parquet.filter2.predicate.FilterApi.ltEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.apache.parquet.filter2.statisticslevel.SortedRowGroupSearch.candidates;
+import static org.apache.parquet.filter2.statisticslevel.SortedRowGroupSearch.isSorted;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.statistics.IntStatistics;
+import org.apache.parquet.filter2.predicate.Operators.IntColumn;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.junit.Test;
+
+public class TestSortedRowGroupSearch {
+
+  private static final ColumnPath KEY = ColumnPath.get("key");
+  private static final IntColumn key = intColumn("key");
+  private static final IntColumn other = intColumn("other");
+
+  private static BlockMetaData block(int min, int max) {
+    IntStatistics stats = new IntStatistics();
+    stats.setMinMax(min, max);
+    BlockMetaData block = new BlockMetaData();
+    block.addColumn(ColumnChunkMetaData.get(KEY,
+        PrimitiveTypeName.INT32,
+        CompressionCodecName.UNCOMPRESSED,
+        new HashSet<Encoding>(Arrays.asList(Encoding.PLAIN)),
+        stats,
+        0L, 0L, 10L, 0L, 0L));
+    return block;
+  }
+
+  // row groups of keys [0, 9], [10, 19], ... [990, 999], key 500 spans two row groups
+  private static List<BlockMetaData> sortedBlocks() {
+    List<BlockMetaData> blocks = new ArrayList<BlockMetaData>();
+    for (int i = 0; i < 100; i++) {
+      blocks.add(block(i * 10, i == 49 ? 500 : i * 10 + 9));
+    }
+    return blocks;
+  }
+
+  @Test
+  public void testPointLookup() {
+    List<BlockMetaData> blocks = sortedBlocks();
+    assertEquals(blocks.subList(12, 13), candidates(eq(key, 125), blocks, KEY));
+    assertEquals(blocks.subList(49, 51), candidates(eq(key, 500), blocks, KEY));
+    assertEquals(0, candidates(eq(key, -1), blocks, KEY).size());
+    assertEquals(0, candidates(eq(key, 1000), blocks, KEY).size());
+  }
+
+  @Test
+  public void testRanges() {
+    List<BlockMetaData> blocks = sortedBlocks();
+    assertEquals(blocks.subList(0, 3), candidates(lt(key, 30), blocks, KEY));
+    assertEquals(blocks.subList(0, 4), candidates(ltEq(key, 30), blocks, KEY));
+    assertEquals(blocks.subList(98, 100), candidates(gt(key, 979), blocks, KEY));
+    assertEquals(blocks.subList(97, 100), candidates(gtEq(key, 979), blocks, KEY));
+    assertEquals(blocks.subList(20, 31),
+        candidates(and(gtEq(key, 200), and(eq(other, 3), lt(key, 310))), blocks, KEY));
+    assertEquals(0, candidates(and(gt(key, 500), lt(key, 300)), blocks, KEY).size());
+    assertEquals(blocks.subList(1, 51),
+        candidates(in(key, new HashSet<Integer>(Arrays.asList(10, 42, 500))), blocks, KEY));
+  }
+
+  @Test
+  public void testUnboundedPredicates() {
+    List<BlockMetaData> blocks = sortedBlocks();
+    assertSame(blocks, candidates(eq(other, 3), blocks, KEY));
+    assertSame(blocks, candidates(or(eq(key, 3), eq(other, 3)), blocks, KEY));
+    assertSame(blocks, candidates(eq(key, null), blocks, KEY));
+  }
+
+  private static BlockMetaData blockWithoutStatistics() {
+    BlockMetaData block = new BlockMetaData();
+    block.addColumn(ColumnChunkMetaData.get(KEY,
+        PrimitiveTypeName.INT32,
+        CompressionCodecName.UNCOMPRESSED,
+        new HashSet<Encoding>(Arrays.asList(Encoding.PLAIN)),
+        new IntStatistics(),
+        0L, 0L, 10L, 0L, 0L));
+    return block;
+  }
+
+  @Test
+  public void testMissingStatistics() {
+    List<BlockMetaData> blocks = sortedBlocks();
+    blocks.set(50, blockWithoutStatistics());
+    assertSame(blocks, candidates(eq(key, 125), blocks, KEY));
+  }
+
+  @Test
+  public void testIsSorted() {
+    List<BlockMetaData> blocks = sortedBlocks();
+    assertTrue(isSorted(blocks, KEY));
+    assertTrue(isSorted(new ArrayList<BlockMetaData>(), KEY));
+    assertFalse(isSorted(blocks, ColumnPath.get("other")));
+    blocks.set(80, block(120, 129));
+    assertFalse(isSorted(blocks, KEY));
+    blocks = sortedBlocks();
+    blocks.set(10, block(100, 200));
+    assertFalse(isSorted(blocks, KEY));
+    blocks = sortedBlocks();
+    blocks.set(50, blockWithoutStatistics());
+    assertFalse(isSorted(blocks, KEY));
+  }
+
+  @Test
+  public void testColumnAtAnotherIndex() {
+    List<BlockMetaData> blocks = sortedBlocks();
+    BlockMetaData block = new BlockMetaData();
+    block.addColumn(ColumnChunkMetaData.get(ColumnPath.get("other"),
+        PrimitiveTypeName.INT32,
+        CompressionCodecName.UNCOMPRESSED,
+        new HashSet<Encoding>(Arrays.asList(Encoding.PLAIN)),
+        new IntStatistics(),
+        0L, 0L, 10L, 0L, 0L));
+    block.addColumn(blocks.get(12).getColumns().get(0));
+    blocks.set(12, block);
+    assertTrue(isSorted(blocks, KEY));
+    assertEquals(blocks.subList(12, 13), candidates(eq(key, 125), blocks, KEY));
+  }
+}
@@ -26,6 +26,7 @@ import org.apache.parquet.io.api.Binary;
 import org.junit.Test;
 
 import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.statistics.BinaryStatistics;
 import org.apache.parquet.column.statistics.DoubleStatistics;
 import org.apache.parquet.column.statistics.IntStatistics;
 import org.apache.parquet.hadoop.metadata.ColumnPath;
@@ -46,16 +47,20 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.apache.parquet.filter2.predicate.FilterApi.allOf;
 import static org.apache.parquet.filter2.predicate.FilterApi.and;
+import static org.apache.parquet.filter2.predicate.FilterApi.anyOf;
 import static org.apache.parquet.filter2.predicate.FilterApi.doubleColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.eq;
 import static org.apache.parquet.filter2.predicate.FilterApi.gt;
 import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.in;
 import static org.apache.parquet.filter2.predicate.FilterApi.intColumn;
 import static org.apache.parquet.filter2.predicate.FilterApi.lt;
 import static org.apache.parquet.filter2.predicate.FilterApi.ltEq;
 import static org.apache.parquet.filter2.predicate.FilterApi.not;
 import static org.apache.parquet.filter2.predicate.FilterApi.notEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.notIn;
 import static org.apache.parquet.filter2.predicate.FilterApi.or;
 import static org.apache.parquet.filter2.predicate.FilterApi.userDefined;
 import static org.apache.parquet.filter2.statisticslevel.StatisticsFilter.canDrop;
@@ -164,6 +169,88 @@ public class TestStatisticsFilter {
     assertFalse(canDrop(notEq(missingColumn, fromString("any")), columnMetas));
   }
 
+  @Test
+  public void testIn() {
+    assertTrue(canDrop(in(intColumn, new HashSet<Integer>(Arrays.asList(1, 9, 101, 500))), columnMetas));
+    assertFalse(canDrop(in(intColumn, new HashSet<Integer>(Arrays.asList(1, 10, 500))), columnMetas));
+    assertFalse(canDrop(in(intColumn, new HashSet<Integer>(Arrays.asList(1, 50, 500))), columnMetas));
+    assertFalse(canDrop(in(intColumn, new HashSet<Integer>(Arrays.asList(100, 500))), columnMetas));
+    assertTrue(canDrop(in(intColumn, new HashSet<Integer>()), columnMetas));
+
+    // drop columns of all nulls when looking for non-null values
+    assertTrue(canDrop(in(intColumn, new HashSet<Integer>(Arrays.asList(0, 50))), nullColumnMetas));
+    assertTrue(canDrop(in(missingColumn, new HashSet<Binary>(Arrays.asList(fromString("any")))), columnMetas));
+  }
+
+  @Test
+  public void testNotIn() {
+    assertFalse(canDrop(notIn(intColumn, new HashSet<Integer>(Arrays.asList(10, 100))), columnMetas));
+
+    IntStatistics allSevens = new IntStatistics();
+    allSevens.setMinMax(7, 7);
+    assertTrue(canDrop(notIn(intColumn, new HashSet<Integer>(Arrays.asList(3, 7))), Arrays.asList(
+        getIntColumnMeta(allSevens, 177L),
+        getDoubleColumnMeta(doubleStats, 177L))));
+    assertFalse(canDrop(notIn(intColumn, new HashSet<Integer>(Arrays.asList(3, 8))), Arrays.asList(
+        getIntColumnMeta(allSevens, 177L),
+        getDoubleColumnMeta(doubleStats, 177L))));
+
+    allSevens.setNumNulls(100L);
+    assertFalse(canDrop(notIn(intColumn, new HashSet<Integer>(Arrays.asList(3, 7))), Arrays.asList(
+        getIntColumnMeta(allSevens, 177L),
+        getDoubleColumnMeta(doubleStats, 177L))));
+
+    assertFalse(canDrop(notIn(missingColumn, new HashSet<Binary>(Arrays.asList(fromString("any")))), columnMetas));
+  }
+
+  @Test
+  public void testAnyOf() {
+    assertTrue(canDrop(anyOf(eq(intColumn, 9)), columnMetas));
+    assertFalse(canDrop(anyOf(eq(intColumn, 10)), columnMetas));
+    assertTrue(canDrop(anyOf(gt(intColumn, 100)), columnMetas));
+
+    // no record has elements
+    assertTrue(canDrop(anyOf(notEq(missingColumn, fromString("any"))), columnMetas));
+    assertTrue(canDrop(anyOf(eq(intColumn, 0)), nullColumnMetas));
+  }
+
+  @Test
+  public void testAllOf() {
+    // every record has an element, none of them satisfies the predicate
+    assertTrue(canDrop(allOf(lt(intColumn, 10)), columnMetas));
+    assertFalse(canDrop(allOf(lt(intColumn, 11)), columnMetas));
+
+    // records without elements satisfy allOf
+    IntStatistics statsSomeNulls = new IntStatistics();
+    statsSomeNulls.setMinMax(10, 100);
+    statsSomeNulls.setNumNulls(3);
+    assertFalse(canDrop(allOf(lt(intColumn, 10)), Arrays.asList(
+        getIntColumnMeta(statsSomeNulls, 177L),
+        getDoubleColumnMeta(doubleStats, 177L))));
+    assertFalse(canDrop(allOf(lt(intColumn, 10)), nullColumnMetas));
+    assertFalse(canDrop(allOf(eq(missingColumn, fromString("any"))), columnMetas));
+  }
+
+  @Test
+  public void testNotEqInexact() {
+    BinaryStatistics stats = new BinaryStatistics();
+    stats.setMinMax(fromString("abc"), fromString("abc"));
+    List<ColumnChunkMetaData> metas = Arrays.asList(ColumnChunkMetaData.get(ColumnPath.get("binary", "column"),
+        PrimitiveTypeName.BINARY,
+        CompressionCodecName.GZIP,
+        new HashSet<Encoding>(Arrays.asList(Encoding.PLAIN)),
+        stats,
+        0L, 0L, 177L, 0L, 0L));
+    BinaryColumn binaryColumn = binaryColumn("binary.column");
+
+    assertTrue(canDrop(notEq(binaryColumn, fromString("abc")), metas));
+
+    // truncated bounds do not mean that all values are equal
+    stats.markMinMaxAsInexact();
+    assertFalse(canDrop(notEq(binaryColumn, fromString("abc")), metas));
+    assertTrue(canDrop(eq(binaryColumn, fromString("abd")), metas));
+  }
+
   @Test
   public void testNotEqNull() {
     IntStatistics statsNoNulls = new IntStatistics();
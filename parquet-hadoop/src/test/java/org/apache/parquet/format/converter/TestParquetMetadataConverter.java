@@ -22,20 +22,28 @@ import static java.util.Collections.emptyList;
 import static org.apache.parquet.format.converter.ParquetMetadataConverter.filterFileMetaDataByStart;
 import static org.apache.parquet.schema.MessageTypeParser.parseMessageType;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.apache.parquet.format.CompressionCodec.UNCOMPRESSED;
 import static org.apache.parquet.format.Type.INT32;
 import static org.apache.parquet.format.Util.readPageHeader;
+import static org.apache.parquet.format.Util.writeFileMetaData;
 import static org.apache.parquet.format.Util.writePageHeader;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.NO_FILTER;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.components;
 import static org.apache.parquet.format.converter.ParquetMetadataConverter.filterFileMetaDataByMidpoint;
 import static org.apache.parquet.format.converter.ParquetMetadataConverter.getOffset;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -74,6 +82,8 @@ import org.apache.parquet.format.PageType;
 import org.apache.parquet.format.RowGroup;
 import org.apache.parquet.format.SchemaElement;
 import org.apache.parquet.format.Type;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.MetadataComponent;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.MetadataFilter;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.OriginalType;
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
@@ -319,6 +329,197 @@ public class TestParquetMetadataConverter {
             "}", ParquetMetadata.toPrettyJSON(metadata));
   }
 
+  @Test
+  public void testProjectedColumns() throws IOException {
+    MessageType schema = parseMessageType("message test { required int32 a; required int32 b; required int32 c; }");
+    BlockMetaData block = new BlockMetaData();
+    block.setRowCount(10);
+    block.setTotalByteSize(300);
+    for (String name : Arrays.asList("a", "b", "c")) {
+      IntStatistics stats = new IntStatistics();
+      stats.setMinMax(1, 10);
+      block.addColumn(ColumnChunkMetaData.get(ColumnPath.get(name), PrimitiveTypeName.INT32,
+          CompressionCodecName.UNCOMPRESSED, new HashSet<org.apache.parquet.column.Encoding>(), stats,
+          block.getColumns().size() * 100 + 4, 0, 10, 100, 100));
+    }
+    ParquetMetadataConverter converter = new ParquetMetadataConverter();
+    FileMetaData fileMetaData = converter.toParquetMetadata(1, new ParquetMetadata(
+        new org.apache.parquet.hadoop.metadata.FileMetaData(schema, new HashMap<String, String>(), null),
+        Arrays.asList(block)));
+
+    ParquetMetadata projected = converter.fromParquetMetadata(fileMetaData,
+        new HashSet<ColumnPath>(Arrays.asList(ColumnPath.get("b"))));
+    assertEquals(schema, projected.getFileMetaData().getSchema());
+    BlockMetaData projectedBlock = projected.getBlocks().get(0);
+    assertEquals(10, projectedBlock.getRowCount());
+    assertEquals(300, projectedBlock.getTotalByteSize());
+    assertEquals(1, projectedBlock.getColumns().size());
+    assertEquals(ColumnPath.get("b"), projectedBlock.getColumns().get(0).getPath());
+    assertEquals(104, projectedBlock.getColumns().get(0).getFirstDataPageOffset());
+    assertEquals(10, ((IntStatistics) projectedBlock.getColumns().get(0).getStatistics()).getMax());
+
+    assertEquals(3, converter.fromParquetMetadata(fileMetaData).getBlocks().get(0).getColumns().size());
+  }
+
+  @Test
+  public void testProjectedColumnsWithFooterSections() throws IOException {
+    MessageType schema = parseMessageType("message test { required int32 a; required int32 b; }");
+    BlockMetaData block = new BlockMetaData();
+    block.setRowCount(10);
+    block.setTotalByteSize(200);
+    for (String name : Arrays.asList("a", "b")) {
+      block.addColumn(ColumnChunkMetaData.get(ColumnPath.get(name), PrimitiveTypeName.INT32,
+          CompressionCodecName.UNCOMPRESSED, new HashSet<org.apache.parquet.column.Encoding>(), new IntStatistics(),
+          block.getColumns().size() * 100 + 4, 0, 10, 100, 100));
+    }
+    ParquetMetadataConverter converter = new ParquetMetadataConverter();
+    ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    writeFileMetaData(converter.toParquetMetadata(1, new ParquetMetadata(
+        new org.apache.parquet.hadoop.metadata.FileMetaData(schema, new HashMap<String, String>(), null),
+        Arrays.asList(block))), footer);
+    // the data skipping section written after the thrift metadata with the default flags
+    DataOutputStream sections = new DataOutputStream(footer);
+    sections.writeInt(1);
+    sections.writeLong(4);
+    sections.writeLong(1);
+    sections.flush();
+
+    // the sections are matched to the row group by its position, not by its first projected column
+    ParquetMetadata projected = converter.readParquetMetadata(new ByteArrayInputStream(footer.toByteArray()),
+        NO_FILTER, new HashSet<ColumnPath>(Arrays.asList(ColumnPath.get("b"))));
+    BlockMetaData projectedBlock = projected.getBlocks().get(0);
+    assertEquals(1, projectedBlock.getColumns().size());
+    assertEquals(4, projectedBlock.getStartingPos());
+    assertEquals(200, projectedBlock.getCompressedSize());
+    assertNotNull(projectedBlock.vector);
+
+    // no column is projected
+    projected = converter.readParquetMetadata(new ByteArrayInputStream(footer.toByteArray()),
+        NO_FILTER, new HashSet<ColumnPath>());
+    projectedBlock = projected.getBlocks().get(0);
+    assertEquals(0, projectedBlock.getColumns().size());
+    assertEquals(4, projectedBlock.getStartingPos());
+    assertEquals(200, projectedBlock.getCompressedSize());
+    assertNotNull(projectedBlock.vector);
+  }
+
+  @Test
+  public void testFooterSectionsWithoutColumns() throws IOException {
+    MessageType schema = parseMessageType("message test { required int32 a; }");
+    List<BlockMetaData> blocks = new ArrayList<BlockMetaData>();
+    for (int i = 0; i < 2; i++) {
+      BlockMetaData block = new BlockMetaData();
+      block.setRowCount(10);
+      block.setTotalByteSize(100);
+      block.addColumn(ColumnChunkMetaData.get(ColumnPath.get("a"), PrimitiveTypeName.INT32,
+          CompressionCodecName.UNCOMPRESSED, new HashSet<org.apache.parquet.column.Encoding>(), new IntStatistics(),
+          i * 100 + 4, 0, 10, 100, 100));
+      blocks.add(block);
+    }
+    ParquetMetadataConverter converter = new ParquetMetadataConverter();
+    ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    writeFileMetaData(converter.toParquetMetadata(1, new ParquetMetadata(
+        new org.apache.parquet.hadoop.metadata.FileMetaData(schema, new HashMap<String, String>(), null),
+        blocks)), footer);
+    // the data skipping section written after the thrift metadata with the default flags
+    DataOutputStream sections = new DataOutputStream(footer);
+    sections.writeInt(2);
+    sections.writeLong(104);
+    sections.writeLong(2);
+    sections.writeLong(4);
+    sections.writeLong(5);
+    sections.flush();
+
+    // the row groups are read without their columns
+    ParquetMetadata metadata = converter.readParquetMetadata(new ByteArrayInputStream(footer.toByteArray()),
+        components(NO_FILTER, MetadataComponent.ROW_GROUPS));
+    assertEquals(2, metadata.getBlocks().size());
+    BlockMetaData first = metadata.getBlocks().get(0);
+    assertEquals(0, first.getColumns().size());
+    assertEquals(4, first.getStartingPos());
+    assertEquals(BitSet.valueOf(new long[] { 5 }), first.vector);
+    assertEquals(BitSet.valueOf(new long[] { 2 }), metadata.getBlocks().get(1).vector);
+  }
+
+  @Test
+  public void testMetadataComponents() throws IOException {
+    MessageType schema = parseMessageType("message test { required int32 a; }");
+    BlockMetaData block = new BlockMetaData();
+    block.setRowCount(10);
+    block.setTotalByteSize(100);
+    IntStatistics stats = new IntStatistics();
+    stats.setMinMax(1, 10);
+    block.addColumn(ColumnChunkMetaData.get(ColumnPath.get("a"), PrimitiveTypeName.INT32,
+        CompressionCodecName.UNCOMPRESSED, new HashSet<org.apache.parquet.column.Encoding>(), stats,
+        4, 0, 10, 100, 100));
+    ParquetMetadataConverter converter = new ParquetMetadataConverter();
+    FileMetaData fileMetaData = converter.toParquetMetadata(1, new ParquetMetadata(
+        new org.apache.parquet.hadoop.metadata.FileMetaData(schema, Collections.singletonMap("k", "v"), null),
+        Arrays.asList(block)));
+
+    // statistics need the column chunks
+    ParquetMetadata metadata = converter.fromParquetMetadata(fileMetaData, null,
+        components(NO_FILTER, MetadataComponent.STATISTICS).getComponents());
+    assertEquals(0, metadata.getFileMetaData().getKeyValueMetaData().size());
+    assertEquals(10, ((IntStatistics) metadata.getBlocks().get(0).getColumns().get(0).getStatistics()).getMax());
+
+    metadata = converter.fromParquetMetadata(fileMetaData, null,
+        components(NO_FILTER, MetadataComponent.COLUMNS, MetadataComponent.KEY_VALUE_METADATA).getComponents());
+    assertEquals("v", metadata.getFileMetaData().getKeyValueMetaData().get("k"));
+    ColumnChunkMetaData column = metadata.getBlocks().get(0).getColumns().get(0);
+    assertEquals(4, column.getFirstDataPageOffset());
+    assertEquals(100, column.getTotalSize());
+    assertTrue(column.getStatistics().isEmpty());
+
+    metadata = converter.fromParquetMetadata(fileMetaData, null,
+        components(NO_FILTER, MetadataComponent.ROW_GROUPS).getComponents());
+    assertEquals(10, metadata.getBlocks().get(0).getRowCount());
+    assertEquals(0, metadata.getBlocks().get(0).getColumns().size());
+
+    // the row groups are skipped even if the filter keeps them
+    MetadataFilter filter = components(ParquetMetadataConverter.range(0, 1000), MetadataComponent.KEY_VALUE_METADATA);
+    assertEquals("SKIP_ROW_GROUPS [KEY_VALUE_METADATA]", filter.toString());
+    metadata = converter.fromParquetMetadata(fileMetaData, null, filter.getComponents());
+    assertEquals(0, metadata.getBlocks().size());
+    assertEquals(schema, metadata.getFileMetaData().getSchema());
+    assertEquals("v", metadata.getFileMetaData().getKeyValueMetaData().get("k"));
+  }
+
+  @Test
+  public void testTruncatedStatistics() throws IOException {
+    MessageType schema = parseMessageType(
+        "message test { required binary short; required binary exact; required binary long; }");
+    String[][] values = {
+        { "a", "b" },
+        // as long as the truncate length, but not truncated
+        { "abcdefgh", "bcdefghi" },
+        { "abcdefghijklmnop", "bcdefghijklmnopq" } };
+    BlockMetaData block = new BlockMetaData();
+    block.setRowCount(2);
+    block.setTotalByteSize(300);
+    for (int i = 0; i < values.length; i++) {
+      BinaryStatistics stats = new BinaryStatistics();
+      for (String value : values[i]) {
+        stats.updateStats(Binary.fromString(value));
+      }
+      block.addColumn(ColumnChunkMetaData.get(ColumnPath.get(schema.getFieldName(i)), PrimitiveTypeName.BINARY,
+          CompressionCodecName.UNCOMPRESSED, new HashSet<org.apache.parquet.column.Encoding>(), stats.truncate(8),
+          i * 100 + 4, 0, 2, 100, 100));
+    }
+    ParquetMetadataConverter converter = new ParquetMetadataConverter();
+    FileMetaData fileMetaData = converter.toParquetMetadata(1, new ParquetMetadata(
+        new org.apache.parquet.hadoop.metadata.FileMetaData(schema, new HashMap<String, String>(), Version.FULL_VERSION),
+        Arrays.asList(block)));
+
+    List<ColumnChunkMetaData> columns = converter.fromParquetMetadata(fileMetaData).getBlocks().get(0).getColumns();
+    assertTrue("Short values should be exact", columns.get(0).getStatistics().isMinMaxExact());
+    assertTrue("Values of the truncate length should be exact", columns.get(1).getStatistics().isMinMaxExact());
+    assertEquals(Binary.fromString("abcdefgh"), columns.get(1).getStatistics().genericGetMin());
+    assertFalse("Truncated values should be inexact", columns.get(2).getStatistics().isMinMaxExact());
+    assertEquals(Binary.fromString("abcdefgh"), columns.get(2).getStatistics().genericGetMin());
+    assertEquals(Binary.fromString("bcdefghj"), columns.get(2).getStatistics().genericGetMax());
+  }
+
   private ColumnChunkMetaData createColumnChunkMetaData() {
     Set<org.apache.parquet.column.Encoding> e = new HashSet<org.apache.parquet.column.Encoding>();
     PrimitiveTypeName t = PrimitiveTypeName.BINARY;
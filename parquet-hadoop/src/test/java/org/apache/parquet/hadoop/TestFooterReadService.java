@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+public class TestFooterReadService {
+
+  private final FooterReadService service = new FooterReadService();
+
+  @Test
+  public void testParallelismPerScheme() throws Exception {
+    Configuration conf = new Configuration();
+    conf.setInt(ParquetFileReader.PARQUET_READ_PARALLELISM + ".s3a", 2);
+    conf.setInt(ParquetFileReader.PARQUET_READ_PARALLELISM, 3);
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final CountDownLatch release = new CountDownLatch(1);
+    Callable<Integer> read = new Callable<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        int current = running.incrementAndGet();
+        synchronized (maxRunning) {
+          maxRunning.set(Math.max(maxRunning.get(), current));
+        }
+        release.await();
+        running.decrementAndGet();
+        return current;
+      }
+    };
+    List<Future<Integer>> futures = new ArrayList<Future<Integer>>();
+    for (int i = 0; i < 6; i++) {
+      futures.add(service.submit(conf, new Path("s3a://bucket/file" + i), read, null));
+    }
+    // another scheme is not blocked by the reads of s3a
+    Future<Integer> other = service.submit(conf, new Path("file:///tmp/file"), new Callable<Integer>() {
+      @Override
+      public Integer call() throws Exception {
+        return -1;
+      }
+    }, null);
+    assertEquals(-1, (int) other.get(10, TimeUnit.SECONDS));
+
+    Thread.sleep(100);
+    assertEquals(2, running.get());
+    release.countDown();
+    for (Future<Integer> future : futures) {
+      future.get(10, TimeUnit.SECONDS);
+    }
+    assertEquals(2, maxRunning.get());
+  }
+
+  @Test
+  public void testRetries() throws Exception {
+    Configuration conf = new Configuration();
+    conf.setInt(FooterReadService.PARQUET_READ_RETRIES, 1);
+    final AtomicInteger attempts = new AtomicInteger();
+    Future<String> success = service.submit(conf, new Path("file:///tmp/file"), new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        if (attempts.incrementAndGet() == 1) {
+          throw new IOException("transient");
+        }
+        return "footer";
+      }
+    }, null);
+    assertEquals("footer", success.get(10, TimeUnit.SECONDS));
+    assertEquals(2, attempts.get());
+
+    attempts.set(0);
+    Future<String> failure = service.submit(conf, new Path("file:///tmp/file"), new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        attempts.incrementAndGet();
+        throw new IOException("permanent");
+      }
+    }, null);
+    try {
+      failure.get(10, TimeUnit.SECONDS);
+      fail("the read should fail");
+    } catch (ExecutionException e) {
+      assertTrue(e.getCause() instanceof IOException);
+    }
+    assertEquals(2, attempts.get());
+  }
+
+  @Test
+  public void testCompletionOrder() throws Exception {
+    Configuration conf = new Configuration();
+    final CountDownLatch release = new CountDownLatch(1);
+    BlockingQueue<Future<String>> completed = new LinkedBlockingQueue<Future<String>>();
+    Future<String> slow = service.submit(conf, new Path("file:///tmp/slow"), new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        release.await();
+        return "slow";
+      }
+    }, completed);
+    Future<String> fast = service.submit(conf, new Path("file:///tmp/fast"), new Callable<String>() {
+      @Override
+      public String call() throws Exception {
+        return "fast";
+      }
+    }, completed);
+    // the footers can be used as they arrive
+    assertSame(fast, completed.poll(10, TimeUnit.SECONDS));
+    release.countDown();
+    assertSame(slow, completed.poll(10, TimeUnit.SECONDS));
+  }
+}
@@ -296,6 +296,52 @@ public class TestInputFormat {
     shouldSplitLengthBe(splits, 20, 20, 10, 20, 20, 10);
   }
 
+  /*
+    row groups of sizes 40, 5, 5 in the first hdfs block and 30, 10, 10 in the second one,
+    packed into splits of 50 bytes: each split reads the row groups of one hdfs block
+   */
+  @Test
+  public void testBalancedSplitsOfSkewedRowGroups() throws Exception {
+    blocks = Arrays.asList(newBlock(0, 40), newBlock(40, 5), newBlock(45, 5),
+        newBlock(50, 30), newBlock(80, 10), newBlock(90, 10));
+    withHDFSBlockSize(50, 50);
+    List<ParquetInputSplit> splits = generateBalancedSplits(50);
+    shouldSplitStartBe(splits, 0, 50);
+    shouldSplitBlockSizeBe(splits, 3, 3);
+    shouldSplitLocationBe(splits, 0, 1);
+    shouldSplitLengthBe(splits, 50, 50);
+    shouldOneSplitRowGroupOffsetBe(splits.get(0), 0, 40, 45);
+    shouldOneSplitRowGroupOffsetBe(splits.get(1), 50, 80, 90);
+
+    // a row group larger than the target gets its own split
+    splits = generateBalancedSplits(35);
+    shouldSplitBlockSizeBe(splits, 1, 2, 3);
+    shouldSplitLocationBe(splits, 0, 1, 1);
+    shouldSplitLengthBe(splits, 40, 35, 25);
+    shouldOneSplitRowGroupOffsetBe(splits.get(1), 40, 50);
+    shouldOneSplitRowGroupOffsetBe(splits.get(2), 45, 80, 90);
+  }
+
+  /*
+    a split that has room left is filled with row groups of the next hdfs block
+    rather than creating a new split:
+    aaabb bcccd
+   */
+  @Test
+  public void testBalancedSplitsFillSplits() throws Exception {
+    withHDFSBlockSize(50, 50);
+    List<ParquetInputSplit> splits = generateBalancedSplits(30);
+    shouldSplitBlockSizeBe(splits, 3, 3, 3, 1);
+    shouldSplitLocationBe(splits, 0, 0, 1, 1);
+    shouldSplitLengthBe(splits, 30, 30, 30, 10);
+
+    // only the requested columns are counted
+    schema = MessageTypeParser.parseMessageType("message doc { required binary bar; }");
+    splits = generateBalancedSplits(30);
+    shouldSplitBlockSizeBe(splits, 10);
+    shouldSplitLengthBe(splits, 0);
+  }
+
   public static final class DummyUnboundRecordFilter implements UnboundRecordFilter {
     @Override
     public RecordFilter bind(Iterable<ColumnReader> readers) {
@@ -474,6 +520,15 @@ public class TestInputFormat {
         min, max);
   }
 
+  private List<ParquetInputSplit> generateBalancedSplits(long targetSize) throws IOException {
+    return ClientSideMetadataSplitStrategy.generateBalancedSplits(
+        blocks, hdfsBlocks,
+        fileStatus,
+        schema,
+        extramd,
+        targetSize);
+  }
+
   private List<ParquetInputSplit> generateSplitByDeprecatedConstructor(long min, long max) throws
       IOException {
     List<ParquetInputSplit> splits = new ArrayList<ParquetInputSplit>();
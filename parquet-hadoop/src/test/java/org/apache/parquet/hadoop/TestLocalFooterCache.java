@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+public class TestLocalFooterCache {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private static FileStatus status(String name, long length, long modificationTime) {
+    return new FileStatus(length, false, 1, 1024, modificationTime, new Path("hdfs://nn/table/" + name));
+  }
+
+  private static byte[] footer(int size, int seed) {
+    byte[] footer = new byte[size];
+    for (int i = 0; i < size; i++) {
+      footer[i] = (byte) (i * 31 + seed);
+    }
+    return footer;
+  }
+
+  @Test
+  public void testGetAndPut() throws Exception {
+    LocalFooterCache cache = new LocalFooterCache(new File(temp.getRoot(), "footers"), 1024 * 1024);
+    FileStatus file = status("part-0.parquet", 1000, 10);
+    assertNull(cache.get(file));
+
+    byte[] footer = footer(100, 1);
+    cache.put(file, footer);
+    assertArrayEquals(footer, cache.get(file));
+    assertArrayEquals(footer, cache.get(status("part-0.parquet", 1000, 10)));
+
+    // the file was rewritten
+    assertNull(cache.get(status("part-0.parquet", 1000, 11)));
+    assertNull(cache.get(status("part-0.parquet", 1001, 10)));
+    assertNull(cache.get(status("part-1.parquet", 1000, 10)));
+  }
+
+  @Test
+  public void testSharedDirectory() throws Exception {
+    File dir = new File(temp.getRoot(), "footers");
+    FileStatus file = status("part-0.parquet", 1000, 10);
+    byte[] footer = footer(100, 2);
+    new LocalFooterCache(dir, 1024 * 1024).put(file, footer);
+    assertArrayEquals(footer, new LocalFooterCache(dir, 1024 * 1024).get(file));
+
+    Configuration conf = new Configuration();
+    assertNull(LocalFooterCache.get(conf));
+    conf.set(ParquetInputFormat.FOOTER_CACHE_DIR, dir.getAbsolutePath());
+    assertSame(LocalFooterCache.get(conf), LocalFooterCache.get(conf));
+    assertArrayEquals(footer, LocalFooterCache.get(conf).get(file));
+  }
+
+  @Test
+  public void testPutExistingEntry() throws Exception {
+    File dir = new File(temp.getRoot(), "footers");
+    LocalFooterCache cache = new LocalFooterCache(dir, 1024 * 1024);
+    FileStatus file = status("part-0.parquet", 1000, 10);
+    byte[] footer = footer(100, 3);
+    cache.put(file, footer);
+    long size = cache.size();
+    assertEquals(directorySize(dir), size);
+
+    // the entry is not written or counted again
+    cache.put(file, footer);
+    new LocalFooterCache(dir, 1024 * 1024).put(file, footer);
+    assertEquals(size, cache.size());
+    assertEquals(1, files(dir).length);
+    assertArrayEquals(footer, cache.get(file));
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() throws Exception {
+    File dir = new File(temp.getRoot(), "footers");
+    // room for about 3 footers
+    LocalFooterCache cache = new LocalFooterCache(dir, 3500);
+    long lastUsed = System.currentTimeMillis() - 3600 * 1000;
+    for (int i = 0; i < 5; i++) {
+      putAndSetLastUsed(cache, dir, status("part-" + i, 1000, 10), footer(1000, i), lastUsed + i * 10000);
+    }
+    assertTrue(directorySize(dir) <= 3500);
+    assertNull(cache.get(status("part-0", 1000, 10)));
+    assertNull(cache.get(status("part-1", 1000, 10)));
+
+    // part-2 becomes the most recently used
+    assertNotNull(cache.get(status("part-2", 1000, 10)));
+    putAndSetLastUsed(cache, dir, status("part-5", 1000, 10), footer(1000, 5), System.currentTimeMillis());
+    assertTrue(directorySize(dir) <= 3500);
+    assertArrayEquals(footer(1000, 2), cache.get(status("part-2", 1000, 10)));
+    assertArrayEquals(footer(1000, 5), cache.get(status("part-5", 1000, 10)));
+    assertNull(cache.get(status("part-3", 1000, 10)));
+  }
+
+  private static void putAndSetLastUsed(LocalFooterCache cache, File dir, FileStatus file, byte[] footer, long lastUsed) {
+    Set<File> before = new HashSet<File>(Arrays.asList(files(dir)));
+    cache.put(file, footer);
+    for (File entry : files(dir)) {
+      if (!before.contains(entry)) {
+        assertTrue(entry.setLastModified(lastUsed));
+      }
+    }
+  }
+
+  private static File[] files(File dir) {
+    File[] files = dir.listFiles();
+    return files == null ? new File[0] : files;
+  }
+
+  private static long directorySize(File dir) {
+    long size = 0;
+    for (File entry : files(dir)) {
+      size += entry.length();
+    }
+    return size;
+  }
+}
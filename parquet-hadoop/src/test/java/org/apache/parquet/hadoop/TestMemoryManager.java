@@ -18,6 +18,11 @@
  */
 package org.apache.parquet.hadoop;
 
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapreduce.RecordWriter;
@@ -32,6 +37,8 @@ import org.apache.parquet.schema.MessageTypeParser;
 
 import java.io.File;
 import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -121,6 +128,43 @@ public class TestMemoryManager {
         0, getTotalAllocation());
   }
 
+  @Test
+  public void testFairSharing() throws Exception {
+    MemoryManager memoryManager = ParquetOutputFormat.getMemoryManager();
+    long poolSize = memoryManager.getTotalMemoryPool();
+    long smallRowGroupSize = poolSize / 10;
+    long rowGroupSize = poolSize / 2;
+    long scaleCount = memoryManager.getScaleCount();
+
+    conf.setLong(ParquetOutputFormat.BLOCK_SIZE, smallRowGroupSize);
+    RecordWriter writer1 = createWriter(1);
+    conf.setLong(ParquetOutputFormat.BLOCK_SIZE, rowGroupSize);
+    RecordWriter writer2 = createWriter(2);
+    RecordWriter writer3 = createWriter(3);
+
+    Assert.assertTrue("Allocations should never exceed pool size",
+        getTotalAllocation() <= poolSize);
+    Assert.assertEquals("Allocations should have been scaled once",
+        scaleCount + 1, memoryManager.getScaleCount());
+    long largeShare = (poolSize - smallRowGroupSize) / 2;
+    for (Map.Entry<InternalParquetRecordWriter, Long> entry :
+        memoryManager.getWriterList().entrySet()) {
+      if (entry.getValue() == smallRowGroupSize) {
+        Assert.assertEquals("Small writers should keep their row group size",
+            smallRowGroupSize, entry.getKey().getRowGroupSizeThreshold());
+      } else {
+        Assert.assertTrue("Large writers should share the rest of the pool",
+            Math.abs(largeShare - entry.getKey().getRowGroupSizeThreshold()) <= 1);
+      }
+    }
+
+    writer1.close(null);
+    writer2.close(null);
+    writer3.close(null);
+    Assert.assertEquals("Closed writers should not buffer anything",
+        0, memoryManager.getHeapMemoryUsage());
+  }
+
   @Test
   public void testReallocationCallback() throws Exception {
     // validate assumptions
@@ -166,6 +210,102 @@ public class TestMemoryManager {
         1, ParquetOutputFormat.getMemoryManager().getScaleCallBacks().size());
   }
 
+  @Test
+  public void testForcedFlush() {
+    // a heap pool of 1000 bytes and a direct pool of 500 bytes
+    MemoryManager memoryManager = new MemoryManager(0.5f, 0, 2000, 1000);
+    Assert.assertEquals(1000, memoryManager.getTotalMemoryPool());
+    Assert.assertEquals(500, memoryManager.getDirectMemoryPool());
+    InternalParquetRecordWriter heap1 = mockWriter(memoryManager, false);
+    InternalParquetRecordWriter heap2 = mockWriter(memoryManager, false);
+    InternalParquetRecordWriter direct = mockWriter(memoryManager, true);
+
+    Assert.assertFalse(memoryManager.updateUsage(heap1, 600));
+    Assert.assertFalse(memoryManager.updateUsage(direct, 400));
+    Assert.assertEquals(600, memoryManager.getHeapMemoryUsage());
+    Assert.assertEquals(400, memoryManager.getDirectMemoryUsage());
+    Assert.assertEquals(0, memoryManager.getForcedFlushCount());
+
+    // heap2 fills the heap pool: heap1 buffers the most and is asked to flush
+    Assert.assertFalse(memoryManager.updateUsage(heap2, 500));
+    verify(heap1).requestFlush();
+    verify(heap2, never()).requestFlush();
+    verify(direct, never()).requestFlush();
+    Assert.assertEquals(1, memoryManager.getForcedFlushCount());
+
+    // the direct pool is full and its largest writer is the one reporting: it flushes now
+    Assert.assertTrue(memoryManager.updateUsage(direct, 600));
+    verify(direct, never()).requestFlush();
+    Assert.assertEquals(600, memoryManager.getDirectMemoryUsage());
+    Assert.assertEquals(2, memoryManager.getForcedFlushCount());
+    Assert.assertEquals(0, memoryManager.getScaleCount());
+  }
+
+  @Test
+  public void testForcedFlushOfIdleWriter() {
+    MemoryManager memoryManager = new MemoryManager(0.5f, 0, 2000, 1000);
+    InternalParquetRecordWriter idle = mockWriter(memoryManager, false);
+    InternalParquetRecordWriter writer1 = mockWriter(memoryManager, false);
+    InternalParquetRecordWriter writer2 = mockWriter(memoryManager, false);
+
+    memoryManager.updateUsage(idle, 600);
+    memoryManager.updateUsage(writer1, 100);
+    memoryManager.updateUsage(writer2, 100);
+    memoryManager.updateUsage(writer1, 200);
+    // the idle writer buffers the most but would not flush: the active writers do
+    Assert.assertTrue(memoryManager.updateUsage(writer2, 300));
+    verify(idle, never()).requestFlush();
+    // writer2 flushed
+    Assert.assertFalse(memoryManager.updateUsage(writer2, 0));
+    Assert.assertFalse(memoryManager.updateUsage(writer1, 350));
+    Assert.assertFalse(memoryManager.updateUsage(writer2, 100));
+    verify(writer1).requestFlush();
+    verify(idle, never()).requestFlush();
+    Assert.assertEquals(2, memoryManager.getForcedFlushCount());
+  }
+
+  @Test
+  public void testMaxDirectMemory() {
+    long heap = 7;
+    Assert.assertEquals(512L * 1024 * 1024, MemoryManager.getMaxDirectMemory(
+        Arrays.asList("-Xmx1g", "-XX:MaxDirectMemorySize=512m"), heap));
+    Assert.assertEquals(2L * 1024 * 1024 * 1024, MemoryManager.getMaxDirectMemory(
+        Arrays.asList("-XX:MaxDirectMemorySize=2G"), heap));
+    Assert.assertEquals(64 * 1024, MemoryManager.getMaxDirectMemory(
+        Arrays.asList("-XX:MaxDirectMemorySize=64k"), heap));
+    Assert.assertEquals(4096, MemoryManager.getMaxDirectMemory(
+        Arrays.asList("-XX:MaxDirectMemorySize=4096"), heap));
+    Assert.assertEquals(heap, MemoryManager.getMaxDirectMemory(
+        Arrays.asList("-XX:MaxDirectMemorySize=lots"), heap));
+    Assert.assertEquals(heap, MemoryManager.getMaxDirectMemory(
+        Arrays.asList("-Xmx1g"), heap));
+  }
+
+  @Test
+  public void testScaleCount() {
+    MemoryManager memoryManager = new MemoryManager(0.5f, 0, 2000, 1000);
+    mockWriter(memoryManager, true, 500);
+    // the writer using direct memory does not use the heap pool
+    mockWriter(memoryManager, false, 600);
+    Assert.assertEquals(0, memoryManager.getScaleCount());
+    mockWriter(memoryManager, false, 600);
+    Assert.assertEquals(1, memoryManager.getScaleCount());
+    Assert.assertEquals(0, memoryManager.getHeapMemoryUsage());
+    Assert.assertEquals(0, memoryManager.getDirectMemoryUsage());
+  }
+
+  private static InternalParquetRecordWriter mockWriter(MemoryManager memoryManager, boolean direct) {
+    return mockWriter(memoryManager, direct, 100);
+  }
+
+  private static InternalParquetRecordWriter mockWriter(MemoryManager memoryManager, boolean direct,
+                                                        long allocation) {
+    InternalParquetRecordWriter writer = mock(InternalParquetRecordWriter.class);
+    when(writer.usesDirectMemory()).thenReturn(direct);
+    memoryManager.addWriter(writer, allocation);
+    return writer;
+  }
+
   @Rule
   public TemporaryFolder temp = new TemporaryFolder();
 
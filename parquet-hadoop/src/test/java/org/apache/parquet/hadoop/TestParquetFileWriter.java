@@ -20,10 +20,13 @@ package org.apache.parquet.hadoop;
 
 
 import me.yongshang.cbfm.CBFM;
+import me.yongshang.cbfm.FullBitmapIndex;
+import me.yongshang.dataskipping.DSConfig;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.CorruptStatistics;
 import org.apache.parquet.Version;
@@ -44,7 +47,10 @@ import org.apache.parquet.column.page.PageReader;
 import org.apache.parquet.column.statistics.BinaryStatistics;
 import org.apache.parquet.column.statistics.LongStatistics;
 import org.apache.parquet.format.Statistics;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.format.converter.ParquetMetadataConverter.MetadataFilter;
 import org.apache.parquet.hadoop.metadata.*;
+import org.apache.parquet.hadoop.util.HadoopStreams;
 import org.apache.parquet.hadoop.util.HiddenFileFilter;
 import org.apache.parquet.io.api.Binary;
 import org.apache.parquet.schema.MessageType;
@@ -53,10 +59,13 @@ import org.apache.parquet.schema.PrimitiveType;
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
 
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.parquet.CorruptStatistics.shouldIgnoreStatistics;
+import static org.apache.parquet.format.converter.ParquetMetadataConverter.SKIP_ROW_GROUPS;
 import static org.apache.parquet.hadoop.ParquetFileWriter.Mode.OVERWRITE;
 import static org.junit.Assert.*;
 import static org.apache.parquet.column.Encoding.BIT_PACKED;
@@ -68,6 +77,7 @@ import static org.apache.parquet.hadoop.TestUtils.enforceEmptyDir;
 import org.apache.parquet.example.data.Group;
 import org.apache.parquet.example.data.simple.SimpleGroup;
 
+import org.apache.parquet.hadoop.example.GroupReadSupport;
 import org.apache.parquet.hadoop.example.GroupWriteSupport;
 import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
@@ -268,6 +278,299 @@ public class TestParquetFileWriter {
     PrintFooter.main(new String[] {path.toString()});
   }
 
+  @Test
+  public void testReadFooterLargerThanReadSize() throws Exception {
+    CBFM.ON = false;
+    File testFile = temp.newFile();
+    testFile.delete();
+
+    Path path = new Path(testFile.toURI());
+    Configuration configuration = new Configuration();
+
+    ParquetFileWriter w = new ParquetFileWriter(configuration, SCHEMA, path);
+    w.start();
+    for (int i = 0; i < 10; i++) {
+      w.startBlock(3);
+      w.startColumn(C1, 5, CODEC);
+      w.writeDataPage(2, 4, BytesInput.from(BYTES1), STATS1, BIT_PACKED, BIT_PACKED, PLAIN);
+      w.endColumn();
+      w.startColumn(C2, 6, CODEC);
+      w.writeDataPage(2, 4, BytesInput.from(BYTES2), STATS2, BIT_PACKED, BIT_PACKED, PLAIN);
+      w.endColumn();
+      w.endBlock();
+    }
+    w.end(new HashMap<String, String>());
+
+    ParquetMetadata expected = ParquetFileReader.readFooter(configuration, path);
+
+    // the footer does not fit in the tail read and the rest of it is read separately
+    configuration.setInt(ParquetInputFormat.FOOTER_READ_SIZE, 16);
+    ParquetMetadata footer = ParquetFileReader.readFooter(configuration, path);
+    assertEquals(ParquetMetadata.toJSON(expected), ParquetMetadata.toJSON(footer));
+    assertEquals(10, footer.getBlocks().size());
+  }
+
+  @Test
+  public void testReadFooterFromRowGroupIndex() throws Exception {
+    CBFM.ON = false;
+    // with the data skipping section after the thrift metadata
+    boolean dataSkipping = DSConfig.ON;
+    DSConfig.ON = true;
+    try {
+      readFooterFromRowGroupIndex();
+    } finally {
+      DSConfig.ON = dataSkipping;
+    }
+  }
+
+  @Test
+  public void testReadFooterFromRowGroupIndexWithoutSections() throws Exception {
+    CBFM.ON = false;
+    boolean fullBitmapIndex = FullBitmapIndex.ON;
+    boolean dataSkipping = DSConfig.ON;
+    FullBitmapIndex.ON = false;
+    DSConfig.ON = false;
+    try {
+      readFooterFromRowGroupIndex();
+    } finally {
+      FullBitmapIndex.ON = fullBitmapIndex;
+      DSConfig.ON = dataSkipping;
+    }
+  }
+
+  private void readFooterFromRowGroupIndex() throws Exception {
+    Configuration configuration = new Configuration();
+    Path path = writeBlocks(configuration, 10);
+    configuration.setBoolean(ParquetOutputFormat.FOOTER_ROW_GROUP_INDEX, true);
+    Path indexedPath = writeBlocks(configuration, 10);
+
+    ParquetMetadata expected = ParquetFileReader.readFooter(configuration, path);
+    assertEquals(ParquetMetadata.toJSON(expected),
+        ParquetMetadata.toJSON(ParquetFileReader.readFooter(configuration, indexedPath)));
+
+    List<BlockMetaData> blocks = expected.getBlocks();
+    MetadataFilter range = ParquetMetadataConverter.range(
+        blocks.get(3).getStartingPos(), blocks.get(6).getStartingPos());
+    MetadataFilter offsets = ParquetMetadataConverter.offsets(
+        blocks.get(1).getStartingPos(), blocks.get(8).getStartingPos());
+    for (int readSize : new int[] { 16, 1024 * 1024 }) {
+      // the index is either read separately or from the tail
+      configuration.setInt(ParquetInputFormat.FOOTER_READ_SIZE, readSize);
+      ParquetMetadata footer = ParquetFileReader.readFooter(configuration, indexedPath, range);
+      assertEquals(3, footer.getBlocks().size());
+      assertEquals(ParquetMetadata.toJSON(ParquetFileReader.readFooter(configuration, path, range)),
+          ParquetMetadata.toJSON(footer));
+
+      for (BlockMetaData block : footer.getBlocks()) {
+        // the sections are read from their offset in the index
+        assertEquals(DSConfig.ON, block.vector != null);
+      }
+
+      footer = ParquetFileReader.readFooter(configuration, indexedPath, offsets);
+      assertEquals(2, footer.getBlocks().size());
+      assertEquals(ParquetMetadata.toJSON(ParquetFileReader.readFooter(configuration, path, offsets)),
+          ParquetMetadata.toJSON(footer));
+
+      footer = ParquetFileReader.readFooter(configuration, indexedPath, SKIP_ROW_GROUPS);
+      assertEquals(0, footer.getBlocks().size());
+      assertEquals(expected.getFileMetaData().getSchema(), footer.getFileMetaData().getSchema());
+    }
+  }
+
+  @Test
+  public void testSideMetadata() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setInt(ParquetOutputFormat.SIDE_METADATA_THRESHOLD, 16);
+    Map<String, String> extraMetaData = new HashMap<String, String>();
+    extraMetaData.put("small", "value");
+    StringBuilder large = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      large.append(i);
+    }
+    extraMetaData.put("large", large.toString());
+    Path path = writeBlocks(configuration, 2, extraMetaData);
+
+    // the footer only has a reference to the large value
+    FSDataInputStream in = path.getFileSystem(configuration).open(path);
+    try {
+      long fileLen = path.getFileSystem(configuration).getFileStatus(path).getLen();
+      Map<String, String> footerMetaData = ParquetFileReader.readFooter(fileLen, path.toString(),
+          HadoopStreams.wrap(in), ParquetMetadataConverter.NO_FILTER).getFileMetaData().getKeyValueMetaData();
+      assertEquals("value", footerMetaData.get("small"));
+      assertNull(footerMetaData.get("large"));
+      assertTrue(footerMetaData.containsKey(SideMetadata.KEY_PREFIX + "large"));
+    } finally {
+      in.close();
+    }
+
+    FileMetaData fileMetaData = ParquetFileReader.readFooter(configuration, path).getFileMetaData();
+    assertEquals(extraMetaData.keySet(), fileMetaData.getKeyValueMetaData().keySet());
+    assertEquals(large.toString(), fileMetaData.getKeyValueMetaData().get("large"));
+    assertEquals(extraMetaData, fileMetaData.getKeyValueMetaData());
+  }
+
+  @Test
+  public void testSideMetadataReadWhenUsed() throws Exception {
+    Configuration configuration = new Configuration();
+    configuration.setInt(ParquetOutputFormat.SIDE_METADATA_THRESHOLD, 16);
+    configuration.setClass("fs.file.impl", CountingFileSystem.class, FileSystem.class);
+    configuration.setBoolean("fs.file.impl.disable.cache", true);
+    final Map<String, String> extraMetaData = new HashMap<String, String>();
+    StringBuilder large = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      large.append(i);
+    }
+    extraMetaData.put("large", large.toString());
+    MessageType schema = MessageTypeParser.parseMessageType("message m { required int32 i; }");
+    GroupWriteSupport.setSchema(schema, configuration);
+    File testFile = temp.newFile();
+    testFile.delete();
+    Path path = new Path(testFile.toURI());
+    ParquetWriter<Group> writer = new ParquetWriter<Group>(path, configuration, new GroupWriteSupport() {
+      @Override
+      public WriteContext init(Configuration configuration) {
+        return new WriteContext(super.init(configuration).getSchema(), extraMetaData);
+      }
+    });
+    writer.write(new SimpleGroup(schema).append("i", 1));
+    writer.close();
+
+    // the record reader does not read the value when the read support does not use it
+    final List<Map<String, String>> readMetaData = new ArrayList<Map<String, String>>();
+    ParquetReader<Group> reader = ParquetReader.builder(new GroupReadSupport() {
+      @Override
+      public ReadContext init(Configuration configuration, Map<String, String> keyValueMetaData,
+                              MessageType fileSchema) {
+        readMetaData.add(keyValueMetaData);
+        return super.init(configuration, keyValueMetaData, fileSchema);
+      }
+    }, path).withConf(configuration).build();
+    try {
+      assertEquals(1, reader.read().getInteger("i", 0));
+      assertNull(reader.read());
+    } finally {
+      reader.close();
+    }
+    int opens = CountingFileSystem.OPENS.get();
+    assertTrue(readMetaData.get(0).containsKey("large"));
+    assertEquals(opens, CountingFileSystem.OPENS.get());
+    assertEquals(large.toString(), readMetaData.get(0).get("large"));
+    assertEquals(opens + 1, CountingFileSystem.OPENS.get());
+
+    // merging the same value of two footers does not read it either
+    FileMetaData fileMetaData1 = ParquetFileReader.readFooter(configuration, path).getFileMetaData();
+    FileMetaData fileMetaData2 = ParquetFileReader.readFooter(configuration, path).getFileMetaData();
+    opens = CountingFileSystem.OPENS.get();
+    GlobalMetaData merged = ParquetFileWriter.mergeInto(fileMetaData2,
+        ParquetFileWriter.mergeInto(fileMetaData1, null));
+    Set<String> values = merged.getKeyValueMetaData().get("large");
+    assertEquals(1, values.size());
+    assertEquals(opens, CountingFileSystem.OPENS.get());
+    assertEquals(large.toString(), values.iterator().next());
+    assertEquals(opens + 1, CountingFileSystem.OPENS.get());
+  }
+
+  @Test
+  public void testSideMetadataReservedPrefix() throws Exception {
+    Map<String, String> extraMetaData = new HashMap<String, String>();
+    extraMetaData.put(SideMetadata.KEY_PREFIX + "key", "0,1");
+    try {
+      writeBlocks(new Configuration(), 1, extraMetaData);
+      fail("the key should be rejected");
+    } catch (IllegalArgumentException e) {
+      assertTrue(e.getMessage().contains(SideMetadata.KEY_PREFIX));
+    }
+  }
+
+  /**
+   * Counts the files opened.
+   */
+  public static class CountingFileSystem extends LocalFileSystem {
+    private static final AtomicInteger OPENS = new AtomicInteger();
+
+    @Override
+    public FSDataInputStream open(Path f, int bufferSize) throws IOException {
+      OPENS.incrementAndGet();
+      return super.open(f, bufferSize);
+    }
+  }
+
+  @Test
+  public void testSortingColumnsAreChecked() throws Exception {
+    Configuration configuration = new Configuration();
+    List<ColumnPath> sortingColumns = Arrays.asList(ColumnPath.get(PATH2));
+    Map<String, String> extraMetaData = Collections.singletonMap(
+        FileMetaData.SORTING_COLUMNS_KEY, FileMetaData.encodeSortingColumns(sortingColumns));
+
+    Path sorted = writeBlocksFrom(configuration, extraMetaData, 1, 3, 5);
+    assertEquals(sortingColumns,
+        ParquetFileReader.readFooter(configuration, sorted).getFileMetaData().getSortingColumns());
+
+    // the row groups are not in order: the file is not recorded as sorted
+    Path unsorted = writeBlocksFrom(configuration, extraMetaData, 1, 5, 3);
+    assertTrue(ParquetFileReader.readFooter(configuration, unsorted).getFileMetaData().getSortingColumns().isEmpty());
+  }
+
+  @Test
+  public void testSortingColumnsEncoding() {
+    List<ColumnPath> columns = Arrays.asList(ColumnPath.get("a.b", "c"), ColumnPath.get("x,y"),
+        ColumnPath.get("back\\slash"), ColumnPath.get("d"));
+    String encoded = FileMetaData.encodeSortingColumns(columns);
+    assertEquals("a\\.b.c,x\\,y,back\\\\slash,d", encoded);
+    assertEquals(columns, FileMetaData.decodeSortingColumns(encoded));
+    // names without escapes are read as before
+    assertEquals(Arrays.asList(ColumnPath.get("a", "b"), ColumnPath.get("c")),
+        FileMetaData.decodeSortingColumns("a.b,c"));
+  }
+
+  // writes a row group for each min, with the values of c.d in [min, min + 1]
+  private Path writeBlocksFrom(Configuration configuration, Map<String, String> extraMetaData, long... mins)
+      throws Exception {
+    File testFile = temp.newFile();
+    testFile.delete();
+    Path path = new Path(testFile.toURI());
+    ParquetFileWriter w = new ParquetFileWriter(configuration, SCHEMA, path);
+    w.start();
+    for (long min : mins) {
+      LongStatistics stats = new LongStatistics();
+      stats.setMinMax(min, min + 1);
+      w.startBlock(3);
+      w.startColumn(C1, 5, CODEC);
+      w.writeDataPage(2, 4, BytesInput.from(BYTES1), STATS1, BIT_PACKED, BIT_PACKED, PLAIN);
+      w.endColumn();
+      w.startColumn(C2, 6, CODEC);
+      w.writeDataPage(2, 4, BytesInput.from(BYTES2), stats, BIT_PACKED, BIT_PACKED, PLAIN);
+      w.endColumn();
+      w.endBlock();
+    }
+    w.end(extraMetaData);
+    return path;
+  }
+
+  private Path writeBlocks(Configuration configuration, int blockCount) throws Exception {
+    return writeBlocks(configuration, blockCount, new HashMap<String, String>());
+  }
+
+  private Path writeBlocks(Configuration configuration, int blockCount, Map<String, String> extraMetaData) throws Exception {
+    File testFile = temp.newFile();
+    testFile.delete();
+    Path path = new Path(testFile.toURI());
+    ParquetFileWriter w = new ParquetFileWriter(configuration, SCHEMA, path);
+    w.start();
+    for (int i = 0; i < blockCount; i++) {
+      w.startBlock(3);
+      w.startColumn(C1, 5, CODEC);
+      w.writeDataPage(2, 4, BytesInput.from(BYTES1), STATS1, BIT_PACKED, BIT_PACKED, PLAIN);
+      w.endColumn();
+      w.startColumn(C2, 6, CODEC);
+      w.writeDataPage(2, 4, BytesInput.from(BYTES2), STATS2, BIT_PACKED, BIT_PACKED, PLAIN);
+      w.endColumn();
+      w.endBlock();
+    }
+    w.end(extraMetaData);
+    return path;
+  }
+
   @Test
   public void testAlignmentWithPadding() throws Exception {
     File testFile = temp.newFile();
@@ -632,6 +935,134 @@ public class TestParquetFileWriter {
 
   }
 
+  @Test
+  public void testIncrementalMetaDataFile() throws Exception {
+    CBFM.ON = false;
+    File testDir = temp.newFolder();
+    Path testDirPath = new Path(testDir.toURI());
+    Configuration configuration = new Configuration();
+    configuration.setBoolean(ParquetOutputFormat.JOB_SUMMARY_INCREMENTAL, true);
+    final FileSystem fs = testDirPath.getFileSystem(configuration);
+    enforceEmptyDir(configuration, testDirPath);
+
+    MessageType schema = MessageTypeParser.parseMessageType("message m { required group a {required binary b;} required group c { required int64 d; }}");
+    createFile(configuration, new Path(testDirPath, "part0"), schema);
+    createFile(configuration, new Path(testDirPath, "part1"), schema);
+    long written = System.currentTimeMillis() - 3600 * 1000;
+    assertTrue(new File(testDir, "part0").setLastModified(written));
+    assertTrue(new File(testDir, "part1").setLastModified(written));
+    ParquetOutputCommitter.writeMetaDataFile(configuration, testDirPath);
+
+    // part0 is not read again: it did not change since the summary was written
+    File part0 = new File(testDir, "part0");
+    byte[] corrupted = new byte[(int) part0.length()];
+    FileOutputStream out = new FileOutputStream(part0);
+    out.write(corrupted);
+    out.close();
+    assertTrue(part0.setLastModified(written));
+
+    createFile(configuration, new Path(testDirPath, "part2"), schema);
+    ParquetOutputCommitter.writeMetaDataFile(configuration, testDirPath);
+
+    FileStatus metadataFile = fs.getFileStatus(new Path(testDirPath, ParquetFileWriter.PARQUET_METADATA_FILE));
+    validateFooters(ParquetFileReader.readSummaryFile(configuration, metadataFile));
+  }
+
+  @Test
+  public void testIncrementalCommonMetaDataFile() throws Exception {
+    CBFM.ON = false;
+    File testDir = temp.newFolder();
+    Path testDirPath = new Path(testDir.toURI());
+    Configuration configuration = new Configuration();
+    configuration.setBoolean(ParquetOutputFormat.JOB_SUMMARY_INCREMENTAL, true);
+    configuration.set(ParquetOutputFormat.JOB_SUMMARY_LEVEL, JobSummaryLevel.COMMON_ONLY.toString());
+    final FileSystem fs = testDirPath.getFileSystem(configuration);
+    enforceEmptyDir(configuration, testDirPath);
+
+    MessageType schema = MessageTypeParser.parseMessageType("message m { required group a {required binary b;} required group c { required int64 d; }}");
+    createFile(configuration, new Path(testDirPath, "part0"), schema);
+    createFile(configuration, new Path(testDirPath, "part1"), schema);
+    long written = System.currentTimeMillis() - 3600 * 1000;
+    assertTrue(new File(testDir, "part0").setLastModified(written));
+    assertTrue(new File(testDir, "part1").setLastModified(written));
+    ParquetOutputCommitter.writeMetaDataFile(configuration, testDirPath);
+
+    // part2 is older than the summary but not in it, part1 is removed
+    createFile(configuration, new Path(testDirPath, "part2"), schema);
+    assertTrue(new File(testDir, "part2").setLastModified(written));
+    assertTrue(new File(testDir, "part1").delete());
+    ParquetOutputCommitter.writeMetaDataFile(configuration, testDirPath);
+
+    Path commonMetadataFile = new Path(testDirPath, ParquetFileWriter.PARQUET_COMMON_METADATA_FILE);
+    Map<String, String> keyValueMetaData = ParquetFileReader.readFooter(configuration, commonMetadataFile)
+        .getFileMetaData().getKeyValueMetaData();
+    assertEquals("part0", keyValueMetaData.get("part0"));
+    assertEquals("part2", keyValueMetaData.get("part2"));
+    assertNull(keyValueMetaData.get("part1"));
+    assertEquals("part0\npart2", keyValueMetaData.get(SummaryMetadataBuilder.FILES_KEY));
+
+    // the list of the files is not part of their footers
+    List<Footer> footers = ParquetFileReader.readAllFootersInParallelUsingSummaryFiles(
+        configuration, Arrays.asList(fs.listStatus(testDirPath, HiddenFileFilter.INSTANCE)), true);
+    assertEquals(2, footers.size());
+    for (Footer footer : footers) {
+      assertNull(footer.getParquetMetadata().getFileMetaData().getKeyValueMetaData().get(SummaryMetadataBuilder.FILES_KEY));
+    }
+  }
+
+  @Test
+  public void testCommonMetaDataFileDoesNotListFiles() throws Exception {
+    CBFM.ON = false;
+    File testDir = temp.newFolder();
+    Path testDirPath = new Path(testDir.toURI());
+    Configuration configuration = new Configuration();
+    configuration.set(ParquetOutputFormat.JOB_SUMMARY_LEVEL, JobSummaryLevel.COMMON_ONLY.toString());
+    enforceEmptyDir(configuration, testDirPath);
+
+    MessageType schema = MessageTypeParser.parseMessageType("message m { required group a {required binary b;} required group c { required int64 d; }}");
+    createFile(configuration, new Path(testDirPath, "part0"), schema);
+    ParquetOutputCommitter.writeMetaDataFile(configuration, testDirPath);
+
+    Path commonMetadataFile = new Path(testDirPath, ParquetFileWriter.PARQUET_COMMON_METADATA_FILE);
+    Map<String, String> keyValueMetaData = ParquetFileReader.readFooter(configuration, commonMetadataFile)
+        .getFileMetaData().getKeyValueMetaData();
+    assertEquals("part0", keyValueMetaData.get("part0"));
+    assertNull(keyValueMetaData.get(SummaryMetadataBuilder.FILES_KEY));
+  }
+
+  @Test
+  public void testIncrementalSummaryOfRewrittenFiles() throws Exception {
+    CBFM.ON = false;
+    File testDir = temp.newFolder();
+    Path testDirPath = new Path(testDir.toURI());
+    Configuration configuration = new Configuration();
+    configuration.setBoolean(ParquetOutputFormat.JOB_SUMMARY_INCREMENTAL, true);
+    configuration.set(ParquetOutputFormat.JOB_SUMMARY_LEVEL, JobSummaryLevel.COMMON_ONLY.toString());
+    enforceEmptyDir(configuration, testDirPath);
+
+    MessageType schema = MessageTypeParser.parseMessageType("message m { required group a {required binary b;} required group c { required int64 d; }}");
+    createFile(configuration, new Path(testDirPath, "part0"), schema);
+    createFile(configuration, new Path(testDirPath, "part1"), schema);
+    long written = System.currentTimeMillis() - 3600 * 1000;
+    assertTrue(new File(testDir, "part0").setLastModified(written));
+    assertTrue(new File(testDir, "part1").setLastModified(written));
+    ParquetOutputCommitter.writeMetaDataFile(configuration, testDirPath);
+    File commonMetadata = new File(testDir, ParquetFileWriter.PARQUET_COMMON_METADATA_FILE);
+    assertTrue(commonMetadata.setLastModified(written + 1000));
+
+    // the metadata of the previous versions of the files conflicts with the new one
+    assertTrue(new File(testDir, "part0").delete());
+    assertTrue(new File(testDir, "part1").delete());
+    createFile(configuration, new Path(testDirPath, "part0"), schema, "baz");
+    createFile(configuration, new Path(testDirPath, "part1"), schema, "baz");
+    ParquetOutputCommitter.writeMetaDataFile(configuration, testDirPath);
+
+    Map<String, String> keyValueMetaData = ParquetFileReader.readFooter(configuration, new Path(commonMetadata.toURI()))
+        .getFileMetaData().getKeyValueMetaData();
+    assertEquals("baz", keyValueMetaData.get("foo"));
+    assertEquals("part0\npart1", keyValueMetaData.get(SummaryMetadataBuilder.FILES_KEY));
+  }
+
   @Test
   public void testWriteReadStatisticsAllNulls() throws Exception {
     // this test assumes statistics will be read
@@ -681,6 +1112,10 @@ public class TestParquetFileWriter {
 
 
   private void createFile(Configuration configuration, Path path, MessageType schema) throws IOException {
+    createFile(configuration, path, schema, "bar");
+  }
+
+  private void createFile(Configuration configuration, Path path, MessageType schema, String foo) throws IOException {
     String[] path1 = {"a", "b"};
     ColumnDescriptor c1 = schema.getColumnDescription(path1);
     String[] path2 = {"c", "d"};
@@ -717,7 +1152,7 @@ public class TestParquetFileWriter {
     w.endColumn();
     w.endBlock();
     final HashMap<String, String> extraMetaData = new HashMap<String, String>();
-    extraMetaData.put("foo", "bar");
+    extraMetaData.put("foo", foo);
     extraMetaData.put(path.getName(), path.getName());
     w.end(extraMetaData);
   }
@@ -28,6 +28,7 @@ import org.apache.parquet.hadoop.example.ExampleParquetWriter;
 import org.apache.parquet.hadoop.example.GroupReadSupport;
 import org.apache.parquet.hadoop.metadata.BlockMetaData;
 import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
 import org.apache.parquet.hadoop.metadata.ParquetMetadata;
 import org.apache.parquet.schema.MessageType;
 import org.apache.parquet.schema.Types;
@@ -39,6 +40,7 @@ import org.junit.rules.TemporaryFolder;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -302,6 +304,97 @@ public class TestParquetWriterAppendBlocks {
         });
   }
 
+  @Test
+  public void testMergeRowGroups() throws IOException {
+    Path combinedFile = newTemp();
+    ParquetFileWriter writer = new ParquetFileWriter(
+        CONF, FILE_SCHEMA, combinedFile);
+    writer.start();
+    new RowGroupMerger(CONF, FILE_SCHEMA, Long.MAX_VALUE, null)
+        .merge(Arrays.asList(file1, file2), writer);
+    writer.end(EMPTY_METADATA);
+
+    List<BlockMetaData> blocks = ParquetFileReader.readFooter(
+        CONF, combinedFile, NO_FILTER).getBlocks();
+    Assert.assertEquals("Row groups should be merged", 1, blocks.size());
+    Assert.assertEquals("All records should be in the row group",
+        2 * FILE_SIZE, blocks.get(0).getRowCount());
+    assertRecords(combinedFile);
+  }
+
+  @Test
+  public void testMergeRowGroupsLargerThanTarget() throws IOException {
+    Path combinedFile = newTemp();
+    ParquetFileWriter writer = new ParquetFileWriter(
+        CONF, FILE_SCHEMA, combinedFile);
+    writer.start();
+    new RowGroupMerger(CONF, FILE_SCHEMA, 1, null)
+        .merge(Arrays.asList(file1, file2), writer);
+    writer.end(EMPTY_METADATA);
+
+    ParquetMetadata combinedFooter = ParquetFileReader.readFooter(
+        CONF, combinedFile, NO_FILTER);
+    ParquetMetadata f1Footer = ParquetFileReader.readFooter(
+        CONF, file1, NO_FILTER);
+    ParquetMetadata f2Footer = ParquetFileReader.readFooter(
+        CONF, file2, NO_FILTER);
+    // the row groups are copied as they are
+    Assert.assertEquals(2, combinedFooter.getBlocks().size());
+    assertColumnsEquivalent(f1Footer.getBlocks().get(0).getColumns(),
+        combinedFooter.getBlocks().get(0).getColumns());
+    assertColumnsEquivalent(f2Footer.getBlocks().get(0).getColumns(),
+        combinedFooter.getBlocks().get(1).getColumns());
+    assertRecords(combinedFile);
+  }
+
+  @Test
+  public void testMergeSortedFiles() throws IOException {
+    Map<String, String> sortedMetaData = new HashMap<String, String>();
+    sortedMetaData.put(FileMetaData.SORTING_COLUMNS_KEY, "id");
+    sortedMetaData.put("other", "value");
+
+    Path combinedFile = newTemp();
+    ParquetFileWriter writer = new ParquetFileWriter(
+        CONF, FILE_SCHEMA, combinedFile);
+    writer.start();
+    new RowGroupMerger(CONF, FILE_SCHEMA, Long.MAX_VALUE, null)
+        .merge(Arrays.asList(file1, file2), writer);
+    writer.end(ParquetFileWriter.getAppendedKeyValueMetaData(sortedMetaData, 2));
+
+    // the records of two sorted files are not sorted
+    FileMetaData combinedMetaData = ParquetFileReader.readFooter(
+        CONF, combinedFile, NO_FILTER).getFileMetaData();
+    Assert.assertNull(combinedMetaData.getKeyValueMetaData().get(FileMetaData.SORTING_COLUMNS_KEY));
+    Assert.assertEquals("value", combinedMetaData.getKeyValueMetaData().get("other"));
+    Assert.assertTrue(combinedMetaData.getSortingColumns().isEmpty());
+
+    // the records of a single file keep their order
+    Assert.assertEquals(sortedMetaData,
+        ParquetFileWriter.getAppendedKeyValueMetaData(sortedMetaData, 1));
+  }
+
+  private void assertRecords(Path combinedFile) throws IOException {
+    LinkedList<Group> expected = new LinkedList<Group>();
+    expected.addAll(file1content);
+    expected.addAll(file2content);
+
+    ParquetReader<Group> reader = ParquetReader
+        .builder(new GroupReadSupport(), combinedFile)
+        .build();
+
+    Group next;
+    while ((next = reader.read()) != null) {
+      Group expectedNext = expected.removeFirst();
+      Assert.assertEquals("Each id should match",
+          expectedNext.getInteger("id", 0), next.getInteger("id", 0));
+      Assert.assertEquals("Each string should match",
+          expectedNext.getString("string", 0), next.getString("string", 0));
+    }
+    reader.close();
+
+    Assert.assertEquals("All records should be present", 0, expected.size());
+  }
+
   private Path newTemp() throws IOException {
     File file = temp.newFile();
     Preconditions.checkArgument(file.delete(), "Could not remove temp file");
@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.parquet.hadoop;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.statistics.BinaryStatistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName;
+import org.junit.Test;
+
+public class TestRowGroupSizeController {
+
+  private static final ColumnPath A = ColumnPath.get("a");
+  private static final ColumnPath B = ColumnPath.get("b");
+  private static final ColumnPath C = ColumnPath.get("c");
+  private static final List<ColumnPath> COLUMNS = Arrays.asList(A, B, C);
+
+  private static BlockMetaData rowGroup(long sizeOfA, long sizeOfB) {
+    BlockMetaData block = new BlockMetaData();
+    block.addColumn(column(A, sizeOfA));
+    block.addColumn(column(B, sizeOfB));
+    return block;
+  }
+
+  private static ColumnChunkMetaData column(ColumnPath path, long totalSize) {
+    return ColumnChunkMetaData.get(path, PrimitiveTypeName.BINARY,
+        CompressionCodecName.SNAPPY, null, new HashSet<Encoding>(),
+        new BinaryStatistics(), 0, 0, 100, totalSize, totalSize * 2);
+  }
+
+  private static long[] buffered(long sizeOfA, long sizeOfB) {
+    return buffered(sizeOfA, sizeOfB, 0);
+  }
+
+  private static long[] buffered(long sizeOfA, long sizeOfB, long sizeOfC) {
+    return new long[] { sizeOfA, sizeOfB, sizeOfC };
+  }
+
+  @Test
+  public void testBufferedSizeIsUsedUntilARowGroupIsWritten() {
+    RowGroupSizeController controller = new RowGroupSizeController(COLUMNS);
+    assertEquals(1.0, controller.getRatio(), 0.0);
+    assertEquals(1000, controller.predictSize(1000));
+  }
+
+  @Test
+  public void testRatioIsWeightedByColumnSize() {
+    RowGroupSizeController controller = new RowGroupSizeController(COLUMNS);
+    // a compresses 4 to 1, b does not compress at all
+    controller.rowGroupWritten(buffered(3000, 1000), rowGroup(750, 1000));
+    assertEquals(1750.0 / 4000, controller.getRatio(), 0.0001);
+    assertEquals(1750, controller.predictSize(4000));
+  }
+
+  @Test
+  public void testRatioIsSmoothedAcrossRowGroups() {
+    RowGroupSizeController controller = new RowGroupSizeController(COLUMNS);
+    controller.rowGroupWritten(buffered(1000, 1000), rowGroup(500, 500));
+    assertEquals(0.5, controller.getRatio(), 0.0001);
+    controller.rowGroupWritten(buffered(1000, 1000), rowGroup(100, 100));
+    assertEquals(0.3, controller.getRatio(), 0.0001);
+  }
+
+  @Test
+  public void testEmptyColumnsAreIgnored() {
+    RowGroupSizeController controller = new RowGroupSizeController(COLUMNS);
+    controller.rowGroupWritten(buffered(1000, 0), rowGroup(250, 100));
+    assertEquals(0.25, controller.getRatio(), 0.0001);
+    controller.rowGroupWritten(buffered(0, 0), rowGroup(100, 100));
+    assertEquals(0.25, controller.getRatio(), 0.0001);
+  }
+
+  @Test
+  public void testSizeIsPredictedPerColumn() {
+    RowGroupSizeController controller = new RowGroupSizeController(COLUMNS);
+    // a compresses 4 to 1, b does not compress at all
+    controller.rowGroupWritten(buffered(3000, 1000), rowGroup(750, 1000));
+    // the next row group buffers mostly b
+    assertEquals(250 + 3000, controller.predictSize(buffered(1000, 3000)));
+    // a column not seen yet uses the ratio of the whole row group
+    assertEquals(250 + 3000 + 1750, controller.predictSize(buffered(1000, 3000, 4000)));
+  }
+
+  @Test
+  public void testBufferedSizeIsCapped() {
+    RowGroupSizeController controller = new RowGroupSizeController(COLUMNS);
+    controller.rowGroupWritten(buffered(10000, 10000), rowGroup(10, 10));
+    int factor = RowGroupSizeController.MAX_BUFFERED_SIZE_FACTOR;
+    assertEquals(8000 / factor, controller.predictSize(buffered(4000, 4000)));
+    assertEquals(8000 / factor, controller.predictSize(8000));
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.parquet.hadoop.util;
+
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.apache.parquet.hadoop.util.MockInputStream.TEST_ARRAY;
+
+public class TestMappedSeekableInputStream {
+
+  @Rule
+  public TemporaryFolder temp = new TemporaryFolder();
+
+  private File testFile() throws IOException {
+    File file = temp.newFile();
+    FileOutputStream out = new FileOutputStream(file);
+    try {
+      out.write(TEST_ARRAY);
+    } finally {
+      out.close();
+    }
+    return file;
+  }
+
+  @Test
+  public void testReadAndSeek() throws Exception {
+    MappedSeekableInputStream in = new MappedSeekableInputStream(testFile());
+    try {
+      Assert.assertEquals(TEST_ARRAY.length, in.getLength());
+      Assert.assertEquals(TEST_ARRAY[0], in.read());
+
+      byte[] bytes = new byte[5];
+      in.seek(3);
+      in.readFully(bytes);
+      Assert.assertEquals(8, in.getPos());
+      for (int i = 0; i < bytes.length; i += 1) {
+        Assert.assertEquals(TEST_ARRAY[3 + i], bytes[i]);
+      }
+
+      ByteBuffer buffer = ByteBuffer.allocate(TEST_ARRAY.length - 8);
+      in.readFully(buffer);
+      Assert.assertEquals(TEST_ARRAY.length, in.getPos());
+      Assert.assertEquals(-1, in.read());
+      buffer.flip();
+      Assert.assertEquals(ByteBuffer.wrap(TEST_ARRAY, 8, TEST_ARRAY.length - 8), buffer);
+    } finally {
+      in.close();
+    }
+  }
+
+  @Test
+  public void testReadFullyPastEnd() throws Exception {
+    MappedSeekableInputStream in = new MappedSeekableInputStream(testFile());
+    try {
+      in.seek(TEST_ARRAY.length - 2);
+      in.readFully(new byte[3]);
+      Assert.fail("Should throw EOFException");
+    } catch (EOFException e) {
+      // expected
+    } finally {
+      in.close();
+    }
+  }
+
+  @Test
+  public void testSlice() throws Exception {
+    MappedSeekableInputStream in = new MappedSeekableInputStream(testFile());
+    try {
+      in.seek(1);
+      ByteBuffer slice = in.slice(2, 6);
+      Assert.assertEquals("Slicing should not move the stream", 1, in.getPos());
+      Assert.assertEquals(0, slice.position());
+      Assert.assertEquals(ByteBuffer.wrap(TEST_ARRAY, 2, 6), slice);
+      Assert.assertTrue("Slices should be views over the mapping", slice.isDirect());
+    } finally {
+      in.close();
+    }
+  }
+
+  @Test
+  public void testSegments() throws Exception {
+    MappedSeekableInputStream in = new MappedSeekableInputStream(testFile(), 4);
+    try {
+      byte[] bytes = new byte[TEST_ARRAY.length];
+      in.readFully(bytes);
+      Assert.assertArrayEquals(TEST_ARRAY, bytes);
+
+      Assert.assertEquals(ByteBuffer.wrap(TEST_ARRAY, 4, 4), in.slice(4, 4));
+      Assert.assertNull("Ranges across segments can not be sliced", in.slice(2, 4));
+    } finally {
+      in.close();
+    }
+  }
+}
@@ -19,6 +19,9 @@
 package org.apache.parquet.tools.command;
 
 import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.OptionBuilder;
+import org.apache.commons.cli.Options;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
@@ -26,6 +29,8 @@ import org.apache.hadoop.fs.Path;
 import org.apache.parquet.hadoop.util.HiddenFileFilter;
 import org.slf4j.Logger;
 import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.RowGroupMerger;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
 import org.apache.parquet.hadoop.metadata.FileMetaData;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +45,23 @@ public class MergeCommand extends ArgsOnlyCommand {
           "   <output> is the destination parquet file"
   };
 
+  public static final Options OPTIONS;
+  static {
+    OPTIONS = new Options();
+    Option size = OptionBuilder.withLongOpt("row-group-size")
+                               .withDescription("Merge the row groups smaller than the given size in bytes into row groups "
+                                   + "of about that size instead of copying them as they are")
+                               .hasArg()
+                               .create('s');
+    Option codec = OptionBuilder.withLongOpt("compression")
+                                .withDescription("The compression codec of the merged row groups "
+                                    + "(default: the codec of the first row group merged)")
+                                .hasArg()
+                                .create('c');
+    OPTIONS.addOption(size);
+    OPTIONS.addOption(codec);
+  }
+
   /**
    * Biggest number of input files we can merge.
    */
@@ -53,6 +75,11 @@ public class MergeCommand extends ArgsOnlyCommand {
     conf = new Configuration();
   }
 
+  @Override
+  public Options getOptions() {
+    return OPTIONS;
+  }
+
   @Override
   public String[] getUsageDescription() {
     return USAGE;
@@ -72,10 +99,18 @@ public class MergeCommand extends ArgsOnlyCommand {
     ParquetFileWriter writer = new ParquetFileWriter(conf,
             mergedMeta.getSchema(), outputFile, ParquetFileWriter.Mode.CREATE);
     writer.start();
-    for (Path input: inputFiles) {
-      writer.appendFile(conf, input);
+    if (options.hasOption('s')) {
+      CompressionCodecName codec = options.hasOption('c')
+          ? CompressionCodecName.fromConf(options.getOptionValue('c')) : null;
+      new RowGroupMerger(conf, mergedMeta.getSchema(), Long.parseLong(options.getOptionValue('s')), codec)
+          .merge(inputFiles, writer);
+    } else {
+      for (Path input: inputFiles) {
+        writer.appendFile(conf, input);
+      }
     }
-    writer.end(mergedMeta.getKeyValueMetaData());
+    // the files may each be sorted, not their records one after the other
+    writer.end(ParquetFileWriter.getAppendedKeyValueMetaData(mergedMeta.getKeyValueMetaData(), inputFiles.size()));
   }
 
   private FileMetaData mergedMetadata(List<Path> inputFiles) throws IOException {